@@ -25,7 +25,10 @@ import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
 import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
 import it.polimi.ingsw.is25am33.network.CallableOnDNS;
 import it.polimi.ingsw.is25am33.network.common.NetworkConfiguration;
+import it.polimi.ingsw.is25am33.network.rmi.RMISocketMode;
+import it.polimi.ingsw.is25am33.network.rmi.RMISockets;
 import it.polimi.ingsw.is25am33.serializationLayer.SocketMessage;
+import it.polimi.ingsw.is25am33.serializationLayer.WireProtocol;
 import it.polimi.ingsw.is25am33.serializationLayer.client.ClientSerializer;
 
 public class ClientLauncher {
@@ -34,6 +37,7 @@ public class ClientLauncher {
     private static Boolean isGui = null;
     private static String serverAddress = NetworkConfiguration.LOCALHOST;
     private static Integer serverPort = null;
+    private static WireProtocol wireProtocol = WireProtocol.TEXT;
 
     public static void main(String[] args) {
         String titleScreen = """
@@ -92,6 +96,28 @@ public class ClientLauncher {
                         System.err.println("Missing value for -port");
                     }
                     break;
+                case "-wire":
+                    if (i + 1 < args.length) {
+                        try {
+                            wireProtocol = WireProtocol.fromString(args[++i]);
+                        } catch (IllegalArgumentException e) {
+                            System.err.println("Invalid wire protocol, use text or binary");
+                        }
+                    } else {
+                        System.err.println("Missing value for -wire");
+                    }
+                    break;
+                case "-rmi-sockets":
+                    if (i + 1 < args.length) {
+                        try {
+                            RMISockets.setMode(RMISocketMode.fromString(args[++i]));
+                        } catch (IllegalArgumentException e) {
+                            System.err.println("Invalid RMI socket mode, use default, nodelay or compressed");
+                        }
+                    } else {
+                        System.err.println("Missing value for -rmi-sockets");
+                    }
+                    break;
                 default:
 
             }
@@ -124,6 +150,7 @@ public class ClientLauncher {
             clientController.setView(cli);
             cli.setClientController(clientController);
             cli.setClientModel(clientModel);
+            clientController.setWireProtocol(wireProtocol);
 
             CallableOnDNS dns = clientController.selectNetworkProtocol(isRmi, serverAddress, serverPort);
 
@@ -156,6 +183,7 @@ public class ClientLauncher {
 
             ClientController clientController = gui.getClientController();
             clientController.setView(gui);
+            clientController.setWireProtocol(wireProtocol);
 
             CallableOnDNS dns = clientController.selectNetworkProtocol(isRmi, serverAddress, serverPort);
             if (dns == null) {
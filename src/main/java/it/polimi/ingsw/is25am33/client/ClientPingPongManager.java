@@ -1,77 +1,46 @@
 package it.polimi.ingsw.is25am33.client;
-import java.util.concurrent.*;
+
+import it.polimi.ingsw.is25am33.network.common.HeartbeatWheel;
+import it.polimi.ingsw.is25am33.network.common.TimerWheel;
 
 public class ClientPingPongManager {
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
-    private ScheduledFuture<?> pingTask = null;
-    private ScheduledFuture<?> pongTimeout = null;
-    private final Object lock = new Object();
+    private static final String SERVER = "server";
 
-    /**
-     * Starts the ping-pong mechanism by scheduling periodic ping messages.
-     * The first ping is sent after 1 second, then every 5 seconds.
-     *
-     * @param sendPing the runnable that implements the ping sending logic
-     */
-    public void start(Runnable sendPing) {
-        pingTask = scheduler.scheduleAtFixedRate(() -> {
-            sendPing.run(); // invia ping
-        }, 1000, 2000, TimeUnit.MILLISECONDS);
-    }
+    private final TimerWheel timerWheel = new TimerWheel(100, 128);
+    // pings run on their own thread, so that a ping blocked on a dead connection cannot delay the timeout
+    private final HeartbeatWheel<String> wheel = new HeartbeatWheel<>(timerWheel, 2000, 9000, command -> Thread.ofVirtual().start(command));
 
     /**
-     * Resets the timeout timer for pong responses.
-     * If a pong is not received within 9 seconds, the timeout handler is executed.
+     * Starts the ping-pong mechanism. A ping is sent to the server whenever nothing has been received
+     * from it for 2 seconds, and the timeout handler is executed if it stays silent for 9 seconds.
      *
-     * @param onTimeout the runnable to execute when timeout occurs
+     * @param sendPing the runnable that implements the ping sending logic
+     * @param onTimeout the runnable to execute when the server stays silent for too long
      */
-    private void resetTimeout(Runnable onTimeout) {
-
-        synchronized (lock) {
-            if (pongTimeout != null) pongTimeout.cancel(false);
-
-            pongTimeout = scheduler.schedule(() -> {
-                stop();
-                onTimeout.run();
-            }, 9000, TimeUnit.MILLISECONDS);
-        }
-
+    public void start(Runnable sendPing, Runnable onTimeout) {
+        wheel.add(SERVER, sendPing, onTimeout);
     }
 
     /**
-     * Handles the reception of a pong message.
-     * Cancels the current timeout and starts a new timeout period.
-     *
-     * @param onTimeout the runnable to execute if no pong is received within the timeout period
+     * Records that a message, a pong or anything else, has been received from the server,
+     * postponing the next ping and the timeout.
      */
-    public void onPongReceived(Runnable onTimeout) {
-        synchronized (lock) {
-            if (pongTimeout != null) pongTimeout.cancel(false);
-            //System.out.println("[PONG RECEIVED ON CLIENT]");
-            resetTimeout(onTimeout);
-        }
+    public void onActivity() {
+        wheel.seen(SERVER);
     }
 
     /**
-     * Stops the ping-pong mechanism by canceling both ping and pong timeout tasks.
-     * Does not shut down the scheduler.
+     * Stops the ping-pong mechanism. Does not stop the heartbeat thread.
      */
     public void stop() {
-        synchronized (lock) {
-            if (pongTimeout != null) pongTimeout.cancel(false);
-            if (pingTask != null) pingTask.cancel(false);
-        }
+        wheel.remove(SERVER);
     }
 
     /**
-     * Performs a complete shutdown of the ping-pong mechanism.
-     * Cancels all tasks and shuts down the scheduler immediately.
+     * Performs a complete shutdown of the ping-pong mechanism, stopping the heartbeat thread.
      */
     public void shutdown() {
-        synchronized (lock) {
-            pongTimeout.cancel(false);
-            pingTask.cancel(false);
-            scheduler.shutdownNow();
-        }
+        wheel.remove(SERVER);
+        timerWheel.shutdown();
     }
 }
@@ -4,12 +4,14 @@ import it.polimi.ingsw.is25am33.client.model.PrefabShipInfo;
 import it.polimi.ingsw.is25am33.client.model.card.ClientCard;
 import it.polimi.ingsw.is25am33.client.model.card.ClientDangerousObject;
 import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.board.ShipBoardDelta;
 import it.polimi.ingsw.is25am33.model.component.Component;
 import it.polimi.ingsw.is25am33.model.enumFiles.CardState;
 import it.polimi.ingsw.is25am33.model.enumFiles.GameState;
 import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
 import it.polimi.ingsw.is25am33.model.game.GameInfo;
 import it.polimi.ingsw.is25am33.model.game.PlayerFinalData;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification;
 
 import java.io.IOException;
 import java.rmi.Remote;
@@ -48,7 +50,7 @@ public interface CallableOnClientController extends Remote {
 
     void notifyComponentPlaced(String nicknameToNotify, String nickname, Component component, Coordinates coordinates) throws IOException;
 
-    void notifyShipBoardUpdate(String nicknameToNotify, String nickname, Component[][] shipMatrix, Map<Class<?>, List<Component>> componentsPerType, List<Component> notActiveComponentsList) throws IOException;
+    void notifyShipBoardUpdate(String nicknameToNotify, String nickname, ShipBoardDelta shipBoardDelta) throws IOException;
 
     void notifyPlayerCredits(String nicknameToNotify, String nickname, int credits) throws IOException;
 
@@ -60,6 +62,21 @@ public interface CallableOnClientController extends Remote {
 
     void notifyHourglassRestarted(String nicknameToNotify, String nickname, Integer flipsLeft) throws IOException;
 
+    /**
+     * Notifies that a turn of the hourglass started on the server. The hourglass runs on the server:
+     * the client only shows the time left until the deadline.
+     * Clients that do not show the deadline are notified as for a restart.
+     *
+     * @param nicknameToNotify the nickname of the notified client
+     * @param nickname the nickname of the player who flipped the hourglass, "game" for the first turn
+     * @param flipsLeft the number of flips still available after this one
+     * @param deadlineMillis the time at which the turn ends, in epoch milliseconds
+     * @throws IOException if the client cannot be notified
+     */
+    default void notifyHourglassStarted(String nicknameToNotify, String nickname, int flipsLeft, long deadlineMillis) throws IOException {
+        notifyHourglassRestarted(nicknameToNotify, nickname, flipsLeft);
+    }
+
     void notifyPlayerDisconnected(String nicknameToNotify, String disconnectedPlayer) throws IOException;
 
     void notifyInvalidShipBoard(String nicknameToNotify,String shipOwnerNickname, Component[][] shipMatrix, Set<Coordinates> incorrectlyPositionedComponentsCoordinates, Map<Class<?>, List<Component>> componentsPerType, List<Component> notActiveComponentsList) throws RemoteException;
@@ -113,4 +130,16 @@ public interface CallableOnClientController extends Remote {
     void notifyStorageError(String nicknameToNotify, String errorMessage) throws IOException;
 
     void notifyStolenVisibleComponent(String nicknameToNotify) throws IOException;
+
+    /**
+     * Applies, in order, the notifications produced by a single game action, received together in one call.
+     *
+     * @param nicknameToNotify the nickname of the notified client
+     * @param events the notifications, in the order they were produced
+     * @throws IOException if a notification fails; the following ones are not applied
+     */
+    default void notifyEvents(String nicknameToNotify, List<ServerNotification> events) throws IOException {
+        for (ServerNotification event : events)
+            event.applyTo(nicknameToNotify, this);
+    }
 }
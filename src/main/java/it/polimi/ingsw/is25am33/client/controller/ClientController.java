@@ -12,6 +12,7 @@ import it.polimi.ingsw.is25am33.client.view.ClientView;
 import it.polimi.ingsw.is25am33.client.view.gui.ClientGuiController;
 import it.polimi.ingsw.is25am33.controller.CallableOnGameController;
 import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.board.ShipBoardDelta;
 import it.polimi.ingsw.is25am33.model.card.PlayerChoicesDataStructure;
 import it.polimi.ingsw.is25am33.model.component.*;
 import it.polimi.ingsw.is25am33.model.enumFiles.CargoCube;
@@ -23,8 +24,10 @@ import it.polimi.ingsw.is25am33.model.game.GameInfo;
 import it.polimi.ingsw.is25am33.client.model.Hourglass;
 import it.polimi.ingsw.is25am33.model.game.PlayerFinalData;
 import it.polimi.ingsw.is25am33.network.common.NetworkConfiguration;
+import it.polimi.ingsw.is25am33.network.rmi.RMISockets;
 import it.polimi.ingsw.is25am33.network.CallableOnDNS;
 
+import it.polimi.ingsw.is25am33.serializationLayer.WireProtocol;
 import java.io.IOException;
 import java.rmi.RemoteException;
 import java.util.List;
@@ -62,6 +65,7 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
     private final List<GameInfo> observableGames = new ArrayList<>();
     private boolean isTestFlight;
     private final ClientPingPongManager clientPingPongManager;
+    private WireProtocol wireProtocol = WireProtocol.TEXT;
 
     private List<Set<Coordinates>> currentShipPartsList = new ArrayList<>();
 
@@ -74,7 +78,7 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
      * @throws RemoteException if an error occurs during remote object initialization
      */
     public ClientController(ClientModel clientModel, ClientPingPongManager clientPingPongManager) throws RemoteException {
-        super();
+        super(0, RMISockets.clientSocketFactory(), RMISockets.serverSocketFactory());
         this.clientModel = clientModel;
         this.clientPingPongManager = clientPingPongManager;
     }
@@ -146,17 +150,16 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
                 view.showError("Nickname already exists");
             } else {
                 view.showMessage("Nickname registered successfully!", STANDARD);
-                new Thread(()->{
-                    clientPingPongManager.start(
-                            ()-> {
-                                try {
-                                    pingToServerFromClient(nickname);
-                                } catch (IOException e) {
-                                    e.printStackTrace();
-                                }
+                clientPingPongManager.start(
+                        ()-> {
+                            try {
+                                pingToServerFromClient(nickname);
+                            } catch (IOException e) {
+                                e.printStackTrace();
                             }
-                    );
-                }).start();
+                        },
+                        this::handleDisconnection
+                );
 
                 this.nickname = attemptedNickname;
                 clientModel.setNickname(nickname);
@@ -180,6 +183,16 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
         this.dns = dns;
     }
 
+    /**
+     * Sets the wire protocol negotiated with the server when connecting through sockets.
+     * Has no effect on RMI connections and must be called before {@link #selectNetworkProtocol}.
+     *
+     * @param wireProtocol the socket wire protocol to use
+     */
+    public void setWireProtocol(WireProtocol wireProtocol) {
+        this.wireProtocol = wireProtocol;
+    }
+
     /**
      * Returns the current DNS service reference.
      * Provides access to the DNS service used for network communication.
@@ -266,8 +279,8 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
             if (dns instanceof SocketClientManager) {
                 serverController = (SocketClientManager) dns;
             } else {
-                List<GameInfo> games = new ArrayList<>(observableGames);
-                serverController = games.stream().filter(info -> info.getGameId().equals(chosenGameId)).findFirst().orElseThrow().getGameController();
+                // the server exports the game controller to RMI when the first RMI client joins, so the lobby list may not carry it
+                serverController = dns.getGameInfo(chosenGameId).getGameController();
             }
             inGame = true;
             view.showWaitingForPlayers();
@@ -351,7 +364,8 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
     private CallableOnDNS setUpSocketConnection(String serverAddress, int serverPort) throws IOException {
 
         SocketClientManager socketClientManager = new SocketClientManager(this);
-        socketClientManager.connect(serverAddress, serverPort);
+        socketClientManager.setActivityListener(clientPingPongManager::onActivity);
+        socketClientManager.connect(serverAddress, serverPort, wireProtocol);
 
         return socketClientManager;
 
@@ -401,19 +415,26 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
         currentGameInfo = gameInfo;
         view.showBuildShipBoardMenu();
 
-        if (!gameInfo.isTestFlight()) {
+        // the server starts the hourglass right after the game
+        if (!gameInfo.isTestFlight() && clientModel.getHourglass() == null)
             clientModel.setHourglass(new Hourglass(this));
-            clientModel.getHourglass().start(view, "game");
-        }
 
     }
 
     @Override
     public void notifyHourglassRestarted(String nicknameToNotify, String nickname, Integer flipsLeft) {
+        // sent with the flips left before the restart, and without a deadline
+        notifyHourglassStarted(nicknameToNotify, nickname, flipsLeft - 1, System.currentTimeMillis() + Hourglass.DURATION_SECONDS * 1000L);
+    }
+
+    @Override
+    public void notifyHourglassStarted(String nicknameToNotify, String nickname, int flipsLeft, long deadlineMillis) {
         if (nickname.equals(this.nickname))
             nickname = "you";
 
-        clientModel.getHourglass().start(view, nickname);
+        if (clientModel.getHourglass() == null)
+            clientModel.setHourglass(new Hourglass(this));
+        clientModel.getHourglass().start(view, nickname, flipsLeft, deadlineMillis);
     }
 
     @Override
@@ -562,7 +583,8 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
 
     @Override
     public void notifyStopHourglass(String nicknameToNotify) {
-        clientModel.getHourglass().stop();
+        if (clientModel.getHourglass() != null)
+            clientModel.getHourglass().stop();
     }
 
     @Override
@@ -663,10 +685,12 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
     }
 
     @Override
-    public void notifyShipBoardUpdate(String nicknameToNotify, String nickname, Component[][] shipMatrix, Map<Class<?>, List<Component>> componentsPerType, List<Component> notActiveComponentsList) throws IOException{
-        clientModel.getShipboardOf(nickname).setShipMatrix(shipMatrix);
-        clientModel.getShipboardOf(nickname).setComponentsPerType(componentsPerType);
-        clientModel.getShipboardOf(nickname).setNotActiveComponents(notActiveComponentsList);
+    public void notifyShipBoardUpdate(String nicknameToNotify, String nickname, ShipBoardDelta shipBoardDelta) throws IOException{
+        if (!clientModel.getShipboardOf(nickname).applyDelta(shipBoardDelta)) {
+            // an update was missed: ask for the whole board, which will be applied as a snapshot
+            serverController.requestShipBoardSnapshot(this.nickname, nickname);
+            return;
+        }
         clientModel.refreshShipBoardOf(nickname);
     }
 
@@ -742,8 +766,9 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
 
     /**
      * Notifies the server that the hourglass timer has ended.
-     * This method is called when the time limit for a game phase has expired,
-     * triggering the appropriate server-side handling for timeout scenarios.
+     * This method is called when the deadline of the hourglass has passed on this client.
+     * The server keeps its own hourglass, so this is only a hint that lets it end a turn
+     * already due without waiting for its timer.
      *
      * @throws IOException if a network communication error occurs
      */
@@ -857,7 +882,7 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
             ShipBoardClient shipBoard = clientModel.getShipboardOf(nickname);
             shipBoard.checkPosition(row, column);
 
-            serverController.playerWantsToPlaceFocusedComponent(nickname, new Coordinates(row, column), shipBoard.getFocusedComponent().getRotation());
+            serverController.playerWantsToPlaceFocusedComponent(nickname, Coordinates.of(row, column), shipBoard.getFocusedComponent().getRotation());
             view.showBuildShipBoardMenu();
         } catch (IOException e) {
             handleRemoteException(e);
@@ -875,7 +900,7 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
      */
     public void removeComponent(int row, int column) {
         try {
-            serverController.playerWantsToRemoveComponent(nickname, new Coordinates(row, column));
+            serverController.playerWantsToRemoveComponent(nickname, Coordinates.of(row, column));
         } catch (IllegalArgumentException e) {
             view.showMessage("Invalid coordinates: " + e.getMessage() + "\n", ERROR);
         } catch (IOException e) {
@@ -938,8 +963,7 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
         } catch (IOException e) {
             switch (e.getMessage()) {
                 case "No more flips available.",
-                     "Interrupted while waiting for all clients to finish the timer.",
-                     "Another player is already restarting the hourglass. Please wait.":
+                     "The hourglass is already running, please wait for it to end.":
                     view.showMessage(e.getMessage(), STANDARD);
                     break;
 
@@ -1042,7 +1066,7 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
      */
     public void pongToClientFromServer(String nickname) throws IOException{
         //System.out.println("Pong dal server");
-        clientPingPongManager.onPongReceived(this::handleDisconnection);
+        clientPingPongManager.onActivity();
     }
 
     /**
@@ -1054,6 +1078,7 @@ public class ClientController extends UnicastRemoteObject implements CallableOnC
      */
     public void pingToClientFromServer(String nickname) throws IOException{
         //System.out.println("Ping dal server");
+        clientPingPongManager.onActivity();
         dns.pongToServerFromClient(nickname);
     }
 
@@ -0,0 +1,27 @@
+package it.polimi.ingsw.is25am33.client.controller;
+
+import it.polimi.ingsw.is25am33.model.ThrowingBiConsumer;
+import it.polimi.ingsw.is25am33.serializationLayer.EncodedMessageCache;
+
+import java.io.IOException;
+
+/**
+ * A {@link CallableOnClientController} that serves several clients at once and can deliver the same
+ * notification to many of them more cheaply than calling it once per client, e.g. by encoding it only once.
+ */
+public interface MultiClientController extends CallableOnClientController {
+
+    /**
+     * Delivers a notification to one of the clients served by this controller.
+     * The notification is invoked exactly as it would be on a single-client controller,
+     * but the messages resulting from it are taken from the given cache, so that identical messages
+     * delivered to other clients of the same notification are prepared only once.
+     *
+     * @param nickname the nickname of the client to notify
+     * @param notification the notification to perform
+     * @param cache the messages already prepared for the same notification
+     * @throws IOException if the client cannot be notified
+     */
+    void deliver(String nickname, ThrowingBiConsumer<String, CallableOnClientController, IOException> notification, EncodedMessageCache cache) throws IOException;
+
+}
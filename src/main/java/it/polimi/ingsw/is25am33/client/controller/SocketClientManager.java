@@ -10,37 +10,56 @@ import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
 import it.polimi.ingsw.is25am33.model.game.GameInfo;
 import it.polimi.ingsw.is25am33.network.CallableOnDNS;
 import it.polimi.ingsw.is25am33.serializationLayer.client.ClientDeserializer;
-import it.polimi.ingsw.is25am33.serializationLayer.client.ClientSerializer;
+import it.polimi.ingsw.is25am33.serializationLayer.BinaryFrameCodec;
+import it.polimi.ingsw.is25am33.serializationLayer.ClientRequest;
+import it.polimi.ingsw.is25am33.serializationLayer.ClientRequest.*;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification.*;
 import it.polimi.ingsw.is25am33.serializationLayer.SocketMessage;
+import it.polimi.ingsw.is25am33.serializationLayer.SocketMessageWriter;
+import it.polimi.ingsw.is25am33.serializationLayer.WireProtocol;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.net.Socket;
 import java.rmi.RemoteException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class SocketClientManager implements CallableOnDNS, CallableOnGameController {
 
-    private PrintWriter out;
-    private Scanner in;
+    private SocketMessageWriter out;
+    private DataInputStream in;
+    private WireProtocol wireProtocol = WireProtocol.TEXT;
     private String nickname;
     private volatile GameState gameState;
     private final CallableOnClientController clientController;
-    private boolean running = true;
+    private volatile boolean running = true;
     private Socket socket;
     private Thread messageHandler;
+    private Thread notificationDispatcher;
+    private volatile Runnable activityListener = () -> {};
 
-    // Queue to store notifications while waiting for specific responses
-    private final Queue<SocketMessage> notificationBuffer = new ConcurrentLinkedQueue<>();
+    /**
+     * Maximum time a request waits for its reply.
+     */
+    public static final long REQUEST_TIMEOUT_MILLIS = 30_000;
 
-    // Flag indicating whether we are waiting for a specific response
-    private volatile boolean waitingForResponse = false;
-    private volatile Set<String> expectedResponseActions;
-    private volatile CompletableFuture<SocketMessage> responseFuture = null;
+    // Requests waiting for their reply, by correlation id
+    private final Map<Long, CompletableFuture<SocketMessage>> pendingRequests = new ConcurrentHashMap<>();
+    private final AtomicLong nextCorrelationId = new AtomicLong();
 
-    // Lock to synchronize operations
-    private final Object lock = new Object();
+    // Notifications decoded by the reader thread, waiting to be applied in order by the dispatcher thread
+    private final BlockingQueue<SocketMessage> notificationQueue = new LinkedBlockingQueue<>();
+    private static final SocketMessage END_OF_STREAM = new SocketMessage();
 
     /**
      * Constructs a new SocketClientManager with the specified client controller
@@ -52,40 +71,74 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
     }
 
     /**
-     * Invia un messaggio e aspetta una risposta specifica
+     * Sets the listener told about every message received from the server, replies and notifications alike,
+     * as a sign that the connection is alive.
+     *
+     * @param activityListener the listener, run on the reader thread
      */
-    private SocketMessage sendAndWaitForSpecificResponse(SocketMessage message, Set<String> expectedActions) throws RemoteException {
-        synchronized (lock) {
-            // Set the waiting state
-            waitingForResponse = true;
-            expectedResponseActions = expectedActions;
-            responseFuture = new CompletableFuture<>();
-
-            // Send the request
-            out.println(ClientSerializer.serialize(message));
-        }
+    public void setActivityListener(Runnable activityListener) {
+        this.activityListener = activityListener;
+    }
 
-        try {
-            // Wait for the response
-            SocketMessage response = responseFuture.get();
+    /**
+     * Sends a request to the server.
+     *
+     * @param nickname the nickname of the sender
+     * @param request the request to send
+     */
+    private void send(String nickname, ClientRequest request) {
+        out.send(ClientRequest.encode(nickname, request));
+    }
 
-            // Process buffered notifications
-            processBufferedNotifications();
+    /**
+     * Sends a request and waits for its reply, matched by correlation id.
+     * Any number of requests can be in flight at the same time, and notifications keep being applied
+     * while a request is waiting.
+     *
+     * @param nickname the nickname of the sender
+     * @param request the request to send
+     * @return the reply
+     * @throws RemoteException if the request cannot be sent, times out, or gets a reply that cannot be decoded
+     */
+    private ServerNotification sendRequest(String nickname, ClientRequest request) throws RemoteException {
+        long correlationId = nextCorrelationId.incrementAndGet();
+        CompletableFuture<SocketMessage> reply = new CompletableFuture<>();
+        SocketMessage message = ClientRequest.encode(nickname, request);
+        message.setCorrelationId(correlationId);
+        pendingRequests.put(correlationId, reply);
 
-            return response;
-        } catch (InterruptedException | ExecutionException e) {
-            //TODO understand where to handle these exceptions
-            throw new RemoteException("Failed to get response: " + e.getMessage(), e);
+        try {
+            out.send(message);
+            SocketMessage response = reply.get(REQUEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            ServerNotification notification = ServerNotification.decode(response);
+            if (notification == null)
+                throw new RemoteException("Unexpected response: " + response.getActions());
+            return notification;
+        } catch (TimeoutException e) {
+            throw new RemoteException("No response to " + message.getActions() + " within " + REQUEST_TIMEOUT_MILLIS + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteException("Interrupted while waiting for " + message.getActions(), e);
+        } catch (ExecutionException e) {
+            throw new RemoteException("Failed to get response: " + e.getCause().getMessage(), e.getCause());
         } finally {
-            synchronized (lock) {
-                waitingForResponse = false;
-                expectedResponseActions = null;
-
-                responseFuture = null;
-            }
+            pendingRequests.remove(correlationId);
         }
     }
 
+    private static RemoteException unexpectedResponse(ServerNotification response) {
+        return new RemoteException("Unexpected response: " + response.opcode().getAction());
+    }
+
+    /**
+     * Fails every request still waiting for its reply, once the connection is lost.
+     */
+    private void failPendingRequests() {
+        IOException closed = new EOFException("Connection to the server lost");
+        pendingRequests.values().forEach(reply -> reply.completeExceptionally(closed));
+        pendingRequests.clear();
+    }
+
     /**
      * Gets the game controller for a specific game
      *
@@ -112,14 +165,12 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
 
     @Override
     public void leaveGameAfterCreation(String nickname) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "leaveGameAfterCreation");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new LeaveGameAfterCreation());
     }
 
     @Override
     public void leaveGameBeforeCreation(String nickname) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "leaveGameBeforeCreation");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new LeaveGameBeforeCreation());
     }
 
     /**
@@ -133,37 +184,58 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
     @Override
     public boolean registerWithNickname(String nickname, CallableOnClientController controller) throws RemoteException {
 
-        SocketMessage outMessage = new SocketMessage(nickname, "registerWithNickname");
-        outMessage.setParamString(nickname);
-
-        SocketMessage response = sendAndWaitForSpecificResponse(outMessage, Set.of("notifyRegistrationSuccess", "notifyNicknameAlreadyExists"));
-
-        if (response.getActions().equals("notifyRegistrationSuccess")) {
-            this.nickname = nickname;
-            return true;
-        } else if (response.getActions().equals("notifyNicknameAlreadyExists")) {
-            return false;
-        }
-
-        throw new RemoteException("Unexpected response: " + response.getActions());
+        return switch (sendRequest(nickname, new RegisterWithNickname())) {
+            case NotifyRegistrationSuccess _ -> {
+                this.nickname = nickname;
+                yield true;
+            }
+            case NotifyNicknameAlreadyExists _ -> false;
+            case ServerNotification response -> throw unexpectedResponse(response);
+        };
 
     }
 
     /**
-     * Establishes a socket connection to the specified server
+     * Establishes a socket connection to the specified server, using the text protocol
      *
      * @param serverAddress The server's IP address or hostname
      * @param serverPort    The server's port number
      * @throws IOException If connection cannot be established
      */
     public void connect(String serverAddress, int serverPort) throws IOException {
+        connect(serverAddress, serverPort, WireProtocol.TEXT);
+    }
+
+    /**
+     * Establishes a socket connection to the specified server and negotiates the wire protocol
+     *
+     * @param serverAddress The server's IP address or hostname
+     * @param serverPort    The server's port number
+     * @param protocol      The wire protocol to use on this connection
+     * @throws IOException If connection cannot be established or the server refuses the protocol
+     */
+    public void connect(String serverAddress, int serverPort, WireProtocol protocol) throws IOException {
 
         try {
             socket = new Socket(serverAddress, serverPort);
-            System.out.println("Connected to server at " + socket.getRemoteSocketAddress());
-
-            out = new PrintWriter(socket.getOutputStream(), true);
-            in = new Scanner(socket.getInputStream());
+            socket.setTcpNoDelay(true);
+
+            OutputStream rawOut = new BufferedOutputStream(socket.getOutputStream());
+            PrintWriter textOut = new PrintWriter(new OutputStreamWriter(rawOut, StandardCharsets.UTF_8), true);
+            out = new SocketMessageWriter(textOut, frame -> {
+                rawOut.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+                rawOut.flush();
+            });
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            if (protocol != WireProtocol.TEXT) {
+                textOut.println(protocol.handshakeLine());
+                String answer = WireProtocol.readLine(in);
+                if (!protocol.acknowledgeLine().equals(answer))
+                    throw new IOException("Server refused the " + protocol + " protocol: " + answer);
+                out.switchTo(protocol);
+            }
+            wireProtocol = protocol;
 
             startMessageHandlerThread();
         } catch (NumberFormatException e) {
@@ -180,19 +252,15 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      * @param isTestFlight Whether this is a test flight
      * @param nickname     The player's nickname
      * @return Information about the created game
-     * @throws IOException If communication fails
+     * @throws IOException If communication fails, or if the server answers without a game
      */
     @Override
     public GameInfo createGame(PlayerColor color, int numPlayers, boolean isTestFlight, String nickname) throws IOException {
 
-        SocketMessage outMessage = new SocketMessage(nickname, "createGame");
-        outMessage.setParamPlayerColor(color);
-        outMessage.setParamInt(numPlayers);
-        outMessage.setParamBoolean(isTestFlight);
-
-        SocketMessage response = sendAndWaitForSpecificResponse(outMessage, Set.of("notifyGameCreated"));
-        //TODO bisogna forse controllare da qualche parte il caso in cui non sia stato restituito un gioco
-        return response.getParamGameInfo().getFirst();
+        ServerNotification response = sendRequest(nickname, new CreateGame(color, numPlayers, isTestFlight));
+        if (response instanceof NotifyGameCreated gameCreated)
+            return gameCreated.gameInfo();
+        throw unexpectedResponse(response);
 
     }
 
@@ -208,432 +276,133 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
     @Override
     public boolean joinGame(String gameId, String nickname, PlayerColor color) throws IOException {
 
-        SocketMessage outMessage = new SocketMessage(nickname, "joinGame");
-        outMessage.setParamGameId(gameId);
-        outMessage.setParamPlayerColor(color);
-
-        SocketMessage response = sendAndWaitForSpecificResponse(outMessage, Set.of("notifyJoinGameResult"));
-        return response.getParamBoolean();
+        ServerNotification response = sendRequest(nickname, new JoinGame(gameId, color));
+        if (response instanceof NotifyJoinGameResult joinGameResult)
+            return joinGameResult.joined();
+        throw unexpectedResponse(response);
 
     }
 
-    // TODO debug
+    /**
+     * Sends a message to be shown on the server console
+     *
+     * @param s The message to show
+     * @throws RemoteException If the message cannot be sent
+     */
     @Override
     public void showMessage(String s) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "showMessage");
-        outMessage.setParamString(s);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new ShowMessage(s));
     }
 
 
+    /**
+     * Starts the reader thread, which decodes the messages from the server, completes the pending requests
+     * with their replies and queues everything else, and the dispatcher thread, which applies the queued
+     * notifications in order. A slow notification handler therefore never delays the reply of a request.
+     */
     private void startMessageHandlerThread() {
-         messageHandler = new Thread(() -> {
+        messageHandler = new Thread(() -> {
             while (running) {
                 try {
-                    if (in!=null && in.hasNextLine()) {
-                        String line = in.nextLine();
-                        handleServerMessage(line);
+                    if (wireProtocol == WireProtocol.BINARY) {
+                        handleServerMessage(BinaryFrameCodec.read(in));
+                    } else {
+                        String line = WireProtocol.readLine(in);
+                        if (line == null)
+                            throw new EOFException();
+                        SocketMessage inMessage;
+                        try {
+                            inMessage = ClientDeserializer.deserialize(line, SocketMessage.class);
+                        } catch (IOException e) {
+                            System.err.println("Error processing message: " + e.getMessage());
+                            continue;
+                        }
+                        handleServerMessage(inMessage);
                     }
                 } catch (Exception e) {
-                    running=false;
+                    running = false;
                     break;
                 }
             }
-        });
+            failPendingRequests();
+            notificationQueue.add(END_OF_STREAM);
+        }, "socket-reader");
+        notificationDispatcher = new Thread(() -> {
+            try {
+                SocketMessage notification;
+                while ((notification = notificationQueue.take()) != END_OF_STREAM)
+                    processNotification(notification);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "socket-dispatcher");
         messageHandler.setDaemon(true);
+        notificationDispatcher.setDaemon(true);
+        notificationDispatcher.start();
         messageHandler.start();
     }
 
-    private void handleServerMessage(String message) {
-        try {
-            SocketMessage inMessage = ClientDeserializer.deserialize(message, SocketMessage.class);
-
-            synchronized (lock) {
-                // Se stiamo aspettando una risposta specifica
-                if (waitingForResponse) {
-                    // Se è la risposta che aspettiamo
-                    if (expectedResponseActions.contains(inMessage.getActions())) {
-                        responseFuture.complete(inMessage);
-                        return;
-                    }
-                    // Altrimenti, mettiamo la notifica nel buffer
-                    else {
-                        notificationBuffer.add(inMessage);
-                        return;
-                    }
-                }
-            }
-
-            // Se non stiamo aspettando risposte o il messaggio non corrisponde,
-            // processiamo il messaggio immediatamente
-            processNotification(inMessage);
-        } catch (Exception e) {
-            System.err.println("Error processing message: " + e.getMessage());
-        }
+    private void handleServerMessage(SocketMessage inMessage) {
+        activityListener.run();
+        Long correlationId = inMessage.getCorrelationId();
+        CompletableFuture<SocketMessage> reply = correlationId == null ? null : pendingRequests.get(correlationId);
+        if (reply != null)
+            reply.complete(inMessage);
+        else
+            notificationQueue.add(inMessage);
     }
 
-    private void processBufferedNotifications() {
-        SocketMessage notification;
-        while ((notification = notificationBuffer.poll()) != null) {
-            processNotification(notification);
+    private void processNotification(SocketMessage message) {
+        if (clientController == null)
+            return;
+        ServerNotification notification = ServerNotification.decode(message);
+        if (notification == null) {
+            System.err.println("Unknown notification: " + message.getActions());
+            return;
         }
-    }
-
-    private void processNotification(SocketMessage notification) {
         try {
-            switch (notification.getActions()) {
-
-                case "notifyNewPlayerJoined":
-                    if (clientController != null) {
-                        clientController.notifyNewPlayerJoined(null, notification.getParamGameId(), notification.getParamString(), notification.getParamPlayerColor());
-                    }
-                    break;
-
-                case "notifyGameStarted":
-                    if (clientController != null) {
-                        clientController.notifyGameStarted(nickname, notification.getParamGameInfo().getFirst());
-                    }
-                    break;
-
-                case "notifyGameState":
-                    if (clientController != null) {
-                        this.gameState = notification.getParamGameState();
-                        clientController.notifyGameState(nickname, gameState);
-                    }
-                    break;
-
-                case "notifyDangerousObjAttack":
-                    if (clientController != null) {
-                        clientController.notifyDangerousObjAttack(nickname, notification.getParamDangerousObj());
-                    }
-                    break;
-
-                case "notifyCurrPlayerChanged":
-                    if (clientController != null) {
-                        clientController.notifyCurrPlayerChanged(nickname, notification.getParamString());
-                    }
-                    break;
-
-                case "notifyHourglassRestarted":
-                    if (clientController != null) {
-                        clientController.notifyHourglassRestarted(nickname, notification.getParamString(), notification.getParamInt());
-                    }
-                    break;
-
-                case "notifyCurrAdventureCard":
-                    if (clientController != null) {
-                        clientController.notifyCurrAdventureCard(
-                                nickname,
-                                notification.getParamClientCard(),
-                                notification.getParamBoolean()
-                        );
-                    }
-                    break;
-
-                case "notifyCardState":
-                    if (clientController != null) {
-                        clientController.notifyCardState(nickname, notification.getParamCardState());
-                    }
-                    break;
-
-                case "notifyChooseComponent":
-                    if (clientController != null) {
-                        clientController.notifyFocusedComponent(null, notification.getParamString(), notification.getParamComponent());
-                    }
-                    break;
-
-                case "notifyReleaseComponent":
-                    if (clientController != null) {
-                        clientController.notifyReleaseComponent(null, notification.getParamString());
-                    }
-                    break;
-
-                case "notifyBookedComponent":
-                    if (clientController != null) {
-                        clientController.notifyBookedComponent(null, notification.getParamString(), notification.getParamComponent());
-                    }
-                    break;
-
-                case "notifyAddVisibleComponents":
-                    if (clientController != null) {
-                        clientController.notifyAddVisibleComponents(notification.getParamString(), notification.getParamInt(), notification.getParamComponent());
-                    }
-                    break;
-
-                case "notifyStopHourglass":
-                    if (clientController != null) {
-                        clientController.notifyStopHourglass(notification.getParamString());
-                    }
-                    break;
-
-                case "notifyFirstToEnter":
-                    if (clientController != null) {
-                        clientController.notifyFirstToEnter(notification.getParamString());
-                    }
-                    break;
-
-                case "notifyRemoveVisibleComponents":
-                    if (clientController != null) {
-                        clientController.notifyRemoveVisibleComponents(notification.getParamString(), notification.getParamInt());
-                    }
-                    break;
-
-                case "notifyComponentPlaced":
-                    if (clientController != null) {
-                        clientController.notifyComponentPlaced(null, notification.getParamString(), notification.getParamComponent(), notification.getParamCoordinates());
-                    }
-                    break;
-
-                case "notifyShipBoardUpdate":
-                    if (clientController != null) {
-                        clientController.notifyShipBoardUpdate(null, notification.getParamString(), notification.getParamShipBoardAsMatrix(),notification.getParamComponentsPerType(), notification.getParamComponentList());
-                    }
-                    break;
-                    //TODO da aggiustare mettondo i componentsPerType
-
-                case "notifyPlayerCredits":
-                    if (clientController != null) {
-                        clientController.notifyPlayerCredits(null, notification.getParamString(), notification.getParamInt());
-                    }
-                    break;
-
-                case "notifyEliminatedPlayer":
-                    if (clientController != null) {
-                        clientController.notifyEliminatedPlayer(null, notification.getParamString());
-                    }
-                    break;
-
-                case "notifyRankingUpdate":
-                    if (clientController != null) {
-                        clientController.notifyRankingUpdate(null, notification.getParamString(), notification.getParamInt());
-                    }
-                    break;
-
-                case "notifyVisibleDeck":
-                    if (clientController != null) {
-                        clientController.notifyVisibleDeck(notification.getParamString(), notification.getParamLittleVisibleDecks());
-                    }
-                    break;
-
-                case "notifyPlayerDisconnected":
-                    if (clientController != null) {
-                        clientController.notifyPlayerDisconnected(null, notification.getParamString());
-                    }
-                    break;
-
-                case "forcedDisconnection" :
-                    if (clientController != null) {
-                        clientController.forcedDisconnection(nickname, notification.getParamString());
-                        in.close();
-                        out.close();
-                        socket.close();
-                    }
-                    break;
-
-                case "notifyGameInfos":
-                    if (clientController != null) {
-                        clientController.notifyGameInfos(notification.getParamString(), notification.getParamGameInfo());
-                    }
-                    break;
-
-                case "notifyInvalidShipBoard":
-                    if (clientController != null) {
-                        clientController.notifyInvalidShipBoard(
-                                nickname,
-                                notification.getParamString(),
-                                notification.getParamShipBoardAsMatrix(),
-                                notification.getParamIncorrectlyPositionedCoordinates(),
-                                notification.getParamComponentsPerType(),
-                                notification.getParamComponentList()
-                        );
-                    }
-                    break;
-
-                case "notifyValidShipBoard":
-                    if (clientController != null) {
-                        clientController.notifyValidShipBoard(
-                                nickname,
-                                notification.getParamString(),
-                                notification.getParamShipBoardAsMatrix(),
-                                notification.getParamIncorrectlyPositionedCoordinates(),
-                                notification.getParamComponentsPerType(),
-                                notification.getParamComponentList()
-                        );
-                    }
-                    break;
-
-                case "notifyStolenVisibleComponent":
-                    if (clientController != null) {
-                        clientController.notifyStolenVisibleComponent(nickname);
-                    }
-                    break;
-
-                case "notifyShipPartsGeneratedDueToRemoval":
-                    if (clientController != null) {
-                        clientController.notifyShipPartsGeneratedDueToRemoval(
-                                nickname,
-                                notification.getParamString(),
-                                notification.getParamShipBoardAsMatrix(),
-                                notification.getParamIncorrectlyPositionedCoordinates(),
-                                notification.getParamShipParts(),
-                                notification.getParamComponentsPerType()
-                        );
-                    }
-                    break;
-
-                case "notifyCurrAdventureCardUpdate":
-                    if (clientController != null) {
-                        clientController.notifyCurrAdventureCardUpdate(
-                                nickname,
-                                notification.getParamClientCard()
-                        );
-                    }
-                    break;
-
-                case "notifyPlayerVisitedPlanet":
-                    if (clientController != null) {
-                        clientController.notifyPlayerVisitedPlanet(
-                                nickname,
-                                notification.getParamString(),
-                                notification.getParamClientCard()
-                        );
-                    }
-                    break;
-
-                case "notifyCrewPlacementPhase":
-                    if (clientController != null) {
-                        clientController.notifyCrewPlacementPhase(
-                                nickname
-                        );
-                    }
-                    break;
-
-                case "notifyCrewPlacementComplete":
-                    if (clientController != null) {
-                        clientController.notifyCrewPlacementComplete(
-                                nickname,
-                                notification.getParamString(),
-                                notification.getParamShipMatrix(),
-                                notification.getParamComponentsPerType()
-                        );
-                    }
-                    break;
-
-                case "notifyPrefabShipsAvailable":
-                    if (clientController != null) {
-                        clientController.notifyPrefabShipsAvailable(
-                                nickname,
-                                notification.getParamPrefabShips()
-                        );
-                    }
-                    break;
-
-                case "notifyPlayerSelectedPrefabShip":
-                    if (clientController != null) {
-                        clientController.notifyPlayerSelectedPrefabShip(
-                                nickname,
-                                notification.getParamString(),
-                                notification.getParamPrefabShips().get(0)
-                        );
-                    }
-                    break;
-
-                case "notifyPrefabShipSelectionResult":
-                    if (clientController != null) {
-                        clientController.notifyPrefabShipSelectionResult(
-                                nickname,
-                                notification.getParamBoolean(),
-                                notification.getParamString()
-                        );
-                    }
-                    break;
-
-                case "notifyInfectedCrewMembersRemoved":
-                    if (clientController != null) {
-                        clientController.notifyInfectedCrewMembersRemoved(
-                                nickname,
-                                notification.getParamShipPart()
-                        );
-                    }
-                    break;
-
-                case "notifyComponentPerType":
-                    if (clientController != null) {
-                        clientController.notifyComponentPerType(
-                                nickname,
-                                notification.getParamString(),
-                                notification.getParamComponentsPerType()
-                        );
-                    }
-                    break;
-
-                case "notifyNoMoreHiddenComponents":
-                    if (clientController != null) {
-                        clientController.notifyNoMoreHiddenComponents(nickname);
-                    }
-
-                case "PING":
-                    if (clientController != null) {
-                        clientController.pingToClientFromServer(nickname);
-                    }
-                    break;
-
-                case "PONG":
-                    if (clientController != null) {
-                        clientController.pongToClientFromServer(nickname);
-                    }
-                    break;
-
-                case "notifyCoordinateOfComponentHit":
-                    if (clientController != null) {
-                        clientController.notifyCoordinateOfComponentHit(nickname, notification.getParamString(), notification.getParamCoordinates());
-                    }
-                    break;
-                case "notifyLeastResourcedPlayer":
-                    if (clientController != null) {
-                        clientController.notifyLeastResourcedPlayer(nickname, notification.getParamString());
-                    }
-                    break;
-
-                case "notifyPlayersFinalData":
-                    if (clientController != null) {
-                        clientController.notifyPlayersFinalData(nickname, notification.getParamPlayerFinalDataRanking(), notification.getParamStringList());
-                    }
-                    break;
-
-                case "notifyPlayerEarlyLanded":
-                    if (clientController != null) {
-                        clientController.notifyPlayerEarlyLanded(nickname, notification.getParamString());
-                    }
-                    break;
-
-                case "notifyErrorWhileBookingComponent":
-                    if (clientController != null) {
-                        clientController.notifyErrorWhileBookingComponent(nickname, notification.getParamString(), notification.getParamComponent());
-                    }
-                    break;
-
-                case "notifyNotActiveComponents":
-                    if (clientController != null) {
-                        clientController.notifyNotActiveComponents(nickname, notification.getParamString(), notification.getParamComponentList());
-                    }
-                    break;
-
-                case "notifyStorageError":
-                    if (clientController != null) {
-                        clientController.notifyStorageError(nickname, notification.getParamString());
-                    }
-                    break;
-
-                default:
-                    System.err.println("Unknown notification: " + notification.getActions());
-            }
+            handleNotification(notification);
         } catch (Exception e) {
             System.err.println("Error handling notification: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Handles every notification the server can send, forwarding it to the client controller,
+     * see {@link ServerNotification#applyTo}.
+     *
+     * @param notification the notification
+     * @throws IOException if the client controller fails to apply it
+     */
+    private void handleNotification(ServerNotification notification) throws IOException {
+        switch (notification) {
+            case NotifyEvents events -> {
+                // the events of one server action, applied in order before any other message is read
+                for (ServerNotification event : events.events()) {
+                    if (event == null)
+                        System.err.println("Unknown notification in notifyEvents");
+                    else
+                        handleNotification(event);
+                }
+            }
+            case NotifyRegistrationSuccess _, NotifyNicknameAlreadyExists _, NotifyAvailableGames _, NotifyGameCreated _,
+                 NotifyJoinGameResult _ ->
+                    System.err.println("Reply received after its request gave up: " + notification.opcode().getAction());
+            case NotifyGameState state -> {
+                this.gameState = state.gameState();
+                state.applyTo(nickname, clientController);
+            }
+            case ForcedDisconnection disconnection -> {
+                disconnection.applyTo(nickname, clientController);
+                in.close();
+                out.close();
+                socket.close();
+            }
+            default -> notification.applyTo(nickname, clientController);
+        }
+    }
+
     /**
      * Sends a ping message to the server to check connection
      *
@@ -641,8 +410,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      * @throws IOException If message cannot be sent
      */
     public void pingToServerFromClient(String nickname) throws IOException{
-        SocketMessage outMessage = new SocketMessage(nickname, "PING");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new ClientRequest.Ping());
         //System.out.println("Ping inviato al server");
     }
 
@@ -653,8 +421,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      * @throws IOException If message cannot be sent
      */
     public void pongToServerFromClient(String nickname) throws IOException {
-        SocketMessage outMessage = new SocketMessage(nickname, "PONG");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new ClientRequest.Pong());
         //System.out.println("Pong inviato al server");
     }
 
@@ -666,8 +433,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerPicksHiddenComponent(String nickname) throws RemoteException{
-        SocketMessage outMessage = new SocketMessage(nickname, "playerPicksHiddenComponent");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerPicksHiddenComponent());
     }
 
     /**
@@ -681,10 +447,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToPlaceFocusedComponent(String nickname, Coordinates coordinates, int rotation) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToPlaceFocusedComponent");
-        outMessage.setParamCoordinates(coordinates);
-        outMessage.setParamInt(rotation);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToPlaceFocusedComponent(coordinates, rotation));
     }
 
     /**
@@ -695,8 +458,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToReserveFocusedComponent(String nickname) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToReserveFocusedComponent");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToReserveFocusedComponent());
     }
 
     /**
@@ -707,8 +469,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToReleaseFocusedComponent(String nickname) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToReleaseFocusedComponent");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToReleaseFocusedComponent());
     }
 
     /**
@@ -718,8 +479,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToRestartHourglass(String nickname) {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToRestartHourglass");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToRestartHourglass());
     }
 
     /**
@@ -731,9 +491,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToRemoveComponent(String nickname, Coordinates coordinate) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToRemoveComponent");
-        outMessage.setParamCoordinates(coordinate);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToRemoveComponent(coordinate));
     }
 
     /**
@@ -745,9 +503,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerChoseShipPart(String nickname, Set<Coordinates> shipPart) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerChoseShipPart");
-        outMessage.setParamShipPart(shipPart);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerChoseShipPart(shipPart));
     }
 
 
@@ -758,8 +514,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerEndsBuildShipBoardPhase(String nickname) {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerEndsBuildShipBoardPhase");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerEndsBuildShipBoardPhase());
     }
 
     /**
@@ -769,8 +524,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerPlacesPawn(String nickname) {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerPlacePlaceholder");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerPlacePlaceholder());
     }
 
     /**
@@ -782,9 +536,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void handleClientChoice(String nickname, PlayerChoicesDataStructure choice) throws IOException {
-        SocketMessage outMessage = new SocketMessage(nickname, "handleClientChoice");
-        outMessage.setParamChoice(choice);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new HandleClientChoice(choice));
     }
 
     /**
@@ -796,9 +548,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void submitCrewChoices(String nickname, Map<Coordinates, CrewMember> choices) throws IOException {
-        SocketMessage outMessage = new SocketMessage(nickname, "submitCrewChoices");
-        outMessage.setParamCrewChoices(choices);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new SubmitCrewChoices(choices));
     }
 
     /**
@@ -809,8 +559,19 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void requestPrefabShips(String nickname) throws IOException {
-        SocketMessage outMessage = new SocketMessage(nickname, "requestPrefabShips");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new RequestPrefabShips());
+    }
+
+    /**
+     * Requests a full snapshot of a ship board from the server.
+     *
+     * @param nickname The nickname of the player requesting the snapshot.
+     * @param shipOwnerNickname The nickname of the owner of the ship board.
+     * @throws IOException If communication with the server fails.
+     */
+    @Override
+    public void requestShipBoardSnapshot(String nickname, String shipOwnerNickname) throws IOException {
+        send(nickname, new RequestShipBoardSnapshot(shipOwnerNickname));
     }
 
     /**
@@ -822,9 +583,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void requestSelectPrefabShip(String nickname, String prefabShipId) throws IOException {
-        SocketMessage outMessage = new SocketMessage(nickname, "requestSelectPrefabShip");
-        outMessage.setParamString(prefabShipId);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new RequestSelectPrefabShip(prefabShipId));
     }
 
     /**
@@ -835,8 +594,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToLand(String nickname) throws IOException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToLand");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToLand());
     }
 
     /**
@@ -848,9 +606,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerPicksVisibleComponent(String nickname, Integer choice) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerPicksVisibleComponent");
-        outMessage.setParamInt(choice);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerPicksVisibleComponent(choice));
     }
 
     /**
@@ -862,9 +618,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToVisitLocation(String nickname, Boolean choice) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToVisitLocation");
-        outMessage.setParamBoolean(choice);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToVisitLocation(choice));
     }
 
     /**
@@ -875,8 +629,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToThrowDices(String nickname) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToThrowDices");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToThrowDices());
     }
 
     /**
@@ -887,9 +640,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToVisitPlanet(String nickname, int choice){
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToVisitPlanet");
-        outMessage.setParamInt(choice);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToVisitPlanet(choice));
     }
 
     /**
@@ -901,9 +652,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToAcceptTheReward(String nickname, Boolean choice) throws RemoteException{
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToAcceptTheReward");
-        outMessage.setParamBoolean(choice);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToAcceptTheReward(choice));
     }
 
 
@@ -917,10 +666,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerChoseDoubleEngines(String nickname, List<Coordinates> doubleEnginesCoords, List<Coordinates> batteryBoxesCoords) throws RemoteException{
-        SocketMessage outMessage = new SocketMessage(nickname, "playerChoseDoubleEngines");
-        outMessage.setParamActivableCoordinates(doubleEnginesCoords);
-        outMessage.setParamBatteryBoxCoordinates(batteryBoxesCoords);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerChoseDoubleEngines(doubleEnginesCoords, batteryBoxesCoords));
     }
 
     /**
@@ -933,10 +679,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerChoseDoubleCannons(String nickname, List<Coordinates> doubleCannonsCoords, List<Coordinates> batteryBoxesCoords) throws RemoteException{
-        SocketMessage outMessage = new SocketMessage(nickname, "playerChoseDoubleCannons");
-        outMessage.setParamActivableCoordinates(doubleCannonsCoords);
-        outMessage.setParamBatteryBoxCoordinates(batteryBoxesCoords);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerChoseDoubleCannons(doubleCannonsCoords, batteryBoxesCoords));
     }
 
     /**
@@ -949,10 +692,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerHandleSmallDanObj(String nickname, List<Coordinates> shieldCoords, List<Coordinates> batteryBoxCoords) throws RemoteException{
-        SocketMessage outMessage = new SocketMessage(nickname, "playerHandleSmallMeteorite");
-        outMessage.setParamActivableCoordinates(shieldCoords);
-        outMessage.setParamBatteryBoxCoordinates(batteryBoxCoords);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerHandleSmallMeteorite(shieldCoords, batteryBoxCoords));
     }
 
     /**
@@ -965,10 +705,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerHandleBigMeteorite(String nickname, List<Coordinates> doubleCannonCoords, List<Coordinates> batteryBoxCoords) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerHandleBigMeteorite");
-        outMessage.setParamActivableCoordinates(doubleCannonCoords);
-        outMessage.setParamBatteryBoxCoordinates(batteryBoxCoords);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerHandleBigMeteorite(doubleCannonCoords, batteryBoxCoords));
     }
 
     /**
@@ -979,8 +716,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerHandleBigShot(String nickname) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerHandleBigShot");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerHandleBigShot());
     }
 
     /**
@@ -992,9 +728,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerChoseStorage(String nickname, List<Coordinates> storageCoords) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerChoseStorage");
-        outMessage.setParamActivableCoordinates(storageCoords);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerChoseStorage(storageCoords));
     }
 
     /**
@@ -1006,9 +740,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerChoseCabins(String nickname, List<Coordinates> cabinsCoords) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerChoseCabins");
-        outMessage.setParamCabinCoordinates(cabinsCoords);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerChoseCabins(cabinsCoords));
     }
 
     /**
@@ -1019,8 +751,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void spreadEpidemic(String nickname) throws RemoteException{
-        SocketMessage outMessage = new SocketMessage(nickname, "spreadEpidemic");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new SpreadEpidemic());
     }
 
     /**
@@ -1031,8 +762,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void stardustEvent(String nickname) throws RemoteException{
-        SocketMessage outMessage = new SocketMessage(nickname, "stardustEvent");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new StardustEvent());
     }
 
     /**
@@ -1043,8 +773,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void evaluatedCrewMembers(String nickname) throws RemoteException{
-        SocketMessage outMessage = new SocketMessage(nickname, "evaluatedCrewMembers");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new EvaluatedCrewMembers());
     }
 
     /**
@@ -1055,8 +784,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void notifyHourglassEnded(String nickname) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "notifyHourglassEnded");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new NotifyHourglassEnded());
     }
 
     /**
@@ -1068,9 +796,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void playerWantsToFocusReservedComponent(String nickname, int choice) throws RemoteException {
-        SocketMessage outMessage = new SocketMessage(nickname, "playerWantsToFocusReservedComponent");
-        outMessage.setParamInt(choice);
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new PlayerWantsToFocusReservedComponent(choice));
     }
 
     /**
@@ -1080,8 +806,7 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      * @throws IOException If communication fails
      */
     public void startCheckShipBoardAfterAttack(String nickname) throws IOException {
-        SocketMessage outMessage = new SocketMessage(nickname, "startCheckShipBoardAfterAttack");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new StartCheckShipBoardAfterAttack());
     }
 
     /**
@@ -1091,7 +816,6 @@ public class SocketClientManager implements CallableOnDNS, CallableOnGameControl
      */
     @Override
     public void debugSkipToLastCard() throws IOException {
-        SocketMessage outMessage = new SocketMessage(nickname, "debugSkipToLastCard");
-        out.println(ClientSerializer.serialize(outMessage));
+        send(nickname, new DebugSkipToLastCard());
     }
 }
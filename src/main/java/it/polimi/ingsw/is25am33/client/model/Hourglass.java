@@ -6,33 +6,48 @@ import it.polimi.ingsw.is25am33.client.view.ClientView;
 import java.io.IOException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Represents an Hourglass timer with a fixed duration and limited flips.
- * The Hourglass can be started and provides notifications through a client view.
+ * Shows the hourglass of the game, which runs on the server.
+ * Each turn is started by the server with its deadline; the client counts down to it and updates
+ * the client view every second. When the deadline passes the server is told, but only as a hint:
+ * the server ends the turn on its own.
  */
 public class Hourglass {
 
-    private ScheduledExecutorService scheduler;
+    /**
+     * Duration of a turn of the hourglass, in seconds.
+     */
+    public static final int DURATION_SECONDS = 60;
+
+    /**
+     * Thread counting down the hourglasses of the client.
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hourglass");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> countdown;
     private int timeLeft;
     private int flipsLeft;
-    private boolean isRunning;
+    private volatile boolean isRunning;
     private final ClientController controller;
 
     /**
      * Constructs an Hourglass instance with a specified client controller.
-     * Initializes the scheduler, sets the initial state to not running,
-     * and limits the number of flips to three.
+     * The hourglass is not running until the server starts a turn.
      *
      * @param controller the client controller responsible for handling
      *                   notifications and managing the hourglass state
      */
     public Hourglass(ClientController controller) {
-        this.scheduler = Executors.newScheduledThreadPool(1);
         this.isRunning = false;
         this.controller = controller;
-        this.flipsLeft = 3;
+        this.flipsLeft = 0;
     }
 
     public boolean isRunning() {
@@ -44,62 +59,64 @@ public class Hourglass {
     }
 
     /**
-     * Starts the hourglass timer and updates the client view with the remaining time
-     * and flip count. The timer counts down from 60 seconds and notifies the client
-     * view when the timer ends. If a timer is already running, it will shut down
-     * before starting a new one.
+     * Starts showing a turn of the hourglass started by the server, replacing the running one if any.
+     * The client view is updated every second with the time left until the deadline, and notified when it passes.
      *
      * @param view the client view used to update the remaining time
      *             and notify when the timer ends
+     * @param nickname the nickname of the player who flipped the hourglass
+     * @param flipsLeft the number of flips still available
+     * @param deadlineMillis the time at which the turn ends on the server, in epoch milliseconds
      */
-    public void start(ClientView view, String nickname) {
+    public synchronized void start(ClientView view, String nickname, int flipsLeft, long deadlineMillis) {
 
-        if (scheduler != null) {
-            scheduler.shutdown();
-        }
+        if (countdown != null)
+            countdown.cancel(false);
 
-        flipsLeft--;
+        this.flipsLeft = flipsLeft;
 
         view.notifyHourglassStarted(flipsLeft, nickname);
 
-        scheduler = Executors.newScheduledThreadPool(1);
-
         isRunning = true;
-        timeLeft = 60;
-        scheduler.scheduleAtFixedRate(() -> {
+        countdown = SCHEDULER.scheduleAtFixedRate(() -> update(view, deadlineMillis), 0, 1, TimeUnit.SECONDS);
+    }
 
+    private void update(ClientView view, long deadlineMillis) {
+        synchronized (this) {
+            if (!isRunning)
+                return;
+
+            long millisLeft = deadlineMillis - System.currentTimeMillis();
+            // a clock ahead of the server's must not show more than a full turn
+            timeLeft = (int) Math.min(DURATION_SECONDS, Math.max(0, (millisLeft + 999) / 1000));
             if (timeLeft > 0) {
-                timeLeft--;
                 view.updateTimeLeft(timeLeft, flipsLeft);
-            } else {
-                scheduler.shutdown();
-                view.notifyTimerEnded(flipsLeft);
-
-                try {
-                    controller.notifyHourglassEnded();
-                } catch (IOException e) {
-                    controller.handleRemoteException(e);
-                }
-
-                isRunning = false;
+                return;
             }
 
-        }, 0, 1, TimeUnit.SECONDS);
+            countdown.cancel(false);
+            isRunning = false;
+            view.notifyTimerEnded(flipsLeft);
+        }
+
+        try {
+            controller.notifyHourglassEnded();
+        } catch (IOException e) {
+            controller.handleRemoteException(e);
+        }
     }
 
     /**
      * Stops the currently running hourglass timer if it is active.
-     * This method shuts down the internal scheduler and updates the state
+     * This method cancels the countdown and updates the state
      * to indicate that the timer is no longer running.
      *
-     * If the scheduler is already stopped or uninitialized, this method
-     * performs no action.
+     * If the hourglass is not running, this method performs no action.
      */
-    public void stop() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdown();
-            isRunning = false;
-        }
+    public synchronized void stop() {
+        if (countdown != null)
+            countdown.cancel(false);
+        isRunning = false;
     }
 
 }
@@ -507,7 +507,7 @@ public class PrefabShipFactory {
         for (int i = 0; i < ShipBoard.BOARD_DIMENSION; i++) {
             for (int j = 0; j < ShipBoard.BOARD_DIMENSION; j++) {
                 if ((i != mainCabinX || j != mainCabinY) && matrix[i][j] != null) {
-                    matrix[i][j] = null;
+                    shipBoard.setComponentAt(i, j, null);
                 }
             }
         }
@@ -520,8 +520,7 @@ public class PrefabShipFactory {
         int x_0_based = x-1;
         int y_0_based = y-1;
 
-        Component[][] matrix = shipBoard.getShipMatrix();
-        matrix[x_0_based][y_0_based] = component;
+        shipBoard.setComponentAt(x_0_based, y_0_based, component);
         component.insertInComponentsMap(shipBoard.getComponentsPerType());
     }
 
@@ -529,8 +528,7 @@ public class PrefabShipFactory {
         int x_0_based = x-1;
         int y_0_based = y-1;
 
-        Component[][] matrix = shipBoard.getShipMatrix();
-        matrix[x_0_based][y_0_based] = component;
+        shipBoard.setComponentAt(x_0_based, y_0_based, component);
         component.insertInComponentsMap(shipBoard.getComponentsPerType());
         component.setImageName(imageName);
     }
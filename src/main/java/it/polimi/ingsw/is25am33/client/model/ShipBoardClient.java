@@ -1,6 +1,7 @@
 package it.polimi.ingsw.is25am33.client.model;
 
 import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.board.ShipBoardDelta;
 import it.polimi.ingsw.is25am33.model.GameClientNotifier;
 import it.polimi.ingsw.is25am33.model.component.*;
 import it.polimi.ingsw.is25am33.model.dangerousObj.DangerousObj;
@@ -479,4 +480,12 @@ public interface ShipBoardClient {
     long getNumberOfComponents();
 
     Integer getBatteries();
+
+    /**
+     * Applies a ship board update received from the server, modifying the ship matrix in place.
+     *
+     * @param delta the changes to apply, or a snapshot of the whole board
+     * @return true if the update was applied, false if it does not follow the current version of the board
+     */
+    boolean applyDelta(ShipBoardDelta delta);
 }
\ No newline at end of file
@@ -439,7 +439,7 @@ public abstract class BoardsController {
      */
     public void updateShipBoards(String nickname, int row, int column, Component newComponent) {
         if (nickname.equals(clientModel.getMyNickname())) {
-            String buttonId = fromCoordsToButtonId(new Coordinates(row, column));
+            String buttonId = fromCoordsToButtonId(Coordinates.of(row, column));
             Button button = buttonMap.get(buttonId);
             Platform.runLater(() -> updateButtonAppearance(button, newComponent));
         } else {
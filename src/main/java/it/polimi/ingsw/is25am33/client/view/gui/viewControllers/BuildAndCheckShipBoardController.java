@@ -288,7 +288,7 @@ public class BuildAndCheckShipBoardController extends GuiController implements B
             return;
         }
 
-        if (clientModel.getMyShipboard().getIncorrectlyPositionedComponentsCoordinates().contains(new Coordinates(row, column))) {
+        if (clientModel.getMyShipboard().getIncorrectlyPositionedComponentsCoordinates().contains(Coordinates.of(row, column))) {
             this.boardsController.removeHighlightColor();
             clientController.removeComponent(row, column);
         } else
@@ -297,7 +297,7 @@ public class BuildAndCheckShipBoardController extends GuiController implements B
 
     private void handleShipParts(int row, int column) {
         IntStream.range(0, shipParts.size())
-                .filter(i -> shipParts.get(i).contains(new Coordinates(row, column)))
+                .filter(i -> shipParts.get(i).contains(Coordinates.of(row, column)))
                 .findFirst()
                 .ifPresentOrElse(
                         i -> {
@@ -630,10 +630,10 @@ public class BuildAndCheckShipBoardController extends GuiController implements B
 
     private void handleCrewPlacement(int row, int column) {
 
-        if (!cabinsWithLifeSupport.containsKey(new Coordinates(row, column)))
+        if (!cabinsWithLifeSupport.containsKey(Coordinates.of(row, column)))
             return;
 
-        Coordinates selectedCoords = new Coordinates(row, column);
+        Coordinates selectedCoords = Coordinates.of(row, column);
 
         if (this.currentCrewMemberChoice == CrewMember.PURPLE_ALIEN) {
 
@@ -1339,7 +1339,7 @@ public class CardPhaseController extends GuiController implements BoardsEventHan
             return;
         }
 
-        Coordinates coordinates = new Coordinates(row, column);
+        Coordinates coordinates = Coordinates.of(row, column);
         switch (clientModel.getCurrCardState()) {
             case CardState.CHOOSE_ENGINES -> {
                 if (isSelectingDoubleEngine()) {
@@ -1007,7 +1007,7 @@ public class ClientCLIView implements ClientView {
                 try {
                     int row = Integer.parseInt(tokens[0]);
                     int col = Integer.parseInt(tokens[1]);
-                    return new Coordinates(row - 1, col - 1);
+                    return Coordinates.of(row - 1, col - 1);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid input. Please enter two numbers separated by space.");
                 }
@@ -1616,7 +1616,7 @@ public class ClientCLIView implements ClientView {
      * @return the color associated with the specified coordinate if found, or an empty string if no color is specified
      */
     private String getColorForCoordinate(int x, int y, Map<String, Set<Coordinates>> colorMap) {
-        Coordinates coord = new Coordinates(x, y);
+        Coordinates coord = Coordinates.of(x, y);
 
         for (Map.Entry<String, Set<Coordinates>> entry : colorMap.entrySet()) {
             if (entry.getValue().contains(coord)) {
@@ -3230,7 +3230,7 @@ public class ClientCLIView implements ClientView {
 
             // Aggiungi coordinate invalide per i cubi rimanenti che non possono essere accettati
             while (selectedCoordinates.size() < storageManager.getTotalCubesCount()) {
-                selectedCoordinates.add(new Coordinates(-1, -1)); // Coordinate invalide
+                selectedCoordinates.add(Coordinates.of(-1, -1)); // Coordinate invalide
             }
 
             clientController.playerChoseStorage(clientController.getNickname(), selectedCoordinates);
@@ -3391,7 +3391,7 @@ public class ClientCLIView implements ClientView {
 
             int row = Integer.parseInt(parts[0]) - 1; // Converte da 1-based a 0-based
             int col = Integer.parseInt(parts[1]) - 1;
-            return new Coordinates(row, col);
+            return Coordinates.of(row, col);
         } catch (NumberFormatException e) {
             showMessage("Invalid numbers. Please enter valid coordinates.", ERROR);
             return null;
@@ -3670,7 +3670,7 @@ public class ClientCLIView implements ClientView {
 
                 int row = Integer.parseInt(parts[0]) - 1; // Convert to 0-based
                 int col = Integer.parseInt(parts[1]) - 1;
-                Coordinates coords = new Coordinates(row, col);
+                Coordinates coords = Coordinates.of(row, col);
 
                 // Verify it's a cabin with crew
                 ShipBoardClient shipBoard = clientModel.getShipboardOf(clientModel.getMyNickname());
@@ -4233,7 +4233,7 @@ public class ClientCLIView implements ClientView {
                         column = Integer.parseInt(coordinates[1]);
 
                         // Converte le coordinate da 1-based (input utente) a 0-based (sistema interno)
-                        Coordinates targetCoords = new Coordinates(row - 1, column - 1);
+                        Coordinates targetCoords = Coordinates.of(row - 1, column - 1);
 
                         // Ottiene le coordinate dei componenti incorrettamente posizionati
                         Set<Coordinates> incorrectCoords = clientModel.getShipboardOf(clientController.getNickname())
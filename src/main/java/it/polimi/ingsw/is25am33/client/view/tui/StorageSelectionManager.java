@@ -203,7 +203,7 @@ public class StorageSelectionManager {
             return false;  // No more cubes to skip
         }
 
-        selectedStorages.add(new Coordinates(-1, -1));
+        selectedStorages.add(Coordinates.of(-1, -1));
         return true;
     }
 
@@ -293,6 +293,15 @@ public interface CallableOnGameController extends Remote {
      */
     void requestPrefabShips(String nickname) throws IOException;
 
+    /**
+     * Requests a full snapshot of a ship board, sent when the client detects a gap in the ship board updates it received.
+     *
+     * @param nickname The nickname of the player requesting the snapshot.
+     * @param shipOwnerNickname The nickname of the owner of the ship board.
+     * @throws IOException If there is an error during the communication.
+     */
+    void requestShipBoardSnapshot(String nickname, String shipOwnerNickname) throws IOException;
+
     /**
      * Requests the selection of a prefab ship for the specified player.
      *
@@ -0,0 +1,221 @@
+package it.polimi.ingsw.is25am33.controller;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mailbox of a single game: every action on the game model is a message, and the messages are processed
+ * one at a time, in arrival order. The game model is therefore only ever touched by one thread at a time
+ * and needs no locks of its own.
+ * <p>
+ * The actors do not own a thread: they are multiplexed over a fixed pool with one thread per core.
+ * An actor with pending messages takes a pool thread for at most {@link #MAX_MESSAGES_PER_TURN} messages,
+ * then gives it back to the other games.
+ * <p>
+ * Threads that serve many clients, such as the socket workers and the timer wheel, {@link #tell} the actor and
+ * go back to their other clients at once. Callers that need the outcome of the action, such as RMI calls and
+ * the changes DNS makes to the players of a game, {@link #ask} it and wait.
+ */
+public class GameActor {
+
+    /**
+     * Messages an actor processes before letting the other actors use the thread.
+     */
+    private static final int MAX_MESSAGES_PER_TURN = 32;
+
+    /**
+     * Threads shared by all the game actors.
+     */
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "game-actor-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * The actor whose messages the current thread is processing, if any.
+     */
+    private static final ThreadLocal<GameActor> CURRENT = new ThreadLocal<>();
+
+    /**
+     * An action on the game, possibly throwing a checked exception back to the caller.
+     *
+     * @param <E> the exception thrown by the action
+     */
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * An action on the game returning a result, possibly throwing a checked exception back to the caller.
+     *
+     * @param <T> the result of the action
+     * @param <E> the exception thrown by the action
+     */
+    @FunctionalInterface
+    public interface Query<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private final String name;
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    // whether the actor is queued on, or running on, the executor
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicLong processed = new AtomicLong();
+
+    /**
+     * Creates an actor running on the shared pool.
+     *
+     * @param name the name of the actor, used in the logs
+     */
+    public GameActor(String name) {
+        this(name, POOL);
+    }
+
+    /**
+     * Creates an actor running on the given executor.
+     */
+    GameActor(String name, Executor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues a message without waiting for it. A failure of the message is only logged, since nobody waits for it.
+     *
+     * @param message the message to process
+     */
+    public void tell(Action<?> message) {
+        mailbox.add(() -> {
+            try {
+                message.run();
+            } catch (Exception e) {
+                System.err.println("[" + name + "] Error while processing a message: " + e.getMessage());
+            }
+        });
+        schedule();
+    }
+
+    /**
+     * Queues an action and waits until it is processed, so that the caller sees its outcome as if it had run
+     * the action itself: any exception of the action is thrown here. An action sent by a message of the same
+     * actor is run immediately, since waiting for it would never end.
+     *
+     * @param action the action to process
+     * @param <E> the exception thrown by the action
+     * @throws E if the action throws it
+     */
+    public <E extends Exception> void ask(Action<E> action) throws E {
+        query(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queues an action and waits for its result, as {@link #ask} does.
+     *
+     * @param query the action to process
+     * @param <T> the result of the action
+     * @param <E> the exception thrown by the action
+     * @return the result of the action
+     * @throws E if the action throws it
+     */
+    public <T, E extends Exception> T query(Query<T, E> query) throws E {
+        if (CURRENT.get() == this)
+            return query.run();
+
+        CompletableFuture<T> done = new CompletableFuture<>();
+        mailbox.add(() -> {
+            try {
+                done.complete(query.run());
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        });
+        schedule();
+
+        try {
+            return done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for game " + name, e);
+        } catch (ExecutionException e) {
+            throw GameActor.<E>rethrow(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> E rethrow(Throwable failure) throws E {
+        if (failure instanceof RuntimeException runtimeException)
+            throw runtimeException;
+        if (failure instanceof Error error)
+            throw error;
+        throw (E) failure;
+    }
+
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true))
+            return;
+        try {
+            executor.execute(this::processMessages);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            System.err.println("[" + name + "] Messages rejected: " + e.getMessage());
+        }
+    }
+
+    private void processMessages() {
+        CURRENT.set(this);
+        try {
+            Runnable message;
+            for (int i = 0; i < MAX_MESSAGES_PER_TURN && (message = mailbox.poll()) != null; i++) {
+                // counted first, since running the message may already release its caller
+                processed.incrementAndGet();
+                message.run();
+            }
+        } finally {
+            CURRENT.remove();
+            scheduled.set(false);
+        }
+        // a message queued while the flag was still set would otherwise wait for the next one
+        if (!mailbox.isEmpty())
+            schedule();
+    }
+
+    /**
+     * Returns whether the current thread is processing a message of this actor.
+     *
+     * @return true if called from a message of this actor
+     */
+    public boolean isCurrent() {
+        return CURRENT.get() == this;
+    }
+
+    /**
+     * Returns the number of messages processed so far.
+     *
+     * @return the processed message count
+     */
+    public long getProcessedMessages() {
+        return processed.get();
+    }
+
+}
@@ -16,18 +16,27 @@ import java.io.IOException;
 import it.polimi.ingsw.is25am33.model.game.GameInfo;
 import it.polimi.ingsw.is25am33.model.game.Player;
 import it.polimi.ingsw.is25am33.network.DNS;
+import it.polimi.ingsw.is25am33.network.rmi.RMISockets;
 
+import java.rmi.NoSuchObjectException;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-public class GameController extends UnicastRemoteObject implements CallableOnGameController {
+public final class GameController implements CallableOnGameController {
     private final GameModel gameModel;
     private final ConcurrentHashMap<String, CallableOnClientController> clientControllers = new ConcurrentHashMap<>();
     private final DNS dns;
 
+    // every action on the game model runs on the mailbox of the game, one at a time
+    private final GameActor actor;
+
+    // the controller is exported to RMI only once an RMI client takes part in the game, games played over sockets never are
+    private final Object rmiExportLock = new Object();
+    private CallableOnGameController rmiStub;
+
     private final Map<String, Set<Set<Coordinates>>> temporaryShipParts = new ConcurrentHashMap<>();
 
     /**
@@ -38,7 +47,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void showMessage(String string) throws RemoteException {
-        System.out.println("Show message: " + string);
+        actor.ask(() -> System.out.println("Show message: " + string));
     }
 
     /**
@@ -48,12 +57,92 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      * @param maxPlayers   Maximum number of players allowed in the game
      * @param isTestFlight Whether this is a test flight game mode
      * @param dns          The DNS service for network communication
-     * @throws RemoteException If there is an error in remote communication
      */
-    public GameController(String gameId, int maxPlayers, boolean isTestFlight, DNS dns) throws RemoteException {
+    public GameController(String gameId, int maxPlayers, boolean isTestFlight, DNS dns) {
         this.gameModel = new GameModel(gameId, maxPlayers, isTestFlight);
+        GameActor actor = new GameActor(gameId);
+        this.actor = actor;
         this.gameModel.createGameClientNotifier(clientControllers);
+        // the timer wheel only queues the event on the mailbox, and goes back to the timers of the other games
+        this.gameModel.setTimerEventExecutor(event -> actor.tell(event::run));
         this.dns = dns;
+        this.gameModel.getGameClientNotifier().setSlowClientHandler(this::resyncClient);
+    }
+
+    /**
+     * Sends the current state of the game to a client whose pending notifications were dropped because it
+     * could not keep up: the game state, the current player and the ship board of every player.
+     * The client stays in the game; a client that is gone is found by the ping-pong as usual.
+     *
+     * @param nickname the nickname of the slow client
+     */
+    void resyncClient(String nickname) {
+        actor.tell(() -> {
+            if (!clientControllers.containsKey(nickname))
+                return;
+
+            GameState gameState = gameModel.getCurrGameState();
+            Player currPlayer = gameModel.getCurrPlayer();
+            gameModel.getGameClientNotifier().notifyClients(Set.of(nickname), (nicknameToNotify, clientController) -> {
+                clientController.notifyGameState(nicknameToNotify, gameState);
+                if (currPlayer != null)
+                    clientController.notifyCurrPlayerChanged(nicknameToNotify, currPlayer.getNickname());
+            });
+            gameModel.getPlayers().forEach((owner, player) ->
+                    gameModel.getGameClientNotifier().notifyShipBoardSnapshot(nickname, owner, player.getPersonalBoard()));
+        });
+    }
+
+    /**
+     * Exports this controller to RMI, unless it is already exported, so that RMI clients can call it.
+     * Game information sent to RMI clients after this call carries the returned stub.
+     *
+     * @return the RMI stub of this controller
+     * @throws RemoteException if the controller cannot be exported
+     */
+    public CallableOnGameController exportToRmi() throws RemoteException {
+        synchronized (rmiExportLock) {
+            if (rmiStub == null)
+                rmiStub = (CallableOnGameController) RMISockets.export(this);
+            return rmiStub;
+        }
+    }
+
+    /**
+     * Withdraws this controller from RMI, if it was exported, so that it no longer holds an entry in the
+     * RMI object table. Calls in progress are interrupted.
+     */
+    public void unexportFromRmi() {
+        synchronized (rmiExportLock) {
+            if (rmiStub == null)
+                return;
+            try {
+                UnicastRemoteObject.unexportObject(this, true);
+            } catch (NoSuchObjectException e) {
+                System.err.println("Game controller of " + gameModel.getGameId() + " was not exported: " + e.getMessage());
+            }
+            rmiStub = null;
+        }
+    }
+
+    /**
+     * Releases what the game holds outside of itself once it is removed from the server: the hourglass timer
+     * is cancelled, so that it does not fire for a game nobody plays, and the controller is withdrawn from RMI.
+     */
+    public void close() {
+        actor.tell(gameModel::cancelHourglass);
+        unexportFromRmi();
+    }
+
+    /**
+     * Checks whether this controller is currently exported to RMI.
+     *
+     * @return true if RMI clients can call this controller
+     */
+    public boolean isExportedToRmi() {
+        synchronized (rmiExportLock) {
+            return rmiStub != null;
+        }
     }
 
     /**
@@ -65,6 +154,15 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
         return gameModel;
     }
 
+    /**
+     * Gets the actor processing the actions of this game, one at a time.
+     *
+     * @return The GameActor of this game
+     */
+    public GameActor getActor() {
+        return actor;
+    }
+
     /**
      * Adds a new player to the game.
      *
@@ -73,8 +171,10 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      * @param clientController The client controller associated with this player
      */
     public void addPlayer(String nickname, PlayerColor color, CallableOnClientController clientController) {
-        clientControllers.put(nickname, clientController);
-        gameModel.addPlayer(nickname, color, clientController);
+        actor.ask(() -> {
+            clientControllers.put(nickname, clientController);
+            gameModel.addPlayer(nickname, color, clientController);
+        });
     }
 
     /**
@@ -92,7 +192,9 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      * @param nickname The nickname of the player to remove
      */
     public void removePlayer(String nickname) {
-        gameModel.removePlayer(nickname);
+        actor.ask(() -> {
+            gameModel.removePlayer(nickname);
+        });
     }
 
     /**
@@ -119,16 +221,20 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
     }
 
     /**
-     * Starts the game and notifies all clients.
+     * Starts the game and notifies all clients, then starts the hourglass unless the game is a test flight.
      */
     public void startGame() {
-        gameModel.setStarted(true);
-        GameInfo gameInfo = getGameInfo();
-        gameModel.setCurrGameState(GameState.BUILD_SHIPBOARD);
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyGameStarted(nicknameToNotify, getGameInfo());
+        actor.ask(() -> {
+            gameModel.setStarted(true);
+            GameInfo gameInfo = getGameInfo();
+            gameModel.setCurrGameState(GameState.BUILD_SHIPBOARD);
+            gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
+                clientController.notifyGameStarted(nicknameToNotify, gameInfo);
+            });
+            if (!gameModel.isTestFlight())
+                gameModel.startHourglass("game");
+            System.out.println("[" + gameInfo.getGameId() + "] Game started");
         });
-        System.out.println("[" + gameInfo.getGameId() + "] Game started");
     }
 
     /**
@@ -138,7 +244,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void leaveGameAfterCreation(String nickname) {
-        dns.handleDisconnection(nickname);
+        actor.ask(() -> dns.handleDisconnection(nickname));
     }
 
     /**
@@ -148,22 +254,24 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerPicksHiddenComponent(String nickname) {
-        synchronized (gameModel.getPlayers().get(nickname)) {
-            if(gameModel.getCurrGameState()!=GameState.BUILD_SHIPBOARD) {
-                System.err.println("Player " + nickname + " tried to playerPicksHiddenComponent in state " + gameModel.getCurrGameState());
-                return;
-            }
+        actor.ask(() -> {
+            gameModel.getGameClientNotifier().batch(() -> {
+                if(gameModel.getCurrGameState()!=GameState.BUILD_SHIPBOARD) {
+                    System.err.println("Player " + nickname + " tried to playerPicksHiddenComponent in state " + gameModel.getCurrGameState());
+                    return;
+                }
 
-            Component pickedComponent = gameModel.getComponentTable().pickHiddenComponent();
-            if (pickedComponent == null) {
-                gameModel.getGameClientNotifier()
-                        .notifyClients(Set.of(nickname), (nicknameToNotify, clientController) -> {
-                            clientController.notifyNoMoreHiddenComponents(nicknameToNotify);
-                        });
-                return;
-            }
-            gameModel.getPlayers().get(nickname).getPersonalBoard().setFocusedComponent(pickedComponent);
-        }
+                Component pickedComponent = gameModel.getComponentTable().pickHiddenComponent();
+                if (pickedComponent == null) {
+                    gameModel.getGameClientNotifier()
+                            .notifyClients(Set.of(nickname), (nicknameToNotify, clientController) -> {
+                                clientController.notifyNoMoreHiddenComponents(nicknameToNotify);
+                            });
+                    return;
+                }
+                gameModel.getPlayers().get(nickname).getPersonalBoard().setFocusedComponent(pickedComponent);
+            });
+        });
     }
 
     /**
@@ -175,19 +283,19 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToPlaceFocusedComponent(String nickname, Coordinates coordinates, int rotation) {
+        actor.ask(() -> {
+            gameModel.getGameClientNotifier().batch(() -> {
+                if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
+                    System.err.println("Player " + nickname + " tried to playerWantsToPlaceFocusedComponent in state " + gameModel.getCurrGameState());
+                    return;
+                }
 
-        synchronized (gameModel.getPlayers().get(nickname)) {
-            if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
-                System.err.println("Player " + nickname + " tried to playerWantsToPlaceFocusedComponent in state " + gameModel.getCurrGameState());
-                return;
-            }
-
-            ShipBoard shipBoard = gameModel.getPlayers().get(nickname).getPersonalBoard();
-            for (int i = 0; i < rotation; i++)
-                shipBoard.getFocusedComponent().rotate();
-            shipBoard.placeComponentWithFocus(coordinates.getX(), coordinates.getY());
-        }
-
+                ShipBoard shipBoard = gameModel.getPlayers().get(nickname).getPersonalBoard();
+                for (int i = 0; i < rotation; i++)
+                    shipBoard.getFocusedComponent().rotate();
+                shipBoard.placeComponentWithFocus(coordinates.getX(), coordinates.getY());
+            });
+        });
     }
 
     /**
@@ -200,17 +308,17 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToReserveFocusedComponent(String nickname) {
+        actor.ask(() -> {
+            gameModel.getGameClientNotifier().batch(() -> {
+                if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
+                    System.err.println("Player " + nickname + " tried to playerWantsToReserveFocusedComponent in state " + gameModel.getCurrGameState());
+                    return;
+                }
 
-        synchronized (gameModel.getPlayers().get(nickname)) {
-            if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
-                System.err.println("Player " + nickname + " tried to playerWantsToReserveFocusedComponent in state " + gameModel.getCurrGameState());
-                return;
-            }
-
-            ShipBoard shipBoard = gameModel.getPlayers().get(nickname).getPersonalBoard();
-            ((Level2ShipBoard) shipBoard).book();
-        }
-
+                ShipBoard shipBoard = gameModel.getPlayers().get(nickname).getPersonalBoard();
+                ((Level2ShipBoard) shipBoard).book();
+            });
+        });
     }
 
     /**
@@ -221,17 +329,19 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToReleaseFocusedComponent(String nickname) {
-        synchronized (gameModel.getPlayers().get(nickname)) {
-            if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
-                System.err.println("Player " + nickname + " tried to playerWantsToReleaseFocusedComponent in state " + gameModel.getCurrGameState());
-                return;
-            }
+        actor.ask(() -> {
+            gameModel.getGameClientNotifier().batch(() -> {
+                if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
+                    System.err.println("Player " + nickname + " tried to playerWantsToReleaseFocusedComponent in state " + gameModel.getCurrGameState());
+                    return;
+                }
 
-            ShipBoard shipBoard = gameModel.getPlayers().get(nickname).getPersonalBoard();
-            Component component = shipBoard.releaseFocusedComponent();
-            if (!shipBoard.getNotActiveComponents().contains(component))
-                gameModel.getComponentTable().addVisibleComponent(component);
-        }
+                ShipBoard shipBoard = gameModel.getPlayers().get(nickname).getPersonalBoard();
+                Component component = shipBoard.releaseFocusedComponent();
+                if (!shipBoard.getNotActiveComponents().contains(component))
+                    gameModel.getComponentTable().addVisibleComponent(component);
+            });
+        });
     }
 
     /**
@@ -243,7 +353,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerEndsBuildShipBoardPhase(String nickname) {
-        synchronized (gameModel.getPlayers().get(nickname)) {
+        actor.ask(() -> {
             if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
                 System.err.println("Player " + nickname + " tried to playerEndsBuildShipBoardPhase in state " + gameModel.getCurrGameState());
                 return;
@@ -251,7 +361,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
 
             if (gameModel.getFlyingBoard().insertPlayer(gameModel.getPlayers().get(nickname)) == gameModel.getMaxPlayers())
                 gameModel.setCurrGameState(GameState.CHECK_SHIPBOARD);
-        }
+        });
     }
 
     /**
@@ -262,7 +372,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerPlacesPawn(String nickname) {
-        synchronized (gameModel.getPlayers().get(nickname)) {
+        actor.ask(() -> {
             if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
                 System.err.println("Player " + nickname + " tried to playerPlacesPawn in state " + gameModel.getCurrGameState());
                 return;
@@ -270,7 +380,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
 
             if (gameModel.getFlyingBoard().insertPlayer(gameModel.getPlayers().get(nickname)) == gameModel.getMaxPlayers())
                 gameModel.setCurrGameState(GameState.CHECK_SHIPBOARD);
-        }
+        });
     }
 
     /**
@@ -283,7 +393,9 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void handleClientChoice(String nickname, PlayerChoicesDataStructure choice) throws IOException {
-        gameModel.getCurrAdventureCard().play(choice);
+        actor.ask(() -> {
+            gameModel.getCurrAdventureCard().play(choice);
+        });
     }
 
     /**
@@ -296,36 +408,37 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void submitCrewChoices(String nickname, Map<Coordinates, CrewMember> choices) throws IOException {
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLACE_CREW) {
+                System.err.println("Player " + nickname + " tried to submitCrewChoices in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLACE_CREW) {
-            System.err.println("Player " + nickname + " tried to submitCrewChoices in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        Player player = gameModel.getPlayers().get(nickname);
-        ShipBoard shipBoard = player.getPersonalBoard();
+            Player player = gameModel.getPlayers().get(nickname);
+            ShipBoard shipBoard = player.getPersonalBoard();
 
-        try {
-            // Validate the choices
-            validateCrewChoices(shipBoard, choices);
+            try {
+                // Validate the choices
+                validateCrewChoices(shipBoard, choices);
 
-            // Apply the choices
-            applyCrewChoices(shipBoard, choices);
+                // Apply the choices
+                applyCrewChoices(shipBoard, choices);
 
-            // Notify all clients
-            gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyCrewPlacementComplete(nicknameToNotify, nickname, shipBoard.getShipMatrix(), shipBoard.getComponentsPerType());
-            });
+                // Notify all clients
+                gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
+                    clientController.notifyCrewPlacementComplete(nicknameToNotify, nickname, shipBoard.getShipMatrix(), shipBoard.getComponentsPerType());
+                });
 
-            // Mark the player as completed
-            gameModel.markCrewPlacementCompleted(nickname);
-        } catch (IllegalArgumentException e) {
-            // Notify the error only to the client who sent invalid choices
-            gameModel.getGameClientNotifier().notifyClients(Set.of(nickname), (nicknameToNotify, clientController) -> {
-                System.out.println("ERROR submitCrewChoices: " + e.getMessage());
-                e.printStackTrace();
-            });
-        }
+                // Mark the player as completed
+                gameModel.markCrewPlacementCompleted(nickname);
+            } catch (IllegalArgumentException e) {
+                // Notify the error only to the client who sent invalid choices
+                gameModel.getGameClientNotifier().notifyClients(Set.of(nickname), (nicknameToNotify, clientController) -> {
+                    System.out.println("ERROR submitCrewChoices: " + e.getMessage());
+                    e.printStackTrace();
+                });
+            }
+        });
     }
 
     private void validateCrewChoices(ShipBoard shipBoard, Map<Coordinates, CrewMember> choices) {
@@ -397,22 +510,24 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerPicksVisibleComponent(String nickname, Integer choice) {
-        synchronized (gameModel.getPlayers().get(nickname)) {
-            if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
-                System.err.println("Player " + nickname + " tried to playerPicksVisibleComponent in state " + gameModel.getCurrGameState());
-                return;
-            }
+        actor.ask(() -> {
+            gameModel.getGameClientNotifier().batch(() -> {
+                if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
+                    System.err.println("Player " + nickname + " tried to playerPicksVisibleComponent in state " + gameModel.getCurrGameState());
+                    return;
+                }
 
-            Component chosenComponent = gameModel.getComponentTable().pickVisibleComponent(choice);
-            if (chosenComponent == null) {
-                gameModel.getGameClientNotifier()
-                        .notifyClients(Set.of(nickname), (nicknameToNotify, clientController) -> {
-                            clientController.notifyStolenVisibleComponent(nicknameToNotify);
-                        });
-                return;
-            }
-            gameModel.getPlayers().get(nickname).getPersonalBoard().setFocusedComponent(chosenComponent);
-        }
+                Component chosenComponent = gameModel.getComponentTable().pickVisibleComponent(choice);
+                if (chosenComponent == null) {
+                    gameModel.getGameClientNotifier()
+                            .notifyClients(Set.of(nickname), (nicknameToNotify, clientController) -> {
+                                clientController.notifyStolenVisibleComponent(nicknameToNotify);
+                            });
+                    return;
+                }
+                gameModel.getPlayers().get(nickname).getPersonalBoard().setFocusedComponent(chosenComponent);
+            });
+        });
     }
 
     /**
@@ -424,24 +539,25 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToVisitLocation(String nickname, Boolean choice) {
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerWantsToVisitLocation in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerWantsToVisitLocation in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("AbandonedShip") || gameModel.getCurrAdventureCard().getCardName().equals("AbandonedStation"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.VISIT_LOCATION))){
-            System.err.println("Player " + nickname + " tried to playerWantsToVisitLocation in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("AbandonedShip") || gameModel.getCurrAdventureCard().getCardName().equals("AbandonedStation"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.VISIT_LOCATION))){
+                System.err.println("Player " + nickname + " tried to playerWantsToVisitLocation in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
 
-        PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
-                .Builder()
-                .setWantsToVisit(choice)
-                .build();
+            PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
+                    .Builder()
+                    .setWantsToVisit(choice)
+                    .build();
 
-        gameModel.getCurrAdventureCard().play(playerChoice);
+            gameModel.getCurrAdventureCard().play(playerChoice);
+        });
     }
 
     /**
@@ -452,8 +568,10 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToThrowDices(String nickname) {
-        PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure.Builder().build();
-        gameModel.getCurrAdventureCard().play(playerChoice);
+        actor.ask(() -> {
+            PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure.Builder().build();
+            gameModel.getCurrAdventureCard().play(playerChoice);
+        });
     }
 
     /**
@@ -465,22 +583,24 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToVisitPlanet(String nickname, int choice){
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerWantsToVisitPlanet in state " + gameModel.getCurrGameState());
-            return;
-        }
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerWantsToVisitPlanet in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("Planets"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.CHOOSE_PLANET))){
-            System.err.println("Player " + nickname + " tried to playerWantsToVisitPlanet in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("Planets"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.CHOOSE_PLANET))){
+                System.err.println("Player " + nickname + " tried to playerWantsToVisitPlanet in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
-                .Builder()
-                .setChosenPlanetIndex(choice)
-                .build();
+            PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
+                    .Builder()
+                    .setChosenPlanetIndex(choice)
+                    .build();
 
-        gameModel.getCurrAdventureCard().play(playerChoice);
+            gameModel.getCurrAdventureCard().play(playerChoice);
+        });
     }
 
     /**
@@ -492,24 +612,24 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToAcceptTheReward(String nickname, Boolean choice) {
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerWantsToVisitPlanet in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerWantsToVisitPlanet in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("Smugglers")||(gameModel.getCurrAdventureCard().getCardName().equals("SlaveTraders") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.ACCEPT_THE_REWARD)))){
-            System.err.println("Player " + nickname + " tried to playerWantsToVisitPlanet in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
-
-        PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
-                .Builder()
-                .setHasAcceptedTheReward(choice)
-                .build();
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("Smugglers")||(gameModel.getCurrAdventureCard().getCardName().equals("SlaveTraders") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.ACCEPT_THE_REWARD)))){
+                System.err.println("Player " + nickname + " tried to playerWantsToVisitPlanet in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(playerChoice);
+            PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
+                    .Builder()
+                    .setHasAcceptedTheReward(choice)
+                    .build();
 
+            gameModel.getCurrAdventureCard().play(playerChoice);
+        });
     }
 
     /**
@@ -522,24 +642,25 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerChoseDoubleEngines(String nickname, List<Coordinates> doubleEnginesCoords, List<Coordinates> batteryBoxesCoords){
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerChoseDoubleEngines in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerChoseDoubleEngines in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("FreeSpace")||(gameModel.getCurrAdventureCard().getCardName().equals("WarField") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.CHOOSE_ENGINES)))){
-            System.err.println("Player " + nickname + " tried to playerChoseDoubleEngines in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("FreeSpace")||(gameModel.getCurrAdventureCard().getCardName().equals("WarField") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.CHOOSE_ENGINES)))){
+                System.err.println("Player " + nickname + " tried to playerChoseDoubleEngines in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
-                .Builder()
-                .setChosenDoubleEngines(doubleEnginesCoords)
-                .setChosenBatteryBoxes(batteryBoxesCoords)
-                .build();
+            PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
+                    .Builder()
+                    .setChosenDoubleEngines(doubleEnginesCoords)
+                    .setChosenBatteryBoxes(batteryBoxesCoords)
+                    .build();
 
-        gameModel.getCurrAdventureCard().play(playerChoice);
+            gameModel.getCurrAdventureCard().play(playerChoice);
+        });
     }
 
 
@@ -553,25 +674,25 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerChoseDoubleCannons(String nickname, List<Coordinates> doubleCannonsCoords, List<Coordinates> batteryBoxesCoords){
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerChoseDoubleEngine in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerChoseDoubleEngine in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("MeteoriteStorm")||(gameModel.getCurrAdventureCard().getCardName().equals("WarField") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.CHOOSE_CANNONS)))){
-            System.err.println("Player " + nickname + " tried to playerChoseDoubleEngine in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
-
-        PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
-                .Builder()
-                .setChosenDoubleCannons(doubleCannonsCoords)
-                .setChosenBatteryBoxes(batteryBoxesCoords)
-                .build();
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("MeteoriteStorm")||(gameModel.getCurrAdventureCard().getCardName().equals("WarField") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.CHOOSE_CANNONS)))){
+                System.err.println("Player " + nickname + " tried to playerChoseDoubleEngine in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(playerChoice);
+            PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
+                    .Builder()
+                    .setChosenDoubleCannons(doubleCannonsCoords)
+                    .setChosenBatteryBoxes(batteryBoxesCoords)
+                    .build();
 
+            gameModel.getCurrAdventureCard().play(playerChoice);
+        });
     }
 
     /**
@@ -583,25 +704,25 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerChoseCabins(String nickname, List<Coordinates> cabinCoords) {
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerChoseDoubleEngine in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerChoseDoubleEngine in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("AbandonedShip")||(gameModel.getCurrAdventureCard().getCardName().equals("SlaveTraders")
-                || gameModel.getCurrAdventureCard().getCardName().equals("Epidemic") || gameModel.getCurrAdventureCard().getCardName().equals("WarField"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.REMOVE_CREW_MEMBERS)))){
-            System.err.println("Player " + nickname + " tried to playerChoseCabin in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
-
-        PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
-                .Builder()
-                .setChosenCabins(cabinCoords)
-                .build();
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("AbandonedShip")||(gameModel.getCurrAdventureCard().getCardName().equals("SlaveTraders")
+                    || gameModel.getCurrAdventureCard().getCardName().equals("Epidemic") || gameModel.getCurrAdventureCard().getCardName().equals("WarField"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.REMOVE_CREW_MEMBERS)))){
+                System.err.println("Player " + nickname + " tried to playerChoseCabin in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(playerChoice);
+            PlayerChoicesDataStructure playerChoice = new PlayerChoicesDataStructure
+                    .Builder()
+                    .setChosenCabins(cabinCoords)
+                    .build();
 
+            gameModel.getCurrAdventureCard().play(playerChoice);
+        });
     }
 
     /**
@@ -614,26 +735,26 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerHandleSmallDanObj(String nickname, List<Coordinates> shieldCoords, List<Coordinates> batteryBoxCoords) {
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerSmallDanObj in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerSmallDanObj in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("WarField")||(gameModel.getCurrAdventureCard().getCardName().equals("Pirates")
-                || gameModel.getCurrAdventureCard().getCardName().equals("MeteoriteStorm"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.DANGEROUS_ATTACK)))){
-            System.err.println("Player " + nickname + " tried to playerSmallDanObj in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
-
-        PlayerChoicesDataStructure choice = new PlayerChoicesDataStructure
-                .Builder()
-                .setChosenBatteryBoxes(batteryBoxCoords)
-                .setChosenShield(shieldCoords)
-                .build();
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("WarField")||(gameModel.getCurrAdventureCard().getCardName().equals("Pirates")
+                    || gameModel.getCurrAdventureCard().getCardName().equals("MeteoriteStorm"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.DANGEROUS_ATTACK)))){
+                System.err.println("Player " + nickname + " tried to playerSmallDanObj in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(choice);
+            PlayerChoicesDataStructure choice = new PlayerChoicesDataStructure
+                    .Builder()
+                    .setChosenBatteryBoxes(batteryBoxCoords)
+                    .setChosenShield(shieldCoords)
+                    .build();
 
+            gameModel.getCurrAdventureCard().play(choice);
+        });
     }
 
     /**
@@ -646,25 +767,25 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerHandleBigMeteorite(String nickname, List<Coordinates> doubleCannonCoords, List<Coordinates> batteryBoxCoords) {
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerBigMeteorite in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerBigMeteorite in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!(gameModel.getCurrAdventureCard().getCardName().equals("MeteoriteStorm")
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.DANGEROUS_ATTACK))){
-            System.err.println("Player " + nickname + " tried to playerBigMeteorite in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
-
-        PlayerChoicesDataStructure choice= new PlayerChoicesDataStructure
-                    .Builder()
-                    .setChosenBatteryBoxes(batteryBoxCoords)
-                    .setChosenDoubleCannons(doubleCannonCoords)
-                    .build();
+            if(!(gameModel.getCurrAdventureCard().getCardName().equals("MeteoriteStorm")
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.DANGEROUS_ATTACK))){
+                System.err.println("Player " + nickname + " tried to playerBigMeteorite in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(choice);
+            PlayerChoicesDataStructure choice= new PlayerChoicesDataStructure
+                        .Builder()
+                        .setChosenBatteryBoxes(batteryBoxCoords)
+                        .setChosenDoubleCannons(doubleCannonCoords)
+                        .build();
 
+            gameModel.getCurrAdventureCard().play(choice);
+        });
     }
 
     /**
@@ -676,23 +797,23 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerHandleBigShot(String nickname) throws RemoteException {
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerBigShot in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerBigShot in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("WarField") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.DANGEROUS_ATTACK))){
-            System.err.println("Player " + nickname + " tried to playerBigShot in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
-
-        PlayerChoicesDataStructure choice = new PlayerChoicesDataStructure
-                .Builder()
-                .build();
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("WarField") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.DANGEROUS_ATTACK))){
+                System.err.println("Player " + nickname + " tried to playerBigShot in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(choice);
+            PlayerChoicesDataStructure choice = new PlayerChoicesDataStructure
+                    .Builder()
+                    .build();
 
+            gameModel.getCurrAdventureCard().play(choice);
+        });
     }
 
     /**
@@ -704,25 +825,25 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerChoseStorage(String nickname, List<Coordinates> storageCoords){
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to playerChoseStorage in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to playerChoseStorage in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("Planets") || gameModel.getCurrAdventureCard().getCardName().equals("AbandonedStation")
-                || gameModel.getCurrAdventureCard().getCardName().equals("Smugglers"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.HANDLE_CUBES_REWARD))){
-            System.err.println("Player " + nickname + " tried to playerChoseStorage in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
-
-        PlayerChoicesDataStructure choice = new PlayerChoicesDataStructure
-                .Builder()
-                .setChosenStorage(storageCoords)
-                .build();
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("Planets") || gameModel.getCurrAdventureCard().getCardName().equals("AbandonedStation")
+                    || gameModel.getCurrAdventureCard().getCardName().equals("Smugglers"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.HANDLE_CUBES_REWARD))){
+                System.err.println("Player " + nickname + " tried to playerChoseStorage in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(choice);
+            PlayerChoicesDataStructure choice = new PlayerChoicesDataStructure
+                    .Builder()
+                    .setChosenStorage(storageCoords)
+                    .build();
 
+            gameModel.getCurrAdventureCard().play(choice);
+        });
     }
 
     /**
@@ -733,18 +854,19 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void spreadEpidemic(String nickname) throws RemoteException{
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to spreadEpidemic in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to spreadEpidemic in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!(gameModel.getCurrAdventureCard().getCardName().equals("Epidemic")
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.EPIDEMIC))){
-            System.err.println("Player " + nickname + " tried to spreadEpidemic in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
+            if(!(gameModel.getCurrAdventureCard().getCardName().equals("Epidemic")
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.EPIDEMIC))){
+                System.err.println("Player " + nickname + " tried to spreadEpidemic in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(new PlayerChoicesDataStructure());
+            gameModel.getCurrAdventureCard().play(new PlayerChoicesDataStructure());
+        });
     }
 
     /**
@@ -755,18 +877,19 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void stardustEvent(String nickname) throws RemoteException{
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to stardustEvent in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to stardustEvent in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!(gameModel.getCurrAdventureCard().getCardName().equals("Stardust")
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.STARDUST))){
-            System.err.println("Player " + nickname + " tried to stardustEvent in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
+            if(!(gameModel.getCurrAdventureCard().getCardName().equals("Stardust")
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.STARDUST))){
+                System.err.println("Player " + nickname + " tried to stardustEvent in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(new PlayerChoicesDataStructure());
+            gameModel.getCurrAdventureCard().play(new PlayerChoicesDataStructure());
+        });
     }
 
     /**
@@ -776,18 +899,19 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      * @throws RemoteException If there is an error in remote communication
      */
     public void evaluatedCrewMembers(String nickname) throws RemoteException{
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to evaluatedCrewMembers in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to evaluatedCrewMembers in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!(gameModel.getCurrAdventureCard().getCardName().equals("WarField")
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.EVALUATE_CREW_MEMBERS))){
-            System.err.println("Player " + nickname + " tried to evaluatedCrewMembers in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
+            if(!(gameModel.getCurrAdventureCard().getCardName().equals("WarField")
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.EVALUATE_CREW_MEMBERS))){
+                System.err.println("Player " + nickname + " tried to evaluatedCrewMembers in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(new PlayerChoicesDataStructure());
+            gameModel.getCurrAdventureCard().play(new PlayerChoicesDataStructure());
+        });
     }
 
     /**
@@ -799,17 +923,19 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToRestartHourglass(String nickname) throws RemoteException {
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.BUILD_SHIPBOARD) {
+                System.err.println("Player " + nickname + " tried to playerWantsToRestartHourglass in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.BUILD_SHIPBOARD) {
-            System.err.println("Player " + nickname + " tried to playerWantsToRestartHourglass in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        gameModel.restartHourglass(nickname);
+            gameModel.restartHourglass(nickname);
+        });
     }
 
     /**
-     * Notifies the game that the hourglass timer has ended for a player.
+     * Notifies the game that the hourglass timer has ended for a player. The report is advisory:
+     * the hourglass runs on the server, which ends it at its own deadline.
      * <p>
      * Only allowed during the BUILD_SHIPBOARD phase. If the call occurs in a different phase,
      * the method logs an error and returns without taking action.
@@ -818,13 +944,14 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void notifyHourglassEnded(String nickname) {
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.BUILD_SHIPBOARD) {
+                System.err.println("Player " + nickname + " tried to notifyHourglassEnded in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.BUILD_SHIPBOARD) {
-            System.err.println("Player " + nickname + " tried to notifyHourglassEnded in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        gameModel.hourglassEnded();
+            gameModel.hourglassEnded();
+        });
     }
 
     /**
@@ -844,7 +971,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToRemoveComponent(String nickname, Coordinates coordinates) {
-        synchronized (gameModel.getPlayers().get(nickname)) {
+        actor.ask(() -> {
             if (gameModel.getCurrGameState() != GameState.CHECK_SHIPBOARD && gameModel.getCurrGameState() != GameState.PLAY_CARD) {
                 System.err.println("Player " + nickname + " tried to playerWantsToRemoveComponent in state " + gameModel.getCurrGameState());
                 return;
@@ -857,15 +984,18 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
                 // Store the ship parts for this player
                 temporaryShipParts.put(nickname, shipParts);
 
+                // the board is updated before notifying, the notifications are delivered asynchronously
+                shipBoard.ejectAliens();
+                if (shipParts.size() <= 1)
+                    shipBoard.checkShipBoard();
+                Component[][] shipMatrix = shipBoard.getShipMatrix();
+                Map<Class<?>, List<Component>> componentsPerType = shipBoard.getComponentsPerType();
+                Set<Coordinates> incorrectlyPositionedComponentsCoordinates = shipBoard.getIncorrectlyPositionedComponentsCoordinates();
+                List<Component> notActiveComponentsList = shipBoard.getNotActiveComponents();
+
                 gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
                     try {
-                        shipBoard.ejectAliens();
-                        Component[][] shipMatrix = shipBoard.getShipMatrix();
-                        Map<Class<?>, List<Component>> componentsPerType = shipBoard.getComponentsPerType();
-                        Set<Coordinates> incorrectlyPositionedComponentsCoordinates = shipBoard.getIncorrectlyPositionedComponentsCoordinates();
-                        List<Component> notActiveComponentsList = shipBoard.getNotActiveComponents();
                         if (shipParts.size() <= 1) {
-                            shipBoard.checkShipBoard();
                             if (incorrectlyPositionedComponentsCoordinates.isEmpty()) {
                                 clientController.notifyValidShipBoard(nicknameToNotify, nickname, shipMatrix, incorrectlyPositionedComponentsCoordinates, componentsPerType, notActiveComponentsList);
 
@@ -882,7 +1012,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
                     // Check if all ships are correct and if so, change the phase
                     gameModel.checkAndTransitionToNextPhase();
             }
-        }
+        });
     }
 
     /**
@@ -898,7 +1028,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerChoseShipPart(String nickname, Set<Coordinates> chosenShipPart) throws RemoteException {
-        synchronized (gameModel.getPlayers().get(nickname)) {
+        actor.ask(() -> {
             if (gameModel.getCurrGameState() != GameState.CHECK_SHIPBOARD && gameModel.getCurrGameState() != GameState.PLAY_CARD) {
                 System.err.println("Player " + nickname + " tried to playerChoseShipPart in state " + gameModel.getCurrGameState());
                 return;
@@ -920,13 +1050,15 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
                 shipBoard.checkShipBoard();
 
 
+                Component[][] shipMatrix = shipBoard.getShipMatrix();
+                Map<Class<?>, List<Component>> componentsPerType = shipBoard.getComponentsPerType();
+                Set<Coordinates> incorrectlyPositionedComponentsCoordinates = shipBoard.getIncorrectlyPositionedComponentsCoordinates();
+                List<Component> notActiveComponentsList = shipBoard.getNotActiveComponents();
+                boolean isShipCorrect = shipBoard.isShipCorrect();
+
                 gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
                     try {
-                        Component[][] shipMatrix = shipBoard.getShipMatrix();
-                        Map<Class<?>, List<Component>> componentsPerType = shipBoard.getComponentsPerType();
-                        Set<Coordinates> incorrectlyPositionedComponentsCoordinates = shipBoard.getIncorrectlyPositionedComponentsCoordinates();
-                        List<Component> notActiveComponentsList = shipBoard.getNotActiveComponents();
-                        if (shipBoard.isShipCorrect())
+                        if (isShipCorrect)
                             clientController.notifyValidShipBoard(nicknameToNotify, nickname, shipMatrix, incorrectlyPositionedComponentsCoordinates, componentsPerType, notActiveComponentsList);
                         else
                             clientController.notifyInvalidShipBoard(nicknameToNotify, nickname, shipMatrix, incorrectlyPositionedComponentsCoordinates, componentsPerType, notActiveComponentsList);
@@ -941,7 +1073,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
 
             // Check if all ships are correct and change phase if necessary
             gameModel.checkAndTransitionToNextPhase();
-        }
+        });
     }
 
     /**
@@ -953,14 +1085,16 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToFocusReservedComponent(String nickname, int choice){
-        synchronized (gameModel.getPlayers().get(nickname)) {
-            if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
-                System.err.println("Player " + nickname + " tried to playerWantsToFocusReservedComponent in state " + gameModel.getCurrGameState());
-                return;
-            }
+        actor.ask(() -> {
+            gameModel.getGameClientNotifier().batch(() -> {
+                if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
+                    System.err.println("Player " + nickname + " tried to playerWantsToFocusReservedComponent in state " + gameModel.getCurrGameState());
+                    return;
+                }
 
-            ((Level2ShipBoard) gameModel.getPlayers().get(nickname).getPersonalBoard()).focusReservedComponent(choice);
-        }
+                ((Level2ShipBoard) gameModel.getPlayers().get(nickname).getPersonalBoard()).focusReservedComponent(choice);
+            });
+        });
     }
 
     /**
@@ -973,7 +1107,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
     @Override
     public void requestPrefabShips(String nickname) throws RemoteException {
         // Retrieve the list of prefab ships
-        synchronized (gameModel.getPlayers().get(nickname)) {
+        actor.ask(() -> {
             if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
                 System.err.println("Player " + nickname + " tried to playerWantsToFocusReservedComponent in state " + gameModel.getCurrGameState());
                 return;
@@ -992,7 +1126,26 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
                         }
                     }
             );
-        }
+        });
+    }
+
+    /**
+     * Sends a snapshot of a ship board to a player whose copy of it missed an update.
+     *
+     * @param nickname The nickname of the player requesting the snapshot
+     * @param shipOwnerNickname The nickname of the owner of the ship board
+     * @throws RemoteException If there is an error in remote communication
+     */
+    @Override
+    public void requestShipBoardSnapshot(String nickname, String shipOwnerNickname) throws RemoteException {
+        actor.ask(() -> {
+            Player shipOwner = gameModel.getPlayers().get(shipOwnerNickname);
+            if (shipOwner == null) {
+                System.err.println("Player " + nickname + " requested the ship board of unknown player " + shipOwnerNickname);
+                return;
+            }
+            gameModel.getGameClientNotifier().notifyShipBoardSnapshot(nickname, shipOwnerNickname, shipOwner.getPersonalBoard());
+        });
     }
 
     /**
@@ -1002,19 +1155,20 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      * @param nickname The nickname of the player whose ship is being checked
      */
     public void startCheckShipBoardAfterAttack(String nickname){
+        actor.ask(() -> {
+            if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
+                System.err.println("Player " + nickname + " tried to startCheckShipBoardAfterAttack in state " + gameModel.getCurrGameState());
+                return;
+            }
 
-        if(gameModel.getCurrGameState()!=GameState.PLAY_CARD) {
-            System.err.println("Player " + nickname + " tried to startCheckShipBoardAfterAttack in state " + gameModel.getCurrGameState());
-            return;
-        }
-
-        if(!((gameModel.getCurrAdventureCard().getCardName().equals("MeteoriteStorm") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates")
-             || gameModel.getCurrAdventureCard().getCardName().equals("WarField"))
-                && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.CHECK_SHIPBOARD_AFTER_ATTACK))){
-            System.err.println("Player " + nickname + " tried to startCheckShipBoardAfterAttack in Card state " + gameModel.getCurrAdventureCard().getCurrState());
-        }
+            if(!((gameModel.getCurrAdventureCard().getCardName().equals("MeteoriteStorm") || gameModel.getCurrAdventureCard().getCardName().equals("Pirates")
+                 || gameModel.getCurrAdventureCard().getCardName().equals("WarField"))
+                    && gameModel.getCurrAdventureCard().getCurrState().equals(CardState.CHECK_SHIPBOARD_AFTER_ATTACK))){
+                System.err.println("Player " + nickname + " tried to startCheckShipBoardAfterAttack in Card state " + gameModel.getCurrAdventureCard().getCurrState());
+            }
 
-        gameModel.getCurrAdventureCard().play(new PlayerChoicesDataStructure());
+            gameModel.getCurrAdventureCard().play(new PlayerChoicesDataStructure());
+        });
     }
 
     /**
@@ -1027,7 +1181,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void requestSelectPrefabShip(String nickname, String prefabShipId) throws RemoteException {
-        synchronized (gameModel.getPlayers().get(nickname)) {
+        actor.ask(() -> {
             if (gameModel.getCurrGameState() != GameState.BUILD_SHIPBOARD) {
                 System.err.println("Player " + nickname + " tried to playerWantsToFocusReservedComponent in state " + gameModel.getCurrGameState());
                 return;
@@ -1069,9 +1223,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
                         }
                 );
 
-                gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                    clientController.notifyShipBoardUpdate(nicknameToNotify, nickname, shipBoard.getShipMatrix(), shipBoard.getComponentsPerType(), shipBoard.getNotActiveComponents());
-                });
+                gameModel.getGameClientNotifier().notifyShipBoardUpdate(nickname, shipBoard);
 
                 // Notify all clients about the selection
                 gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
@@ -1082,7 +1234,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
             } catch (Exception e) {
                 notifySelectionFailure(nickname, "Internal error: " + e.getMessage());
             }
-        }
+        });
     }
 
     /**
@@ -1094,7 +1246,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void playerWantsToLand(String nickname){
-        synchronized (gameModel.getPlayers().get(nickname)) {
+        actor.ask(() -> {
             if (!(gameModel.getCurrGameState() != GameState.PLAY_CARD
                     || gameModel.getCurrGameState() != GameState.CHECK_PLAYERS
                     || gameModel.getCurrGameState() != GameState.DRAW_CARD))
@@ -1105,7 +1257,7 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
 
             if (gameModel.getFlyingBoard().getRanking().isEmpty())
                 gameModel.setCurrGameState(GameState.END_GAME);
-        }
+        });
     }
 
     private void notifySelectionFailure(String nickname, String errorMessage) {
@@ -1129,19 +1281,21 @@ public class GameController extends UnicastRemoteObject implements CallableOnGam
      */
     @Override
     public void debugSkipToLastCard() throws RemoteException {
-        if (!canSkipCards()) {
-            return;
-        }
-        
-        try {
-            gameModel.getDeck().skipToLastCard();
-        } catch (IllegalStateException e) {
-            throw new RemoteException(e.getMessage());
-        }
-        
-        if (gameModel.getCurrGameState() != GameState.DRAW_CARD) {
-            gameModel.setCurrGameState(GameState.DRAW_CARD);
-        }
+        actor.ask(() -> {
+            if (!canSkipCards()) {
+                return;
+            }
+            
+            try {
+                gameModel.getDeck().skipToLastCard();
+            } catch (IllegalStateException e) {
+                throw new RemoteException(e.getMessage());
+            }
+            
+            if (gameModel.getCurrGameState() != GameState.DRAW_CARD) {
+                gameModel.setCurrGameState(GameState.DRAW_CARD);
+            }
+        });
     }
     
     private boolean canSkipCards() {
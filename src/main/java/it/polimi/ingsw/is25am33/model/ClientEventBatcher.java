@@ -0,0 +1,66 @@
+package it.polimi.ingsw.is25am33.model;
+
+import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotificationSender;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers a notification to a client controller that is reached through a remote call per method, such as
+ * an RMI client, in as few calls as possible.
+ * <p>
+ * The notification is first run against a recording controller, which turns each call into its typed
+ * {@link ServerNotification} record. A notification that makes a single call is then delivered as that call,
+ * while one that makes several, like the batch of a game action, is delivered with a single
+ * {@link CallableOnClientController#notifyEvents} call.
+ */
+public final class ClientEventBatcher {
+
+    private ClientEventBatcher() {}
+
+    /**
+     * Controller collecting the records of the calls made on it.
+     */
+    private static class Recorder extends ServerNotificationSender {
+        private final List<ServerNotification> events = new ArrayList<>();
+
+        @Override
+        protected void send(String nickname, ServerNotification notification) {
+            events.add(notification);
+        }
+    }
+
+    /**
+     * Runs a notification against a recording controller.
+     *
+     * @param nickname the nickname of the client to notify
+     * @param notification the notification to record
+     * @return the calls made by the notification, in order
+     * @throws IOException if the notification itself fails
+     */
+    public static List<ServerNotification> record(String nickname, ThrowingBiConsumer<String, CallableOnClientController, IOException> notification) throws IOException {
+        Recorder recorder = new Recorder();
+        notification.accept(nickname, recorder);
+        return recorder.events;
+    }
+
+    /**
+     * Delivers a notification to a client controller, with one remote call whatever the number of calls it makes.
+     *
+     * @param nickname the nickname of the client to notify
+     * @param clientController the controller of the client
+     * @param notification the notification to deliver
+     * @throws IOException if the client cannot be notified
+     */
+    public static void deliver(String nickname, CallableOnClientController clientController, ThrowingBiConsumer<String, CallableOnClientController, IOException> notification) throws IOException {
+        List<ServerNotification> events = record(nickname, notification);
+        if (events.size() == 1)
+            events.getFirst().applyTo(nickname, clientController);
+        else if (!events.isEmpty())
+            clientController.notifyEvents(nickname, events);
+    }
+
+}
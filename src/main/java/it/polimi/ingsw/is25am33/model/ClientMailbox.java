@@ -0,0 +1,289 @@
+package it.polimi.ingsw.is25am33.model;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, ordered queue of the notifications waiting to be delivered to a single client.
+ * <p>
+ * Notifications are enqueued by the game logic, which returns immediately, and delivered one at a time,
+ * in order, by a single consumer running on the notifier executor; a slow client therefore only delays
+ * its own notifications. A notification can carry a supersede key: a pending notification with the same
+ * key is a stale copy of the same state and is dropped in favour of the new one.
+ * A client whose mailbox is full, or whose oldest pending notification has waited too long,
+ * is reported as a slow consumer: its pending notifications are dropped, and the mailbox stays open
+ * so that the client can be sent the current state again.
+ * <p>
+ * Queue depth and delivery latency are tracked per mailbox and can be read at any time.
+ */
+public class ClientMailbox {
+
+    /**
+     * Default maximum number of pending notifications.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Default maximum time a notification may wait before the client is considered a slow consumer.
+     */
+    public static final long DEFAULT_MAX_LAG_MILLIS = 10_000;
+
+    /**
+     * A notification to deliver to the client.
+     */
+    @FunctionalInterface
+    public interface Delivery {
+        /**
+         * Delivers the notification.
+         *
+         * @throws IOException if the client cannot be reached
+         */
+        void deliver() throws IOException;
+    }
+
+    private static class Entry {
+        private final String supersedeKey;
+        private final Delivery delivery;
+        private final long enqueuedAt;
+
+        private Entry(String supersedeKey, Delivery delivery, long enqueuedAt) {
+            this.supersedeKey = supersedeKey;
+            this.delivery = delivery;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final String nickname;
+    private final int capacity;
+    private final long maxLagNanos;
+    private final Executor executor;
+    private final Consumer<String> slowConsumerHandler;
+
+    private final Deque<Entry> pending = new ArrayDeque<>();
+    private boolean draining = false;
+    private boolean closed = false;
+
+    private int maxDepth = 0;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private volatile long lastLatencyNanos = 0;
+
+    /**
+     * Creates a mailbox with the default capacity and lag threshold.
+     *
+     * @param nickname the nickname of the client
+     * @param executor the executor running the consumer
+     * @param slowConsumerHandler called outside any lock, with the nickname of the client, every time it is too slow
+     */
+    public ClientMailbox(String nickname, Executor executor, Consumer<String> slowConsumerHandler) {
+        this(nickname, DEFAULT_CAPACITY, DEFAULT_MAX_LAG_MILLIS, executor, slowConsumerHandler);
+    }
+
+    /**
+     * Creates a mailbox.
+     *
+     * @param nickname the nickname of the client
+     * @param capacity the maximum number of pending notifications
+     * @param maxLagMillis the maximum time a notification may wait before the client is considered too slow
+     * @param executor the executor running the consumer
+     * @param slowConsumerHandler called outside any lock, with the nickname of the client, every time it is too slow
+     */
+    public ClientMailbox(String nickname, int capacity, long maxLagMillis, Executor executor, Consumer<String> slowConsumerHandler) {
+        this.nickname = nickname;
+        this.capacity = capacity;
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+        this.executor = executor;
+        this.slowConsumerHandler = slowConsumerHandler;
+    }
+
+    /**
+     * Enqueues a notification and returns immediately.
+     *
+     * @param supersedeKey identifies the state carried by the notification, so that a pending notification
+     *                     with the same key is dropped; null if the notification must always be delivered
+     * @param delivery the notification to deliver
+     * @return false if the mailbox is closed, or if the client is too slow and its pending notifications,
+     *         this one included, have been dropped
+     */
+    public boolean offer(String supersedeKey, Delivery delivery) {
+        long now = System.nanoTime();
+        boolean tooSlow;
+        boolean startDrain;
+        synchronized (this) {
+            if (closed)
+                return false;
+
+            if (supersedeKey != null) {
+                for (Iterator<Entry> iterator = pending.iterator(); iterator.hasNext(); ) {
+                    if (supersedeKey.equals(iterator.next().supersedeKey)) {
+                        iterator.remove();
+                        superseded.incrementAndGet();
+                        break;
+                    }
+                }
+            }
+
+            Entry oldest = pending.peekFirst();
+            tooSlow = pending.size() >= capacity || (oldest != null && now - oldest.enqueuedAt > maxLagNanos);
+            if (tooSlow) {
+                dropped.addAndGet(pending.size() + 1);
+                pending.clear();
+            } else {
+                pending.addLast(new Entry(supersedeKey, delivery, now));
+                maxDepth = Math.max(maxDepth, pending.size());
+            }
+
+            startDrain = !tooSlow && !draining;
+            if (startDrain)
+                draining = true;
+        }
+
+        if (tooSlow) {
+            System.err.println("Client " + nickname + " is too slow to receive notifications, dropping its pending ones");
+            executor.execute(() -> slowConsumerHandler.accept(nickname));
+            return false;
+        }
+        if (startDrain)
+            executor.execute(this::drain);
+        return true;
+    }
+
+    private void drain() {
+        while (true) {
+            Entry entry;
+            synchronized (this) {
+                entry = pending.pollFirst();
+                if (entry == null || closed) {
+                    draining = false;
+                    return;
+                }
+            }
+
+            try {
+                entry.delivery.deliver();
+                delivered.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+                System.err.println("Errore nella notifica del client: " + nickname);
+            }
+            lastLatencyNanos = System.nanoTime() - entry.enqueuedAt;
+            totalLatencyNanos.addAndGet(lastLatencyNanos);
+        }
+    }
+
+    /**
+     * Closes the mailbox and discards the pending notifications.
+     */
+    public synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    /**
+     * Returns whether the mailbox has been closed.
+     *
+     * @return true if no more notifications are accepted
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the nickname of the client served by this mailbox.
+     *
+     * @return the client nickname
+     */
+    public String getNickname() {
+        return nickname;
+    }
+
+    /**
+     * Returns the number of notifications waiting to be delivered, not counting the one being delivered.
+     *
+     * @return the current queue depth
+     */
+    public synchronized int getDepth() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the highest queue depth reached so far.
+     *
+     * @return the maximum queue depth
+     */
+    public synchronized int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the number of notifications delivered successfully.
+     *
+     * @return the delivered count
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * Returns the number of pending notifications dropped because a newer one superseded them.
+     *
+     * @return the superseded count
+     */
+    public long getSupersededCount() {
+        return superseded.get();
+    }
+
+    /**
+     * Returns the number of notifications dropped because the client was too slow.
+     *
+     * @return the dropped count
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of notifications whose delivery failed.
+     *
+     * @return the failed count
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the time between enqueueing and the end of the delivery of the last notification.
+     *
+     * @return the last drain latency, in milliseconds
+     */
+    public double getLastLatencyMillis() {
+        return lastLatencyNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns the average time between enqueueing and the end of delivery, over every notification handled.
+     *
+     * @return the average drain latency, in milliseconds, or 0 if nothing was handled yet
+     */
+    public double getAverageLatencyMillis() {
+        long handled = delivered.get() + failed.get();
+        return handled == 0 ? 0 : totalLatencyNanos.get() / 1_000_000.0 / handled;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: depth=%d max=%d delivered=%d superseded=%d dropped=%d failed=%d latency=%.1fms avg=%.1fms",
+                nickname, getDepth(), getMaxDepth(), getDeliveredCount(), getSupersededCount(), getDroppedCount(), getFailedCount(),
+                getLastLatencyMillis(), getAverageLatencyMillis());
+    }
+
+}
@@ -1,25 +1,40 @@
 package it.polimi.ingsw.is25am33.model;
 
 import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.client.controller.MultiClientController;
+import it.polimi.ingsw.is25am33.model.board.ShipBoard;
+import it.polimi.ingsw.is25am33.model.board.ShipBoardDelta;
 import it.polimi.ingsw.is25am33.model.game.GameModel;
+import it.polimi.ingsw.is25am33.network.common.ServerThreads;
+import it.polimi.ingsw.is25am33.serializationLayer.EncodedMessageCache;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification;
 
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
- * Although the system uses a ping-pong mechanism to detect client disconnections,
- * we retain the use of Futures with timeouts to prevent a single remote call (RMI or socket)
- * from blocking the entire notification process to other clients.
- *
- * This approach is useful for handling cases where a client:
- * - Is still considered connected by the ping-pong mechanism (e.g., just disconnected, but the timeout has not yet expired)
- * - Responds very slowly (due to high latency or network congestion)
- * - Does not respond at all, but a RemoteException is not thrown immediately (typical in TCP)
- *
- * In these cases, using a Future with a timeout ensures that global notifications are not slowed down
- * or blocked by unresponsive clients. Even if the exception is ignored at the logic level,
- * the timeout prevents indefinite blocking or system-wide slowdowns.
+ * Delivers the notifications of a game to its clients.
+ * <p>
+ * Every client has its own {@link ClientMailbox}: a notification is enqueued in the mailbox of each recipient
+ * and the game logic returns immediately, while each mailbox delivers its notifications in order on the
+ * notifier executor. A client that is slow or unresponsive (e.g. it just disconnected but the ping-pong
+ * timeout has not yet expired, or a TCP write does not fail immediately) therefore only delays itself.
+ * Its mailbox grows until it exceeds its capacity or its oldest notification waits too long, at which
+ * point its pending notifications are dropped and the client is handed to the slow client handler,
+ * which can send it the current state again.
+ * <p>
+ * Since the game goes on while a notification waits in a mailbox, the notification is run when it is made
+ * against a recording controller, see {@link ClientEventBatcher#record}, and the mutable model objects carried by
+ * the recorded calls are copied, see {@link NotificationSnapshot}: a client receives the state as it was when the
+ * notification was made. A client whose notification cannot be prepared is handed to the slow client handler,
+ * which sends it the current state instead.
+ * <p>
+ * Notifications carrying the whole current value of some state can be given a supersede key,
+ * so that a client lagging behind receives only the latest of them.
+ * The notifications produced by a single game action can be grouped with {@link #batch(Runnable)}.
  */
 
 public class GameClientNotifier {
@@ -36,14 +51,35 @@ public class GameClientNotifier {
      */
     private Map<String, CallableOnClientController> clientControllers = new ConcurrentHashMap<>();
     /**
-     * An {@code ExecutorService} instance used to manage and handle the execution of tasks in a cached thread pool.
-     * This thread pool dynamically adjusts the number of threads based on the current workload, creating new threads
-     * as needed and reusing previously constructed threads when possible.
+     * An {@code ExecutorService} instance used to manage and handle the execution of notification tasks.
+     * Depending on the server thread mode (see {@link ServerThreads}) this is either a cached thread pool
+     * or an executor that starts a new virtual thread for every task.
      *
-     * The {@code executor} is primarily utilized for managing client notification tasks
-     * within the {@code GameClientNotifier} class, enabling asynchronous execution and efficient resource utilization.
+     * The {@code executor} runs the consumers of the client mailboxes and the slow client handler.
      */
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ExecutorService executor = ServerThreads.newTaskExecutor();
+
+    /**
+     * The mailbox of each client, created on its first notification.
+     */
+    private final Map<String, ClientMailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * Called with the nickname of a client whose pending notifications were dropped because it was too slow.
+     */
+    private volatile Consumer<String> slowClientHandler = nickname -> {};
+
+    /**
+     * The notifications produced by the current thread while it runs a {@link #batch}, null outside a batch.
+     */
+    private final ThreadLocal<List<PendingNotification>> currentBatch = new ThreadLocal<>();
+
+    /**
+     * The last ship board version sent to each client, per ship owner: client nickname to owner nickname to version.
+     * An entry is removed while an update is being delivered, so that a client whose delivery fails
+     * receives a snapshot next time instead of a delta it could not apply.
+     */
+    private final Map<String, Map<String, Long>> shipBoardVersions = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new instance of the GameClientNotifier class.
@@ -68,46 +104,56 @@ public class GameClientNotifier {
         return clientControllers;
     }
 
+    /**
+     * Sets the action performed when a client cannot keep up with its notifications.
+     * The handler runs on the notifier executor, after the pending notifications of the client have been dropped;
+     * the mailbox of the client stays open, so the handler can send it the current state again.
+     *
+     * @param slowClientHandler the action to perform, given the nickname of the slow client
+     */
+    public void setSlowClientHandler(Consumer<String> slowClientHandler) {
+        this.slowClientHandler = slowClientHandler;
+    }
+
+    /**
+     * Returns the mailbox of a client, to observe its queue depth and delivery latency.
+     *
+     * @param nickname the nickname of the client
+     * @return the mailbox of the client, or null if it was never notified
+     */
+    public ClientMailbox getMailbox(String nickname) {
+        return mailboxes.get(nickname);
+    }
+
     /**
      * Notifies all connected client controllers by executing the given operation on each of them.
-     * The execution is performed asynchronously for each client and waits for a maximum of 5 seconds
-     * for each operation to complete. If an operation on any client exceeds the timeout, it is cancelled.
+     * The operation is enqueued in the mailbox of each client and this method returns without waiting for it.
      *
      * @param consumer A throwing bi-consumer that defines the operation to perform on each
      *                 client. It accepts a client's nickname and the corresponding client controller
      *                 and performs a specific operation, potentially throwing an IOException.
      */
     public void notifyAllClients(ThrowingBiConsumer<String, CallableOnClientController, IOException> consumer) {
-        Map<Future<?>, String> futureNicknames = new HashMap<>();
-
-        clientControllers.forEach((nickname, clientController) -> {
-            Future<?> future = executor.submit(() -> {
-                try{
-                    consumer.accept(nickname, clientController);
-                } catch (IOException  e) {
-                    System.out.println("ERRORE notifyAllClients: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            });
-            futureNicknames.put(future, nickname);
-        });
-
-        futureNicknames.forEach((future, nickname) -> {
-            try {
-                future.get(5, TimeUnit.SECONDS);
-            } catch (TimeoutException | InterruptedException | ExecutionException e) {
-                System.err.println("TIMEOUT: Client " + nickname + " non risponde dopo 5 secondi");
-                future.cancel(true);
-            }
-        });
+        enqueue(nickname -> true, null, freeze(nickname -> true, consumer));
+    }
 
+    /**
+     * Notifies all connected client controllers with an operation that carries the whole current value
+     * of some state: a pending operation with the same key, not yet delivered to a client, is discarded
+     * in favour of this one.
+     *
+     * @param supersedeKey identifies the state sent by the operation
+     * @param consumer the operation to perform on each client
+     */
+    public void notifyAllClients(String supersedeKey, ThrowingBiConsumer<String, CallableOnClientController, IOException> consumer) {
+        enqueue(nickname -> true, supersedeKey, freeze(nickname -> true, consumer));
     }
 
     /**
      * Notifies a set of clients as specified by their nicknames using a provided consumer.
      * This method allows performing custom actions on the client controllers associated with
-     * the nicknames provided. The notifications are executed asynchronously, with a timeout
-     * for each notification.
+     * the nicknames provided. The action is enqueued in the mailbox of each client and this method
+     * returns without waiting for it.
      *
      * @param playersNicknameToBeNotified a set containing the nicknames of the players to be notified
      * @param consumer a functional interface that defines the action to be performed for
@@ -115,32 +161,230 @@ public class GameClientNotifier {
      *                 corresponding client controller as parameters
      */
     public void notifyClients(Set<String> playersNicknameToBeNotified, ThrowingBiConsumer<String, CallableOnClientController, IOException> consumer) {
-        Map<Future<?>, String> futureNicknames = new HashMap<>();
+        Set<String> selected = Set.copyOf(playersNicknameToBeNotified);
+        enqueue(selected::contains, null, freeze(selected::contains, consumer));
+    }
+
+    /**
+     * Notifies all clients about the changes of a player's ship board.
+     * Each client receives only the changes since the last version it was sent, or a snapshot
+     * if it has none or is too far behind; clients at the same version share the same delta.
+     * The changes are committed and copied now, from every version the clients may have when the update
+     * is delivered, so that a pending update can be superseded by a newer one. If they cannot be copied,
+     * every client is handed to the slow client handler instead.
+     *
+     * @param shipOwnerNickname the nickname of the owner of the ship board
+     * @param shipBoard the ship board that changed
+     */
+    public void notifyShipBoardUpdate(String shipOwnerNickname, ShipBoard shipBoard) {
+        Map<Long, ShipBoardDelta> deltas = new HashMap<>();
+        long previousVersion = shipBoard.getVersion();
+        // a client still receiving the previous update will have its version
+        if (shipBoard.commitChanges() != previousVersion)
+            deltas.put(previousVersion, shipBoard.getChangesSince(previousVersion));
+        for (Map<String, Long> versions : shipBoardVersions.values()) {
+            Long sentVersion = versions.get(shipOwnerNickname);
+            if (sentVersion != null)
+                deltas.computeIfAbsent(sentVersion, shipBoard::getChangesSince);
+        }
+        deltas.put(ShipBoardDelta.SNAPSHOT, shipBoard.getSnapshot());
+        Map<Long, ShipBoardDelta> copies = new HashMap<>();
+        try {
+            NotificationSnapshot snapshot = new NotificationSnapshot();
+            deltas.forEach((version, delta) -> copies.put(version, snapshot.copy(delta)));
+        } catch (RuntimeException e) {
+            System.err.println("Cannot copy the ship board update of " + shipOwnerNickname + ": " + e.getMessage());
+            clientControllers.keySet().forEach(this::handleSlowClient);
+            return;
+        }
+
+        enqueue(nickname -> true, "shipBoard:" + shipOwnerNickname, (nicknameToNotify, clientController) -> {
+            Map<String, Long> versions = shipBoardVersions.computeIfAbsent(nicknameToNotify, k -> new ConcurrentHashMap<>());
+            Long sentVersion = versions.remove(shipOwnerNickname);
+            ShipBoardDelta delta = sentVersion == null ? null : copies.get(sentVersion);
+            if (delta == null)
+                delta = copies.get(ShipBoardDelta.SNAPSHOT);
+            clientController.notifyShipBoardUpdate(nicknameToNotify, shipOwnerNickname, delta);
+            versions.put(shipOwnerNickname, delta.getVersion());
+        });
+    }
+
+    /**
+     * Sends a snapshot of a player's ship board to a single client, typically after it detected a gap in the updates.
+     *
+     * @param nicknameToNotify the nickname of the client to notify
+     * @param shipOwnerNickname the nickname of the owner of the ship board
+     * @param shipBoard the ship board to send
+     */
+    public void notifyShipBoardSnapshot(String nicknameToNotify, String shipOwnerNickname, ShipBoard shipBoard) {
+        Map<String, Long> versions = shipBoardVersions.computeIfAbsent(nicknameToNotify, k -> new ConcurrentHashMap<>());
+        versions.remove(shipOwnerNickname);
+        ShipBoardDelta snapshot;
+        try {
+            snapshot = new NotificationSnapshot().copy(shipBoard.getSnapshot());
+        } catch (RuntimeException e) {
+            // this snapshot is what the slow client handler sends, so it is not asked for another one
+            System.err.println("Cannot copy the ship board of " + shipOwnerNickname + " for " + nicknameToNotify + ": " + e.getMessage());
+            return;
+        }
+
+        enqueue(Set.of(nicknameToNotify)::contains, null, (nickname, clientController) -> {
+            clientController.notifyShipBoardUpdate(nickname, shipOwnerNickname, snapshot);
+            versions.put(shipOwnerNickname, snapshot.getVersion());
+        });
+    }
+
+    /**
+     * Runs a notification for every selected client against a recording controller and copies the mutable
+     * model objects carried by the calls it makes, so that the state it sends is the state at the time of the
+     * notification. The copies are made once for all the clients, so objects shared among the calls stay shared.
+     * A client whose calls cannot be recorded or copied receives none of them and is handed to the slow client
+     * handler, which sends it the current state.
+     *
+     * @param selected the filter on the nicknames of the clients to notify
+     * @param consumer the notification to perform for each client
+     * @return a notification replaying the recorded calls on the controller of a client
+     */
+    private ThrowingBiConsumer<String, CallableOnClientController, IOException> freeze(Predicate<String> selected,
+            ThrowingBiConsumer<String, CallableOnClientController, IOException> consumer) {
+        NotificationSnapshot snapshot = new NotificationSnapshot();
+        Map<String, List<ServerNotification>> frozen = new HashMap<>();
+        for (String nickname : clientControllers.keySet()) {
+            if (!selected.test(nickname))
+                continue;
+            List<ServerNotification> events;
+            try {
+                events = ClientEventBatcher.record(nickname, consumer);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Cannot record a notification for " + nickname + ": " + e.getMessage());
+                handleSlowClient(nickname);
+                continue;
+            }
+            List<ServerNotification> copies = new ArrayList<>(events.size());
+            for (ServerNotification event : events) {
+                try {
+                    copies.add(snapshot.of(event));
+                } catch (RuntimeException e) {
+                    System.err.println("Cannot copy notification " + event.opcode().getAction() + " for " + nickname + ": " + e.getMessage());
+                    handleSlowClient(nickname);
+                    copies = null;
+                    break;
+                }
+            }
+            if (copies != null)
+                frozen.put(nickname, copies);
+        }
+
+        return (nicknameToNotify, clientController) -> {
+            for (ServerNotification event : frozen.getOrDefault(nicknameToNotify, List.of()))
+                event.applyTo(nicknameToNotify, clientController);
+        };
+    }
+
+    /**
+     * Runs a game action and delivers all the notifications it produces together, as a single
+     * notification per client, once the action is over. A client receives the notifications addressed
+     * to it in the order they were produced; among the notifications sharing a supersede key,
+     * only the last one is delivered. Batches started inside a batch join the outer one.
+     * If the action throws, the notifications produced until then are still delivered.
+     *
+     * @param action the action to run
+     */
+    public void batch(Runnable action) {
+        if (currentBatch.get() != null) {
+            action.run();
+            return;
+        }
+
+        List<PendingNotification> batch = new ArrayList<>();
+        currentBatch.set(batch);
+        try {
+            action.run();
+        } finally {
+            currentBatch.remove();
+            flush(batch);
+        }
+    }
+
+    /**
+     * Delivers the notifications collected by a batch. They are delivered even when the action failed halfway,
+     * since the changes made before the failure stay in the model and would have been notified without a batch.
+     *
+     * @param batch the notifications collected by the batch
+     */
+    private void flush(List<PendingNotification> batch) {
+        if (batch.size() == 1) {
+            PendingNotification pending = batch.getFirst();
+            enqueue(pending.selected, pending.supersedeKey, pending.consumer);
+        } else if (!batch.isEmpty()) {
+            enqueue(nickname -> batch.stream().anyMatch(pending -> pending.selected.test(nickname)), null, (nicknameToNotify, clientController) -> {
+                for (PendingNotification pending : batch)
+                    if (pending.selected.test(nicknameToNotify))
+                        pending.consumer.accept(nicknameToNotify, clientController);
+            });
+        }
+    }
+
+    /**
+     * Enqueues a notification in the mailbox of every selected client.
+     * Clients served by a {@link MultiClientController} share the messages prepared for this notification,
+     * so that a message sent to several socket clients is encoded only once; the other clients, reached
+     * through RMI, receive all the calls of the notification in one remote call, see {@link ClientEventBatcher}.
+     *
+     * @param selected the filter on the nicknames of the clients to notify
+     * @param supersedeKey the supersede key of the notification, null if it must always be delivered
+     * @param consumer the notification to perform for each client
+     */
+    private void enqueue(Predicate<String> selected, String supersedeKey, ThrowingBiConsumer<String, CallableOnClientController, IOException> consumer) {
+        List<PendingNotification> batch = currentBatch.get();
+        if (batch != null) {
+            if (supersedeKey != null)
+                batch.removeIf(pending -> supersedeKey.equals(pending.supersedeKey));
+            batch.add(new PendingNotification(selected, supersedeKey, consumer));
+            return;
+        }
+
+        EncodedMessageCache cache = new EncodedMessageCache();
 
         clientControllers.forEach((nickname, clientController) -> {
-            if(!playersNicknameToBeNotified.contains(nickname))
+            if (!selected.test(nickname))
                 return;
 
-            Future<?> future = executor.submit(() -> {
+            ClientMailbox mailbox = mailboxes.computeIfAbsent(nickname, k -> new ClientMailbox(k, executor, this::handleSlowClient));
+            mailbox.offer(supersedeKey, () -> {
                 try {
-                    consumer.accept(nickname, clientController);
+                    if (clientController instanceof MultiClientController multiClientController)
+                        multiClientController.deliver(nickname, consumer, cache);
+                    else
+                        ClientEventBatcher.deliver(nickname, clientController, consumer);
                 } catch (IOException e) {
-                    System.err.println("Errore nella notifica del client: " + nickname);
+                    // the client may have missed ship board updates recorded as sent
+                    shipBoardVersions.remove(nickname);
+                    throw e;
                 }
             });
-            futureNicknames.put(future, nickname);
         });
 
-        futureNicknames.forEach((future, nickname) -> {
-            try {
-                future.get(5, TimeUnit.SECONDS);
-            } catch (TimeoutException | InterruptedException | ExecutionException e) {
-                System.err.println("Timeout nella notifica del client: " + nickname);
-                future.cancel(true);
-            }
+        mailboxes.entrySet().removeIf(entry -> {
+            if (clientControllers.containsKey(entry.getKey()))
+                return false;
+            entry.getValue().close();
+            return true;
         });
     }
 
+    /**
+     * Passes a client whose pending notifications were dropped, or whose notification could not be prepared,
+     * to the slow client handler.
+     * The ship board versions recorded for the client are those it was actually sent, so the next
+     * updates are still computed from the right versions.
+     *
+     * @param nickname the nickname of the slow client
+     */
+    private void handleSlowClient(String nickname) {
+        slowClientHandler.accept(nickname);
+    }
+
     /**
      * Notifies all active client controllers about the disconnection of a specific player
      * and proceeds to close all client connections associated with the provided game model.
@@ -173,5 +417,19 @@ public class GameClientNotifier {
         });
     }
 
-}
+    /**
+     * A notification produced inside a {@link #batch}, waiting for the end of the batch.
+     */
+    private static class PendingNotification {
+        private final Predicate<String> selected;
+        private final String supersedeKey;
+        private final ThrowingBiConsumer<String, CallableOnClientController, IOException> consumer;
 
+        private PendingNotification(Predicate<String> selected, String supersedeKey, ThrowingBiConsumer<String, CallableOnClientController, IOException> consumer) {
+            this.selected = selected;
+            this.supersedeKey = supersedeKey;
+            this.consumer = consumer;
+        }
+    }
+
+}
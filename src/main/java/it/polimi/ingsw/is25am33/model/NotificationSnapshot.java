@@ -0,0 +1,134 @@
+package it.polimi.ingsw.is25am33.model;
+
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.board.ShipBoardDelta;
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification.*;
+
+import java.util.*;
+
+/**
+ * Copies the mutable model objects carried by notifications, so that a notification waiting in a mailbox
+ * sends the state of the game at the time it was made.
+ * <p>
+ * Only components and the ship matrices, lists and maps holding them are copied, together with the sets of
+ * coordinates taken from a ship board. The other parameters are values, or objects built for the notification
+ * alone, such as client cards and game infos, and are shared as they are.
+ * A component is copied once per snapshot, however many notifications and clients it is sent to.
+ */
+final class NotificationSnapshot {
+
+    private final Map<Component, Component> components = new IdentityHashMap<>();
+
+    /**
+     * Returns the notification with copies of the mutable objects it carries, or the notification itself if it
+     * carries none.
+     *
+     * @param notification the recorded notification
+     * @return a notification that does not change with the game
+     */
+    ServerNotification of(ServerNotification notification) {
+        return switch (notification) {
+            case NotifyEvents events -> {
+                List<ServerNotification> copies = new ArrayList<>(events.events().size());
+                for (ServerNotification event : events.events())
+                    copies.add(of(event));
+                yield new NotifyEvents(copies);
+            }
+            case NotifyChooseComponent focused -> new NotifyChooseComponent(focused.nickname(), copy(focused.component()));
+            case NotifyBookedComponent booked -> new NotifyBookedComponent(booked.nickname(), copy(booked.component()));
+            case NotifyErrorWhileBookingComponent error ->
+                    new NotifyErrorWhileBookingComponent(error.nickname(), copy(error.focusedComponent()));
+            case NotifyAddVisibleComponents added -> new NotifyAddVisibleComponents(added.index(), copy(added.component()));
+            case NotifyComponentPlaced placed -> new NotifyComponentPlaced(placed.nickname(), copy(placed.component()), placed.coordinates());
+            case NotifyShipBoardUpdate update -> new NotifyShipBoardUpdate(update.nickname(), copy(update.shipBoardDelta()));
+            case NotifyInvalidShipBoard invalid -> new NotifyInvalidShipBoard(invalid.shipOwnerNickname(), copy(invalid.shipMatrix()),
+                    copyCoordinates(invalid.incorrectlyPositionedComponentsCoordinates()), copy(invalid.componentsPerType()),
+                    copy(invalid.notActiveComponentsList()));
+            case NotifyValidShipBoard valid -> new NotifyValidShipBoard(valid.shipOwnerNickname(), copy(valid.shipMatrix()),
+                    copyCoordinates(valid.incorrectlyPositionedComponentsCoordinates()), copy(valid.componentsPerType()),
+                    copy(valid.notActiveComponentsList()));
+            case NotifyShipPartsGeneratedDueToRemoval removal -> new NotifyShipPartsGeneratedDueToRemoval(removal.shipOwnerNickname(),
+                    copy(removal.shipMatrix()), copyCoordinates(removal.incorrectlyPositionedComponentsCoordinates()),
+                    copyShipParts(removal.shipParts()), copy(removal.componentsPerType()));
+            case NotifyComponentPerType perType -> new NotifyComponentPerType(perType.playerNickname(), copy(perType.componentsPerType()));
+            case NotifyNotActiveComponents notActive -> new NotifyNotActiveComponents(notActive.nickname(), copy(notActive.notActiveComponents()));
+            case NotifyCrewPlacementComplete complete -> new NotifyCrewPlacementComplete(complete.playerNickname(),
+                    copy(complete.shipMatrix()), copy(complete.componentsPerType()));
+            case NotifyInfectedCrewMembersRemoved removed -> new NotifyInfectedCrewMembersRemoved(copyCoordinates(removed.cabinCoordinatesWithNeighbors()));
+            case Ping _, Pong _, NotifyRegistrationSuccess _, NotifyNicknameAlreadyExists _, NotifyAvailableGames _, NotifyGameCreated _,
+                 NotifyJoinGameResult _, NotifyGameInfos _, NotifyNewPlayerJoined _, NotifyGameStarted _, NotifyGameState _,
+                 NotifyHourglassRestarted _, NotifyHourglassStarted _, NotifyStopHourglass _, NotifyFirstToEnter _,
+                 NotifyReleaseComponent _, NotifyRemoveVisibleComponents _, NotifyStolenVisibleComponent _,
+                 NotifyNoMoreHiddenComponents _, NotifyVisibleDeck _, NotifyCrewPlacementPhase _, NotifyPrefabShipsAvailable _,
+                 NotifyPlayerSelectedPrefabShip _, NotifyPrefabShipSelectionResult _, NotifyCurrPlayerChanged _,
+                 NotifyCurrAdventureCard _, NotifyCurrAdventureCardUpdate _, NotifyCardState _, NotifyDangerousObjAttack _,
+                 NotifyPlayerVisitedPlanet _, NotifyCoordinateOfComponentHit _, NotifyLeastResourcedPlayer _, NotifyStorageError _,
+                 NotifyPlayerCredits _, NotifyRankingUpdate _, NotifyEliminatedPlayer _, NotifyPlayerEarlyLanded _,
+                 NotifyPlayersFinalData _, NotifyPlayerDisconnected _, ForcedDisconnection _ -> notification;
+        };
+    }
+
+    /**
+     * Returns a copy of a ship board delta, with copies of the components it carries.
+     *
+     * @param delta the delta to copy
+     * @return the copy, or null if the delta is null
+     */
+    ShipBoardDelta copy(ShipBoardDelta delta) {
+        if (delta == null)
+            return null;
+        List<ShipBoardDelta.CellChange> changes = new ArrayList<>(delta.getChanges().size());
+        for (ShipBoardDelta.CellChange change : delta.getChanges())
+            changes.add(new ShipBoardDelta.CellChange(change.getCoordinates(), copy(change.getComponent())));
+        return new ShipBoardDelta(delta.getBaseVersion(), delta.getVersion(), changes, copy(delta.getNotActiveComponents()));
+    }
+
+    private Component copy(Component component) {
+        return component == null ? null : components.computeIfAbsent(component, Component::copy);
+    }
+
+    private Component[][] copy(Component[][] matrix) {
+        if (matrix == null)
+            return null;
+        Component[][] copy = new Component[matrix.length][];
+        for (int row = 0; row < matrix.length; row++) {
+            copy[row] = new Component[matrix[row].length];
+            for (int column = 0; column < matrix[row].length; column++)
+                copy[row][column] = copy(matrix[row][column]);
+        }
+        return copy;
+    }
+
+    private List<Component> copy(List<Component> list) {
+        if (list == null)
+            return null;
+        List<Component> copy = new ArrayList<>(list.size());
+        for (Component component : list)
+            copy.add(copy(component));
+        return copy;
+    }
+
+    private Map<Class<?>, List<Component>> copy(Map<Class<?>, List<Component>> componentsPerType) {
+        if (componentsPerType == null)
+            return null;
+        Map<Class<?>, List<Component>> copy = new HashMap<>();
+        componentsPerType.forEach((type, list) -> copy.put(type, copy(list)));
+        return copy;
+    }
+
+    private static Set<Coordinates> copyCoordinates(Set<Coordinates> coordinates) {
+        return coordinates == null ? null : new HashSet<>(coordinates);
+    }
+
+    private static Set<Set<Coordinates>> copyShipParts(Set<Set<Coordinates>> shipParts) {
+        if (shipParts == null)
+            return null;
+        Set<Set<Coordinates>> copy = new HashSet<>();
+        for (Set<Coordinates> shipPart : shipParts)
+            copy.add(copyCoordinates(shipPart));
+        return copy;
+    }
+
+}
@@ -1,48 +1,102 @@
 package it.polimi.ingsw.is25am33.model.board;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import it.polimi.ingsw.is25am33.model.game.ComponentTable;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
+
+import static it.polimi.ingsw.is25am33.model.board.ShipBoard.BOARD_DIMENSION;
 
 /**
  * Represents the coordinates of a component on the shipBoard.
  * This class stores a pair of integer values corresponding to the X and Y positions.
  * Coordinates are immutable once created.
+ * <p>
+ * The coordinates of the cells of the board are shared: {@link #of(int, int)} always returns the same instance
+ * for the same cell, and only coordinates outside the board are created on each call.
  */
 public class Coordinates implements Serializable {
 
-    private List<Integer> coordinates;
+    /**
+     * The coordinates of every cell of the board, by cell index.
+     */
+    private static final Coordinates[] CELLS = new Coordinates[BOARD_DIMENSION * BOARD_DIMENSION];
+
+    static {
+        for (int x = 0; x < BOARD_DIMENSION; x++)
+            for (int y = 0; y < BOARD_DIMENSION; y++)
+                CELLS[x * BOARD_DIMENSION + y] = new Coordinates(x, y);
+    }
+
+    private final int x;
+    private final int y;
 
     /**
      * Constructs a new ShipBoardCoordinates object with the specified X and Y coordinates.
+     * Prefer {@link #of(int, int)}, which does not create new coordinates for the cells of the board.
      *
      * @param x the X coordinate
      * @param y the Y coordinate
      */
     public Coordinates(int x, int y) {
-        coordinates = Arrays.asList(x, y);
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Returns the coordinates with the specified X and Y values, shared if they are a cell of the board.
+     *
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @return the coordinates
+     */
+    public static Coordinates of(int x, int y) {
+        if (isOnBoard(x, y))
+            return CELLS[x * BOARD_DIMENSION + y];
+        return new Coordinates(x, y);
+    }
+
+    /**
+     * Returns the coordinates of a cell of the board from its index.
+     *
+     * @param cellIndex the index of the cell, {@code x * BOARD_DIMENSION + y}
+     * @return the shared coordinates of the cell
+     */
+    static Coordinates ofCell(int cellIndex) {
+        return CELLS[cellIndex];
     }
 
     /**
-     * Empty constructor needed for Jackson
-     * The values are set to negative integers for testing purpose only
+     * Creates coordinates from their JSON representation, {@code {"coordinates": [x, y]}}.
+     * A missing list gives the invalid coordinates.
+     *
+     * @param coordinates the list containing the X and Y coordinates
+     * @return the coordinates
      */
-    public Coordinates() {
-        this.coordinates = List.of(-1, -1);
+    @JsonCreator
+    public static Coordinates fromList(@JsonProperty("coordinates") List<Integer> coordinates) {
+        if (coordinates == null)
+            return new Coordinates(-1, -1);
+        return of(coordinates.get(0), coordinates.get(1));
     }
 
     /**
-     * Sets the coordinates
+     * Returns whether the given values are a cell of the board.
+     */
+    static boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < BOARD_DIMENSION && y >= 0 && y < BOARD_DIMENSION;
+    }
+
+    /**
+     * Returns the index of the cell of these coordinates.
      *
-     * @param coordinates
+     * @return {@code x * BOARD_DIMENSION + y}, or -1 if the coordinates are outside the board
      */
-    public void setCoordinates(List<Integer> coordinates) {
-        this.coordinates = coordinates;
+    @JsonIgnore
+    int getCellIndex() {
+        return isOnBoard(x, y) ? x * BOARD_DIMENSION + y : -1;
     }
 
     /**
@@ -52,7 +106,7 @@ public class Coordinates implements Serializable {
      */
     @JsonIgnore
     public int getX() {
-        return coordinates.get(0);
+        return x;
     }
 
     /**
@@ -62,7 +116,7 @@ public class Coordinates implements Serializable {
      */
     @JsonIgnore
     public int getY() {
-        return coordinates.get(1);
+        return y;
     }
 
     /**
@@ -71,7 +125,7 @@ public class Coordinates implements Serializable {
      * @return the coordinates
      */
     public List<Integer> getCoordinates() {
-        return coordinates;
+        return List.of(x, y);
     }
 
     /**
@@ -94,10 +148,8 @@ public class Coordinates implements Serializable {
      */
     @Override
     public boolean equals(Object obj) {
-        if (obj instanceof Coordinates) {
-            Coordinates other = (Coordinates) obj;
-            return other.getX() == getX() && other.getY() == getY();
-        }
+        if (obj instanceof Coordinates other)
+            return other.x == x && other.y == y;
         return false;
     }
 
@@ -109,18 +161,26 @@ public class Coordinates implements Serializable {
      */
     @JsonIgnore
     public boolean isCoordinateInvalid() {
-        return coordinates.getFirst() == -1 && coordinates.getLast() == -1;
+        return x == -1 && y == -1;
     }
 
 
     /**
-     * Computes the hash code for this Coordinates object using the X and Y coordinates.
+     * Computes the hash code for this Coordinates object using the X and Y coordinates,
+     * with the same value as {@code Objects.hash(x, y)}.
      *
      * @return the hash code value for this Coordinates object
      */
     @Override
     public int hashCode() {
-        return Objects.hash(getX(), getY());
+        return 31 * (31 + x) + y;
+    }
+
+    /**
+     * Replaces deserialized coordinates of a cell with the shared instance.
+     */
+    private Object readResolve() {
+        return of(x, y);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,212 @@
+package it.polimi.ingsw.is25am33.model.board;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static it.polimi.ingsw.is25am33.model.board.ShipBoard.BOARD_DIMENSION;
+
+/**
+ * Set of coordinates holding the cells of the board as a bitset, one bit per cell.
+ * Adding, removing and looking up a cell only touches its bit, and iterating returns the shared
+ * {@link Coordinates} of the cells, in cell order. Coordinates outside the board, which a ship board never
+ * holds, are kept in a plain set so that the set still accepts any coordinates.
+ * <p>
+ * Equality and hash code follow the {@link Set} contract, so the set can be compared with, and used in place
+ * of, any other set of coordinates.
+ */
+public final class CoordinatesSet extends AbstractSet<Coordinates> implements Serializable {
+
+    private static final int CELLS = BOARD_DIMENSION * BOARD_DIMENSION;
+
+    private final long[] cells = new long[(CELLS + Long.SIZE - 1) / Long.SIZE];
+    private int cellCount = 0;
+    private Set<Coordinates> outside;
+
+    /**
+     * Creates an empty set.
+     */
+    public CoordinatesSet() {
+    }
+
+    /**
+     * Creates a set containing the given coordinates.
+     *
+     * @param coordinates the coordinates to add
+     */
+    public CoordinatesSet(Collection<Coordinates> coordinates) {
+        addAll(coordinates);
+    }
+
+    /**
+     * Creates a set containing the cells of a bitset.
+     *
+     * @param cells the array holding the bitset of the cells, bit {@code x * BOARD_DIMENSION + y} for cell (x, y)
+     * @param offset the index of the first word of the bitset in the array
+     * @return a new set containing the cells
+     */
+    static CoordinatesSet ofCells(long[] cells, int offset) {
+        CoordinatesSet set = new CoordinatesSet();
+        for (int word = 0; word < set.cells.length; word++) {
+            set.cells[word] = cells[offset + word];
+            set.cellCount += Long.bitCount(set.cells[word]);
+        }
+        return set;
+    }
+
+    /**
+     * Returns whether the set contains a cell of the board.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @return true if the cell is in the set
+     */
+    public boolean contains(int x, int y) {
+        if (!Coordinates.isOnBoard(x, y))
+            return outside != null && outside.contains(new Coordinates(x, y));
+        return containsCell(x * BOARD_DIMENSION + y);
+    }
+
+    /**
+     * Adds a cell of the board to the set.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @return true if the cell was not in the set
+     */
+    public boolean add(int x, int y) {
+        return add(Coordinates.of(x, y));
+    }
+
+    private boolean containsCell(int cell) {
+        return (cells[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof Coordinates coordinates))
+            return false;
+        int cell = coordinates.getCellIndex();
+        if (cell < 0)
+            return outside != null && outside.contains(coordinates);
+        return containsCell(cell);
+    }
+
+    @Override
+    public boolean add(Coordinates coordinates) {
+        int cell = coordinates.getCellIndex();
+        if (cell < 0) {
+            if (outside == null)
+                outside = new HashSet<>();
+            return outside.add(coordinates);
+        }
+        if (containsCell(cell))
+            return false;
+        cells[cell >>> 6] |= 1L << cell;
+        cellCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof Coordinates coordinates))
+            return false;
+        int cell = coordinates.getCellIndex();
+        if (cell < 0)
+            return outside != null && outside.remove(coordinates);
+        if (!containsCell(cell))
+            return false;
+        cells[cell >>> 6] &= ~(1L << cell);
+        cellCount--;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(cells, 0);
+        cellCount = 0;
+        outside = null;
+    }
+
+    @Override
+    public int size() {
+        return cellCount + (outside == null ? 0 : outside.size());
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof CoordinatesSet other)
+            return Arrays.equals(cells, other.cells) && Objects.equals(outside(), other.outside());
+        return super.equals(object);
+    }
+
+    /**
+     * Returns the same hash code as any other set of the same coordinates, computed from the bits of the cells.
+     */
+    @Override
+    public int hashCode() {
+        int hash = outside == null ? 0 : outside.hashCode();
+        for (int word = 0; word < cells.length; word++) {
+            for (long bits = cells[word]; bits != 0; bits &= bits - 1) {
+                int cell = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                hash += Coordinates.ofCell(cell).hashCode();
+            }
+        }
+        return hash;
+    }
+
+    private Set<Coordinates> outside() {
+        return outside == null ? Collections.emptySet() : outside;
+    }
+
+    @Override
+    public Iterator<Coordinates> iterator() {
+        return new Iterator<>() {
+            private int nextCell = nextCell(0);
+            private Coordinates last;
+            private Iterator<Coordinates> outsideIterator;
+
+            private int nextCell(int from) {
+                for (int word = from >>> 6; word < cells.length; word++) {
+                    long bits = word == from >>> 6 ? cells[word] & (-1L << from) : cells[word];
+                    if (bits != 0)
+                        return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                }
+                return CELLS;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (nextCell < CELLS)
+                    return true;
+                if (outsideIterator == null)
+                    outsideIterator = outside == null ? Collections.emptyIterator() : outside.iterator();
+                return outsideIterator.hasNext();
+            }
+
+            @Override
+            public Coordinates next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                if (nextCell < CELLS) {
+                    last = Coordinates.ofCell(nextCell);
+                    nextCell = nextCell + 1 < CELLS ? nextCell(nextCell + 1) : CELLS;
+                } else {
+                    last = outsideIterator.next();
+                }
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null)
+                    throw new IllegalStateException();
+                if (last.getCellIndex() < 0)
+                    outsideIterator.remove();
+                else
+                    CoordinatesSet.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+}
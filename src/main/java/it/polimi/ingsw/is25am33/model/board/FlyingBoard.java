@@ -59,8 +59,8 @@ public abstract class FlyingBoard {
      * It serves as a communication handler for notifying game clients about various game events,
      * such as player actions, disconnections, or other updates during the game lifecycle.
      *
-     * The {@code GameClientNotifier} utilizes a combination of asynchronous operations and
-     * timeout mechanisms to ensure efficient, non-blocking notifications to all clients,
+     * The {@code GameClientNotifier} queues the notifications of each client in its own mailbox
+     * to ensure efficient, non-blocking notifications to all clients,
      * even in cases where some clients are unresponsive or slow to respond.
      *
      * This field is essential for maintaining synchronized communication across clients
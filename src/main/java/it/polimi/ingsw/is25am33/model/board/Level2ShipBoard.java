@@ -76,18 +76,20 @@ public class Level2ShipBoard extends ShipBoard implements ShipBoardClient {
      */
     public void book () {
 
+        Component bookedComponent = focusedComponent;
+
         if(notActiveComponents.size() >= 2) {
             gameClientNotifier.notifyClients(Set.of(player.getNickname()), (nicknameToNotify, clientController) -> {
-                clientController.notifyErrorWhileBookingComponent(nicknameToNotify, player.getNickname(), focusedComponent);
+                clientController.notifyErrorWhileBookingComponent(nicknameToNotify, player.getNickname(), bookedComponent);
             });
             releaseFocusedComponent();
             return;
         }
 
-        notActiveComponents.add(focusedComponent);
+        notActiveComponents.add(bookedComponent);
 
         gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyBookedComponent(nicknameToNotify, player.getNickname(), focusedComponent);
+            clientController.notifyBookedComponent(nicknameToNotify, player.getNickname(), bookedComponent);
         });
 
         releaseFocusedComponent();
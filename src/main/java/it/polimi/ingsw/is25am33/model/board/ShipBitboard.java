@@ -0,0 +1,141 @@
+package it.polimi.ingsw.is25am33.model.board;
+
+import it.polimi.ingsw.is25am33.model.component.Cannon;
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.model.component.DoubleCannon;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+
+import static it.polimi.ingsw.is25am33.model.board.ShipBoard.BOARD_DIMENSION;
+
+/**
+ * Bit representation of the cells of a ship matrix, answering the geometric queries of the ship board
+ * without scanning the matrix.
+ * <p>
+ * Every layer is a set of the 144 cells: the occupied cells, and the single and double cannons firing in each
+ * direction. A layer is stored twice, row by row and
+ * column by column, five lines of 12 bits per long, so that any row or column is read with a shift and a mask:
+ * bit {@code y} of row {@code x}, and bit {@code x} of column {@code y}, are set when cell (x, y) is in the layer.
+ * The first component hit along a line is then its lowest or highest set bit.
+ */
+class ShipBitboard {
+
+    private static final int LINES_PER_WORD = 5;
+    private static final int WORDS = (BOARD_DIMENSION + LINES_PER_WORD - 1) / LINES_PER_WORD;
+    private static final int LINE_MASK = (1 << BOARD_DIMENSION) - 1;
+
+    private static final int OCCUPIED = 0;
+    // one layer per fire direction, in the order of Direction
+    private static final int SINGLE_CANNONS = 1;
+    private static final int DOUBLE_CANNONS = SINGLE_CANNONS + 4;
+    private static final int LAYERS = DOUBLE_CANNONS + 4;
+
+    private final long[][] rows = new long[LAYERS][WORDS];
+    private final long[][] columns = new long[LAYERS][WORDS];
+
+    /**
+     * Builds the bitboard of a ship matrix.
+     *
+     * @param shipMatrix the matrix to represent
+     * @return the bitboard of the matrix
+     */
+    static ShipBitboard of(Component[][] shipMatrix) {
+        ShipBitboard bitboard = new ShipBitboard();
+        for (int x = 0; x < BOARD_DIMENSION; x++)
+            for (int y = 0; y < BOARD_DIMENSION; y++)
+                if (shipMatrix[x][y] != null)
+                    bitboard.add(x, y, shipMatrix[x][y]);
+        return bitboard;
+    }
+
+    /**
+     * Updates a cell to its new content.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @param component the component now in the cell, null if the cell is now empty
+     */
+    void set(int x, int y, Component component) {
+        for (int layer = 0; layer < LAYERS; layer++)
+            clear(layer, x, y);
+        if (component != null)
+            add(x, y, component);
+    }
+
+    private void add(int x, int y, Component component) {
+        set(OCCUPIED, x, y);
+        if (component instanceof Cannon cannon)
+            set((cannon instanceof DoubleCannon ? DOUBLE_CANNONS : SINGLE_CANNONS) + cannon.getFireDirection().ordinal(), x, y);
+    }
+
+    private void set(int layer, int x, int y) {
+        rows[layer][x / LINES_PER_WORD] |= 1L << bit(x, y);
+        columns[layer][y / LINES_PER_WORD] |= 1L << bit(y, x);
+    }
+
+    private void clear(int layer, int x, int y) {
+        rows[layer][x / LINES_PER_WORD] &= ~(1L << bit(x, y));
+        columns[layer][y / LINES_PER_WORD] &= ~(1L << bit(y, x));
+    }
+
+    private static int bit(int line, int position) {
+        return (line % LINES_PER_WORD) * BOARD_DIMENSION + position;
+    }
+
+    private static int line(long[] words, int line) {
+        return (int) (words[line / LINES_PER_WORD] >>> ((line % LINES_PER_WORD) * BOARD_DIMENSION)) & LINE_MASK;
+    }
+
+    /**
+     * Returns the cells of a layer along the line crossed by an object coming from the given direction:
+     * column {@code pos} for NORTH and SOUTH, row {@code pos} for EAST and WEST.
+     */
+    private int line(int layer, int pos, Direction direction) {
+        return switch (direction) {
+            case NORTH, SOUTH -> line(columns[layer], pos);
+            case EAST, WEST -> line(rows[layer], pos);
+        };
+    }
+
+    /**
+     * Returns whether any cell of the line crossed by an object coming from the given direction is occupied.
+     *
+     * @param pos the row or column index
+     * @param direction the direction the object comes from
+     * @return true if the line is not empty
+     */
+    boolean isLineOccupied(int pos, Direction direction) {
+        return line(OCCUPIED, pos, direction) != 0;
+    }
+
+    /**
+     * Returns the index, along its line, of the first occupied cell hit by an object coming from the given
+     * direction: the row for NORTH and SOUTH, the column for EAST and WEST.
+     *
+     * @param pos the row or column index
+     * @param direction the direction the object comes from
+     * @return the index of the first occupied cell, or -1 if the line is empty
+     */
+    int firstHit(int pos, Direction direction) {
+        int line = line(OCCUPIED, pos, direction);
+        if (line == 0)
+            return -1;
+        return switch (direction) {
+            case NORTH, WEST -> Integer.numberOfTrailingZeros(line);
+            case SOUTH, EAST -> 31 - Integer.numberOfLeadingZeros(line);
+        };
+    }
+
+    /**
+     * Returns whether a cannon firing in the given direction lies on the line of {@code pos}:
+     * column {@code pos} for NORTH and SOUTH, row {@code pos} for EAST and WEST.
+     *
+     * @param pos the row or column index
+     * @param direction the fire direction
+     * @param doubleCannon whether to look for double cannons rather than single ones
+     * @return true if such a cannon is on the line
+     */
+    boolean hasCannon(int pos, Direction direction, boolean doubleCannon) {
+        return line((doubleCannon ? DOUBLE_CANNONS : SINGLE_CANNONS) + direction.ordinal(), pos, direction) != 0;
+    }
+
+}
@@ -44,6 +44,14 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      */
     public static final int[] STARTING_CABIN_POSITION = {6, 6};
 
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Row and column offsets of the neighbor in each direction, in the order of {@link Direction}.
+     */
+    private static final int[] NEIGHBOR_DX = {-1, 0, 1, 0};
+    private static final int[] NEIGHBOR_DY = {0, 1, 0, -1};
+
     /**
      * A matrix indicating which board positions are valid for placing components.
      * If a cell is false, no component can be placed there.
@@ -78,7 +86,64 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
     /**
      * A set of components marked as incorrectly placed.
      */
-    private Set<Coordinates> incorrectlyPositionedComponentsCoordinates = new HashSet<>();
+    private Set<Coordinates> incorrectlyPositionedComponentsCoordinates = new CoordinatesSet();
+
+    /**
+     * The maximum number of deltas kept in the change log. Clients further behind receive a snapshot.
+     */
+    private static final int CHANGE_LOG_CAPACITY = 32;
+
+    /**
+     * The version of the board, incremented every time {@link #commitChanges()} finds a change.
+     * Version 0 is the empty board.
+     */
+    private long version = 0;
+
+    /**
+     * The most recent deltas, each one from the previous version to the next one.
+     */
+    private final Deque<ShipBoardDelta> changeLog = new ArrayDeque<>();
+
+    /**
+     * The content of every cell as of the current version, used to find the cells changed since then.
+     */
+    private final CellState[][] committedCells = new CellState[BOARD_DIMENSION][BOARD_DIMENSION];
+
+    /**
+     * The not active components as of the current version.
+     */
+    private List<Component> committedNotActiveComponents = new ArrayList<>();
+
+    /**
+     * Bit representation of the ship matrix answering the line queries, null until first needed.
+     * It is updated by every change made through the board and rebuilt when the whole matrix is replaced.
+     */
+    private transient volatile ShipBitboard bitboard;
+
+    /**
+     * Index of the parts of the ship linked by connectors, answering {@link #identifyShipParts} after a removal.
+     * It is updated by every change made through the board, and compared with the matrix before each use.
+     * Null until first needed.
+     */
+    private transient ShipConnectivity connectivity;
+
+    /**
+     * The cells whose component breaks a placement rule, kept up to date as the ship changes.
+     * The rules only look at a cell and its four neighbours, so a change re-evaluates just those five cells.
+     * Null until first needed.
+     */
+    private transient CoordinatesSet ruleViolations;
+
+    /**
+     * The component of every cell, by cell index, as of the last update of {@link #ruleViolations}.
+     * Comparing it with the ship matrix finds the cells written directly into the matrix.
+     */
+    private transient Component[] validatedCells;
+
+    /**
+     * The number of components in valid positions, as of the last update of {@link #ruleViolations}.
+     */
+    private transient int placedComponents;
 
     /**
      * Constructor that creates a ShipBoard with the main cabin placed at the initial coordinates.
@@ -108,13 +173,13 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
 
     /**
      * Returns the matrix of components that make up the ship.
+     * The matrix is the board's own and is only meant to be read: cells are changed through the board,
+     * for instance with {@link #setComponentAt}, which keeps the bitboard of the matrix up to date.
      *
      * @return A 2D array of components representing the ship's layout.
      */
     public Component[][] getShipMatrix() {
-        synchronized (shipMatrix) {
-            return shipMatrix;
-        }
+        return shipMatrix;
     }
 
     /**
@@ -162,6 +227,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      */
     public void setShipMatrix(Component[][] shipMatrix) {
         this.shipMatrix = shipMatrix;
+        bitboard = null;
     }
 
     /**
@@ -207,10 +273,9 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      * @return true if the component is properly connected through at least one non-EMPTY connector, otherwise false.
      */
     public boolean isPositionConnectedToShip(Component componentToPlace, int x, int y) {
-        for (Direction direction : Direction.values()) {
-            int[] neighbor = getNeighborCoordinates(x, y, direction);
-            int neighborX = neighbor[0];
-            int neighborY = neighbor[1];
+        for (Direction direction : DIRECTIONS) {
+            int neighborX = x + NEIGHBOR_DX[direction.ordinal()];
+            int neighborY = y + NEIGHBOR_DY[direction.ordinal()];
 
             // Skip if position is invalid or empty
             if (!isValidPosition(neighborX, neighborY) || !isPositionOccupiedByComponent(neighborX, neighborY)) {
@@ -221,8 +286,8 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
             Direction oppositeDirection = getOppositeDirection(direction);
 
             // Check if both connectors are non-EMPTY
-            ConnectorType myConnector = componentToPlace.getConnectors().get(direction);
-            ConnectorType neighborConnector = neighborComponent.getConnectors().get(oppositeDirection);
+            ConnectorType myConnector = componentToPlace.getConnector(direction);
+            ConnectorType neighborConnector = neighborComponent.getConnector(oppositeDirection);
 
             if (myConnector != EMPTY && neighborConnector != EMPTY) {
                 // Found at least one proper connection
@@ -289,50 +354,102 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      * incorrectlyPositionedComponentsCoordinates set with coordinates of any components
      * that violate the placement rules.
      *
-     * This method iterates through all components on the ship board, applying the same
-     * checks used during component placement to identify incorrectly positioned components.
+     * The violations are kept up to date as the ship changes, so this method only re-evaluates the cells
+     * changed directly in the ship matrix, and their neighbours, before publishing them.
      */
     public void checkShipBoard() {
-        // Index to count component's number
-        int componentsCounter = 0;
+        updateRuleViolations();
 
-        // Clear the current set of incorrectly positioned components
         incorrectlyPositionedComponentsCoordinates.clear();
 
-        // Iterate through the entire ship matrix
-        for (int i = 0; i < BOARD_DIMENSION; i++) {
-            for (int j = 0; j < BOARD_DIMENSION; j++) {
-                Component component = shipMatrix[i][j];
-
-                // Skip empty cells or cells outside valid positions
-                if (component == null || !isValidPosition(i, j)) {
-                    continue;
-                }
-
-                componentsCounter++;
+        // a ship with only one component is automatically correct
+        if (placedComponents > 1)
+            incorrectlyPositionedComponentsCoordinates.addAll(ruleViolations);
+    }
 
-                // Check if this position is properly connected to the ship
-                if (!(component instanceof MainCabin) && !isPositionConnectedToShip(component, i, j)) {
-                    incorrectlyPositionedComponentsCoordinates.add(new Coordinates(i, j));
-                    continue;
-                }
+    /**
+     * Checks whether the component in a cell violates any placement rule, applying the same checks used
+     * during component placement.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if the cell holds an incorrectly positioned component, false if it is correct or empty.
+     */
+    private boolean breaksPlacementRules(int x, int y) {
+        Component component = shipMatrix[x][y];
 
-                // Check if this component violates any placement rules
-                if (!areConnectorsWellConnected(component, i, j)
-                        || !areEmptyConnectorsWellConnected(component, i, j)
-                        || isComponentInFireDirection(component, i, j)
-                        || isComponentInEngineDirection(component, i, j)
-                        || isEngineDirectionWrong(component)
-                        || isAimingAComponent(component, i, j)) {
+        // Skip empty cells or cells outside valid positions
+        if (component == null || !isValidPosition(x, y))
+            return false;
 
-                    incorrectlyPositionedComponentsCoordinates.add(new Coordinates(i, j));
+        // Check if this position is properly connected to the ship
+        if (!(component instanceof MainCabin) && !isPositionConnectedToShip(component, x, y))
+            return true;
+
+        return !areConnectorsWellConnected(component, x, y)
+                || !areEmptyConnectorsWellConnected(component, x, y)
+                || isComponentInFireDirection(component, x, y)
+                || isComponentInEngineDirection(component, x, y)
+                || isEngineDirectionWrong(component)
+                || isAimingAComponent(component, x, y);
+    }
+
+    /**
+     * Brings the rule violations up to date with the ship matrix, re-evaluating the cells that changed
+     * since the last update and their neighbours. The first call evaluates every cell.
+     */
+    private void updateRuleViolations() {
+        if (validatedCells == null) {
+            ruleViolations = new CoordinatesSet();
+            validatedCells = new Component[BOARD_DIMENSION * BOARD_DIMENSION];
+            placedComponents = 0;
+            for (int x = 0; x < BOARD_DIMENSION; x++) {
+                for (int y = 0; y < BOARD_DIMENSION; y++) {
+                    validatedCells[x * BOARD_DIMENSION + y] = shipMatrix[x][y];
+                    if (shipMatrix[x][y] != null && isValidPosition(x, y))
+                        placedComponents++;
+                    revalidateCell(x, y);
                 }
             }
+            return;
         }
 
-        if(componentsCounter <= 1) // client has only one component and it is automatically correct
-            incorrectlyPositionedComponentsCoordinates.clear();
+        for (int x = 0; x < BOARD_DIMENSION; x++)
+            for (int y = 0; y < BOARD_DIMENSION; y++)
+                if (validatedCells[x * BOARD_DIMENSION + y] != shipMatrix[x][y])
+                    cellValidationChanged(x, y);
+    }
+
+    /**
+     * Updates the rule violations after a cell of the ship matrix changed, re-evaluating the cell and its
+     * four neighbours. Does nothing until the violations are first needed.
+     *
+     * @param x The x-coordinate of the changed cell.
+     * @param y The y-coordinate of the changed cell.
+     */
+    private void cellValidationChanged(int x, int y) {
+        if (validatedCells == null)
+            return;
+
+        int cell = x * BOARD_DIMENSION + y;
+        if (validatedCells[cell] != null && isValidPosition(x, y))
+            placedComponents--;
+        validatedCells[cell] = shipMatrix[x][y];
+        if (validatedCells[cell] != null && isValidPosition(x, y))
+            placedComponents++;
 
+        revalidateCell(x, y);
+        for (Direction direction : DIRECTIONS)
+            revalidateCell(x + NEIGHBOR_DX[direction.ordinal()], y + NEIGHBOR_DY[direction.ordinal()]);
+    }
+
+    private void revalidateCell(int x, int y) {
+        if (!Coordinates.isOnBoard(x, y))
+            return;
+        if (breaksPlacementRules(x, y))
+            ruleViolations.add(x, y);
+        else
+            ruleViolations.remove(Coordinates.of(x, y));
     }
 
 
@@ -349,7 +466,9 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
 
         checkPosition(x, y); // throws an exception if is not allowed to place the component in that position
 
+        Component placedComponent = focusedComponent;
         shipMatrix[x][y] = focusedComponent;
+        cellChanged(x, y);
 
         focusedComponent.insertInComponentsMap(componentsPerType);
 
@@ -357,14 +476,15 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
             removeComponentByReference(notActiveComponents, focusedComponent);
 
         gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyComponentPlaced(nicknameToNotify, player.getNickname(), focusedComponent, new Coordinates(x, y));
+                clientController.notifyComponentPlaced(nicknameToNotify, player.getNickname(), placedComponent, Coordinates.of(x, y));
         });
 
-        gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
+        // the two notifications below carry the whole current state, so a pending one can be replaced by a newer one
+        gameClientNotifier.notifyAllClients(stateKey("componentsPerType"), (nicknameToNotify, clientController) -> {
             clientController.notifyComponentPerType(nicknameToNotify,player.getNickname(),componentsPerType);
         });
 
-        gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
+        gameClientNotifier.notifyAllClients(stateKey("notActiveComponents"), (nicknameToNotify, clientController) -> {
             clientController.notifyNotActiveComponents(nicknameToNotify,player.getNickname(),notActiveComponents);
         });
 
@@ -372,6 +492,17 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
 
     }
 
+    /**
+     * Returns the key identifying a piece of this board's state in the notification mailboxes,
+     * so that a pending notification of the same state can be replaced by a newer one.
+     *
+     * @param state the name of the notified state
+     * @return the key of the state, or null if the board has no owner yet
+     */
+    private String stateKey(String state) {
+        return player == null ? null : state + ":" + player.getNickname();
+    }
+
     /**
      * Removes a component from a list by reference comparison.
      *
@@ -479,10 +610,9 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      */
     public boolean areEmptyConnectorsWellConnected(Component componentToPlace, int x, int y) {
 
-        for (Direction direction : Direction.values()) {
-            int[] neighbor = getNeighborCoordinates(x, y, direction);
-            int neighborX = neighbor[0];
-            int neighborY = neighbor[1];
+        for (Direction direction : DIRECTIONS) {
+            int neighborX = x + NEIGHBOR_DX[direction.ordinal()];
+            int neighborY = y + NEIGHBOR_DY[direction.ordinal()];
 
             if (!isValidPosition(neighborX, neighborY) || !isPositionOccupiedByComponent(neighborX, neighborY)) {
                 continue;
@@ -493,15 +623,15 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
 
             // Check 1: If the neighbor has an EMPTY connector in the opposite direction,
             // our component must have an EMPTY connector in the corresponding direction
-            if (neighborComponent.getConnectors().get(oppositeDirection) == EMPTY &&
-                    componentToPlace.getConnectors().get(direction) != EMPTY) {
+            if (neighborComponent.getConnector(oppositeDirection) == EMPTY &&
+                    componentToPlace.getConnector(direction) != EMPTY) {
                 return false;
             }
 
             // Check 2: If our component has an EMPTY connector in a direction,
             // the neighbor must have an EMPTY connector in the opposite direction
-            if (componentToPlace.getConnectors().get(direction) == EMPTY &&
-                    neighborComponent.getConnectors().get(oppositeDirection) != EMPTY) {
+            if (componentToPlace.getConnector(direction) == EMPTY &&
+                    neighborComponent.getConnector(oppositeDirection) != EMPTY) {
                 return false;
             }
         }
@@ -519,10 +649,9 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      * @return true if the connectors are compatible, otherwise false.
      */
     public boolean areConnectorsWellConnected(Component componentToPlace, int x, int y) {
-        for (Direction direction : Direction.values()) {
-            int[] neighbor = getNeighborCoordinates(x, y, direction);
-            int neighborX = neighbor[0];
-            int neighborY = neighbor[1];
+        for (Direction direction : DIRECTIONS) {
+            int neighborX = x + NEIGHBOR_DX[direction.ordinal()];
+            int neighborY = y + NEIGHBOR_DY[direction.ordinal()];
 
             if (!isValidPosition(neighborX, neighborY) || shipMatrix[neighborX][neighborY] == null) continue;
 
@@ -530,8 +659,8 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
             Direction oppositeDirection = getOppositeDirection(direction);
 
             if (!areConnectorsCompatible(
-                    componentToPlace.getConnectors().get(direction),
-                    neighborComponent.getConnectors().get(oppositeDirection))) {
+                    componentToPlace.getConnector(direction),
+                    neighborComponent.getConnector(oppositeDirection))) {
                 return false;
             }
         }
@@ -615,8 +744,9 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
         Component componentToRemove = shipMatrix[x][y];
         notActiveComponents.add(componentToRemove);
         removeFromComponentsMap(componentToRemove);
-        incorrectlyPositionedComponentsCoordinates.remove(new Coordinates(x, y));
+        incorrectlyPositionedComponentsCoordinates.remove(Coordinates.of(x, y));
         shipMatrix[x][y] = null;
+        cellChanged(x, y);
         return identifyShipParts(x, y);
     }
 
@@ -633,13 +763,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
         if(pos < 0 || pos >= BOARD_DIMENSION )
             throw new IllegalArgumentException("Not a valid position");
 
-        return Arrays.stream(
-                        (direction == NORTH || direction == SOUTH) ?
-                                IntStream.range(0, BOARD_DIMENSION)
-                                        .mapToObj(i -> shipMatrix[i][pos])
-                                        .toArray(Component[]::new)
-                                : shipMatrix[pos] )
-                .anyMatch(component -> component instanceof Cannon && !(component instanceof DoubleCannon) && ((Cannon) component).getFireDirection() == direction );
+        return bitboard().hasCannon(pos, direction, false);
     }
 
     /**
@@ -655,13 +779,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
         if(pos < 0 || pos >= BOARD_DIMENSION )
             throw new IllegalArgumentException("Not a valid position");
 
-        return Arrays.stream(
-                        (direction == NORTH || direction == SOUTH) ?
-                                IntStream.range(0, BOARD_DIMENSION)
-                                        .mapToObj(i -> shipMatrix[i][pos])
-                                        .toArray(Component[]::new)
-                                : shipMatrix[pos] )
-                .anyMatch(component -> component instanceof DoubleCannon && ((Cannon) component).getFireDirection() == direction );
+        return bitboard().hasCannon(pos, direction, true);
     }
 
     /**
@@ -669,12 +787,13 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      *
      * @param obj The DangerousObj to evaluate.
      * @return true if the object will impact the ship, otherwise false.
+     * @throws IllegalArgumentException If the coordinate of the object is not a valid position.
      */
     public boolean isItGoingToHitTheShip(DangerousObj obj){
-        Component[] componentsInObjectDirection = getOrderedComponentsInDirection(obj.getCoordinate(), obj.getDirection());
-        if(Arrays.stream(componentsInObjectDirection).allMatch(Objects::isNull))
-            return false;
-        return true;
+        if(obj.getCoordinate() < 0 || obj.getCoordinate() >= BOARD_DIMENSION )
+            throw new IllegalArgumentException("Not a valid position");
+
+        return bitboard().isLineOccupied(obj.getCoordinate(), obj.getDirection());
     }
 
     /**
@@ -690,23 +809,17 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
         if(pos < 0 || pos >= BOARD_DIMENSION )
             throw new IllegalArgumentException("Not a valid position");
 
-        return switch (direction)  {
-            case NORTH -> IntStream.range(0, BOARD_DIMENSION)
-                    .mapToObj(i -> shipMatrix[i][pos])
-                    .toArray(Component[]::new);
-            case SOUTH -> IntStream.range(0, BOARD_DIMENSION)
-                    .map(i -> BOARD_DIMENSION - 1 - i)
-                    .mapToObj(i -> shipMatrix[i][pos])
-                    .toArray(Component[]::new);
-            case EAST -> IntStream.range(0, BOARD_DIMENSION)
-                    .map(i -> BOARD_DIMENSION - 1 - i)
-                    .mapToObj(i -> shipMatrix[pos][i])
-                    .toArray(Component[]::new);
-            case WEST -> IntStream.range(0, BOARD_DIMENSION)
-                    .mapToObj(i -> shipMatrix[pos][i])
-                    .toArray(Component[]::new);
-            default -> throw new IllegalArgumentException("Not a valid direction");
-        };
+        Component[] components = new Component[BOARD_DIMENSION];
+        for (int i = 0; i < BOARD_DIMENSION; i++) {
+            int reversed = BOARD_DIMENSION - 1 - i;
+            components[i] = switch (direction) {
+                case NORTH -> shipMatrix[i][pos];
+                case SOUTH -> shipMatrix[reversed][pos];
+                case EAST -> shipMatrix[pos][reversed];
+                case WEST -> shipMatrix[pos][i];
+            };
+        }
+        return components;
     }
 
     /**
@@ -722,16 +835,11 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
         if(pos < 0 || pos >= BOARD_DIMENSION )
             throw new IllegalArgumentException("Not a valid position");
 
-        Component[] componentsInDirection = getOrderedComponentsInDirection(pos, direction);
-
-        if(Arrays.stream(componentsInDirection).allMatch(Objects::isNull))
+        int[] hit = findFirstComponentInDirection(pos, direction);
+        if (hit == null)
             return false;
 
-        return Arrays.stream(componentsInDirection)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .map(component -> (Boolean) (component.getConnectors().get(direction) != EMPTY))
-                .orElse(false);
+        return shipMatrix[hit[0]][hit[1]].getConnector(direction) != EMPTY;
     }
 
     /**
@@ -754,7 +862,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
 
                     if (isValidPosition(neighborX, neighborY) &&
                             shipMatrix[neighborX][neighborY] != null &&
-                            shipMatrix[neighborX][neighborY].getConnectors().get(getOppositeDirection(direction)) != EMPTY)
+                            shipMatrix[neighborX][neighborY].getConnector(getOppositeDirection(direction)) != EMPTY)
                         counter++;
                 }
             }
@@ -803,7 +911,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      * @return A set of cabins that meet the adjacency criterion.
      */
     public Set<Coordinates> getCabinCoordinatesWithNeighbors() {
-        Set<Coordinates> cabinsCoordinatesWithNeighbors = new HashSet<>();
+        Set<Coordinates> cabinsCoordinatesWithNeighbors = new CoordinatesSet();
 
         for (int i = 0; i < BOARD_DIMENSION; i++) {
             for (int j = 0; j < BOARD_DIMENSION; j++) {
@@ -824,11 +932,11 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
                         if (neighborComponent instanceof Cabin && ((Cabin) neighborComponent).hasInhabitants()) {
 
                             //check if the connectors are compatible
-                            ConnectorType srcConnector = currentCabin.getConnectors().get(direction);
-                            ConnectorType destConnector = neighborComponent.getConnectors().get(getOppositeDirection(direction));
+                            ConnectorType srcConnector = currentCabin.getConnector(direction);
+                            ConnectorType destConnector = neighborComponent.getConnector(getOppositeDirection(direction));
 
                             if (areConnectorsCompatible(srcConnector, destConnector) && srcConnector!=EMPTY && destConnector!= EMPTY) {
-                                cabinsCoordinatesWithNeighbors.add(new Coordinates(i, j));
+                                cabinsCoordinatesWithNeighbors.add(Coordinates.of(i, j));
                             }
 
                             break;
@@ -1038,6 +1146,10 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      * @return A list of sets, where each set contains the coordinates of components in a connected part.
      */
     public Set<Set<Coordinates>> identifyShipParts(int x, int y) {
+        // the index describes the ship as it is, so it answers for an empty cell, as after a removal
+        if (shipMatrix[x][y] == null)
+            return connectivity().partsAround(x, y);
+
         boolean[][] visited = new boolean[BOARD_DIMENSION][BOARD_DIMENSION];
         Set<Set<Coordinates>> shipParts = new HashSet<>();
 
@@ -1067,20 +1179,19 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      * @return A set of coordinates forming a connected part of the ship.
      */
     public Set<Coordinates> bfsCollectPart(int startX, int startY, boolean[][] visited) {
-        Queue<Coordinates> queue = new LinkedList<>();
-        Set<Coordinates> part = new HashSet<>();
+        Queue<Coordinates> queue = new ArrayDeque<>();
+        Set<Coordinates> part = new CoordinatesSet();
 
-        queue.add(new Coordinates(startX, startY));
+        queue.add(Coordinates.of(startX, startY));
         visited[startX][startY] = true;
 
         while (!queue.isEmpty()) {
             Coordinates pos = queue.poll();
             part.add(pos);
 
-            for (Direction direction : Direction.values()) {
-                int[] neighbor = getNeighborCoordinates(pos.getX(), pos.getY(), direction);
-                int newX = neighbor[0];
-                int newY = neighbor[1];
+            for (Direction direction : DIRECTIONS) {
+                int newX = pos.getX() + NEIGHBOR_DX[direction.ordinal()];
+                int newY = pos.getY() + NEIGHBOR_DY[direction.ordinal()];
 
                 if (isValidPosition(newX, newY) && shipMatrix[newX][newY] != null && !visited[newX][newY]) {
 
@@ -1088,12 +1199,12 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
                     Component neighbourComponent = shipMatrix[newX][newY];
 
                     // Check that the connectors match and are not both EMPTY
-                    ConnectorType srcConnector = currentComponent.getConnectors().get(direction);
-                    ConnectorType destConnector = neighbourComponent.getConnectors().get(getOppositeDirection(direction));
+                    ConnectorType srcConnector = currentComponent.getConnector(direction);
+                    ConnectorType destConnector = neighbourComponent.getConnector(getOppositeDirection(direction));
 
                     if (srcConnector != EMPTY && destConnector != EMPTY) {
                         visited[newX][newY] = true;
-                        queue.add(new Coordinates(newX, newY));
+                        queue.add(Coordinates.of(newX, newY));
                     }
                 }
             }
@@ -1114,6 +1225,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
             removeFromComponentsMap(currentComponent);
             incorrectlyPositionedComponentsCoordinates.remove(componentPosition);
             shipMatrix[componentPosition.getX()][componentPosition.getY()] = null;
+            cellChanged(componentPosition.getX(), componentPosition.getY());
         }
 
     }
@@ -1133,59 +1245,21 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      *
      * @param pos The row or column index.
      * @param direction The direction to search in.
-     * @return An array [x, y] with the coordinates of the first component found.
+     * @return An array [x, y] with the coordinates of the first component found, or null if the line is empty.
      * @throws IllegalArgumentException If the position is invalid.
      */
     public int[] findFirstComponentInDirection(int pos, Direction direction) {
-        int x=0, y=0;
-
         if( pos < 0 || pos >= BOARD_DIMENSION)
             throw new IllegalArgumentException("Invalid position: " + pos);
 
-        switch (direction) {
-            case NORTH:
-                y = pos;
-                x = 0;
-                break;
-            case SOUTH:
-                y = pos;
-                x = 11;
-                break;
-            case EAST:
-                x = pos;
-                y = 11;
-                break;
-            case WEST:
-                x = pos;
-                y = 0;
-                break;
-            default:
-                throw new IllegalStateException("Unexpected value: " + direction);
-        }
-
-        while (x<12 && y<12 && shipMatrix[x][y] == null) {
-            switch (direction) {
-                case NORTH:
-                    x ++;
-                    break;
-                case SOUTH:
-                    x --;
-                    break;
-                case EAST:
-                    y --;
-                    break;
-                case WEST:
-                    y ++;
-                    break;
-                default:
-                    throw new IllegalStateException("Unexpected value: " + direction);
-            }
-        }
-
-        if(x==12 || y==12)
+        int hit = bitboard().firstHit(pos, direction);
+        if (hit < 0)
             return null;
 
-        return new int[]{x, y};
+        return switch (direction) {
+            case NORTH, SOUTH -> new int[]{hit, pos};
+            case EAST, WEST -> new int[]{pos, hit};
+        };
     }
 
     /**
@@ -1239,6 +1313,19 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
         return this.shipMatrix[coordinates.getX()][coordinates.getY()];
     }
 
+    /**
+     * Puts a component in a cell, or empties it, without any placement check or notification,
+     * as done when a prefab ship is built.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @param component the component to put in the cell, null to empty it
+     */
+    public void setComponentAt(int x, int y, Component component) {
+        shipMatrix[x][y] = component;
+        cellChanged(x, y);
+    }
+
     /**
      * Releases the currently focused component and notifies all clients.
      *
@@ -1259,6 +1346,55 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
     }
 
 
+    /**
+     * Returns the bitboard of the ship matrix, rebuilding it if it was dropped.
+     *
+     * @return the up-to-date bitboard
+     */
+    ShipBitboard bitboard() {
+        ShipBitboard current = bitboard;
+        if (current == null) {
+            current = ShipBitboard.of(shipMatrix);
+            bitboard = current;
+        }
+        return current;
+    }
+
+    /**
+     * Brings the bitboard, the connectivity index and the rule violations up to date after a cell of the
+     * ship matrix changed.
+     */
+    private void cellChanged(int x, int y) {
+        ShipBitboard current = bitboard;
+        if (current != null)
+            current.set(x, y, shipMatrix[x][y]);
+        if (connectivity != null)
+            connectivity.set(x, y, shipMatrix[x][y]);
+        cellValidationChanged(x, y);
+    }
+
+    /**
+     * Returns the connectivity index of the ship matrix, creating it the first time and bringing it up to date
+     * with the cells written directly into the matrix.
+     *
+     * @return the up-to-date connectivity index
+     */
+    ShipConnectivity connectivity() {
+        if (connectivity == null) {
+            long[] validCells = new long[(BOARD_DIMENSION * BOARD_DIMENSION + Long.SIZE - 1) / Long.SIZE];
+            for (int x = 0; x < BOARD_DIMENSION; x++) {
+                for (int y = 0; y < BOARD_DIMENSION; y++) {
+                    int cell = x * BOARD_DIMENSION + y;
+                    if (isValidPosition(x, y))
+                        validCells[cell >>> 6] |= 1L << cell;
+                }
+            }
+            connectivity = new ShipConnectivity(validCells);
+        }
+        connectivity.sync(shipMatrix);
+        return connectivity;
+    }
+
     /**
      * Sets the list of components that are not currently active on the board.
      *
@@ -1313,7 +1449,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
         for (int i = 0; i < BOARD_DIMENSION; i++) {
             for (int j = 0; j < BOARD_DIMENSION; j++) {
                 if (isValidPosition(i, j) && shipMatrix[i][j]!= null && shipMatrix[i][j] instanceof Storage) {
-                    result.put(new Coordinates(i, j), (Storage) shipMatrix[i][j]);
+                    result.put(Coordinates.of(i, j), (Storage) shipMatrix[i][j]);
                 }
             }
         }
@@ -1336,7 +1472,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
                 if (isValidPosition(i, j) && shipMatrix[i][j] instanceof Cabin) {
                     Cabin cabin = (Cabin) shipMatrix[i][j];
                     if (cabin.hasInhabitants()) {
-                        result.put(new Coordinates(i, j), cabin);
+                        result.put(Coordinates.of(i, j), cabin);
                     }
                 }
             }
@@ -1358,7 +1494,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
             for (int j = 0; j < BOARD_DIMENSION; j++) {
                 if (isValidPosition(i, j) && shipMatrix[i][j] instanceof Cabin) {
                     Cabin cabin = (Cabin) shipMatrix[i][j];
-                    result.put(new Coordinates(i, j), cabin);
+                    result.put(Coordinates.of(i, j), cabin);
                 }
             }
         }
@@ -1378,7 +1514,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
             for (int j = 0; j < BOARD_DIMENSION; j++) {
                 if (isValidPosition(i, j) && shipMatrix[i][j] instanceof BatteryBox) {
                     BatteryBox batteryBox = (BatteryBox) shipMatrix[i][j];
-                    result.put(new Coordinates(i, j), batteryBox);
+                    result.put(Coordinates.of(i, j), batteryBox);
                 }
             }
         }
@@ -1404,7 +1540,7 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
                     Set<ColorLifeSupport> supports = getConnectedLifeSupports(i, j);
 
                     if (!supports.isEmpty()) {
-                        result.put(new Coordinates(i, j), supports);
+                        result.put(Coordinates.of(i, j), supports);
                     }
                 }
             }
@@ -1420,14 +1556,14 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
      * @return A set of coordinates where the components are located.
      */
     public Set<Coordinates> getCoordinatesOfComponents(List<? extends Component> components) {
-        Set<Coordinates> coordinatesOfComponents = new HashSet<>();
+        Set<Coordinates> coordinatesOfComponents = new CoordinatesSet();
 
         for (int i = 0; i < BOARD_DIMENSION; i++) {
             for (int j = 0; j < BOARD_DIMENSION; j++) {
                 Component component = shipMatrix[i][j];
 
                 if (components.contains(component)) {
-                    coordinatesOfComponents.add(new Coordinates(i, j));
+                    coordinatesOfComponents.add(Coordinates.of(i, j));
                 }
             }
         }
@@ -1451,8 +1587,8 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
 
             if (isValidPosition(neighborX, neighborY) && shipMatrix[neighborX][neighborY] instanceof LifeSupport) {
                 //check if connectors match
-                ConnectorType srcConnector = shipMatrix[x][y].getConnectors().get(direction);
-                ConnectorType destConnector = shipMatrix[neighborX][neighborY].getConnectors().get(getOppositeDirection(direction));
+                ConnectorType srcConnector = shipMatrix[x][y].getConnector(direction);
+                ConnectorType destConnector = shipMatrix[neighborX][neighborY].getConnector(getOppositeDirection(direction));
 
                 if (areConnectorsCompatible(srcConnector, destConnector)) {
                     LifeSupport lifeSupport = (LifeSupport) shipMatrix[neighborX][neighborY];
@@ -1586,4 +1722,163 @@ public abstract class ShipBoard implements Serializable, ShipBoardClient {
             cabin.getInhabitants().remove(crewMember);
     }
 
+    /**
+     * Returns the current version of the board, as of the last {@link #commitChanges()}
+     * or the last delta applied with {@link #applyDelta(ShipBoardDelta)}.
+     *
+     * @return the board version
+     */
+    @JsonIgnore
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Compares every cell with its content at the current version and, if anything changed,
+     * records the changed cells in the change log under a new version.
+     * Components are compared by reference, rotation and {@link Component#getContentState()},
+     * so changes made directly on a component, like using a battery, are detected as well.
+     *
+     * @return the version of the board after the commit
+     */
+    public synchronized long commitChanges() {
+        List<ShipBoardDelta.CellChange> changes = new ArrayList<>();
+        for (int x = 0; x < BOARD_DIMENSION; x++) {
+            for (int y = 0; y < BOARD_DIMENSION; y++) {
+                Component component = shipMatrix[x][y];
+                CellState committed = committedCells[x][y];
+                if (committed == null ? component == null : committed.matches(component))
+                    continue;
+                committedCells[x][y] = component == null ? null : new CellState(component);
+                changes.add(new ShipBoardDelta.CellChange(Coordinates.of(x, y), component));
+            }
+        }
+
+        List<Component> current = notActiveComponents == null ? List.of() : notActiveComponents;
+        List<Component> notActive = null;
+        if (!sameComponents(committedNotActiveComponents, current)) {
+            notActive = new ArrayList<>(current);
+            committedNotActiveComponents = notActive;
+        }
+
+        if (changes.isEmpty() && notActive == null)
+            return version;
+
+        changeLog.addLast(new ShipBoardDelta(version, version + 1, changes, notActive));
+        if (changeLog.size() > CHANGE_LOG_CAPACITY)
+            changeLog.removeFirst();
+        return ++version;
+    }
+
+    /**
+     * Returns the changes needed to bring a copy of this board from the given version to the current one,
+     * committing pending changes first. When the version is no longer in the change log, or is unknown,
+     * a snapshot is returned instead.
+     *
+     * @param fromVersion the version of the copy to update
+     * @return a delta from {@code fromVersion} to the current version, or a snapshot
+     */
+    public synchronized ShipBoardDelta getChangesSince(long fromVersion) {
+        commitChanges();
+        if (fromVersion == version)
+            return new ShipBoardDelta(version, version, new ArrayList<>(), null);
+        if (fromVersion > version || changeLog.isEmpty() || fromVersion < changeLog.getFirst().getBaseVersion())
+            return getSnapshot();
+
+        Map<Coordinates, ShipBoardDelta.CellChange> changes = new LinkedHashMap<>();
+        List<Component> notActive = null;
+        for (ShipBoardDelta delta : changeLog) {
+            if (delta.getBaseVersion() < fromVersion)
+                continue;
+            for (ShipBoardDelta.CellChange change : delta.getChanges()) {
+                changes.remove(change.getCoordinates());
+                changes.put(change.getCoordinates(), change);
+            }
+            if (delta.getNotActiveComponents() != null)
+                notActive = delta.getNotActiveComponents();
+        }
+        return new ShipBoardDelta(fromVersion, version, new ArrayList<>(changes.values()), notActive);
+    }
+
+    /**
+     * Returns the whole board at the current version, committing pending changes first.
+     *
+     * @return a snapshot delta listing every occupied cell
+     */
+    public synchronized ShipBoardDelta getSnapshot() {
+        commitChanges();
+        List<ShipBoardDelta.CellChange> cells = new ArrayList<>();
+        for (int x = 0; x < BOARD_DIMENSION; x++)
+            for (int y = 0; y < BOARD_DIMENSION; y++)
+                if (shipMatrix[x][y] != null)
+                    cells.add(new ShipBoardDelta.CellChange(Coordinates.of(x, y), shipMatrix[x][y]));
+        return new ShipBoardDelta(ShipBoardDelta.SNAPSHOT, version, cells, new ArrayList<>(committedNotActiveComponents));
+    }
+
+    /**
+     * Applies a delta received from the server to this board, updating the ship matrix in place
+     * and rebuilding the components per type from it.
+     * A delta that does not start from the current version is rejected, unless it is a snapshot.
+     *
+     * @param delta the delta to apply
+     * @return true if the delta was applied, false if a gap was detected and a snapshot is needed
+     */
+    public synchronized boolean applyDelta(ShipBoardDelta delta) {
+        if (!delta.isSnapshot() && delta.getBaseVersion() != version)
+            return false;
+
+        if (delta.isSnapshot())
+            for (Component[] row : shipMatrix)
+                Arrays.fill(row, null);
+        for (ShipBoardDelta.CellChange change : delta.getChanges())
+            shipMatrix[change.getCoordinates().getX()][change.getCoordinates().getY()] = change.getComponent();
+        if (delta.getNotActiveComponents() != null)
+            notActiveComponents = delta.getNotActiveComponents();
+        bitboard = null;
+
+        Map<Class<?>, List<Component>> rebuilt = new HashMap<>();
+        Arrays.stream(shipMatrix)
+                .flatMap(Arrays::stream)
+                .filter(Objects::nonNull)
+                .forEach(component -> component.insertInComponentsMap(rebuilt));
+        componentsPerType = rebuilt;
+
+        version = delta.getVersion();
+        return true;
+    }
+
+    /**
+     * Checks whether two lists contain the same components, compared by reference.
+     */
+    private static boolean sameComponents(List<Component> first, List<Component> second) {
+        if (first.size() != second.size())
+            return false;
+        for (int i = 0; i < first.size(); i++)
+            if (first.get(i) != second.get(i))
+                return false;
+        return true;
+    }
+
+    /**
+     * The content of a cell at the time of a commit.
+     */
+    private static class CellState implements Serializable {
+
+        private final Component component;
+        private final int rotation;
+        private final Object content;
+
+        CellState(Component component) {
+            this.component = component;
+            this.rotation = component.getRotation();
+            this.content = component.getContentState();
+        }
+
+        boolean matches(Component other) {
+            return other == component
+                    && other.getRotation() == rotation
+                    && Objects.equals(other.getContentState(), content);
+        }
+    }
+
 }
@@ -0,0 +1,131 @@
+package it.polimi.ingsw.is25am33.model.board;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import it.polimi.ingsw.is25am33.model.component.Component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The changes of a {@link ShipBoard} between two of its versions, as sent to the clients.
+ * Every changed cell carries its new content (or null if it was emptied), so applying a delta
+ * to a board at its base version brings it to the delta version.
+ * A delta whose base is {@link #SNAPSHOT} lists every occupied cell instead, and replaces the whole board.
+ */
+public class ShipBoardDelta implements Serializable {
+
+    /**
+     * Base version of a delta that is a full snapshot of the board.
+     */
+    public static final long SNAPSHOT = -1;
+
+    private long baseVersion;
+    private long version;
+    private List<CellChange> changes = new ArrayList<>();
+    private List<Component> notActiveComponents;
+
+    /**
+     * Empty constructor needed for Jackson
+     */
+    public ShipBoardDelta() {}
+
+    /**
+     * Constructs a delta between two versions of a ship board.
+     *
+     * @param baseVersion the version the delta applies to, or {@link #SNAPSHOT}
+     * @param version the version reached once the delta is applied
+     * @param changes the changed cells
+     * @param notActiveComponents the new list of not active components, or null if it did not change
+     */
+    public ShipBoardDelta(long baseVersion, long version, List<CellChange> changes, List<Component> notActiveComponents) {
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.changes = changes;
+        this.notActiveComponents = notActiveComponents;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<CellChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<CellChange> changes) {
+        this.changes = changes;
+    }
+
+    public List<Component> getNotActiveComponents() {
+        return notActiveComponents;
+    }
+
+    public void setNotActiveComponents(List<Component> notActiveComponents) {
+        this.notActiveComponents = notActiveComponents;
+    }
+
+    /**
+     * Returns whether this delta is a full snapshot of the board.
+     *
+     * @return true if the delta replaces the whole board
+     */
+    @JsonIgnore
+    public boolean isSnapshot() {
+        return baseVersion == SNAPSHOT;
+    }
+
+    /**
+     * The new content of a single cell of the ship matrix.
+     */
+    public static class CellChange implements Serializable {
+
+        private Coordinates coordinates;
+        private Component component;
+
+        /**
+         * Empty constructor needed for Jackson
+         */
+        public CellChange() {}
+
+        /**
+         * Constructs the change of a cell.
+         *
+         * @param coordinates the coordinates of the cell
+         * @param component the new content of the cell, null if it was emptied
+         */
+        public CellChange(Coordinates coordinates, Component component) {
+            this.coordinates = coordinates;
+            this.component = component;
+        }
+
+        public Coordinates getCoordinates() {
+            return coordinates;
+        }
+
+        public void setCoordinates(Coordinates coordinates) {
+            this.coordinates = coordinates;
+        }
+
+        public Component getComponent() {
+            return component;
+        }
+
+        public void setComponent(Component component) {
+            this.component = component;
+        }
+    }
+
+}
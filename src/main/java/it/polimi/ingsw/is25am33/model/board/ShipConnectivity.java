@@ -0,0 +1,301 @@
+package it.polimi.ingsw.is25am33.model.board;
+
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static it.polimi.ingsw.is25am33.model.board.ShipBoard.BOARD_DIMENSION;
+import static it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType.EMPTY;
+
+/**
+ * Connectivity index of a ship matrix: the parts formed by the components linked through connectors that are
+ * not EMPTY on either side, the same parts found by {@link ShipBoard#bfsCollectPart}.
+ * <p>
+ * Every occupied cell is labelled with its part, and every part keeps its cells as a bitset of the 144 cells,
+ * in the layout of {@link CoordinatesSet}. Placing a component unites the parts of its linked neighbours,
+ * moving the cells of the smaller parts into the larger one. Removing a component can only split its own part,
+ * and only when at least two of its neighbours were linked to it: a search bounded to a few cells around the
+ * removed one usually finds them still connected. Otherwise the part is marked, and its cells are labelled again
+ * only when the part is next needed, since a part that splits is often removed right after.
+ * <p>
+ * The index keeps the components it was last given, so that a matrix written directly can be brought up to date
+ * by comparing the two. Only the cells in valid positions of the board are indexed.
+ */
+class ShipConnectivity {
+
+    private static final int CELLS = BOARD_DIMENSION * BOARD_DIMENSION;
+    private static final int WORDS = (CELLS + Long.SIZE - 1) / Long.SIZE;
+
+    // offsets of the neighbour in each direction, in the order of Direction
+    private static final int[] NEIGHBOR_DX = {-1, 0, 1, 0};
+    private static final int[] NEIGHBOR_DY = {0, 1, 0, -1};
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The number of cells the search around a removed component visits before labelling its whole part again.
+     */
+    static final int LOCAL_SEARCH_LIMIT = 16;
+
+    private final long[] validCells;
+    private final Component[] cells = new Component[CELLS];
+    private final int[] labels = new int[CELLS];
+    // the cells of each part, WORDS longs per label
+    private final long[] members = new long[CELLS * WORDS];
+    private final int[] sizes = new int[CELLS];
+    private final boolean[] maybeSplit = new boolean[CELLS];
+    private final int[] freeLabels = new int[CELLS];
+    private int freeCount = 0;
+
+    // working space of the searches
+    private final int[] queue = new int[CELLS];
+    private final long[] seen = new long[WORDS];
+    private final int[] linkedNeighbors = new int[DIRECTIONS.length];
+    private final int[] foundLabels = new int[DIRECTIONS.length];
+
+    /**
+     * Creates an empty index.
+     *
+     * @param validCells the valid positions of the board, as a bitset of the cells
+     */
+    ShipConnectivity(long[] validCells) {
+        this.validCells = validCells.clone();
+        Arrays.fill(labels, -1);
+        for (int label = CELLS - 1; label >= 0; label--)
+            freeLabels[freeCount++] = label;
+    }
+
+    /**
+     * Brings the index up to date with a ship matrix, updating the cells whose component changed.
+     *
+     * @param shipMatrix the matrix to index
+     */
+    void sync(Component[][] shipMatrix) {
+        for (int x = 0, cell = 0; x < BOARD_DIMENSION; x++) {
+            Component[] row = shipMatrix[x];
+            for (int y = 0; y < BOARD_DIMENSION; y++, cell++)
+                if (cells[cell] != row[y])
+                    set(x, y, row[y]);
+        }
+    }
+
+    /**
+     * Updates a cell to its new content.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @param component the component now in the cell, null if the cell is now empty
+     */
+    void set(int x, int y, Component component) {
+        int cell = x * BOARD_DIMENSION + y;
+        if (!contains(validCells, cell) || cells[cell] == component)
+            return;
+        if (cells[cell] != null)
+            remove(x, y);
+        if (component != null)
+            add(x, y, component);
+    }
+
+    /**
+     * Returns the parts of the ship next to an empty cell, as {@link ShipBoard#identifyShipParts} finds them
+     * after the component of the cell was removed.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @return the parts containing the components next to the cell, each one as a set of their coordinates
+     */
+    Set<Set<Coordinates>> partsAround(int x, int y) {
+        Set<Set<Coordinates>> parts = new HashSet<>();
+        int found = 0;
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            int neighbor = neighbor(x, y, direction);
+            if (neighbor < 0 || cells[neighbor] == null)
+                continue;
+
+            int label = resolve(neighbor);
+            boolean known = false;
+            for (int i = 0; i < found; i++)
+                known |= foundLabels[i] == label;
+            if (known)
+                continue;
+            foundLabels[found++] = label;
+            parts.add(CoordinatesSet.ofCells(members, label * WORDS));
+        }
+        return parts;
+    }
+
+    private void add(int x, int y, Component component) {
+        int cell = x * BOARD_DIMENSION + y;
+        cells[cell] = component;
+
+        int label = freeLabels[--freeCount];
+        labels[cell] = label;
+        members[label * WORDS + (cell >>> 6)] |= 1L << cell;
+        sizes[label] = 1;
+
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            if (!isLinked(cell, x, y, direction))
+                continue;
+            int other = resolve(neighbor(x, y, direction));
+            if (other != labels[cell])
+                union(labels[cell], other);
+        }
+    }
+
+    /**
+     * Moves the cells of the smaller of two parts into the larger one.
+     */
+    private void union(int first, int second) {
+        int larger = sizes[first] >= sizes[second] ? first : second;
+        int smaller = larger == first ? second : first;
+
+        for (int word = 0; word < WORDS; word++) {
+            long bits = members[smaller * WORDS + word];
+            members[larger * WORDS + word] |= bits;
+            members[smaller * WORDS + word] = 0;
+            for (; bits != 0; bits &= bits - 1)
+                labels[word * Long.SIZE + Long.numberOfTrailingZeros(bits)] = larger;
+        }
+        sizes[larger] += sizes[smaller];
+        sizes[smaller] = 0;
+        freeLabels[freeCount++] = smaller;
+    }
+
+    private void remove(int x, int y) {
+        int cell = x * BOARD_DIMENSION + y;
+        int label = labels[cell];
+
+        int linked = 0;
+        for (int direction = 0; direction < DIRECTIONS.length; direction++)
+            if (isLinked(cell, x, y, direction))
+                linkedNeighbors[linked++] = neighbor(x, y, direction);
+
+        cells[cell] = null;
+        labels[cell] = -1;
+        members[label * WORDS + (cell >>> 6)] &= ~(1L << cell);
+        if (--sizes[label] == 0) {
+            maybeSplit[label] = false;
+            freeLabels[freeCount++] = label;
+            return;
+        }
+
+        // the part can only split between the neighbours that were linked to the removed component
+        if (!maybeSplit[label] && linked >= 2 && !areConnectedNearby(linked))
+            maybeSplit[label] = true;
+    }
+
+    /**
+     * Returns the label of the part of a cell, labelling the cells of the part again if it might have split.
+     */
+    private int resolve(int cell) {
+        if (maybeSplit[labels[cell]])
+            relabel(labels[cell]);
+        return labels[cell];
+    }
+
+    /**
+     * Looks for paths joining the linked neighbours of a removed component, visiting at most
+     * {@link #LOCAL_SEARCH_LIMIT} cells.
+     *
+     * @param linked the number of linked neighbours
+     * @return true if they are all connected, false if they might not be
+     */
+    private boolean areConnectedNearby(int linked) {
+        Arrays.fill(seen, 0);
+        int head = 0, tail = 0;
+        queue[tail++] = linkedNeighbors[0];
+        mark(seen, linkedNeighbors[0]);
+
+        int missing = linked - 1;
+        while (head < tail && tail <= LOCAL_SEARCH_LIMIT) {
+            int current = queue[head++];
+            int x = current / BOARD_DIMENSION, y = current % BOARD_DIMENSION;
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                if (!isLinked(current, x, y, direction))
+                    continue;
+                int next = neighbor(x, y, direction);
+                if (contains(seen, next))
+                    continue;
+                mark(seen, next);
+                queue[tail++] = next;
+                for (int i = 1; i < linked; i++)
+                    if (linkedNeighbors[i] == next && --missing == 0)
+                        return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Labels the cells of a part again, one new label per connected group of cells.
+     */
+    private void relabel(int label) {
+        long[] remaining = Arrays.copyOfRange(members, label * WORDS, (label + 1) * WORDS);
+        Arrays.fill(members, label * WORDS, (label + 1) * WORDS, 0);
+        sizes[label] = 0;
+        maybeSplit[label] = false;
+        freeLabels[freeCount++] = label;
+
+        for (int word = 0; word < WORDS; word++) {
+            while (remaining[word] != 0) {
+                int start = word * Long.SIZE + Long.numberOfTrailingZeros(remaining[word]);
+                int part = freeLabels[--freeCount];
+
+                int head = 0, tail = 0;
+                queue[tail++] = start;
+                remaining[start >>> 6] &= ~(1L << start);
+                while (head < tail) {
+                    int current = queue[head++];
+                    labels[current] = part;
+                    members[part * WORDS + (current >>> 6)] |= 1L << current;
+                    sizes[part]++;
+
+                    int x = current / BOARD_DIMENSION, y = current % BOARD_DIMENSION;
+                    for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                        if (!isLinked(current, x, y, direction))
+                            continue;
+                        int next = neighbor(x, y, direction);
+                        if (!contains(remaining, next))
+                            continue;
+                        remaining[next >>> 6] &= ~(1L << next);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cell next to a cell in a direction, or -1 if it is outside the valid positions.
+     */
+    private int neighbor(int x, int y, int direction) {
+        int neighborX = x + NEIGHBOR_DX[direction];
+        int neighborY = y + NEIGHBOR_DY[direction];
+        if (neighborX < 0 || neighborX >= BOARD_DIMENSION || neighborY < 0 || neighborY >= BOARD_DIMENSION)
+            return -1;
+        int neighbor = neighborX * BOARD_DIMENSION + neighborY;
+        return contains(validCells, neighbor) ? neighbor : -1;
+    }
+
+    /**
+     * Checks whether the component of a cell and its neighbour in a direction are both present and linked by
+     * connectors that are not EMPTY.
+     */
+    private boolean isLinked(int cell, int x, int y, int direction) {
+        int neighbor = neighbor(x, y, direction);
+        return neighbor >= 0 && cells[cell] != null && cells[neighbor] != null
+                && cells[cell].getConnector(DIRECTIONS[direction]) != EMPTY
+                && cells[neighbor].getConnector(DIRECTIONS[(direction + 2) % DIRECTIONS.length]) != EMPTY;
+    }
+
+    private static boolean contains(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void mark(long[] bits, int cell) {
+        bits[cell >>> 6] |= 1L << cell;
+    }
+
+}
@@ -231,9 +231,7 @@ public class AbandonedShip extends AdventureCard implements PlayerMover, CrewMem
         removeMemberProcess(chosenCabins, crewMalus);
 
         String currPlayerNickname = gameModel.getCurrPlayer().getNickname();
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, currPlayerNickname, shipBoard.getShipMatrix(), shipBoard.getComponentsPerType(), shipBoard.getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(currPlayerNickname, shipBoard);
 
         gameModel.getCurrPlayer().addCredits(reward);
         movePlayer(gameModel.getFlyingBoard(), gameModel.getCurrPlayer(), stepsBack);
@@ -246,19 +246,15 @@ public class AbandonedStation extends AdventureCard implements PlayerMover, Cube
             validateStorageUpdates(storageUpdates, gameModel);
             applyStorageUpdates(storageUpdates, gameModel);
             
-            gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyShipBoardUpdate(nicknameToNotify, gameModel.getCurrPlayer().getNickname(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getShipMatrix(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getComponentsPerType(),
-                    gameModel.getCurrPlayer().getPersonalBoard().getNotActiveComponents());
-            });
+            gameModel.getGameClientNotifier().notifyShipBoardUpdate(gameModel.getCurrPlayer().getNickname(), gameModel.getCurrPlayer().getPersonalBoard());
             
             // Move back the player
             movePlayer(gameModel.getFlyingBoard(), gameModel.getCurrPlayer(), stepsBack);
             
+            String movedPlayer = gameModel.getCurrPlayer().getNickname();
+            int newPosition = gameModel.getFlyingBoard().getPlayerPosition(gameModel.getCurrPlayer());
             gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyRankingUpdate(nicknameToNotify, gameModel.getCurrPlayer().getNickname(), 
-                    gameModel.getFlyingBoard().getPlayerPosition(gameModel.getCurrPlayer()));
+                clientController.notifyRankingUpdate(nicknameToNotify, movedPlayer, newPosition);
             });
 
             setCurrState(CardState.END_OF_CARD);
@@ -276,11 +272,7 @@ public class AbandonedStation extends AdventureCard implements PlayerMover, Cube
             );
             
             // Restore ship board state
-            gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyShipBoardUpdate(nicknameToNotify, gameModel.getCurrPlayer().getNickname(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getShipMatrix(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getComponentsPerType(), gameModel.getCurrPlayer().getPersonalBoard().getNotActiveComponents());
-            });
+            gameModel.getGameClientNotifier().notifyShipBoardUpdate(gameModel.getCurrPlayer().getNickname(), gameModel.getCurrPlayer().getPersonalBoard());
 
         }
     }
@@ -115,9 +115,7 @@ public class FreeSpace extends AdventureCard implements PlayerMover {
 
             Player currentPlayer=gameModel.getCurrPlayer();
 
-            gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-               clientController.notifyShipBoardUpdate(nicknameToNotify,currentPlayer.getNickname(),currentPlayer.getPersonalBoardAsMatrix(),currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-            });
+            gameModel.getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
             movePlayer(gameModel.getFlyingBoard(), gameModel.getCurrPlayer(), stepsForward);
         }
@@ -289,9 +289,7 @@ public class Pirates extends AdvancedEnemies implements PlayerMover, DoubleCanno
         }
 
         double currPlayerCannonPower = activateDoubleCannonsProcess(chosenDoubleCannons, chosenBatteryBoxes, gameModel.getCurrPlayer());
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
         if (currPlayerCannonPower > requiredFirePower) {
 
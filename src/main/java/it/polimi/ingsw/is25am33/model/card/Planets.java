@@ -239,19 +239,14 @@ public class Planets extends AdventureCard implements PlayerMover, CubesRedistri
             validateStorageUpdates(storageUpdates, gameModel);
             applyStorageUpdates(storageUpdates, gameModel);
 
-            gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyShipBoardUpdate(nicknameToNotify, gameModel.getCurrPlayer().getNickname(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getShipMatrix(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getComponentsPerType(),
-                    gameModel.getCurrPlayer().getPersonalBoard().getNotActiveComponents());
-            });
+            gameModel.getGameClientNotifier().notifyShipBoardUpdate(gameModel.getCurrPlayer().getNickname(), gameModel.getCurrPlayer().getPersonalBoard());
 
             movePlayer(gameModel.getFlyingBoard(), gameModel.getCurrPlayer(), stepsBack);
 
+            String movedPlayer = gameModel.getCurrPlayer().getNickname();
+            int newPosition = gameModel.getFlyingBoard().getPlayerPosition(gameModel.getCurrPlayer());
             gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyRankingUpdate(nicknameToNotify,
-                        gameModel.getCurrPlayer().getNickname(),
-                        gameModel.getFlyingBoard().getPlayerPosition(gameModel.getCurrPlayer()));
+                clientController.notifyRankingUpdate(nicknameToNotify, movedPlayer, newPosition);
             });
 
             proceedToNextPlayerOrEndCard();
@@ -265,12 +260,7 @@ public class Planets extends AdventureCard implements PlayerMover, CubesRedistri
                 }
             );
 
-            gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyShipBoardUpdate(nicknameToNotify, gameModel.getCurrPlayer().getNickname(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getShipMatrix(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getComponentsPerType(),
-                    gameModel.getCurrPlayer().getPersonalBoard().getNotActiveComponents());
-            });
+            gameModel.getGameClientNotifier().notifyShipBoardUpdate(gameModel.getCurrPlayer().getNickname(), gameModel.getCurrPlayer().getPersonalBoard());
 
         }
     }
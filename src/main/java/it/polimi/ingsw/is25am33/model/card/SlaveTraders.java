@@ -134,9 +134,7 @@ public class SlaveTraders extends AdvancedEnemies implements PlayerMover, CrewMe
         }
 
         double currPlayerCannonPower = activateDoubleCannonsProcess(chosenDoubleCannons, chosenBatteryBoxes, gameModel.getCurrPlayer());
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
         if (currPlayerCannonPower > requiredFirePower) {
 
@@ -203,9 +201,7 @@ public class SlaveTraders extends AdvancedEnemies implements PlayerMover, CrewMe
                 .toList();
 
         removeMemberProcess(chosenCabins, crewMalus);
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, gameModel.getCurrPlayer().getNickname(), gameModel.getCurrPlayer().getPersonalBoardAsMatrix(), gameModel.getCurrPlayer().getPersonalBoard().getComponentsPerType(), gameModel.getCurrPlayer().getPersonalBoard().getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(gameModel.getCurrPlayer().getNickname(), gameModel.getCurrPlayer().getPersonalBoard());
 
         if (gameModel.hasNextPlayer()) {
             gameModel.nextPlayer();
@@ -150,9 +150,7 @@ public class Smugglers extends Enemies implements PlayerMover, DoubleCannonActiv
         }
 
         double currPlayerCannonPower = activateDoubleCannonsProcess(chosenDoubleCannons, chosenBatteryBoxes, gameModel.getCurrPlayer());
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
         if (currPlayerCannonPower > requiredFirePower)
             setCurrState(CardState.ACCEPT_THE_REWARD);
@@ -249,9 +247,7 @@ public class Smugglers extends Enemies implements PlayerMover, DoubleCannonActiv
         if(!chosenBatteryBoxes.isEmpty())
             chosenBatteryBoxes.forEach(BatteryBox::useBattery);
 
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
         if (gameModel.hasNextPlayer()) {
             gameModel.nextPlayer();
@@ -279,12 +275,7 @@ public class Smugglers extends Enemies implements PlayerMover, DoubleCannonActiv
             validateStorageUpdates(storageUpdates, gameModel);
             applyStorageUpdates(storageUpdates, gameModel);
             
-            gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyShipBoardUpdate(nicknameToNotify, gameModel.getCurrPlayer().getNickname(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getShipMatrix(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getComponentsPerType(),
-                    gameModel.getCurrPlayer().getPersonalBoard().getNotActiveComponents());
-            });
+            gameModel.getGameClientNotifier().notifyShipBoardUpdate(gameModel.getCurrPlayer().getNickname(), gameModel.getCurrPlayer().getPersonalBoard());
             
             movePlayer(gameModel.getFlyingBoard(), gameModel.getCurrPlayer(), stepsBack);
             setCurrState(CardState.END_OF_CARD);
@@ -301,12 +292,7 @@ public class Smugglers extends Enemies implements PlayerMover, DoubleCannonActiv
                 }
             );
 
-            gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyShipBoardUpdate(nicknameToNotify, gameModel.getCurrPlayer().getNickname(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getShipMatrix(), 
-                    gameModel.getCurrPlayer().getPersonalBoard().getComponentsPerType(),
-                    gameModel.getCurrPlayer().getPersonalBoard().getNotActiveComponents());
-            });
+            gameModel.getGameClientNotifier().notifyShipBoardUpdate(gameModel.getCurrPlayer().getNickname(), gameModel.getCurrPlayer().getPersonalBoard());
 
         }
     }
@@ -394,9 +394,7 @@ public class WarField extends AdventureCard implements PlayerMover, DoubleCannon
         }
 
         double currPlayerCannonPower = activateDoubleCannonsProcess(chosenDoubleCannons, chosenBatteryBoxes, gameModel.getCurrPlayer());
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
         if (leastResourcedPlayer == null || currPlayerCannonPower < leastResourcedPlayer.getValue() ||
                 (currPlayerCannonPower == leastResourcedPlayer.getValue() &&
@@ -447,9 +445,7 @@ public class WarField extends AdventureCard implements PlayerMover, DoubleCannon
 
         chosenBatteryBoxes.forEach(BatteryBox::useBattery);
 
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
         int currPlayerEnginePower = gameModel.getCurrPlayer().getPersonalBoard().countTotalEnginePower(chosenDoubleEngines);
 
         if (leastResourcedPlayer == null || currPlayerEnginePower < leastResourcedPlayer.getValue() ||
@@ -566,9 +562,7 @@ public class WarField extends AdventureCard implements PlayerMover, DoubleCannon
                 .toList();
 
         removeMemberProcess(chosenCabins, crewMalus);
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
         if (phasesIterator.hasNext()) {
             gameModel.resetPlayerIterator();
@@ -647,9 +641,7 @@ public class WarField extends AdventureCard implements PlayerMover, DoubleCannon
         if(!chosenBatteryBoxes.isEmpty())
             chosenBatteryBoxes.forEach(BatteryBox::useBattery);
 
-        gameModel.getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-        });
+        gameModel.getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
         if (phasesIterator.hasNext()) {
             gameModel.resetPlayerIterator();
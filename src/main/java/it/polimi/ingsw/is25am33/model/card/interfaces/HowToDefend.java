@@ -62,9 +62,7 @@ public interface HowToDefend {
 
                 chosenBatteryBox.useBattery();
 
-                getGameModel().getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                    clientController.notifyShipBoardUpdate(nicknameToNotify,currentPlayer.getNickname(),currentPlayer.getPersonalBoardAsMatrix(),currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-                });
+                getGameModel().getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
                 if (chosenShield.getDirections().stream().noneMatch(d -> d == currMeteorite.getDirection()))
                     getGameModel().updateShipBoardAfterBeenHit();
@@ -81,9 +79,7 @@ public interface HowToDefend {
 
             if(chosenShield != null && chosenBatteryBox != null){
                 chosenBatteryBox.useBattery();
-                getGameModel().getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                    clientController.notifyShipBoardUpdate(nicknameToNotify,currentPlayer.getNickname(),currentPlayer.getPersonalBoardAsMatrix(),currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-                });
+                getGameModel().getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
             }
 
             setCurrState(CardState.CHECK_SHIPBOARD_AFTER_ATTACK);
@@ -120,9 +116,7 @@ public interface HowToDefend {
 
                 chosenBatteryBox.useBattery();
 
-                getGameModel().getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                    clientController.notifyShipBoardUpdate(nicknameToNotify,currentPlayer.getNickname(),currentPlayer.getPersonalBoardAsMatrix(),currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-                });
+                getGameModel().getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
                 if (!personalBoard.canDifendItselfWithSingleCannons(getGameModel().getCurrDangerousObj()) && !personalBoard.isThereADoubleCannon(currMeteorite.getCoordinate(), currMeteorite.getDirection())) {
                     getGameModel().updateShipBoardAfterBeenHit();
@@ -141,9 +135,7 @@ public interface HowToDefend {
 
             if(chosenDoubleCannon != null && chosenBatteryBox != null) {
                 chosenBatteryBox.useBattery();
-                getGameModel().getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                    clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-                });
+                getGameModel().getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
             }
 
             setCurrState(CardState.CHECK_SHIPBOARD_AFTER_ATTACK);
@@ -201,9 +193,7 @@ public interface HowToDefend {
                     throw new IllegalStateException("Not enough batteries");
 
                 chosenBatteryBox.useBattery();
-                getGameModel().getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                    clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-                });
+                getGameModel().getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
 
                 if (chosenShield.getDirections().stream().noneMatch(d -> d == currShot.getDirection())){
                     getGameModel().updateShipBoardAfterBeenHit();
@@ -218,9 +208,7 @@ public interface HowToDefend {
         }else{
             if(chosenShield != null && chosenBatteryBox != null) {
                 chosenBatteryBox.useBattery();
-                getGameModel().getGameClientNotifier().notifyAllClients((nicknameToNotify, clientController) -> {
-                    clientController.notifyShipBoardUpdate(nicknameToNotify, currentPlayer.getNickname(), currentPlayer.getPersonalBoardAsMatrix(), currentPlayer.getPersonalBoard().getComponentsPerType(), currentPlayer.getPersonalBoard().getNotActiveComponents());
-                });
+                getGameModel().getGameClientNotifier().notifyShipBoardUpdate(currentPlayer.getNickname(), currentPlayer.getPersonalBoard());
             }
             setCurrState(CardState.CHECK_SHIPBOARD_AFTER_ATTACK);
         }
@@ -101,4 +101,10 @@ public class BatteryBox extends Component{
     public Integer getGuiHash() {
         return Objects.hash(imageName, remainingBatteries, getRotation());
     }
+
+    @Override
+    @JsonIgnore
+    public Object getContentState() {
+        return remainingBatteries;
+    }
 }
@@ -37,6 +37,13 @@ public class Cabin extends Component{
         inhabitants = new ArrayList<>();
     }
 
+    @Override
+    public Cabin copy() {
+        Cabin copy = (Cabin) super.copy();
+        copy.inhabitants = new ArrayList<>(inhabitants);
+        return copy;
+    }
+
     public String getComponentName() {
         return "Cabin";
     }
@@ -57,6 +64,12 @@ public class Cabin extends Component{
                 Objects.hash(imageName, inhabitants, getRotation());
     }
 
+    @Override
+    @JsonIgnore
+    public Object getContentState() {
+        return inhabitants == null ? null : new ArrayList<>(inhabitants);
+    }
+
     /**
      * Retrieves the list of crew members currently inhabiting the cabin.
      *
@@ -28,7 +28,7 @@ import java.util.*;
         @JsonSubTypes.Type(value = StandardStorage.class, name = "StandardStorage"),
         @JsonSubTypes.Type(value = StructuralModules.class, name = "StructuralModules")
 })
-public abstract class Component implements Serializable {
+public abstract class Component implements Serializable, Cloneable {
 
     /**
      * The name of the image associated with this component.
@@ -44,10 +44,19 @@ public abstract class Component implements Serializable {
      */
     private int rotation = 0;
 
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final ConnectorType[] CONNECTOR_TYPES = ConnectorType.values();
+
+    /**
+     * Connectors packed two bits per side, in the order of {@link Direction}:
+     * the two bits of a side hold the ordinal of its {@link ConnectorType}.
+     */
+    private int packedConnectors;
+
     /**
-     * Map associating directions with their respective connector types.
+     * Map view of the packed connectors, created on first use.
      */
-    private Map<Direction, ConnectorType> connectors;
+    private transient Map<Direction, ConnectorType> connectorsView;
 
     @JsonProperty("type")
     protected String type;
@@ -65,7 +74,7 @@ public abstract class Component implements Serializable {
      * @param connectors a map associating directions to their connector types
      */
     public Component(Map<Direction, ConnectorType> connectors) {
-        this.connectors = connectors;
+        this.packedConnectors = pack(connectors);
     }
 
     /**
@@ -97,39 +106,79 @@ public abstract class Component implements Serializable {
 
     /**
      * Retrieves the map of connectors for this component, associating directions to connector types.
+     * The map is a view of the connectors of the component: it follows its rotations, and writing
+     * to it changes the connectors.
      *
      * @return the map of directional connectors
      */
     public Map<Direction, ConnectorType> getConnectors() {
-        return connectors;
+        if (connectorsView == null)
+            connectorsView = new ConnectorsView();
+        return connectorsView;
     }
 
     /**
      * Updates the map of directional connectors for this component.
+     * A side missing from the map gets an EMPTY connector.
      *
      * @param connectors a map associating {@code Direction} enums to {@code ConnectorType} enums
      *                   representing the new configuration of connectors for the component
      */
     public void setConnectors(Map<Direction, ConnectorType> connectors) {
-        this.connectors = connectors;
+        this.packedConnectors = pack(connectors);
     }
 
     /**
-     * Adjusts the orientation of connectors based on the component's current rotation.
+     * Retrieves the connector on one side of this component, without going through the map of connectors.
      *
-     * <p>If rotation is a multiple of 4 (original orientation), no changes occur. Otherwise,
-     * connectors' positions are rotated accordingly.</p>
+     * @param direction the side of the component
+     * @return the connector type on that side
      */
-    public void rotate() {
+    @JsonIgnore
+    public ConnectorType getConnector(Direction direction) {
+        return CONNECTOR_TYPES[(packedConnectors >>> (2 * direction.ordinal())) & 3];
+    }
 
-        List<Direction> keys = new ArrayList<>(connectors.keySet());
-        List<ConnectorType> values = new ArrayList<>(connectors.values());
-        Collections.rotate(values, 1);
-        for (int i = 0; i < keys.size(); i++) {
-            connectors.put(keys.get(i), values.get(i));
-        }
+    private void setConnector(Direction direction, ConnectorType connectorType) {
+        int shift = 2 * direction.ordinal();
+        packedConnectors = (packedConnectors & ~(3 << shift)) | (connectorType.ordinal() << shift);
+    }
+
+    private static int pack(Map<Direction, ConnectorType> connectors) {
+        int packed = 0;
+        if (connectors != null)
+            for (Map.Entry<Direction, ConnectorType> connector : connectors.entrySet())
+                if (connector.getValue() != null)
+                    packed |= connector.getValue().ordinal() << (2 * connector.getKey().ordinal());
+        return packed;
+    }
+
+    /**
+     * Rotates the component clockwise by a quarter turn: each connector moves to the next side
+     * in the order of {@link Direction}, so the WEST connector becomes the NORTH one.
+     *
+     * <p>After four rotations the component is back to its original orientation.</p>
+     */
+    public void rotate() {
+        packedConnectors = ((packedConnectors << 2) | (packedConnectors >>> 6)) & 0xFF;
         rotation = (rotation + 1) % 4;
+    }
 
+    /**
+     * Returns a copy of this component, with its current orientation and content, that does not change
+     * with it. Subclasses holding mutable collections copy them too.
+     *
+     * @return the copy of the component
+     */
+    public Component copy() {
+        try {
+            Component copy = (Component) super.clone();
+            // the view reads the connectors of the component it was created by
+            copy.connectorsView = null;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
     }
 
     /**
@@ -217,6 +266,78 @@ public abstract class Component implements Serializable {
         return Objects.hash(imageName, rotation);
     }
 
+    /**
+     * Returns a copy of the attributes of this component that can change while it is on a ship board,
+     * other than its rotation, such as batteries, cargo cubes or crew members.
+     * The ship board compares these copies to find the cells that changed since the last version
+     * sent to the clients, so overrides must return a value whose {@code equals} reflects every change.
+     *
+     * @return a copy of the mutable content, or null if the component has none
+     */
+    @JsonIgnore
+    public Object getContentState() {
+        return null;
+    }
+
+    /**
+     * Map of the connectors of the component, reading and writing its packed connectors.
+     * The four sides are always present, in the order of {@link Direction}.
+     */
+    private class ConnectorsView extends AbstractMap<Direction, ConnectorType> {
+
+        @Override
+        public ConnectorType get(Object key) {
+            return key instanceof Direction direction ? getConnector(direction) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Direction;
+        }
+
+        @Override
+        public ConnectorType put(Direction key, ConnectorType value) {
+            ConnectorType previous = getConnector(key);
+            setConnector(key, Objects.requireNonNull(value));
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return DIRECTIONS.length;
+        }
+
+        @Override
+        public Set<Entry<Direction, ConnectorType>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Direction, ConnectorType>> iterator() {
+                    return new Iterator<>() {
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < DIRECTIONS.length;
+                        }
+
+                        @Override
+                        public Entry<Direction, ConnectorType> next() {
+                            if (!hasNext())
+                                throw new NoSuchElementException();
+                            Direction direction = DIRECTIONS[next++];
+                            return new SimpleImmutableEntry<>(direction, getConnector(direction));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return DIRECTIONS.length;
+                }
+            };
+        }
+    }
+
     /**
      * Provides a label identifier for the component.
      *
@@ -20,7 +20,7 @@ public class Shield extends Component implements Activable, Rotatable {
      * The directions in which the shield is active.
      * By default, it is set to {@code Direction.NORTH} and {@code Direction.EAST}.
      */
-    private final List<Direction> directions = new ArrayList<>(List.of(Direction.NORTH, Direction.EAST));
+    private List<Direction> directions = new ArrayList<>(List.of(Direction.NORTH, Direction.EAST));
 
     /**
      * Default constructor for {@code Shield}.
@@ -38,6 +38,13 @@ public class Shield extends Component implements Activable, Rotatable {
         super(connectors);
     }
 
+    @Override
+    public Shield copy() {
+        Shield copy = (Shield) super.copy();
+        copy.directions = new ArrayList<>(directions);
+        return copy;
+    }
+
     /**
      * Retrieves the name of the component.
      *
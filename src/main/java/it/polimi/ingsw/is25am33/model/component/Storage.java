@@ -45,6 +45,13 @@ public abstract class Storage extends Component {
         this.stockedCubes = new ArrayList<CargoCube>();
     }
 
+    @Override
+    public Storage copy() {
+        Storage copy = (Storage) super.copy();
+        copy.stockedCubes = new ArrayList<>(stockedCubes);
+        return copy;
+    }
+
     /**
      * Gets the maximum capacity of the storage.
      *
@@ -183,4 +190,10 @@ public abstract class Storage extends Component {
                 Objects.hash(imageName, getRotation()) :
                 Objects.hash(imageName, stockedCubes, getRotation());
     }
+
+    @Override
+    @JsonIgnore
+    public Object getContentState() {
+        return stockedCubes == null ? null : new ArrayList<>(stockedCubes);
+    }
 }
@@ -42,7 +42,7 @@ public enum GameState implements Serializable {
      * that performs operations related to validating and checking players' ship boards.
      *
      * This state transitions the game model by executing the following actions:
-     * - Stops the hourglass timer if the game is not running in test flight mode.
+     * - Stops the hourglass if the game is not running in test flight mode.
      * - Iterates through all players in the game to validate their personal ship boards.
      * - Notifies the game model of invalid and valid ship boards.
      * - Transitions the game to the next appropriate phase based on the current state.
@@ -56,7 +56,7 @@ public enum GameState implements Serializable {
         @Override
         public void run(GameModel gameModel) {
             if (!gameModel.isTestFlight())
-                gameModel.notifyStopHourglass();
+                gameModel.stopHourglass();
 
             gameModel.getPlayers().values().forEach(player -> {
                 player.getPersonalBoard().checkShipBoard();
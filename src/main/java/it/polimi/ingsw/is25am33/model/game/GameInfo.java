@@ -4,7 +4,12 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import it.polimi.ingsw.is25am33.controller.CallableOnGameController;
 import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.rmi.NoSuchObjectException;
+import java.rmi.server.RemoteObject;
 import java.util.Map;
 import java.util.Set;
 
@@ -34,9 +39,11 @@ public class GameInfo implements Serializable {
      * server's game logic.
      *
      * Implemented as a {@link CallableOnGameController}, it enables remote method invocation
-     * for controlling and managing gameplay state remotely.
+     * for controlling and managing gameplay state remotely. Game controllers are only exported
+     * to RMI once an RMI client joins their game, so the controller is serialized as its RMI stub
+     * if it has one, and omitted otherwise.
      */
-    private CallableOnGameController gameController;
+    private transient CallableOnGameController gameController;
     /**
      * Represents the maximum number of players allowed to participate in a game session.
      * This value is used to determine if new players can join the game or if the game is full.
@@ -219,4 +226,37 @@ public class GameInfo implements Serializable {
         return connectedPlayers.size() >= maxPlayers;
     }
 
+    /**
+     * Serializes this game information, replacing the game controller with its RMI stub.
+     * A controller that is not exported is written as null.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        CallableOnGameController stub = null;
+        if (gameController != null) {
+            try {
+                stub = (CallableOnGameController) RemoteObject.toStub(gameController);
+            } catch (NoSuchObjectException e) {
+                // a stub received from the server is written as it is
+                stub = gameController instanceof Serializable ? gameController : null;
+            }
+        }
+        out.writeObject(stub);
+    }
+
+    /**
+     * Deserializes this game information, reading the RMI stub of the game controller, if any.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read
+     * @throws ClassNotFoundException if the class of a serialized object cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        gameController = (CallableOnGameController) in.readObject();
+    }
+
 }
@@ -13,10 +13,12 @@ import it.polimi.ingsw.is25am33.model.enumFiles.*;
 import it.polimi.ingsw.is25am33.model.card.AdventureCard;
 import it.polimi.ingsw.is25am33.model.card.Deck;
 import it.polimi.ingsw.is25am33.model.dangerousObj.DangerousObj;
+import it.polimi.ingsw.is25am33.network.common.TimerWheel;
 
 import java.rmi.RemoteException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 
@@ -172,29 +174,13 @@ public class GameModel {
      */
     private GameClientNotifier gameClientNotifier;
 
-    /**
-     * GLOBAL LOCK ORDERING TO PREVENT DEADLOCKS:
-     * 1. stateTransitionLock (ALWAYS ACQUIRED FIRST)
-     * 2. hourglassLock (ACQUIRED SECOND)
-     * 3. crewPlacementCompletedLock (ACQUIRED THIRD)
-     * 
-     * This ordering must be respected in ALL methods to prevent circular lock dependencies.
-     */
-    
-    /**
-     * A final lock object used to ensure thread safety during operations
-     * related to the hourglass mechanism within the game.
-     *
-     * This lock is primarily used for managing synchronization in scenarios
-     * where multiple threads interact with the hourglass feature, such as
-     * restarting the hourglass, waiting for timers to finish, or transitioning
-     * game states based on hourglass-related events.
-     *
-     * IMPORTANT: This lock must ALWAYS be acquired AFTER stateTransitionLock
-     * to maintain global lock ordering and prevent deadlocks.
+    /*
+     * THREAD CONFINEMENT:
+     * the game model is only accessed by the actor of its game (see GameActor), which processes
+     * one action at a time, so it holds no locks and never waits for other players.
      */
+
     // attributes useful for hourglass restarting
-    private final Object hourglassLock = new Object();
     /**
      * Represents the number of remaining attempts or flips available in the game.
      * This variable is used to track how many times certain actions, like restarting
@@ -202,28 +188,36 @@ public class GameModel {
      */
     private Integer flipsLeft;
     /**
-     * Tracks the number of clients that have finished their timers in the current game session.
-     *
-     * This variable is primarily used to synchronize game state transitions and manage
-     * the hourglass timer mechanism. It is incremented every time a client completes their timer,
-     * playing a key role in determining when to proceed to the next phase of the game or to
-     * handle specific game events such as restarts or transitions based on the related conditions.
-     *
-     * Thread-safety for this variable is ensured through the use of synchronization mechanisms
-     * like locks associated with relevant game operations (e.g., hourglassLock).
+     * Duration of a turn of the hourglass.
      */
-    private Integer numClientsFinishedTimer = 0;
+    public static final long HOURGLASS_DURATION_MILLIS = 60_000;
+
     /**
-     * A flag indicating whether a restart process is currently in progress within the game.
-     * This variable is used to prevent multiple simultaneous restarts and ensure proper
-     * synchronization during state transitions, such as hourglass restarts or phase transitions.
-     * It is managed and checked in methods that handle game state changes, especially
-     * those involving synchronized actions across players.
-     *
-     * Initially set to {@code false}, it is updated to {@code true} when a restart process
-     * begins and reset to {@code false} upon completion of the restart.
+     * The wheel running the hourglass timer, shared by all the games of the server.
+     */
+    private TimerWheel timerWheel = TimerWheel.shared();
+
+    /**
+     * Duration of a turn of the hourglass in this game.
+     */
+    private long hourglassDurationMillis = HOURGLASS_DURATION_MILLIS;
+
+    /**
+     * Hands the expiry of the hourglass over to the thread allowed to update the model,
+     * which is the actor of the game once a controller owns the model.
+     */
+    private Executor timerEventExecutor = Runnable::run;
+
+    /**
+     * The time at which the running hourglass expires, in epoch milliseconds, or 0 if the hourglass is not running.
+     * The hourglass is authoritative on the server: clients are only sent this deadline.
+     */
+    private long hourglassDeadlineMillis = 0;
+
+    /**
+     * The timer firing at the end of the running hourglass, null if the hourglass is not running.
      */
-    private Boolean isRestartInProgress = false;
+    private TimerWheel.Timeout hourglassTimeout;
 
     /**
      * A concurrent map that tracks the completion status of the crew placement phase for each player.
@@ -237,11 +231,16 @@ public class GameModel {
     private final Map<String, Boolean> crewPlacementCompleted = new ConcurrentHashMap<>();
 
     /**
-     * A lock object used to synchronize state transitions in a multi-threaded environment.
-     * Ensures that modifications to the state are performed atomically and without interference
-     * from other threads, preserving thread safety during state changes.
+     * The states entered while another state was running, whose logic runs once the running one returns.
+     * Queuing them keeps a chain of transitions such as {@code CREATE_DECK -> DRAW_CARD -> PLAY_CARD}
+     * from growing the stack with one {@code run} per state.
+     */
+    private final Deque<GameState> pendingGameStates = new ArrayDeque<>();
+
+    /**
+     * Whether the logic of a game state is running.
      */
-    private final Object stateTransitionLock = new Object();
+    private boolean runningGameStates = false;
 
     /**
      * Constructs a new GameModel instance with the specified parameters and initializes game state.
@@ -346,22 +345,38 @@ public class GameModel {
     }
 
     /**
-     * Updates the current game state to the specified value and notifies all clients about the change.
-     * This method ensures thread-safe state transition handling.
+     * Updates the current game state to the specified value, notifies all clients about the change
+     * and runs the logic of the new state.
+     * When called by the logic of another state, the new state's logic is queued and runs once the
+     * caller returns, instead of nesting inside it, provided the game is still in that state by then.
      *
      * @param currGameState the new game state to be set
      */
     public void setCurrGameState(GameState currGameState) {
-        synchronized (stateTransitionLock) {
-            if (this.currGameState == currGameState) return;
+        if (this.currGameState == currGameState) return;
 
-            this.currGameState = currGameState;
+        this.currGameState = currGameState;
 
-            gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyGameState(nicknameToNotify, currGameState);
-            });
+        gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
+            clientController.notifyGameState(nicknameToNotify, currGameState);
+        });
+
+        pendingGameStates.add(currGameState);
+        if (runningGameStates)
+            return;
+
+        runningGameStates = true;
+        try {
+            GameState nextGameState;
+            while ((nextGameState = pendingGameStates.poll()) != null) {
+                // a state already left for a later one, before its logic could run, is skipped
+                if (pendingGameStates.isEmpty() && nextGameState == this.currGameState)
+                    nextGameState.run(this);
+            }
+        } finally {
+            pendingGameStates.clear();
+            runningGameStates = false;
         }
-        currGameState.run(this);
     }
 
     /**
@@ -419,7 +434,7 @@ public class GameModel {
         this.currDangerousObj = dangerousObj;
 
         gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyDangerousObjAttack(nicknameToNotify, new ClientDangerousObject(currDangerousObj.getDangerousObjType(), currDangerousObj.getDirection(), currDangerousObj.getCoordinate()));
+            clientController.notifyDangerousObjAttack(nicknameToNotify, new ClientDangerousObject(dangerousObj.getDangerousObjType(), dangerousObj.getDirection(), dangerousObj.getCoordinate()));
         });
 
     }
@@ -560,46 +575,108 @@ public class GameModel {
     }
 
     /**
-     * Restarts the hourglass for a game session. This method ensures that all players have completed
-     * their timers before notifying them about the restart, and it decrements the number of flips left.
-     * Throws a RemoteException if there are no flips left or if another player is already restarting the hourglass.
+     * Starts a turn of the hourglass and notifies all players with its deadline.
+     * The end of the turn is scheduled on the timer wheel: no thread waits for it, and once it fires
+     * {@link #hourglassExpired(long)} runs through the timer event executor.
+     *
+     * @param nickname the nickname of the player who flipped the hourglass, "game" for the first turn
+     */
+    public void startHourglass(String nickname) {
+        if (hourglassTimeout != null)
+            hourglassTimeout.cancel();
+
+        long deadlineMillis = timerWheel.now() + hourglassDurationMillis;
+        hourglassDeadlineMillis = deadlineMillis;
+        hourglassTimeout = timerWheel.schedule(deadlineMillis, () -> timerEventExecutor.execute(() -> hourglassExpired(deadlineMillis)));
+
+        int currentFlipsLeft = flipsLeft;
+        gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
+            clientController.notifyHourglassStarted(nicknameToNotify, nickname, currentFlipsLeft, deadlineMillis);
+        });
+    }
+
+    /**
+     * Restarts the hourglass for a game session, once its previous turn has ended.
+     * The number of flips left is decremented and the players are notified of the new deadline.
      *
      * @param nickname the nickname of the player who initiated the restart
-     * @throws RemoteException if there are no more flips available, a restart is already in progress,
-     *                         or an interruption occurs during the waiting process
+     * @throws RemoteException if there are no more flips available or the hourglass is still running
      */
     public void restartHourglass(String nickname) throws RemoteException {
 
-        synchronized (hourglassLock) {
-            if (flipsLeft == 0)
-                throw new RemoteException("No more flips available");
-            if (isRestartInProgress)
-                throw new RemoteException("Another player is already restarting the hourglass. Please wait.");
-
-            isRestartInProgress = true;
-
-            try {
-                while (numClientsFinishedTimer < players.size()) {
-                    try {
-                        hourglassLock.wait();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        throw new RemoteException("Interrupted while waiting for all clients to finish the timer.");
-                    }
-                }
+        if (flipsLeft == 0)
+            throw new RemoteException("No more flips available");
+        if (isHourglassRunning())
+            throw new RemoteException("The hourglass is already running, please wait for it to end.");
 
-                gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
-                    clientController.notifyHourglassRestarted(nicknameToNotify, nickname, flipsLeft);
-                });
+        flipsLeft--;
+        startHourglass(nickname);
+    }
 
-                flipsLeft--;
-                numClientsFinishedTimer = 0;
+    /**
+     * Stops the hourglass, if it is running, and notifies all players.
+     */
+    public void stopHourglass() {
+        cancelHourglass();
 
-            } finally {
-                isRestartInProgress = false;
-            }
-        }
+        gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
+            clientController.notifyStopHourglass(nicknameToNotify);
+        });
+    }
 
+    /**
+     * Stops the hourglass, if it is running, without notifying the players.
+     * Used when the game is removed, so that its timer does not outlive it.
+     */
+    public void cancelHourglass() {
+        if (hourglassTimeout != null)
+            hourglassTimeout.cancel();
+        hourglassTimeout = null;
+        hourglassDeadlineMillis = 0;
+    }
+
+    /**
+     * Returns whether a turn of the hourglass is running.
+     *
+     * @return true if the hourglass is running
+     */
+    public boolean isHourglassRunning() {
+        return hourglassDeadlineMillis != 0;
+    }
+
+    /**
+     * Returns the time at which the running turn of the hourglass ends.
+     *
+     * @return the deadline in epoch milliseconds, or 0 if the hourglass is not running
+     */
+    public long getHourglassDeadlineMillis() {
+        return hourglassDeadlineMillis;
+    }
+
+    /**
+     * Returns the number of times the hourglass can still be flipped.
+     *
+     * @return the flips left
+     */
+    public int getFlipsLeft() {
+        return flipsLeft;
+    }
+
+    /**
+     * Sets the thread on which the expiry of the hourglass is handled.
+     *
+     * @param timerEventExecutor the executor of the timer events, e.g. the mailbox of the game
+     */
+    public void setTimerEventExecutor(Executor timerEventExecutor) {
+        this.timerEventExecutor = timerEventExecutor;
+    }
+
+    /**
+     * Sets the wheel running the hourglass and the duration of its turns.
+     */
+    void setHourglassTimer(TimerWheel timerWheel, long hourglassDurationMillis) {
+        this.timerWheel = timerWheel;
+        this.hourglassDurationMillis = hourglassDurationMillis;
     }
 
     /**
@@ -738,61 +815,41 @@ public class GameModel {
     }
 
     /**
-     * Handles the event when the hourglass timer has ended for a game session.
-     * It synchronizes actions across players to ensure appropriate game state transitions.
-     * <p>
-     * This method increments the count of clients that have finished their timers
-     * and performs the following actions:
-     * 1. If flips are still available or a restart is in progress, it notifies all threads waiting on the hourglass.
-     * 2. If no flips are left and no restart is in progress:
-     *      - Sets the restart process flag to true.
-     *      - Waits until all players have finished their timers.
-     *      - Depending on the game state:
-     *          a. Transitions to the CHECK_SHIPBOARD state if all players are ranked.
-     *          b. Notifies players about the first player to enter if not all players are ranked.
-     * <p>
-     * Exceptions are handled for interruptions during waiting, ensuring the thread's interrupted status
-     * is maintained and errors are logged appropriately.
-     * <p>
-     * Thread-safety is ensured using proper lock ordering (stateTransitionLock then hourglassLock).
+     * Handles a client reporting that its hourglass timer has ended. The report is only advisory:
+     * the hourglass of the server decides, so the report can only handle an expiry already due on the server
+     * a little before the timer wheel does, and is ignored otherwise.
      */
     public void hourglassEnded() {
-        boolean shouldTransitionState = false;
-        Set<String> notRankedPlayers = null;
-
-        synchronized (hourglassLock) {
-            numClientsFinishedTimer++;
-
-            if (flipsLeft > 0 || isRestartInProgress)
-                hourglassLock.notifyAll();
+        if (isHourglassRunning() && timerWheel.now() >= hourglassDeadlineMillis)
+            hourglassExpired(hourglassDeadlineMillis);
+    }
 
-            else {
-                isRestartInProgress = true;
+    /**
+     * Ends a turn of the hourglass. Does nothing if the turn was stopped or replaced meanwhile.
+     * <p>
+     * If flips are still available, the hourglass waits for a restart. Otherwise the building phase is over:
+     *      a. transitions to the CHECK_SHIPBOARD state if all players are ranked;
+     *      b. notifies the players that are not ranked yet to enter the flying board otherwise.
+     *
+     * @param deadlineMillis the deadline of the turn that ended
+     */
+    void hourglassExpired(long deadlineMillis) {
+        if (hourglassDeadlineMillis != deadlineMillis || deadlineMillis == 0)
+            return;
 
-                while (numClientsFinishedTimer < players.size()) {
-                    try {
-                        hourglassLock.wait();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        System.err.println(e.getMessage());
-                    }
-                }
+        hourglassDeadlineMillis = 0;
+        hourglassTimeout = null;
 
-                if (flyingBoard.getCurrentRanking().size() == maxPlayers) {
-                    shouldTransitionState = true;
-                } else {
-                    notRankedPlayers = players.keySet()
-                            .stream()
-                            .filter(nickname -> !flyingBoard.getRanking().containsKey(players.get(nickname)))
-                            .collect(Collectors.toSet());
-                }
-            }
-        }
+        if (flipsLeft > 0 || currGameState != GameState.BUILD_SHIPBOARD)
+            return;
 
-        // Perform state transition outside of hourglassLock to respect lock ordering
-        if (shouldTransitionState) {
+        if (flyingBoard.getCurrentRanking().size() == maxPlayers) {
             setCurrGameState(GameState.CHECK_SHIPBOARD);
-        } else if (notRankedPlayers != null) {
+        } else {
+            Set<String> notRankedPlayers = players.keySet()
+                    .stream()
+                    .filter(nickname -> !flyingBoard.getRanking().containsKey(players.get(nickname)))
+                    .collect(Collectors.toSet());
             gameClientNotifier.notifyClients(notRankedPlayers, (nicknameToNotify, clientController) ->
                     clientController.notifyFirstToEnter(nicknameToNotify));
         }
@@ -913,9 +970,7 @@ public class GameModel {
     /**
      * Checks the current state and transitions to the next game phase if conditions are met.
      *
-     * This method ensures thread-safe state transitions by synchronizing on the
-     * {@code stateTransitionLock} object. If all ships are in the correct state,
-     * it transitions the game to the next phase based on the current game state:
+     * If all ships are in the correct state, it transitions the game to the next phase based on the current game state:
      *
      * - If the current game state is {@code GameState.CHECK_SHIPBOARD}, it transitions to {@code GameState.PLACE_CREW}.
      * - If the current game state is {@code GameState.PLAY_CARD}, the {@code currAdventureCard}'s play method is invoked
@@ -923,14 +978,12 @@ public class GameModel {
      */
     public void checkAndTransitionToNextPhase() {
 
-        synchronized (stateTransitionLock) {
-            if (areAllShipsCorrect()) {
-                // Change state to the next one
-                if(currGameState==GameState.CHECK_SHIPBOARD)
-                    setCurrGameState(GameState.PLACE_CREW);
-                else if(currGameState==GameState.PLAY_CARD )
-                    currAdventureCard.play(new PlayerChoicesDataStructure());
-            }
+        if (areAllShipsCorrect()) {
+            // Change state to the next one
+            if(currGameState==GameState.CHECK_SHIPBOARD)
+                setCurrGameState(GameState.PLACE_CREW);
+            else if(currGameState==GameState.PLAY_CARD )
+                currAdventureCard.play(new PlayerChoicesDataStructure());
         }
     }
 
@@ -964,25 +1017,13 @@ public class GameModel {
             currAdventureCard.setCurrState(CardState.CHECK_SHIPBOARD_AFTER_ATTACK);
             return;
         }
-        shipBoard.getIncorrectlyPositionedComponentsCoordinates().add(new Coordinates(hitCoordinates[0], hitCoordinates[1]));
+        shipBoard.getIncorrectlyPositionedComponentsCoordinates().add(Coordinates.of(hitCoordinates[0], hitCoordinates[1]));
         gameClientNotifier.notifyClients(Set.of(currPlayer.getNickname()), (nicknameToNotify, clientController) -> {
-            clientController.notifyCoordinateOfComponentHit(nicknameToNotify,currPlayer.getNickname(),new Coordinates(hitCoordinates[0], hitCoordinates[1]));
+            clientController.notifyCoordinateOfComponentHit(nicknameToNotify,currPlayer.getNickname(),Coordinates.of(hitCoordinates[0], hitCoordinates[1]));
         });
         currAdventureCard.setCurrState(CardState.CHECK_SHIPBOARD_AFTER_ATTACK);
     }
 
-    /**
-     * Notifies all connected clients to stop the hourglass timer.
-     * This method sends a stop-hourglass notification to each client controller
-     * using the provided nickname for identification.
-     * The notification is dispatched through the game client notifier.
-     */
-    public void notifyStopHourglass() {
-        gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
-            clientController.notifyStopHourglass(nicknameToNotify);
-        });
-    }
-
 
     /**
      * Handles the crew placement phase of the game.
@@ -1030,19 +1071,10 @@ public class GameModel {
             if(shipBoard.getMainCabin()!=null)
                 shipBoard.getMainCabin().fillCabin(CrewMember.HUMAN);
 
-            gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyShipBoardUpdate(nicknameToNotify, player.getNickname(), shipBoard.getShipMatrix(), shipBoard.getComponentsPerType(), shipBoard.getNotActiveComponents());
-            });
+            gameClientNotifier.notifyShipBoardUpdate(player.getNickname(), shipBoard);
         }
     }
 
-    /**
-     * A lock object used to synchronize the crew placement completion process.
-     * This ensures thread-safe operations and prevents concurrent modifications
-     * or access during the crew placement completion phase.
-     */
-    private final Object crewPlacementCompletedLock = new Object();
-
     /**
      * Marks the crew placement for a specific user as completed and evaluates if all crew placements are completed.
      * If all users have completed their crew placements, the game state is updated to the next phase.
@@ -1050,12 +1082,10 @@ public class GameModel {
      * @param nickname the nickname of the user who has completed their crew placement
      */
     public void markCrewPlacementCompleted(String nickname) {
-        synchronized (crewPlacementCompletedLock) {
-            crewPlacementCompleted.put(nickname, true);
-            boolean allCompleted = crewPlacementCompleted.values().stream().allMatch(Boolean::booleanValue);
-            if (allCompleted) {
-                setCurrGameState(GameState.CREATE_DECK);
-            }
+        crewPlacementCompleted.put(nickname, true);
+        boolean allCompleted = crewPlacementCompleted.values().stream().allMatch(Boolean::booleanValue);
+        if (allCompleted) {
+            setCurrGameState(GameState.CREATE_DECK);
         }
     }
 
@@ -105,9 +105,10 @@ public class Player implements Serializable {
     public void addCredits(int number) {
 
         ownedCredits += number;
+        int credits = ownedCredits;
 
         gameClientNotifier.notifyAllClients((nicknameToNotify, clientController) -> {
-                clientController.notifyPlayerCredits(nicknameToNotify, nickname, ownedCredits);
+                clientController.notifyPlayerCredits(nicknameToNotify, nickname, credits);
         });
 
     }
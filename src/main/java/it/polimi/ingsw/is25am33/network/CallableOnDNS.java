@@ -1,6 +1,6 @@
 package it.polimi.ingsw.is25am33.network;
 import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
-import it.polimi.ingsw.is25am33.controller.GameController;
+import it.polimi.ingsw.is25am33.controller.CallableOnGameController;
 import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
 import it.polimi.ingsw.is25am33.model.game.GameInfo;
 import java.io.IOException;
@@ -17,12 +17,14 @@ public interface CallableOnDNS extends Remote {
 
     /**
      * Retrieves the game controller for a specific game.
+     * Over RMI the stub of the controller is returned, exporting the controller first if no RMI client
+     * has created or joined the game yet.
      *
      * @param gameId The unique identifier of the game
-     * @return The GameController associated with the specified game
+     * @return The game controller associated with the specified game
      * @throws RemoteException If a remote communication error occurs
      */
-    GameController getController(String gameId) throws RemoteException;
+    CallableOnGameController getController(String gameId) throws RemoteException;
 
     /**
      * Gets information about a specific game.
@@ -2,14 +2,20 @@ package it.polimi.ingsw.is25am33.network;
 
 import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
 import it.polimi.ingsw.is25am33.client.controller.ClientController;
+import it.polimi.ingsw.is25am33.controller.CallableOnGameController;
 import it.polimi.ingsw.is25am33.controller.GameController;
 import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
 import it.polimi.ingsw.is25am33.model.game.GameInfo;
+import it.polimi.ingsw.is25am33.network.common.ServerThreads;
 import it.polimi.ingsw.is25am33.network.rmi.RMIServerRunnable;
+import it.polimi.ingsw.is25am33.network.rmi.RMISocketMode;
+import it.polimi.ingsw.is25am33.network.rmi.RMISockets;
 import it.polimi.ingsw.is25am33.network.socket.SocketServerManager;
 
 import java.io.IOException;
+import java.lang.reflect.Proxy;
 import java.rmi.RemoteException;
+import java.rmi.server.RemoteObjectInvocationHandler;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.*;
 import java.util.concurrent.*;
@@ -36,7 +42,11 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
     private final Map<String, CallableOnClientController> clients = new ConcurrentHashMap<>();
     // every client has its game, if it exists
     private final Map<String, GameController> clientGame = new ConcurrentHashMap<>();
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // the games that can still be joined, updated on every change instead of rebuilt on every lobby query
+    private final LobbyIndex lobby = new LobbyIndex();
+    private final ExecutorService executor = ServerThreads.newTaskExecutor();
+    // sends the joinable games to the clients that are not in a game
+    private final LobbyBroadcaster lobbyBroadcaster = new LobbyBroadcaster(lobby::getOpenGames, executor);
     private static Thread socketThread;
     private static Thread rmiThread;
     private static final ServerPingPongManager serverPingPongManager = new ServerPingPongManager();
@@ -47,8 +57,10 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
      * and starts both Socket and RMI network protocol threads. The server listens on both
      * protocols simultaneously to support different client connection types.
      *
-     * @param args command line arguments; supports "-ip [address]" to specify server IP address.
-     *             If not provided, defaults to "localhost"
+     * @param args command line arguments; supports "-ip [address]" to specify server IP address
+     *             (defaults to "localhost") and "-threads [platform|virtual]" to choose the kind of
+     *             threads used to serve clients (defaults to "platform") and "-rmi-sockets [default|nodelay|compressed]"
+     *             to choose the sockets of the RMI connections (defaults to "nodelay")
      * @throws RemoteException if an error occurs during DNS server initialization
      */
     public static void main(String[] args) throws RemoteException {
@@ -59,11 +71,24 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
         for (int i = 0; i < args.length; i++) {
             if ("-ip".equals(args[i]) && i + 1 < args.length) {
                 serverIP = args[i + 1];
-                break;
+            } else if ("-threads".equals(args[i]) && i + 1 < args.length) {
+                try {
+                    ServerThreads.setMode(ServerThreads.Mode.fromString(args[i + 1]));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("[DNS] Unknown thread mode " + args[i + 1] + ", using " + ServerThreads.getMode());
+                }
+            } else if ("-rmi-sockets".equals(args[i]) && i + 1 < args.length) {
+                try {
+                    RMISockets.setMode(RMISocketMode.fromString(args[i + 1]));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("[DNS] Unknown RMI socket mode " + args[i + 1] + ", using " + RMISockets.getMode());
+                }
             }
         }
 
         System.out.println("[DNS] Server IP configured: " + serverIP);
+        System.out.println("[DNS] Thread mode: " + ServerThreads.getMode());
+        System.out.println("[DNS] RMI socket mode: " + RMISockets.getMode());
 
         try {// create the dns to handle any type of connection
             DNS dns = new DNS();
@@ -84,13 +109,13 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
 
     /**
      * Constructs a new DNS server instance.
-     * Initializes the remote object capabilities required for RMI communication
-     * and prepares the internal data structures for managing games and clients.
+     * Initializes the remote object capabilities required for RMI communication,
+     * with the sockets of the configured {@link RMISocketMode}, and prepares the internal data structures for managing games and clients.
      *
      * @throws RemoteException if an error occurs during remote object initialization
      */
     public DNS() throws RemoteException {
-        super();
+        super(0, RMISockets.clientSocketFactory(), RMISockets.serverSocketFactory());
     }
 
     /**
@@ -137,20 +162,35 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
      */
     @Override
     public GameInfo getGameInfo(String gameId) throws RemoteException{
-        return gameControllers.get(gameId).getGameInfo();
+        GameController controller = gameControllers.get(gameId);
+        if (controller == null)
+            throw new RemoteException("GameModel not found");
+        return controller.getGameInfo();
     }
 
     /**
-     * Retrieves the game controller for the specified game ID.
-     * Provides direct access to the controller managing the game instance,
-     * enabling advanced game operations and state manipulation.
+     * Retrieves the game controller for the specified game ID, as seen by a remote caller.
+     * The controller is exported to RMI if no RMI client has exported it yet, and its stub is returned,
+     * since the controller itself cannot be sent over RMI.
      *
      * @param gameId the unique identifier of the game
-     * @return the GameController instance managing the specified game
-     * @throws RemoteException if the game ID is not found or a network error occurs
+     * @return the RMI stub of the controller managing the specified game, null if there is no such game
+     * @throws RemoteException if the controller cannot be exported or a network error occurs
      */
     @Override
-    public GameController getController(String gameId) throws RemoteException {
+    public CallableOnGameController getController(String gameId) throws RemoteException {
+        GameController controller = gameControllers.get(gameId);
+        return controller == null ? null : controller.exportToRmi();
+    }
+
+    /**
+     * Retrieves the game controller for the specified game ID, for the components running in the server,
+     * such as the socket sessions, which call it directly.
+     *
+     * @param gameId the unique identifier of the game
+     * @return the GameController instance managing the specified game, null if there is no such game
+     */
+    public GameController getGameController(String gameId) {
         return gameControllers.get(gameId);
     }
 
@@ -159,6 +199,9 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
      * Attempts to register the client in the system, starts ping-pong monitoring for
      * connection health, and notifies the client of available games. Registration
      * fails if the nickname is already in use.
+     * <p>
+     * The timeout of the client starts now, not at its first pong: a client that stays silent for the whole
+     * timeout after registering is disconnected, whether it is in a game or still in the lobby.
      *
      * @param nickname the desired nickname for the client; must be unique
      * @param controller the client controller interface for bidirectional communication
@@ -170,26 +213,19 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
         if (clients.putIfAbsent(nickname, controller) != null) return false;
         System.out.println("New user registered with nickname: " + nickname);
 
-        new Thread(()->{
-            serverPingPongManager.start(
-                    nickname,
-                    ()-> {
-                        try {
-                            pingToClientFromServer(nickname);
-                        } catch (IOException e) {
-                            System.err.println("Remote Exception in pingToClientFromServer: " + e.getMessage());
-                        }
+        serverPingPongManager.start(
+                nickname,
+                ()-> {
+                    try {
+                        pingToClientFromServer(nickname);
+                    } catch (IOException e) {
+                        System.err.println("Remote Exception in pingToClientFromServer: " + e.getMessage());
                     }
-            );
-        }).start();
-
-        new Thread(() -> {
-            try {
-                controller.notifyGameInfos(nickname, getAvailableGames());
-            } catch (IOException e) {
-                System.err.println("Remote Exception in notifyGameInfos: " + e.getMessage());
-            }
-        }).start();
+                },
+                () -> handleDisconnection(nickname)
+        );
+
+        lobbyBroadcaster.subscribe(nickname, controller);
 
         return true;
     }
@@ -198,61 +234,125 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
      * Handles client disconnection and performs comprehensive cleanup.
      * Removes the client from all internal mappings, notifies other players in the same game
      * about the disconnection, stops ping-pong monitoring, and cleans up the entire game
-     * if necessary. This method is synchronized to prevent race conditions during cleanup.
+     * if necessary. A client still in the lobby is unsubscribed from the lobby updates and unregistered,
+     * which frees its nickname.
+     * <p>
+     * Only the changes to the mappings of the game run on the actor of its game, after the actions already
+     * queued there and before the later ones, as {@link #joinGame} does, so that disconnections from different
+     * games proceed in parallel. The first disconnection of a game removes all of its players, so the other
+     * players of the same game find nothing left to clean up. Notifications and ping-pong teardown happen
+     * once the actor is done with the mappings.
      *
      * @param nickname the nickname of the disconnecting client
      */
     public void handleDisconnection(String nickname) {
 
-        synchronized (this) {  // Sincronizza sulla GameController instance per evitare race condition
-            GameController gameController = clientGame.remove(nickname);
-
-            if (gameController == null) {
-                System.out.println("Player " + nickname + " left.");
-                return;
-            }
+        lobbyBroadcaster.unsubscribe(nickname);
 
+        GameController gameController = clientGame.get(nickname);
+        if (gameController == null) {
             clients.remove(nickname);
-            gameController.getClientControllers().remove(nickname);
-            Set<String> playerLeft = new HashSet<>(gameController.getClientControllers().keySet());
+            serverPingPongManager.stop(nickname);
+            System.out.println("Player " + nickname + " left.");
+            return;
+        }
 
-            gameController.getGameModel().getGameClientNotifier().notifyClients(
-                    playerLeft,
-                    (nicknameToNotify, controller) -> controller.notifyPlayerDisconnected(nicknameToNotify, nickname)
-            );
+        String gameInfoId = gameController.getGameModel().getGameId();
 
-            String gameInfoId = gameController.getGameInfo().getGameId();
+        Set<String> playerLeft = gameController.getActor().query(() -> {
+            // another player of the same game may have cleaned it up while this action was queued
+            if (!clientGame.remove(nickname, gameController))
+                return null;
 
-            serverPingPongManager.stop(nickname);
-            System.out.println("[" + gameInfoId + "] Player " + nickname + " left the game");
+            clients.remove(nickname);
+            gameController.getClientControllers().remove(nickname);
+            Set<String> otherPlayers = new HashSet<>(gameController.getClientControllers().keySet());
 
-            playerLeft.forEach(player -> {
-                serverPingPongManager.stop(player);
+            otherPlayers.forEach(player -> {
                 clients.remove(player);
-                clientGame.remove(player);
-                System.out.println("[" + gameInfoId + "] Player " + player + " left the game");
+                clientGame.remove(player, gameController);
             });
 
-            gameControllers.remove(gameInfoId);
-            System.out.println("[" + gameInfoId + "] Deleted!");
+            unlistGame(gameInfoId);
+            return otherPlayers;
+        });
+
+        if (playerLeft == null) {
+            System.out.println("Player " + nickname + " left.");
+            return;
         }
 
+        gameController.getGameModel().getGameClientNotifier().notifyClients(
+                playerLeft,
+                (nicknameToNotify, controller) -> controller.notifyPlayerDisconnected(nicknameToNotify, nickname)
+        );
+
+        serverPingPongManager.stop(nickname);
+        System.out.println("[" + gameInfoId + "] Player " + nickname + " left the game");
+
+        playerLeft.forEach(player -> {
+            serverPingPongManager.stop(player);
+            System.out.println("[" + gameInfoId + "] Player " + player + " left the game");
+        });
+
+        lobbyBroadcaster.publish();
+        System.out.println("[" + gameInfoId + "] Deleted!");
     }
 
     /**
      * Retrieves the list of games available for joining.
      * Returns games that are not yet started and not at maximum capacity.
-     * The list is generated from the thread-safe game controllers map and
-     * reflects the current state of available games.
+     * The list is maintained by the lobby index as games change, so no game is inspected here:
+     * the returned list is an immutable snapshot shared between callers.
      *
      * @return a list of GameInfo objects representing joinable games
      */
     public List<GameInfo> getAvailableGames() {
-        // ConcurrentHashMap is already thread-safe, no external synchronization needed
-        return gameControllers.values().stream()
-                .map(GameController::getGameInfo)
-                .filter(game -> !game.isStarted() && !game.isFull())
-                .toList();
+        return lobby.getOpenGames();
+    }
+
+    /**
+     * Publishes the current state of a game to the lobby index, unless the game has meanwhile been removed.
+     * Callers run on the actor of the game, so the updates of a game are published in order.
+     *
+     * @param controller the controller of the game that changed
+     */
+    private void listGame(GameController controller) {
+        GameInfo gameInfo = controller.getGameInfo();
+        synchronized (lobby) {
+            if (gameControllers.get(gameInfo.getGameId()) == controller)
+                lobby.update(gameInfo);
+        }
+    }
+
+    /**
+     * Removes a game from the registry and from the lobby index together, so that an update
+     * racing with the removal cannot list the game again. The game controller is then closed, which stops
+     * its hourglass and withdraws it from RMI.
+     *
+     * @param gameId the unique identifier of the game to remove
+     */
+    private void unlistGame(String gameId) {
+        GameController removed;
+        synchronized (lobby) {
+            removed = gameControllers.remove(gameId);
+            lobby.remove(gameId);
+        }
+        if (removed != null)
+            removed.close();
+    }
+
+    /**
+     * Exports a game controller to RMI if the given client is connected through RMI, that is if its
+     * controller is an RMI stub. Games whose players all use sockets are never exported.
+     *
+     * @param controller the controller of the game the client is entering
+     * @param client the controller of the client
+     * @throws RemoteException if the game controller cannot be exported
+     */
+    private static void exportIfRmiClient(GameController controller, CallableOnClientController client) throws RemoteException {
+        if (Proxy.isProxyClass(client.getClass()) && Proxy.getInvocationHandler(client) instanceof RemoteObjectInvocationHandler)
+            controller.exportToRmi();
     }
 
     /**
@@ -283,30 +383,41 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
         String gameId = generateUniqueGameIdAndCreate(numPlayers, isTestFlight);
         GameController newGameController = gameControllers.get(gameId);
 
+        try {
+            exportIfRmiClient(newGameController, clients.get(nickname));
+        } catch (RemoteException e) {
+            unlistGame(gameId);
+            throw e;
+        }
+
         System.out.println("GameModel created: " + gameId + " by " + nickname +
                 " for " + numPlayers + " players" + (isTestFlight ? " (Test Flight)" : ""));
         // Add players to the game
-        newGameController.addPlayer(nickname, color, clients.get(nickname));
-        clientGame.put(nickname,newGameController);
+        newGameController.getActor().ask(() -> {
+            newGameController.addPlayer(nickname, color, clients.get(nickname));
+            clientGame.put(nickname,newGameController);
+            lobbyBroadcaster.unsubscribe(nickname);
+            listGame(newGameController);
+        });
         System.out.println("[" + gameId + "] " + nickname + " joined game with color " + color);
 
         //notify every waiting clients that has been created a new game
-        notifyAvailableGamesToWaitingClients();
+        lobbyBroadcaster.publish();
 
         return newGameController.getGameInfo();
     }
 
     /**
      * Removes a game from the active games registry.
-     * Cleans up the game controller mapping and notifies all waiting clients
-     * about the updated list of available games.
+     * Cleans up the game controller mapping and signals the change to the lobby channel,
+     * which notifies the waiting clients about the updated list of available games.
      *
      * @param gameId the unique identifier of the game to remove
      */
     public void removeGame(String gameId) {
-        gameControllers.remove(gameId);
+        unlistGame(gameId);
         //notify every waiting clients that has been removed a game
-        notifyAvailableGamesToWaitingClients();
+        lobbyBroadcaster.publish();
     }
 
     /**
@@ -325,21 +436,26 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
 
     /**
      * Handles pong responses received from clients.
-     * Resets the timeout counter for the client and sets up disconnection handling
-     * if the client fails to respond to future pings. This method is part of the
-     * bidirectional keep-alive mechanism.
+     * The pong counts as a sign of life of the client, postponing its next ping and its timeout.
+     * This method is part of the bidirectional keep-alive mechanism.
      *
      * @param nickname the nickname of the client sending the pong response
      * @throws IOException if a network communication error occurs
      */
     public void pongToServerFromClient(String nickname) throws IOException{
         //System.out.println("Pong ricevuto da " + nickname);
-        serverPingPongManager.onPongReceived(nickname, ()-> {
-            synchronized (DNS.this) {
-                if (clientGame.get(nickname) == null) return;
-            }
-            handleDisconnection(nickname);
-        });
+        serverPingPongManager.onActivity(nickname);
+    }
+
+    /**
+     * Records that a message has been received from a client. Any message is a sign of life,
+     * so an active client is not pinged and never times out.
+     *
+     * @param nickname the nickname of the client that sent the message
+     */
+    public void clientActivity(String nickname) {
+        if (nickname != null)
+            serverPingPongManager.onActivity(nickname);
     }
 
     /**
@@ -351,6 +467,7 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
      * @throws IOException if a network communication error occurs during pong response
      */
     public void pingToServerFromClient(String nickname) throws IOException{
+        serverPingPongManager.onActivity(nickname);
         CallableOnClientController clientController = clients.get(nickname);
         if (clientController == null) return;
         clientController.pongToClientFromServer(nickname);
@@ -386,12 +503,17 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
             return false;
         }
 
-        if (!gameControllers.containsKey(gameId)) {
+        GameController controller = gameControllers.get(gameId);
+        if (controller == null) {
             return false;
         }
 
-        GameController controller = gameControllers.get(gameId);
-        synchronized (controller) {
+        return controller.getActor().query(() -> {
+            // the game may have been deleted by a disconnection while this action was queued
+            if (gameControllers.get(gameId) != controller) {
+                return false;
+            }
+
             GameInfo gameInfo = controller.getGameInfo();
 
             if (gameInfo.isStarted()) {
@@ -410,8 +532,11 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
                 return false;
             }
 
+            exportIfRmiClient(controller, clients.get(nickname));
             controller.addPlayer(nickname, color, clients.get(nickname));
             clientGame.put(nickname,controller);
+            lobbyBroadcaster.unsubscribe(nickname);
+            listGame(controller);
             gameInfo = controller.getGameInfo();
 
             final GameInfo finalGameInfo = gameInfo;
@@ -424,7 +549,7 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
 
             // Notifica tutti i client in attesa che la lista partite è cambiata
             // notify every waiting client that the list of games has changed
-            notifyAvailableGamesToWaitingClients();
+            lobbyBroadcaster.publish();
 
             System.out.println("[" + gameId + "] " + nickname + " joined game with color " + color);
 
@@ -434,40 +559,6 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
             }
 
             return true;
-        }
-    }
-
-    /**
-     * Notifies all clients not currently in a game about the updated list of available games.
-     * Uses an executor service to send notifications concurrently with timeout handling
-     * to prevent blocking on unresponsive clients. Failed notifications are logged
-     * but do not affect other clients.
-     */
-    private void notifyAvailableGamesToWaitingClients() {
-        Map<Future<?>, String> futureNicknames = new HashMap<>();
-        List<GameInfo> availableGames = getAvailableGames();
-
-        clients.forEach((clientNickname, clientController) -> {
-            Future<?> future = executor.submit(() -> {
-                try {
-                    if(!clientGame.containsKey(clientNickname))
-                        clientController.notifyGameInfos(clientNickname, availableGames);
-                } catch (IOException e) {
-                    System.err.println("errore nella notifica di aggiornamento a "+ clientNickname);
-                }
-            });
-            futureNicknames.put(future, clientNickname);
-        });
-
-        futureNicknames.forEach((future, clientNickname) -> {
-            try {
-                future.get(3, TimeUnit.SECONDS);
-            } catch (TimeoutException e) {
-                System.err.println("Timeout nella notifica del client: " + clientNickname);
-                future.cancel(true);
-            } catch (InterruptedException | ExecutionException e) {
-                System.err.println("Errore nella notifica del client: " + clientNickname);
-            }
         });
     }
 
@@ -479,9 +570,8 @@ public class DNS extends UnicastRemoteObject implements CallableOnDNS {
      * @param numPlayers number of players for the game
      * @param isTestFlight whether this is a test flight game
      * @return the unique game ID that was generated and used
-     * @throws RemoteException if an error occurs during game controller creation
      */
-    private String generateUniqueGameIdAndCreate(int numPlayers, boolean isTestFlight) throws RemoteException {
+    private String generateUniqueGameIdAndCreate(int numPlayers, boolean isTestFlight) {
         String gameId;
         GameController newGameController;
 
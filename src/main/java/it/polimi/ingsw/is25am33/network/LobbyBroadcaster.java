@@ -0,0 +1,189 @@
+package it.polimi.ingsw.is25am33.network;
+
+import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.model.game.GameInfo;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Publish/subscribe channel sending the list of joinable games to the clients waiting in the lobby.
+ * <p>
+ * Only clients that are not in a game are subscribed. A change of the lobby is only signalled with
+ * {@link #publish()}, which returns immediately: the changes of a short window are merged into a single
+ * broadcast of the current lobby snapshot. Every subscriber has at most one delivery in flight;
+ * the changes published meanwhile are merged into one more delivery of the newest snapshot,
+ * so a slow client neither delays the others nor piles up outdated lists.
+ */
+public class LobbyBroadcaster {
+
+    /**
+     * Window over which lobby changes are merged into a single broadcast.
+     */
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    /**
+     * Thread shared by all the channels that waits for the end of the debounce windows.
+     * Broadcasts only hand deliveries over to the executor, so one thread is enough.
+     */
+    private static final ScheduledExecutorService DEBOUNCER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lobby-debouncer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A client waiting in the lobby.
+     */
+    private static class Subscriber {
+        private final String nickname;
+        private final CallableOnClientController controller;
+        // whether a delivery to this client is in flight
+        private final AtomicBoolean sending = new AtomicBoolean(false);
+        // whether the lobby changed since the snapshot of the delivery in flight was taken
+        private volatile boolean outdated = false;
+
+        private Subscriber(String nickname, CallableOnClientController controller) {
+            this.nickname = nickname;
+            this.controller = controller;
+        }
+    }
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Supplier<List<GameInfo>> lobby;
+    private final Executor executor;
+    private final long debounceMillis;
+    private final AtomicBoolean broadcastScheduled = new AtomicBoolean(false);
+    private final AtomicLong broadcasts = new AtomicLong();
+    private final AtomicLong deliveries = new AtomicLong();
+
+    /**
+     * Creates a channel.
+     *
+     * @param lobby supplies the current snapshot of the joinable games
+     * @param executor the executor running the deliveries to the clients
+     */
+    public LobbyBroadcaster(Supplier<List<GameInfo>> lobby, Executor executor) {
+        this(lobby, executor, DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Creates a channel with the given debounce window.
+     */
+    LobbyBroadcaster(Supplier<List<GameInfo>> lobby, Executor executor, long debounceMillis) {
+        this.lobby = lobby;
+        this.executor = executor;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Subscribes a client to the lobby and sends it the current list of joinable games.
+     *
+     * @param nickname the nickname of the client
+     * @param controller the controller used to notify the client
+     */
+    public void subscribe(String nickname, CallableOnClientController controller) {
+        Subscriber subscriber = new Subscriber(nickname, controller);
+        subscribers.put(nickname, subscriber);
+        deliver(subscriber);
+    }
+
+    /**
+     * Unsubscribes a client, because it entered a game or left. Does nothing if the client is not subscribed.
+     *
+     * @param nickname the nickname of the client
+     */
+    public void unsubscribe(String nickname) {
+        subscribers.remove(nickname);
+    }
+
+    /**
+     * Returns whether a client is subscribed to the lobby.
+     *
+     * @param nickname the nickname of the client
+     * @return true if the client receives the lobby updates
+     */
+    public boolean isSubscribed(String nickname) {
+        return subscribers.containsKey(nickname);
+    }
+
+    /**
+     * Signals that the lobby changed. The subscribers are sent the lobby at the end of the current
+     * debounce window, together with any other change of the same window. Never blocks.
+     */
+    public void publish() {
+        if (broadcastScheduled.compareAndSet(false, true))
+            DEBOUNCER.schedule(this::broadcast, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void broadcast() {
+        // cleared first, so that a change published during the broadcast schedules the next one
+        broadcastScheduled.set(false);
+        broadcasts.incrementAndGet();
+        subscribers.values().forEach(this::deliver);
+    }
+
+    private void deliver(Subscriber subscriber) {
+        subscriber.outdated = true;
+        if (!subscriber.sending.compareAndSet(false, true))
+            return;
+        try {
+            executor.execute(() -> send(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.sending.set(false);
+            System.err.println("Lobby update to " + subscriber.nickname + " rejected: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the newest lobby to a subscriber until it has seen every change, then releases the subscriber.
+     */
+    private void send(Subscriber subscriber) {
+        do {
+            while (subscriber.outdated && isSubscribed(subscriber)) {
+                subscriber.outdated = false;
+                try {
+                    subscriber.controller.notifyGameInfos(subscriber.nickname, lobby.get());
+                    deliveries.incrementAndGet();
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Error while sending the lobby update to " + subscriber.nickname + ": " + e.getMessage());
+                }
+            }
+            subscriber.sending.set(false);
+            // a change published right before the release would otherwise be missed
+        } while (subscriber.outdated && isSubscribed(subscriber) && subscriber.sending.compareAndSet(false, true));
+    }
+
+    private boolean isSubscribed(Subscriber subscriber) {
+        return subscribers.get(subscriber.nickname) == subscriber;
+    }
+
+    /**
+     * Returns the number of broadcasts made so far, each one merging the changes of a debounce window.
+     *
+     * @return the broadcast count
+     */
+    public long getBroadcasts() {
+        return broadcasts.get();
+    }
+
+    /**
+     * Returns the number of lobby lists sent to clients so far.
+     *
+     * @return the delivery count
+     */
+    public long getDeliveries() {
+        return deliveries.get();
+    }
+
+}
@@ -0,0 +1,78 @@
+package it.polimi.ingsw.is25am33.network;
+
+import it.polimi.ingsw.is25am33.model.game.GameInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the games that can still be joined, kept up to date as games are created, joined, started and removed.
+ * <p>
+ * Every change publishes a new immutable list of {@link GameInfo} snapshots, so reading the lobby returns
+ * the cached list without building anything.
+ */
+public class LobbyIndex {
+
+    // the games in creation order, guarded by this
+    private final Map<String, GameInfo> openGames = new LinkedHashMap<>();
+    private volatile List<GameInfo> snapshot = List.of();
+
+    /**
+     * Records the current state of a game. The game is listed if it has neither started nor filled up,
+     * and is dropped from the lobby otherwise.
+     *
+     * @param gameInfo the current information of the game
+     */
+    public synchronized void update(GameInfo gameInfo) {
+        String gameId = gameInfo.getGameId();
+        if (gameInfo.isStarted() || gameInfo.isFull()) {
+            remove(gameId);
+            return;
+        }
+
+        openGames.put(gameId, freeze(gameInfo));
+        publish();
+    }
+
+    /**
+     * Drops a game from the lobby. Does nothing if the game is not listed.
+     *
+     * @param gameId the identifier of the game
+     */
+    public synchronized void remove(String gameId) {
+        if (openGames.remove(gameId) != null)
+            publish();
+    }
+
+    /**
+     * Returns the joinable games. The list is immutable and shared between callers.
+     *
+     * @return the joinable games, in creation order
+     */
+    public List<GameInfo> getOpenGames() {
+        return snapshot;
+    }
+
+    private void publish() {
+        snapshot = Collections.unmodifiableList(new ArrayList<>(openGames.values()));
+    }
+
+    /**
+     * Copies a game information with an unmodifiable player map, so that the published snapshot
+     * is not affected by later changes of the game.
+     */
+    private static GameInfo freeze(GameInfo gameInfo) {
+        return new GameInfo(
+                gameInfo.getGameId(),
+                gameInfo.getGameController(),
+                gameInfo.getMaxPlayers(),
+                Collections.unmodifiableMap(new LinkedHashMap<>(gameInfo.getConnectedPlayers())),
+                gameInfo.isStarted(),
+                gameInfo.isTestFlight()
+        );
+    }
+
+}
@@ -0,0 +1,201 @@
+package it.polimi.ingsw.is25am33.network.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the liveness of many connections with timers of a {@link TimerWheel}.
+ * <p>
+ * Every connection only stores the time it was last seen: recording traffic on a connection is a single
+ * volatile write, with no timer to cancel or reschedule. Each connection has a single timer, due at its next
+ * check. When it fires, on the wheel thread, a connection seen in the meantime gets a timer for its new check,
+ * an idle one is sent a ping, and one silent for longer than the timeout is removed and reported.
+ * The wheel therefore spends time on the connections whose check falls in a tick, not on all connections.
+ * Pings and timeouts are run on the given executor, so that a slow connection does not delay the wheel.
+ *
+ * @param <K> the type of the connection keys
+ */
+public final class HeartbeatWheel<K> {
+
+    /**
+     * A connection tracked by the wheel.
+     */
+    private static class Connection<K> {
+        private final K key;
+        private final Runnable sendPing;
+        private final Runnable onTimeout;
+        private volatile long lastSeenMillis;
+        private volatile boolean removed = false;
+        private volatile TimerWheel.Timeout check;
+        // only used by the wheel thread
+        private long lastPingMillis = Long.MIN_VALUE;
+
+        private Connection(K key, Runnable sendPing, Runnable onTimeout, long now) {
+            this.key = key;
+            this.sendPing = sendPing;
+            this.onTimeout = onTimeout;
+            this.lastSeenMillis = now;
+        }
+    }
+
+    private final TimerWheel timerWheel;
+    private final long idleMillis;
+    private final long timeoutMillis;
+    private final Executor callbackExecutor;
+
+    private final Map<K, Connection<K>> connections = new ConcurrentHashMap<>();
+
+    private final AtomicLong pingsSent = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong connectionsChecked = new AtomicLong();
+
+    /**
+     * Creates a heartbeat tracker checking its connections on the given wheel.
+     *
+     * @param timerWheel the wheel running the checks, whose tick is the precision of pings and timeouts
+     * @param idleMillis the silence after which a connection is sent a ping, and then again at this interval
+     * @param timeoutMillis the silence after which a connection is considered lost
+     * @param callbackExecutor the executor running the pings and timeout callbacks
+     */
+    public HeartbeatWheel(TimerWheel timerWheel, long idleMillis, long timeoutMillis, Executor callbackExecutor) {
+        this.timerWheel = timerWheel;
+        this.idleMillis = idleMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Starts tracking a connection, replacing any connection with the same key. The connection counts as just seen,
+     * so its timeout runs from now even if it never answers a ping.
+     *
+     * @param key the key of the connection
+     * @param sendPing sends a ping on the connection
+     * @param onTimeout called once if the connection stays silent for longer than the timeout
+     */
+    public void add(K key, Runnable sendPing, Runnable onTimeout) {
+        Connection<K> connection = new Connection<>(key, sendPing, onTimeout, timerWheel.now());
+        Connection<K> previous = connections.put(key, connection);
+        if (previous != null)
+            forget(previous);
+        schedule(connection, connection.lastSeenMillis + idleMillis);
+    }
+
+    /**
+     * Records traffic received on a connection. Any message counts, not only pongs.
+     *
+     * @param key the key of the connection
+     */
+    public void seen(K key) {
+        Connection<K> connection = connections.get(key);
+        if (connection != null)
+            connection.lastSeenMillis = timerWheel.now();
+    }
+
+    /**
+     * Stops tracking a connection.
+     *
+     * @param key the key of the connection
+     */
+    public void remove(K key) {
+        Connection<K> connection = connections.remove(key);
+        if (connection != null)
+            forget(connection);
+    }
+
+    /**
+     * Returns whether a connection is tracked.
+     *
+     * @param key the key of the connection
+     * @return true if the connection was added and has neither been removed nor timed out
+     */
+    public boolean contains(K key) {
+        return connections.containsKey(key);
+    }
+
+    /**
+     * Returns the number of tracked connections.
+     *
+     * @return the connection count
+     */
+    public int size() {
+        return connections.size();
+    }
+
+    private void forget(Connection<K> connection) {
+        connection.removed = true;
+        TimerWheel.Timeout check = connection.check;
+        if (check != null)
+            check.cancel();
+    }
+
+    private void check(Connection<K> connection) {
+        if (connection.removed)
+            return;
+        connectionsChecked.incrementAndGet();
+        long now = timerWheel.now();
+        long lastSeen = connection.lastSeenMillis;
+
+        if (now - lastSeen >= timeoutMillis) {
+            if (connections.remove(connection.key, connection)) {
+                connection.removed = true;
+                timeouts.incrementAndGet();
+                run(connection.onTimeout);
+            }
+            return;
+        }
+
+        long pingDue = Math.max(lastSeen, connection.lastPingMillis) + idleMillis;
+        if (now >= pingDue) {
+            connection.lastPingMillis = now;
+            pingsSent.incrementAndGet();
+            run(connection.sendPing);
+            pingDue = now + idleMillis;
+        }
+        schedule(connection, Math.min(pingDue, lastSeen + timeoutMillis));
+    }
+
+    private void schedule(Connection<K> connection, long dueMillis) {
+        connection.check = timerWheel.schedule(dueMillis, () -> check(connection));
+        // a removal racing with the new timer may have cancelled the previous one only
+        if (connection.removed)
+            connection.check.cancel();
+    }
+
+    private void run(Runnable callback) {
+        try {
+            callbackExecutor.execute(callback);
+        } catch (RuntimeException e) {
+            System.err.println("Heartbeat callback rejected: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of pings sent so far.
+     *
+     * @return the ping count
+     */
+    public long getPingsSent() {
+        return pingsSent.get();
+    }
+
+    /**
+     * Returns the number of connections reported as lost so far.
+     *
+     * @return the timeout count
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Returns the number of connection checks made by the wheel so far.
+     *
+     * @return the check count
+     */
+    public long getConnectionsChecked() {
+        return connectionsChecked.get();
+    }
+
+}
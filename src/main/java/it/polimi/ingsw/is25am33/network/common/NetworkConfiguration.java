@@ -16,6 +16,11 @@ public class NetworkConfiguration {
      */
     public static final int DEFAULT_SOCKET_SERVER_PORT = 3000;
 
+    /**
+     * The number of selector threads used by the socket server to multiplex client connections.
+     */
+    public static final int SOCKET_EVENT_LOOPS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
     /**
      * The localhost address string.
      */
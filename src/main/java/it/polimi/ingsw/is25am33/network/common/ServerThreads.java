@@ -0,0 +1,99 @@
+package it.polimi.ingsw.is25am33.network.common;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Central factory for the threads and executors used on the server side.
+ * The server can run either on platform threads (the default) or on virtual threads;
+ * the mode is chosen once at startup from the {@code DNS} command line and every
+ * component that needs a thread or an executor asks this class for it, so that
+ * switching mode does not require touching the single components.
+ */
+public final class ServerThreads {
+
+    /**
+     * The kind of threads used by the server.
+     */
+    public enum Mode {
+        /**
+         * Classic platform threads, pooled where a pool is used.
+         */
+        PLATFORM,
+        /**
+         * One virtual thread per task, socket session and notification.
+         */
+        VIRTUAL;
+
+        /**
+         * Parses a mode from its command line name, case-insensitively.
+         *
+         * @param name the mode name, either "platform" or "virtual"
+         * @return the corresponding mode
+         * @throws IllegalArgumentException if the name does not match any mode
+         */
+        public static Mode fromString(String name) {
+            return Mode.valueOf(name.trim().toUpperCase());
+        }
+    }
+
+    private static volatile Mode mode = Mode.PLATFORM;
+
+    private ServerThreads() {}
+
+    /**
+     * Returns the thread mode currently in use.
+     *
+     * @return the current mode
+     */
+    public static Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the thread mode. Must be called before the server components are created,
+     * since executors already handed out keep the mode they were created with.
+     * The virtual thread scheduler keeps the JDK defaults, or whatever was set on the command line.
+     *
+     * @param newMode the mode to use
+     */
+    public static void setMode(Mode newMode) {
+        mode = newMode;
+    }
+
+    /**
+     * Returns whether the server runs on virtual threads.
+     *
+     * @return true if the current mode is {@link Mode#VIRTUAL}
+     */
+    public static boolean isVirtual() {
+        return mode == Mode.VIRTUAL;
+    }
+
+    /**
+     * Creates an executor for short-lived tasks such as client notifications.
+     * In platform mode this is a cached thread pool, in virtual mode every task gets its own virtual thread.
+     *
+     * @return a new executor service
+     */
+    public static ExecutorService newTaskExecutor() {
+        return isVirtual()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Starts a new thread running the given task, virtual or platform according to the current mode.
+     *
+     * @param task the task to run
+     * @return the started thread
+     */
+    public static Thread start(Runnable task) {
+        if (isVirtual())
+            return Thread.ofVirtual().start(task);
+        Thread thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+
+}
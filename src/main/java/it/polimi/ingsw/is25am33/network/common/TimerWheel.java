@@ -0,0 +1,219 @@
+package it.polimi.ingsw.is25am33.network.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs one-shot timers with a hashed timing wheel and a single thread. The server shares one wheel between
+ * the hourglasses of its games and the heartbeats of its clients.
+ * <p>
+ * A timer is a deadline and a callback: no thread waits for it. Each timer sits in the wheel slot of its
+ * deadline, and the wheel thread advances one slot per tick, firing only the timers of that slot whose
+ * deadline has passed. Cancelling a timer only marks it, the wheel drops it when it reaches its slot.
+ * Callbacks run on the wheel thread and delay the timers after them, so they only do short work there:
+ * the hourglass queues its event on the mailbox of the game, and {@link HeartbeatWheel} checks the last time
+ * a connection was seen and hands pings and timeouts to its own executor.
+ */
+public final class TimerWheel {
+
+    private static final long SHARED_TICK_MILLIS = 100;
+    private static final int SHARED_SLOTS = 1024;
+
+    private static volatile TimerWheel shared;
+
+    /**
+     * A scheduled timer, which can be cancelled until it fires.
+     */
+    public static class Timeout {
+        private final long deadlineMillis;
+        private final Runnable task;
+        private volatile boolean cancelled = false;
+        private volatile boolean fired = false;
+
+        private Timeout(long deadlineMillis, Runnable task) {
+            this.deadlineMillis = deadlineMillis;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the timer. Does nothing if it already fired.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Returns the time at which the timer fires.
+         *
+         * @return the deadline in epoch milliseconds
+         */
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * Returns whether the callback of the timer has been run.
+         *
+         * @return true if the timer fired
+         */
+        public boolean hasFired() {
+            return fired;
+        }
+    }
+
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private final List<List<Timeout>> slots;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker;
+
+    // only used by the wheel thread
+    private long currentTick;
+    private final AtomicLong fired = new AtomicLong();
+
+    /**
+     * Returns the wheel shared by all the games of the server, creating it on first use.
+     *
+     * @return the shared wheel
+     */
+    public static TimerWheel shared() {
+        if (shared == null) {
+            synchronized (TimerWheel.class) {
+                if (shared == null)
+                    shared = new TimerWheel(SHARED_TICK_MILLIS, SHARED_SLOTS);
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Creates a wheel and starts its thread.
+     *
+     * @param tickMillis the duration of a slot, which is the precision of the timers
+     * @param slotCount the number of slots; timers further away than a full turn stay in their slot for more turns
+     */
+    public TimerWheel(long tickMillis, int slotCount) {
+        this(tickMillis, slotCount, System::currentTimeMillis, true);
+    }
+
+    /**
+     * Creates a wheel reading the time from the given clock, optionally without its thread, so that it can be
+     * advanced by calling {@link #tick()} directly.
+     */
+    TimerWheel(long tickMillis, int slotCount, LongSupplier clock, boolean startTicker) {
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.currentTick = clock.getAsLong() / tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++)
+            slots.add(new ArrayList<>());
+
+        if (startTicker) {
+            this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "timer-wheel");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.ticker = null;
+        }
+    }
+
+    /**
+     * Schedules a callback at a given time. The callback runs on the wheel thread, at most one tick late.
+     *
+     * @param deadlineMillis the time at which the callback must run, in epoch milliseconds
+     * @param task the callback, which must be short and must not block
+     * @return the timer, which can be cancelled
+     */
+    public Timeout schedule(long deadlineMillis, Runnable task) {
+        Timeout timeout = new Timeout(deadlineMillis, task);
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the current time of the wheel clock.
+     *
+     * @return the current time in epoch milliseconds
+     */
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Stops the wheel thread. Pending timers no longer fire.
+     */
+    public void shutdown() {
+        if (ticker != null)
+            ticker.shutdownNow();
+    }
+
+    /**
+     * Advances the wheel up to the current time and fires the timers whose deadline has passed.
+     */
+    void tick() {
+        try {
+            long now = clock.getAsLong();
+            Timeout timeout;
+            while ((timeout = added.poll()) != null)
+                if (!timeout.cancelled)
+                    slots.get(slotOf(Math.max(timeout.deadlineMillis, currentTick * tickMillis))).add(timeout);
+
+            // ticks delayed by a busy machine are caught up, so that no slot is skipped
+            long lastTick = now / tickMillis;
+            for (; currentTick <= lastTick; currentTick++) {
+                List<Timeout> slot = slots.get((int) (currentTick % slots.size()));
+                if (slot.isEmpty())
+                    continue;
+                List<Timeout> due = new ArrayList<>();
+                slot.removeIf(candidate -> {
+                    if (candidate.cancelled)
+                        return true;
+                    if (candidate.deadlineMillis > now)
+                        return false;
+                    due.add(candidate);
+                    return true;
+                });
+                due.forEach(this::fire);
+            }
+            currentTick = lastTick;
+        } catch (RuntimeException e) {
+            System.err.println("Timer wheel error: " + e.getMessage());
+        }
+    }
+
+    private int slotOf(long deadlineMillis) {
+        return (int) ((deadlineMillis / tickMillis) % slots.size());
+    }
+
+    private void fire(Timeout timeout) {
+        if (timeout.cancelled)
+            return;
+        timeout.fired = true;
+        fired.incrementAndGet();
+        try {
+            timeout.task.run();
+        } catch (RuntimeException e) {
+            System.err.println("Timer callback error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of timers fired so far.
+     *
+     * @return the fired timer count
+     */
+    public long getFired() {
+        return fired.get();
+    }
+
+}
@@ -0,0 +1,32 @@
+package it.polimi.ingsw.is25am33.network.rmi;
+
+/**
+ * Kinds of sockets used by the RMI connections of the remote objects exported by a process.
+ * The mode is chosen on the command line of the server and of each client, since each side exports its own objects:
+ * the server its DNS and game controllers, the clients the controllers receiving the notifications.
+ */
+public enum RMISocketMode {
+    /**
+     * The sockets created by the RMI runtime, with Nagle's algorithm enabled.
+     */
+    DEFAULT,
+    /**
+     * Sockets with Nagle's algorithm disabled and larger buffers, so that small calls are sent immediately.
+     */
+    NODELAY,
+    /**
+     * Like {@link #NODELAY}, with every stream compressed, which shrinks large payloads such as ship matrices.
+     */
+    COMPRESSED;
+
+    /**
+     * Parses a mode name given on the command line, case-insensitively.
+     *
+     * @param name the mode name, either "default", "nodelay" or "compressed"
+     * @return the corresponding mode
+     * @throws IllegalArgumentException if the name does not match any mode
+     */
+    public static RMISocketMode fromString(String name) {
+        return RMISocketMode.valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,88 @@
+package it.polimi.ingsw.is25am33.network.rmi;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+
+/**
+ * Central place where the remote objects of a process get their RMI socket factories.
+ * The {@link RMISocketMode} is chosen once at startup from the command line, and every remote object is exported
+ * through this class, so that all of them use the same sockets.
+ */
+public final class RMISockets {
+
+    /**
+     * Send and receive buffer size of the tuned sockets, enough for a ship matrix in a single read.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static volatile RMISocketMode mode = RMISocketMode.NODELAY;
+
+    private RMISockets() {}
+
+    /**
+     * Returns the socket mode currently in use.
+     *
+     * @return the current mode
+     */
+    public static RMISocketMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the socket mode. Must be called before any remote object is exported,
+     * since exported objects keep the factories they were exported with.
+     *
+     * @param newMode the mode to use
+     */
+    public static void setMode(RMISocketMode newMode) {
+        mode = newMode;
+    }
+
+    /**
+     * Returns the factory creating the sockets of the given mode.
+     *
+     * @param mode the socket mode
+     * @return the factory, or null for the sockets of the RMI runtime
+     */
+    public static TunedRMISocketFactory factoryFor(RMISocketMode mode) {
+        return switch (mode) {
+            case DEFAULT -> null;
+            case NODELAY -> new TunedRMISocketFactory(false, BUFFER_SIZE);
+            case COMPRESSED -> new TunedRMISocketFactory(true, BUFFER_SIZE);
+        };
+    }
+
+    /**
+     * Returns the client socket factory of the current mode, for the constructors of {@link UnicastRemoteObject}.
+     *
+     * @return the client socket factory, or null for the default sockets
+     */
+    public static RMIClientSocketFactory clientSocketFactory() {
+        return factoryFor(mode);
+    }
+
+    /**
+     * Returns the server socket factory of the current mode, for the constructors of {@link UnicastRemoteObject}.
+     *
+     * @return the server socket factory, or null for the default sockets
+     */
+    public static RMIServerSocketFactory serverSocketFactory() {
+        return factoryFor(mode);
+    }
+
+    /**
+     * Exports a remote object on an anonymous port with the sockets of the current mode.
+     *
+     * @param object the object to export
+     * @return the stub of the object
+     * @throws RemoteException if the object cannot be exported
+     */
+    public static Remote export(Remote object) throws RemoteException {
+        TunedRMISocketFactory factory = factoryFor(mode);
+        return UnicastRemoteObject.exportObject(object, 0, factory, factory);
+    }
+
+}
@@ -0,0 +1,137 @@
+package it.polimi.ingsw.is25am33.network.rmi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Socket factory for RMI connections that disables Nagle's algorithm, sizes the socket buffers and optionally
+ * compresses the streams.
+ * <p>
+ * RMI calls are written and flushed as a whole, so without Nagle's algorithm a small notification leaves at once
+ * instead of waiting for the acknowledgement of the previous one. With compression every flush ends a deflate
+ * block, so each call is decompressed as soon as it arrives.
+ * <p>
+ * The same instance serves as client factory, which is serialized into the stubs of the remote objects so that
+ * callers connect with the same options, and as server factory. RMI reuses connections only between equal
+ * factories, hence {@link #equals(Object)}.
+ */
+public class TunedRMISocketFactory implements RMIClientSocketFactory, RMIServerSocketFactory, Serializable {
+
+    private final boolean compressed;
+    private final int bufferSize;
+
+    /**
+     * Creates a factory.
+     *
+     * @param compressed whether the streams are compressed
+     * @param bufferSize the send and receive buffer size of the sockets, 0 to keep the system default
+     */
+    public TunedRMISocketFactory(boolean compressed, int bufferSize) {
+        this.compressed = compressed;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        Socket socket = compressed ? new CompressedSocket() : new Socket();
+        configure(socket);
+        socket.connect(new InetSocketAddress(host, port));
+        return socket;
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+        ServerSocket serverSocket = new ServerSocket() {
+            @Override
+            public Socket accept() throws IOException {
+                Socket socket = compressed ? new CompressedSocket() : new Socket();
+                implAccept(socket);
+                socket.setTcpNoDelay(true);
+                if (bufferSize > 0)
+                    socket.setSendBufferSize(bufferSize);
+                return socket;
+            }
+        };
+        // accepted sockets inherit the receive buffer, which must be set before the connection is established
+        // for a window larger than 64 KB to be negotiated
+        if (bufferSize > 0)
+            serverSocket.setReceiveBufferSize(bufferSize);
+        serverSocket.bind(new InetSocketAddress(port));
+        return serverSocket;
+    }
+
+    private void configure(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        if (bufferSize > 0) {
+            socket.setSendBufferSize(bufferSize);
+            socket.setReceiveBufferSize(bufferSize);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TunedRMISocketFactory factory
+                && factory.compressed == compressed
+                && factory.bufferSize == bufferSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(compressed, bufferSize);
+    }
+
+    /**
+     * Socket whose streams are compressed with deflate. Each flush of the output stream ends a deflate block,
+     * so the other side can decompress everything written so far. Closing the socket releases the native
+     * memory of the compressor and the decompressor.
+     */
+    private static class CompressedSocket extends Socket {
+        private final Inflater inflater = new Inflater();
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private InputStream inputStream;
+        private OutputStream outputStream;
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (inputStream == null)
+                inputStream = new InflaterInputStream(super.getInputStream(), inflater) {
+                    // the default returns 1 until the end of the stream, which makes buffered readers wait for data that is not coming
+                    @Override
+                    public int available() {
+                        return 0;
+                    }
+                };
+            return inputStream;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (outputStream == null)
+                outputStream = new DeflaterOutputStream(super.getOutputStream(), deflater, true);
+            return outputStream;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inflater.end();
+                deflater.end();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,334 @@
+package it.polimi.ingsw.is25am33.network.socket;
+
+import it.polimi.ingsw.is25am33.serializationLayer.BinaryFrameCodec;
+import it.polimi.ingsw.is25am33.serializationLayer.WireProtocol;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * State of a single client connection handled by a {@link SocketEventLoop}.
+ * <p>
+ * The connection owns the inbound decoder, the outbound byte queue and a serial task queue
+ * used to hand decoded messages to the worker pool one at a time, so that messages coming from the
+ * same client are always processed in the order they were received.
+ * The decoder starts by splitting newline-delimited text and switches to length-prefixed frames
+ * if the first line the client sends is the {@link WireProtocol#BINARY} handshake; later handshake lines
+ * are handled as ordinary messages.
+ * The {@link PrintWriter} returned by {@link #getWriter()} can be used from any thread: every
+ * flushed chunk is queued and written by the owning event loop without blocking the caller.
+ * <p>
+ * Both directions are bounded: a line longer than {@link WireProtocol#MAX_LINE_LENGTH}, or more than
+ * {@link #MAX_OUTBOUND_BYTES} waiting to be written to a client that does not read them, closes the connection.
+ */
+public class SocketConnection {
+
+    /**
+     * Maximum number of bytes queued for a client and not yet written to its socket.
+     */
+    static final long MAX_OUTBOUND_BYTES = 2L * BinaryFrameCodec.MAX_FRAME_LENGTH;
+
+    private final SocketChannel channel;
+    private final SocketEventLoop eventLoop;
+    private final ExecutorService workers;
+    private volatile Consumer<String> lineHandler;
+    private volatile Consumer<ByteBuffer> frameHandler;
+    private volatile Consumer<WireProtocol> protocolHandler;
+    private final PrintWriter writer;
+
+    private SelectionKey key;
+    private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+    private boolean framed = false;
+    private boolean firstLine = true;
+    private final ByteBuffer frameHeader = ByteBuffer.allocate(BinaryFrameCodec.LENGTH_FIELD_SIZE);
+    private ByteBuffer frameBody;
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicLong outboundBytes = new AtomicLong();
+    private final Queue<Runnable> inbound = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean inboundScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new connection bound to the given channel and event loop.
+     *
+     * @param channel the accepted, non-blocking socket channel
+     * @param eventLoop the event loop that performs reads and writes for this channel
+     * @param workers the pool on which decoded lines are processed
+     */
+    public SocketConnection(SocketChannel channel, SocketEventLoop eventLoop, ExecutorService workers) {
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.workers = workers;
+        this.writer = new PrintWriter(new ConnectionWriter(), true);
+    }
+
+    /**
+     * Sets the callback invoked for every decoded line, always from a worker thread.
+     * Must be set before the connection is registered with its event loop.
+     *
+     * @param lineHandler the line callback
+     */
+    public void setLineHandler(Consumer<String> lineHandler) {
+        this.lineHandler = lineHandler;
+    }
+
+    /**
+     * Sets the callback invoked for the body of every binary frame, always from a worker thread.
+     *
+     * @param frameHandler the frame callback, receiving the frame body without its length prefix
+     */
+    public void setFrameHandler(Consumer<ByteBuffer> frameHandler) {
+        this.frameHandler = frameHandler;
+    }
+
+    /**
+     * Sets the callback invoked, from a worker thread and in order with the other messages,
+     * when the client selects a wire protocol through the handshake.
+     *
+     * @param protocolHandler the protocol callback
+     */
+    public void setProtocolHandler(Consumer<WireProtocol> protocolHandler) {
+        this.protocolHandler = protocolHandler;
+    }
+
+    /**
+     * Returns the writer used to send newline-delimited text to this client.
+     *
+     * @return an auto-flushing writer backed by the outbound queue of this connection
+     */
+    public PrintWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Returns the underlying socket channel.
+     *
+     * @return the socket channel of this connection
+     */
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Returns whether the connection has been closed.
+     *
+     * @return true if the connection is closed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void setKey(SelectionKey key) {
+        this.key = key;
+    }
+
+    /**
+     * Reads every available byte from the channel and splits it into lines or frames.
+     * Must be called by the owning event loop only.
+     *
+     * @param readBuffer a scratch buffer owned by the event loop
+     * @throws IOException if the channel cannot be read or a frame is malformed
+     */
+    void onReadable(ByteBuffer readBuffer) throws IOException {
+        int read;
+        while ((read = channel.read(readBuffer)) > 0) {
+            readBuffer.flip();
+            while (readBuffer.hasRemaining()) {
+                if (framed)
+                    readFrame(readBuffer);
+                else
+                    readLine(readBuffer);
+            }
+            readBuffer.clear();
+        }
+        if (read < 0)
+            close();
+    }
+
+    private void readLine(ByteBuffer readBuffer) throws IOException {
+        while (readBuffer.hasRemaining()) {
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                String line = lineBuffer.toString(StandardCharsets.UTF_8);
+                lineBuffer.reset();
+                if (line.endsWith("\r"))
+                    line = line.substring(0, line.length() - 1);
+                onLine(line);
+                return; // the line may have switched the decoder to frames
+            }
+            if (lineBuffer.size() >= WireProtocol.MAX_LINE_LENGTH)
+                throw new IOException("Line longer than " + WireProtocol.MAX_LINE_LENGTH + " bytes");
+            lineBuffer.write(b);
+        }
+    }
+
+    private void readFrame(ByteBuffer readBuffer) throws IOException {
+        if (frameBody == null) {
+            while (frameHeader.hasRemaining() && readBuffer.hasRemaining())
+                frameHeader.put(readBuffer.get());
+            if (frameHeader.hasRemaining())
+                return;
+            int length = frameHeader.getInt(0);
+            frameHeader.clear();
+            if (length < 2 || length > BinaryFrameCodec.MAX_FRAME_LENGTH)
+                throw new IOException("Invalid frame length " + length);
+            frameBody = ByteBuffer.allocate(length);
+        }
+
+        int count = Math.min(frameBody.remaining(), readBuffer.remaining());
+        frameBody.put(readBuffer.slice(readBuffer.position(), count));
+        readBuffer.position(readBuffer.position() + count);
+
+        if (!frameBody.hasRemaining()) {
+            ByteBuffer body = frameBody.flip();
+            frameBody = null;
+            enqueue(() -> frameHandler.accept(body));
+        }
+    }
+
+    /**
+     * Writes as much queued data as the socket accepts.
+     * Must be called by the owning event loop only.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    void onWritable() throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = outbound.peek()) != null) {
+            outboundBytes.addAndGet(-channel.write(buffer));
+            if (buffer.hasRemaining())
+                return; // socket buffer is full, wait for the next OP_WRITE
+            outbound.poll();
+        }
+        writeScheduled.set(false);
+        if (key.isValid())
+            key.interestOps(SelectionKey.OP_READ);
+        // data may have been queued after the last poll but before the flag was cleared
+        if (!outbound.isEmpty())
+            scheduleWrite();
+    }
+
+    /**
+     * Queues raw bytes for sending and asks the event loop to flush them.
+     *
+     * @param data the bytes to send
+     * @throws IOException if the connection is already closed, or is closed because the client does not
+     *         read what it is sent
+     */
+    public void send(ByteBuffer data) throws IOException {
+        if (closed)
+            throw new IOException("Connection closed");
+        if (outboundBytes.addAndGet(data.remaining()) > MAX_OUTBOUND_BYTES) {
+            close();
+            throw new IOException("Connection closed: more than " + MAX_OUTBOUND_BYTES + " bytes waiting for the client");
+        }
+        outbound.add(data);
+        scheduleWrite();
+    }
+
+    private void scheduleWrite() {
+        if (writeScheduled.compareAndSet(false, true)) {
+            eventLoop.execute(() -> {
+                if (key != null && key.isValid())
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            });
+        }
+    }
+
+    private void onLine(String line) {
+        if (line.equals("exit")) {
+            close();
+            return;
+        }
+        WireProtocol protocol = firstLine ? WireProtocol.fromHandshake(line) : null;
+        firstLine = false;
+        if (protocol != null) {
+            framed = protocol == WireProtocol.BINARY;
+            enqueue(() -> protocolHandler.accept(protocol));
+            return;
+        }
+        enqueue(() -> lineHandler.accept(line));
+    }
+
+    private void enqueue(Runnable task) {
+        inbound.add(task);
+        if (inboundScheduled.compareAndSet(false, true))
+            workers.execute(this::drainInbound);
+    }
+
+    private void drainInbound() {
+        Runnable task;
+        while ((task = inbound.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println("ERROR while handling socket message: " + e.getMessage());
+            }
+        }
+        inboundScheduled.set(false);
+        // a message may have arrived after the last poll but before the flag was cleared
+        if (!inbound.isEmpty() && inboundScheduled.compareAndSet(false, true))
+            workers.execute(this::drainInbound);
+    }
+
+    /**
+     * Closes the connection and releases the channel. Further writes fail with an {@link IOException}.
+     */
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        outbound.clear();
+        outboundBytes.set(0);
+        if (key != null)
+            key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("ERROR while closing socket channel: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Character sink of the connection writer: flushed text is encoded once and queued for the event loop.
+     */
+    private class ConnectionWriter extends Writer {
+
+        private final StringBuilder pending = new StringBuilder();
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            if (closed)
+                throw new IOException("Connection closed");
+            pending.append(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (pending.isEmpty())
+                return;
+            byte[] bytes = pending.toString().getBytes(StandardCharsets.UTF_8);
+            pending.setLength(0);
+            send(ByteBuffer.wrap(bytes));
+        }
+
+        @Override
+        public void close() {
+            SocketConnection.this.close();
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package it.polimi.ingsw.is25am33.network.socket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A selector-based event loop that performs the non-blocking reads and writes of many
+ * {@link SocketConnection}s on a single thread.
+ * <p>
+ * Work coming from other threads (registering a new connection, enabling write interest)
+ * is queued through {@link #execute(Runnable)} and run by the loop thread after waking the selector,
+ * since selection keys must only be modified by the thread that owns the selector.
+ */
+public class SocketEventLoop implements Runnable {
+
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new event loop with its own selector.
+     *
+     * @throws IOException if the selector cannot be opened
+     */
+    public SocketEventLoop() throws IOException {
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Registers a connection with this loop; from now on its channel is read and written by this loop only.
+     *
+     * @param connection the connection to register
+     */
+    public void register(SocketConnection connection) {
+        execute(() -> {
+            try {
+                SelectionKey key = connection.getChannel().register(selector, SelectionKey.OP_READ, connection);
+                connection.setKey(key);
+            } catch (IOException e) {
+                System.err.println("ERROR while registering socket channel: " + e.getMessage());
+                connection.close();
+            }
+        });
+    }
+
+    /**
+     * Queues a task to be run on the loop thread and wakes the selector.
+     *
+     * @param task the task to run
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Stops the loop and closes its selector.
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Runs the selection loop until {@link #shutdown()} is called.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                runTasks();
+
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            System.err.println("ERROR in socket event loop: " + e.getMessage());
+        } finally {
+            selector.keys().forEach(key -> ((SocketConnection) key.attachment()).close());
+            try {
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("ERROR while closing selector: " + e.getMessage());
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null)
+            task.run();
+    }
+
+    private void handle(SelectionKey key) {
+        SocketConnection connection = (SocketConnection) key.attachment();
+        try {
+            if (key.isValid() && key.isReadable())
+                connection.onReadable(readBuffer);
+            if (key.isValid() && key.isWritable())
+                connection.onWritable();
+        } catch (IOException e) {
+            connection.close();
+        } finally {
+            readBuffer.clear();
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package it.polimi.ingsw.is25am33.network.socket;
+
+import it.polimi.ingsw.is25am33.controller.GameController;
+import it.polimi.ingsw.is25am33.serializationLayer.SocketMessageWriter;
+
+import java.rmi.RemoteException;
+
+/**
+ * State of a single socket connection on the server: the writer replying to the client and
+ * the game controller the client plays in, resolved once when it creates or joins a game.
+ */
+public class SocketSession {
+
+    private final SocketMessageWriter writer;
+    private volatile GameController gameController;
+
+    /**
+     * Creates the session of a new connection.
+     *
+     * @param writer the writer sending messages to the client
+     */
+    public SocketSession(SocketMessageWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Returns the writer sending messages to the client.
+     *
+     * @return the writer of the connection
+     */
+    public SocketMessageWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Returns the controller of the game the client plays in.
+     *
+     * @return the game controller of the client
+     * @throws RemoteException if the client is not in a game
+     */
+    public GameController getGameController() throws RemoteException {
+        GameController controller = gameController;
+        if (controller == null)
+            throw new RemoteException("Client is not in a game");
+        return controller;
+    }
+
+    /**
+     * Binds the session to the game the client created or joined, or unbinds it when the client leaves.
+     *
+     * @param gameController the game controller, null if the client left its game
+     */
+    public void setGameController(GameController gameController) {
+        this.gameController = gameController;
+    }
+
+}
@@ -0,0 +1,118 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encoder and decoder of the {@link WireProtocol#BINARY} frames.
+ * <p>
+ * A frame is made of a 4 byte big-endian length, followed by that many bytes of body. The body starts with the
+ * 2 byte {@link SocketOpcode} of the action; when the action has no opcode the code is {@link SocketOpcode#UNKNOWN_CODE}
+ * and is followed by the action name as a length-prefixed UTF-8 string. The rest of the body is the message encoded
+ * with Jackson Smile, the binary counterpart of JSON, without the action string.
+ */
+public final class BinaryFrameCodec {
+
+    /**
+     * Size of the length prefix, in bytes.
+     */
+    public static final int LENGTH_FIELD_SIZE = 4;
+
+    /**
+     * Largest frame body accepted, to protect the receiver from corrupted or malicious length prefixes.
+     */
+    public static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    private BinaryFrameCodec() {}
+
+    /**
+     * Encodes a message into a complete frame, length prefix included.
+     *
+     * @param message the message to encode
+     * @return a buffer positioned at the start of the frame
+     * @throws IOException if the message cannot be encoded
+     */
+    public static ByteBuffer encode(SocketMessage message) throws IOException {
+        FrameOutputStream frame = new FrameOutputStream();
+        DataOutputStream out = new DataOutputStream(frame);
+        out.writeInt(0); // patched below, once the body length is known
+
+        SocketOpcode opcode = SocketOpcode.fromAction(message.getActions());
+        if (opcode != null) {
+            out.writeShort(opcode.getCode());
+        } else {
+            out.writeShort(SocketOpcode.UNKNOWN_CODE);
+            byte[] action = String.valueOf(message.getActions()).getBytes(StandardCharsets.UTF_8);
+            out.writeShort(action.length);
+            out.write(action);
+        }
+        SerializationContext.binaryWriter().writeValue((OutputStream) frame, message);
+
+        return frame.toFrame();
+    }
+
+    /**
+     * Decodes the body of a frame, i.e. everything after the length prefix.
+     *
+     * @param body the frame body, from its current position to its limit
+     * @return the decoded message
+     * @throws IOException if the body is malformed
+     */
+    public static SocketMessage decode(ByteBuffer body) throws IOException {
+        short code = body.getShort();
+        String action;
+        if (code == SocketOpcode.UNKNOWN_CODE) {
+            byte[] name = new byte[body.getShort() & 0xFFFF];
+            body.get(name);
+            action = new String(name, StandardCharsets.UTF_8);
+        } else {
+            SocketOpcode opcode = SocketOpcode.fromCode(code);
+            if (opcode == null)
+                throw new IOException("Unknown opcode " + code);
+            action = opcode.getAction();
+        }
+
+        SocketMessage message = SerializationContext.binaryReader()
+                .readValue(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        message.setActions(action);
+        return message;
+    }
+
+    /**
+     * Reads one frame from a blocking stream.
+     *
+     * @param in the stream to read from
+     * @return the decoded message
+     * @throws IOException if the stream ends or the frame is malformed
+     */
+    public static SocketMessage read(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 2 || length > MAX_FRAME_LENGTH)
+            throw new IOException("Invalid frame length " + length);
+        byte[] body = new byte[length];
+        in.readFully(body);
+        return decode(ByteBuffer.wrap(body));
+    }
+
+    /**
+     * Byte sink that hands its buffer over without copying it and patches the length prefix.
+     */
+    private static class FrameOutputStream extends ByteArrayOutputStream {
+
+        FrameOutputStream() {
+            super(256);
+        }
+
+        ByteBuffer toFrame() {
+            ByteBuffer frame = ByteBuffer.wrap(buf, 0, count);
+            frame.putInt(0, count - LENGTH_FIELD_SIZE);
+            return frame;
+        }
+    }
+
+}
@@ -0,0 +1,328 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.card.PlayerChoicesDataStructure;
+import it.polimi.ingsw.is25am33.model.enumFiles.CrewMember;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static it.polimi.ingsw.is25am33.serializationLayer.SocketOpcode.*;
+
+/**
+ * A request sent by a client to the server over a socket, one record per action, holding only the parameters
+ * of its action.
+ * <p>
+ * On the wire a request travels in a {@link SocketMessage}, the envelope carrying the sender, the action and the
+ * correlation id, with each parameter in its named field: {@link #encode} and {@link #decode} convert between the
+ * two. Both switch over every record, so an action added to the hierarchy does not compile until it is encoded
+ * and handled.
+ */
+public sealed interface ClientRequest {
+
+    /**
+     * Returns the action of the request.
+     *
+     * @return the opcode of the action
+     */
+    SocketOpcode opcode();
+
+    record Ping() implements ClientRequest {
+        public SocketOpcode opcode() { return PING; }
+    }
+
+    record Pong() implements ClientRequest {
+        public SocketOpcode opcode() { return PONG; }
+    }
+
+    record RegisterWithNickname() implements ClientRequest {
+        public SocketOpcode opcode() { return REGISTER_WITH_NICKNAME; }
+    }
+
+    record GetAvailableGames() implements ClientRequest {
+        public SocketOpcode opcode() { return GET_AVAILABLE_GAMES; }
+    }
+
+    record CreateGame(PlayerColor color, int numPlayers, boolean isTestFlight) implements ClientRequest {
+        public SocketOpcode opcode() { return CREATE_GAME; }
+    }
+
+    record JoinGame(String gameId, PlayerColor color) implements ClientRequest {
+        public SocketOpcode opcode() { return JOIN_GAME; }
+    }
+
+    record LeaveGameAfterCreation() implements ClientRequest {
+        public SocketOpcode opcode() { return LEAVE_GAME_AFTER_CREATION; }
+    }
+
+    record LeaveGameBeforeCreation() implements ClientRequest {
+        public SocketOpcode opcode() { return LEAVE_GAME_BEFORE_CREATION; }
+    }
+
+    record ShowMessage(String message) implements ClientRequest {
+        public SocketOpcode opcode() { return SHOW_MESSAGE; }
+    }
+
+    record PlayerPicksHiddenComponent() implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_PICKS_HIDDEN_COMPONENT; }
+    }
+
+    record PlayerPicksVisibleComponent(Integer choice) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_PICKS_VISIBLE_COMPONENT; }
+    }
+
+    record PlayerWantsToFocusReservedComponent(int choice) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_FOCUS_RESERVED_COMPONENT; }
+    }
+
+    record PlayerWantsToPlaceFocusedComponent(Coordinates coordinates, int rotation) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_PLACE_FOCUSED_COMPONENT; }
+    }
+
+    record PlayerWantsToReserveFocusedComponent() implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_RESERVE_FOCUSED_COMPONENT; }
+    }
+
+    record PlayerWantsToReleaseFocusedComponent() implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_RELEASE_FOCUSED_COMPONENT; }
+    }
+
+    record PlayerWantsToRestartHourglass() implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_RESTART_HOURGLASS; }
+    }
+
+    record NotifyHourglassEnded() implements ClientRequest {
+        public SocketOpcode opcode() { return NOTIFY_HOURGLASS_ENDED; }
+    }
+
+    record PlayerWantsToRemoveComponent(Coordinates coordinates) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_REMOVE_COMPONENT; }
+    }
+
+    record PlayerChoseShipPart(Set<Coordinates> shipPart) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_CHOSE_SHIP_PART; }
+    }
+
+    record PlayerEndsBuildShipBoardPhase() implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_ENDS_BUILD_SHIP_BOARD_PHASE; }
+    }
+
+    record PlayerPlacePlaceholder() implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_PLACE_PLACEHOLDER; }
+    }
+
+    record SubmitCrewChoices(Map<Coordinates, CrewMember> choices) implements ClientRequest {
+        public SocketOpcode opcode() { return SUBMIT_CREW_CHOICES; }
+    }
+
+    record RequestPrefabShips() implements ClientRequest {
+        public SocketOpcode opcode() { return REQUEST_PREFAB_SHIPS; }
+    }
+
+    record RequestSelectPrefabShip(String prefabShipId) implements ClientRequest {
+        public SocketOpcode opcode() { return REQUEST_SELECT_PREFAB_SHIP; }
+    }
+
+    record RequestShipBoardSnapshot(String shipOwnerNickname) implements ClientRequest {
+        public SocketOpcode opcode() { return REQUEST_SHIP_BOARD_SNAPSHOT; }
+    }
+
+    record HandleClientChoice(PlayerChoicesDataStructure choice) implements ClientRequest {
+        public SocketOpcode opcode() { return HANDLE_CLIENT_CHOICE; }
+    }
+
+    record PlayerWantsToVisitLocation(Boolean choice) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_VISIT_LOCATION; }
+    }
+
+    record PlayerWantsToThrowDices() implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_THROW_DICES; }
+    }
+
+    record PlayerWantsToVisitPlanet(int choice) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_VISIT_PLANET; }
+    }
+
+    record PlayerWantsToAcceptTheReward(Boolean choice) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_ACCEPT_THE_REWARD; }
+    }
+
+    record PlayerChoseDoubleEngines(List<Coordinates> doubleEnginesCoords, List<Coordinates> batteryBoxesCoords) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_CHOSE_DOUBLE_ENGINES; }
+    }
+
+    record PlayerChoseDoubleCannons(List<Coordinates> doubleCannonsCoords, List<Coordinates> batteryBoxesCoords) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_CHOSE_DOUBLE_CANNONS; }
+    }
+
+    record PlayerChoseCabins(List<Coordinates> cabinsCoords) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_CHOSE_CABINS; }
+    }
+
+    record PlayerChoseStorage(List<Coordinates> storageCoords) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_CHOSE_STORAGE; }
+    }
+
+    record PlayerHandleSmallMeteorite(List<Coordinates> shieldCoords, List<Coordinates> batteryBoxCoords) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_HANDLE_SMALL_METEORITE; }
+    }
+
+    record PlayerHandleBigMeteorite(List<Coordinates> doubleCannonCoords, List<Coordinates> batteryBoxCoords) implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_HANDLE_BIG_METEORITE; }
+    }
+
+    record PlayerHandleBigShot() implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_HANDLE_BIG_SHOT; }
+    }
+
+    record SpreadEpidemic() implements ClientRequest {
+        public SocketOpcode opcode() { return SPREAD_EPIDEMIC; }
+    }
+
+    record StardustEvent() implements ClientRequest {
+        public SocketOpcode opcode() { return STARDUST_EVENT; }
+    }
+
+    record EvaluatedCrewMembers() implements ClientRequest {
+        public SocketOpcode opcode() { return EVALUATED_CREW_MEMBERS; }
+    }
+
+    record StartCheckShipBoardAfterAttack() implements ClientRequest {
+        public SocketOpcode opcode() { return START_CHECK_SHIP_BOARD_AFTER_ATTACK; }
+    }
+
+    record PlayerWantsToLand() implements ClientRequest {
+        public SocketOpcode opcode() { return PLAYER_WANTS_TO_LAND; }
+    }
+
+    record DebugSkipToLastCard() implements ClientRequest {
+        public SocketOpcode opcode() { return DEBUG_SKIP_TO_LAST_CARD; }
+    }
+
+    /**
+     * Puts a request in its envelope, with only the parameters of its action set.
+     *
+     * @param senderNickname the nickname of the client sending the request
+     * @param request the request
+     * @return the message to send
+     */
+    static SocketMessage encode(String senderNickname, ClientRequest request) {
+        SocketMessage message = new SocketMessage(senderNickname, request.opcode().getAction());
+        switch (request) {
+            case CreateGame createGame -> {
+                message.setParamPlayerColor(createGame.color());
+                message.setParamInt(createGame.numPlayers());
+                message.setParamBoolean(createGame.isTestFlight());
+            }
+            case JoinGame joinGame -> {
+                message.setParamGameId(joinGame.gameId());
+                message.setParamPlayerColor(joinGame.color());
+            }
+            case ShowMessage showMessage -> message.setParamString(showMessage.message());
+            case PlayerPicksVisibleComponent pick -> message.setParamInt(pick.choice());
+            case PlayerWantsToFocusReservedComponent focus -> message.setParamInt(focus.choice());
+            case PlayerWantsToPlaceFocusedComponent place -> {
+                message.setParamCoordinates(place.coordinates());
+                message.setParamInt(place.rotation());
+            }
+            case PlayerWantsToRemoveComponent remove -> message.setParamCoordinates(remove.coordinates());
+            case PlayerChoseShipPart shipPart -> message.setParamShipPart(shipPart.shipPart());
+            case SubmitCrewChoices crewChoices -> message.setParamCrewChoices(crewChoices.choices());
+            case RequestSelectPrefabShip select -> message.setParamString(select.prefabShipId());
+            case RequestShipBoardSnapshot snapshot -> message.setParamString(snapshot.shipOwnerNickname());
+            case HandleClientChoice choice -> message.setParamChoice(choice.choice());
+            case PlayerWantsToVisitLocation visit -> message.setParamBoolean(visit.choice());
+            case PlayerWantsToVisitPlanet visit -> message.setParamInt(visit.choice());
+            case PlayerWantsToAcceptTheReward reward -> message.setParamBoolean(reward.choice());
+            case PlayerChoseDoubleEngines engines -> {
+                message.setParamActivableCoordinates(engines.doubleEnginesCoords());
+                message.setParamBatteryBoxCoordinates(engines.batteryBoxesCoords());
+            }
+            case PlayerChoseDoubleCannons cannons -> {
+                message.setParamActivableCoordinates(cannons.doubleCannonsCoords());
+                message.setParamBatteryBoxCoordinates(cannons.batteryBoxesCoords());
+            }
+            case PlayerChoseCabins cabins -> message.setParamCabinCoordinates(cabins.cabinsCoords());
+            case PlayerChoseStorage storage -> message.setParamActivableCoordinates(storage.storageCoords());
+            case PlayerHandleSmallMeteorite meteorite -> {
+                message.setParamActivableCoordinates(meteorite.shieldCoords());
+                message.setParamBatteryBoxCoordinates(meteorite.batteryBoxCoords());
+            }
+            case PlayerHandleBigMeteorite meteorite -> {
+                message.setParamActivableCoordinates(meteorite.doubleCannonCoords());
+                message.setParamBatteryBoxCoordinates(meteorite.batteryBoxCoords());
+            }
+            case Ping _, Pong _, RegisterWithNickname _, GetAvailableGames _, LeaveGameAfterCreation _,
+                 LeaveGameBeforeCreation _, PlayerPicksHiddenComponent _, PlayerWantsToReserveFocusedComponent _,
+                 PlayerWantsToReleaseFocusedComponent _, PlayerWantsToRestartHourglass _, NotifyHourglassEnded _,
+                 PlayerEndsBuildShipBoardPhase _, PlayerPlacePlaceholder _, RequestPrefabShips _,
+                 PlayerWantsToThrowDices _, PlayerHandleBigShot _, SpreadEpidemic _, StardustEvent _,
+                 EvaluatedCrewMembers _, StartCheckShipBoardAfterAttack _, PlayerWantsToLand _,
+                 DebugSkipToLastCard _ -> {
+                // no parameters
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Takes a request out of its envelope.
+     *
+     * @param message the received message
+     * @return the request, or null if the action of the message is not one a client can send
+     */
+    static ClientRequest decode(SocketMessage message) {
+        SocketOpcode opcode = SocketOpcode.fromAction(message.getActions());
+        if (opcode == null)
+            return null;
+        return switch (opcode) {
+            case PING -> new Ping();
+            case PONG -> new Pong();
+            case REGISTER_WITH_NICKNAME -> new RegisterWithNickname();
+            case GET_AVAILABLE_GAMES -> new GetAvailableGames();
+            case CREATE_GAME -> new CreateGame(message.getParamPlayerColor(), message.getParamInt(), message.getParamBoolean());
+            case JOIN_GAME -> new JoinGame(message.getParamGameId(), message.getParamPlayerColor());
+            case LEAVE_GAME_AFTER_CREATION -> new LeaveGameAfterCreation();
+            case LEAVE_GAME_BEFORE_CREATION -> new LeaveGameBeforeCreation();
+            case SHOW_MESSAGE -> new ShowMessage(message.getParamString());
+            case PLAYER_PICKS_HIDDEN_COMPONENT -> new PlayerPicksHiddenComponent();
+            case PLAYER_PICKS_VISIBLE_COMPONENT -> new PlayerPicksVisibleComponent(message.getParamInt());
+            case PLAYER_WANTS_TO_FOCUS_RESERVED_COMPONENT -> new PlayerWantsToFocusReservedComponent(message.getParamInt());
+            case PLAYER_WANTS_TO_PLACE_FOCUSED_COMPONENT -> new PlayerWantsToPlaceFocusedComponent(message.getParamCoordinates(), message.getParamInt());
+            case PLAYER_WANTS_TO_RESERVE_FOCUSED_COMPONENT -> new PlayerWantsToReserveFocusedComponent();
+            case PLAYER_WANTS_TO_RELEASE_FOCUSED_COMPONENT -> new PlayerWantsToReleaseFocusedComponent();
+            case PLAYER_WANTS_TO_RESTART_HOURGLASS -> new PlayerWantsToRestartHourglass();
+            case NOTIFY_HOURGLASS_ENDED -> new NotifyHourglassEnded();
+            case PLAYER_WANTS_TO_REMOVE_COMPONENT -> new PlayerWantsToRemoveComponent(message.getParamCoordinates());
+            case PLAYER_CHOSE_SHIP_PART -> new PlayerChoseShipPart(message.getParamShipPart());
+            case PLAYER_ENDS_BUILD_SHIP_BOARD_PHASE -> new PlayerEndsBuildShipBoardPhase();
+            case PLAYER_PLACE_PLACEHOLDER -> new PlayerPlacePlaceholder();
+            case SUBMIT_CREW_CHOICES -> new SubmitCrewChoices(message.getParamCrewChoices());
+            case REQUEST_PREFAB_SHIPS -> new RequestPrefabShips();
+            case REQUEST_SELECT_PREFAB_SHIP -> new RequestSelectPrefabShip(message.getParamString());
+            case REQUEST_SHIP_BOARD_SNAPSHOT -> new RequestShipBoardSnapshot(message.getParamString());
+            case HANDLE_CLIENT_CHOICE -> new HandleClientChoice(message.getParamChoice());
+            case PLAYER_WANTS_TO_VISIT_LOCATION -> new PlayerWantsToVisitLocation(message.getParamBoolean());
+            case PLAYER_WANTS_TO_THROW_DICES -> new PlayerWantsToThrowDices();
+            case PLAYER_WANTS_TO_VISIT_PLANET -> new PlayerWantsToVisitPlanet(message.getParamInt());
+            case PLAYER_WANTS_TO_ACCEPT_THE_REWARD -> new PlayerWantsToAcceptTheReward(message.getParamBoolean());
+            case PLAYER_CHOSE_DOUBLE_ENGINES -> new PlayerChoseDoubleEngines(message.getParamActivableCoordinates(), message.getParamBatteryBoxCoordinates());
+            case PLAYER_CHOSE_DOUBLE_CANNONS -> new PlayerChoseDoubleCannons(message.getParamActivableCoordinates(), message.getParamBatteryBoxCoordinates());
+            case PLAYER_CHOSE_CABINS -> new PlayerChoseCabins(message.getParamCabinCoordinates());
+            case PLAYER_CHOSE_STORAGE -> new PlayerChoseStorage(message.getParamActivableCoordinates());
+            case PLAYER_HANDLE_SMALL_METEORITE -> new PlayerHandleSmallMeteorite(message.getParamActivableCoordinates(), message.getParamBatteryBoxCoordinates());
+            case PLAYER_HANDLE_BIG_METEORITE -> new PlayerHandleBigMeteorite(message.getParamActivableCoordinates(), message.getParamBatteryBoxCoordinates());
+            case PLAYER_HANDLE_BIG_SHOT -> new PlayerHandleBigShot();
+            case SPREAD_EPIDEMIC -> new SpreadEpidemic();
+            case STARDUST_EVENT -> new StardustEvent();
+            case EVALUATED_CREW_MEMBERS -> new EvaluatedCrewMembers();
+            case START_CHECK_SHIP_BOARD_AFTER_ATTACK -> new StartCheckShipBoardAfterAttack();
+            case PLAYER_WANTS_TO_LAND -> new PlayerWantsToLand();
+            case DEBUG_SKIP_TO_LAST_CARD -> new DebugSkipToLastCard();
+            default -> null;
+        };
+    }
+
+}
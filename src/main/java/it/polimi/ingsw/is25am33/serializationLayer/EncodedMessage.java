@@ -0,0 +1,59 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A {@link SocketMessage} together with its encoded bytes, so that a message sent to many clients
+ * is serialized once per {@link WireProtocol} instead of once per recipient.
+ * <p>
+ * Each encoding is produced on first request and kept in memory; every call to
+ * {@link #encode(WireProtocol)} returns an independent view of the same bytes, which can be written
+ * to a socket without affecting the other recipients.
+ */
+public class EncodedMessage {
+
+    private final SocketMessage message;
+    private final Map<WireProtocol, ByteBuffer> encodings = new EnumMap<>(WireProtocol.class);
+
+    /**
+     * Wraps a message to be encoded on demand.
+     *
+     * @param message the message to share between recipients
+     */
+    public EncodedMessage(SocketMessage message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the wrapped message.
+     *
+     * @return the message
+     */
+    public SocketMessage getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the message encoded for the given protocol: a newline-terminated JSON line for
+     * {@link WireProtocol#TEXT}, a complete frame for {@link WireProtocol#BINARY}.
+     *
+     * @param protocol the protocol of the recipient
+     * @return a new buffer over the shared encoded bytes, positioned at their start
+     * @throws IOException if the message cannot be encoded
+     */
+    public synchronized ByteBuffer encode(WireProtocol protocol) throws IOException {
+        ByteBuffer encoded = encodings.get(protocol);
+        if (encoded == null) {
+            encoded = protocol == WireProtocol.BINARY
+                    ? BinaryFrameCodec.encode(message)
+                    : ByteBuffer.wrap((SerializationContext.write(message) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            encodings.put(protocol, encoded);
+        }
+        return encoded.duplicate();
+    }
+
+}
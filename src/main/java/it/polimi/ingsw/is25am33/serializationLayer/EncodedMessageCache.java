@@ -0,0 +1,31 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link EncodedMessage}s produced while delivering one notification to several clients.
+ * Recipients that receive a message with the same action and parameters share the same instance,
+ * so that it is encoded once per {@link WireProtocol} however many clients receive it.
+ */
+public class EncodedMessageCache {
+
+    private final List<EncodedMessage> shared = new ArrayList<>();
+
+    /**
+     * Returns the shared encoding of a message, creating it if no equal message was seen before.
+     *
+     * @param message the message to send
+     * @return an encoded message with the same payload as the given one
+     */
+    public synchronized EncodedMessage share(SocketMessage message) {
+        for (EncodedMessage candidate : shared)
+            if (candidate.getMessage().hasSamePayload(message))
+                return candidate;
+
+        EncodedMessage created = new EncodedMessage(message);
+        shared.add(created);
+        return created;
+    }
+
+}
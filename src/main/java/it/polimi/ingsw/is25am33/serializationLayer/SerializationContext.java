@@ -0,0 +1,153 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import it.polimi.ingsw.is25am33.client.model.card.ClientCard;
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.component.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single, shared Jackson configuration used by every serializer and deserializer of the socket protocol.
+ * <p>
+ * Building an {@link ObjectMapper} is expensive and so is the first (de)serialization of a type, since Jackson
+ * introspects it and builds its serializers lazily. This class creates the mapper once and keeps an
+ * {@link ObjectReader} and an {@link ObjectWriter} per type; readers and writers are immutable and thread-safe,
+ * so they can be shared by every connection. The types exchanged most often, including the polymorphic
+ * {@link Component} and {@link ClientCard} hierarchies, are prepared eagerly.
+ */
+public final class SerializationContext {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    static {
+        mapper.registerModule(new Jdk8Module());
+    }
+
+    /**
+     * Mapper of the binary wire protocol: same configuration, Smile encoding, and no action string
+     * in the outermost message, since its action travels as an opcode in the frame header.
+     * Messages nested in a {@code notifyEvents} message keep their action string.
+     */
+    private static final ObjectMapper binaryMapper = new ObjectMapper(new SmileFactory());
+    static {
+        binaryMapper.registerModule(new Jdk8Module());
+        binaryMapper.addMixIn(SocketMessage.class, WithoutOuterActions.class);
+    }
+    private static final ObjectReader binaryReader = binaryMapper.readerFor(SocketMessage.class);
+    private static final ObjectWriter binaryWriter = binaryMapper.writerFor(SocketMessage.class)
+            .with(new SimpleFilterProvider().addFilter(WithoutOuterActions.FILTER, new SimpleBeanPropertyFilter() {
+                @Override
+                public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider, PropertyWriter writer) throws Exception {
+                    if ("actions".equals(writer.getName()) && generator.getOutputContext().getParent().inRoot())
+                        return;
+                    super.serializeAsField(pojo, generator, provider, writer);
+                }
+            }));
+
+    @JsonFilter(WithoutOuterActions.FILTER)
+    private abstract static class WithoutOuterActions {
+        private static final String FILTER = "withoutOuterActions";
+    }
+
+    private static final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    static {
+        readerFor(SocketMessage.class);
+        writerFor(SocketMessage.class);
+        readerFor(Component.class);
+        writerFor(Component.class);
+        readerFor(ClientCard.class);
+        writerFor(ClientCard.class);
+        listReaderFor(Coordinates.class);
+    }
+
+    private SerializationContext() {}
+
+    /**
+     * Returns the shared mapper. Callers must not change its configuration.
+     *
+     * @return the shared, pre-configured mapper
+     */
+    public static ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Returns the cached reader for the given type, creating it on first use.
+     *
+     * @param type the type to read
+     * @return a thread-safe reader for the type
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return readerFor(mapper.constructType(type));
+    }
+
+    /**
+     * Returns the cached reader for a list of the given element type, creating it on first use.
+     *
+     * @param elementType the type of the list elements
+     * @return a thread-safe reader for {@code List<elementType>}
+     */
+    public static ObjectReader listReaderFor(Class<?> elementType) {
+        return readerFor(mapper.getTypeFactory().constructCollectionType(List.class, elementType));
+    }
+
+    /**
+     * Returns the cached writer for the given type, creating it on first use.
+     *
+     * @param type the type to write
+     * @return a thread-safe writer for the type
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(mapper.constructType(type), mapper::writerFor);
+    }
+
+    /**
+     * Returns the reader of {@link SocketMessage} bodies in {@link WireProtocol#BINARY} frames.
+     *
+     * @return the binary message reader
+     */
+    public static ObjectReader binaryReader() {
+        return binaryReader;
+    }
+
+    /**
+     * Returns the writer of {@link SocketMessage} bodies in {@link WireProtocol#BINARY} frames.
+     *
+     * @return the binary message writer
+     */
+    public static ObjectWriter binaryWriter() {
+        return binaryWriter;
+    }
+
+    /**
+     * Serializes a value using the cached writer of its runtime type.
+     *
+     * @param value the value to serialize, may be null
+     * @return the JSON representation of the value
+     * @throws JsonProcessingException if the value cannot be serialized
+     */
+    public static String write(Object value) throws JsonProcessingException {
+        return writerFor(value == null ? Object.class : value.getClass()).writeValueAsString(value);
+    }
+
+    private static ObjectReader readerFor(JavaType type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+}
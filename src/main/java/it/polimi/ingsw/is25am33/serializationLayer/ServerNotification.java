@@ -0,0 +1,593 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.client.model.PrefabShipInfo;
+import it.polimi.ingsw.is25am33.client.model.card.ClientCard;
+import it.polimi.ingsw.is25am33.client.model.card.ClientDangerousObject;
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.board.ShipBoardDelta;
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.model.enumFiles.CardState;
+import it.polimi.ingsw.is25am33.model.enumFiles.GameState;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import it.polimi.ingsw.is25am33.model.game.GameInfo;
+import it.polimi.ingsw.is25am33.model.game.PlayerFinalData;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static it.polimi.ingsw.is25am33.serializationLayer.SocketOpcode.*;
+
+/**
+ * A notification or a reply sent by the server to a client over a socket, one record per action, holding only
+ * the parameters of its action.
+ * <p>
+ * On the wire a notification travels in a {@link SocketMessage}, as a {@link ClientRequest} does, and
+ * {@link #encode} and {@link #decode} convert between the two, switching over every record.
+ * RMI clients receive the records themselves when several notifications are batched, see
+ * {@link CallableOnClientController#notifyEvents}, and {@link #applyTo} turns a record back into its call.
+ */
+public sealed interface ServerNotification extends Serializable {
+
+    /**
+     * Returns the action of the notification.
+     *
+     * @return the opcode of the action
+     */
+    SocketOpcode opcode();
+
+    record Ping() implements ServerNotification {
+        public SocketOpcode opcode() { return PING; }
+    }
+
+    record Pong() implements ServerNotification {
+        public SocketOpcode opcode() { return PONG; }
+    }
+
+    record NotifyRegistrationSuccess() implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_REGISTRATION_SUCCESS; }
+    }
+
+    record NotifyNicknameAlreadyExists() implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_NICKNAME_ALREADY_EXISTS; }
+    }
+
+    record NotifyAvailableGames(List<GameInfo> gameInfos) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_AVAILABLE_GAMES; }
+    }
+
+    record NotifyGameCreated(GameInfo gameInfo) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_GAME_CREATED; }
+    }
+
+    record NotifyJoinGameResult(boolean joined) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_JOIN_GAME_RESULT; }
+    }
+
+    /**
+     * The notifications of one server action, applied in order before any other message.
+     */
+    record NotifyEvents(List<ServerNotification> events) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_EVENTS; }
+    }
+
+    record NotifyGameInfos(List<GameInfo> gameInfos) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_GAME_INFOS; }
+    }
+
+    record NotifyNewPlayerJoined(String gameId, String newPlayerNickname, PlayerColor color) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_NEW_PLAYER_JOINED; }
+    }
+
+    record NotifyGameStarted(GameInfo gameInfo) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_GAME_STARTED; }
+    }
+
+    record NotifyGameState(GameState gameState) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_GAME_STATE; }
+    }
+
+    record NotifyHourglassRestarted(String nickname, Integer flipsLeft) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_HOURGLASS_RESTARTED; }
+    }
+
+    record NotifyHourglassStarted(String nickname, int flipsLeft, long deadlineMillis) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_HOURGLASS_STARTED; }
+    }
+
+    record NotifyStopHourglass() implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_STOP_HOURGLASS; }
+    }
+
+    record NotifyFirstToEnter() implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_FIRST_TO_ENTER; }
+    }
+
+    record NotifyChooseComponent(String nickname, Component component) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_CHOOSE_COMPONENT; }
+    }
+
+    record NotifyReleaseComponent(String nickname) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_RELEASE_COMPONENT; }
+    }
+
+    record NotifyBookedComponent(String nickname, Component component) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_BOOKED_COMPONENT; }
+    }
+
+    record NotifyErrorWhileBookingComponent(String nickname, Component focusedComponent) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_ERROR_WHILE_BOOKING_COMPONENT; }
+    }
+
+    record NotifyAddVisibleComponents(int index, Component component) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_ADD_VISIBLE_COMPONENTS; }
+    }
+
+    record NotifyRemoveVisibleComponents(int index) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_REMOVE_VISIBLE_COMPONENTS; }
+    }
+
+    record NotifyStolenVisibleComponent() implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_STOLEN_VISIBLE_COMPONENT; }
+    }
+
+    record NotifyNoMoreHiddenComponents() implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_NO_MORE_HIDDEN_COMPONENTS; }
+    }
+
+    record NotifyComponentPlaced(String nickname, Component component, Coordinates coordinates) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_COMPONENT_PLACED; }
+    }
+
+    record NotifyShipBoardUpdate(String nickname, ShipBoardDelta shipBoardDelta) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_SHIP_BOARD_UPDATE; }
+    }
+
+    record NotifyVisibleDeck(List<List<ClientCard>> littleVisibleDecks) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_VISIBLE_DECK; }
+    }
+
+    record NotifyInvalidShipBoard(String shipOwnerNickname, Component[][] shipMatrix,
+                                  Set<Coordinates> incorrectlyPositionedComponentsCoordinates,
+                                  Map<Class<?>, List<Component>> componentsPerType,
+                                  List<Component> notActiveComponentsList) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_INVALID_SHIP_BOARD; }
+    }
+
+    record NotifyValidShipBoard(String shipOwnerNickname, Component[][] shipMatrix,
+                                Set<Coordinates> incorrectlyPositionedComponentsCoordinates,
+                                Map<Class<?>, List<Component>> componentsPerType,
+                                List<Component> notActiveComponentsList) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_VALID_SHIP_BOARD; }
+    }
+
+    record NotifyShipPartsGeneratedDueToRemoval(String shipOwnerNickname, Component[][] shipMatrix,
+                                                Set<Coordinates> incorrectlyPositionedComponentsCoordinates,
+                                                Set<Set<Coordinates>> shipParts,
+                                                Map<Class<?>, List<Component>> componentsPerType) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_SHIP_PARTS_GENERATED_DUE_TO_REMOVAL; }
+    }
+
+    record NotifyComponentPerType(String playerNickname, Map<Class<?>, List<Component>> componentsPerType) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_COMPONENT_PER_TYPE; }
+    }
+
+    record NotifyNotActiveComponents(String nickname, List<Component> notActiveComponents) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_NOT_ACTIVE_COMPONENTS; }
+    }
+
+    record NotifyCrewPlacementPhase() implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_CREW_PLACEMENT_PHASE; }
+    }
+
+    record NotifyCrewPlacementComplete(String playerNickname, Component[][] shipMatrix,
+                                       Map<Class<?>, List<Component>> componentsPerType) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_CREW_PLACEMENT_COMPLETE; }
+    }
+
+    record NotifyPrefabShipsAvailable(List<PrefabShipInfo> prefabShips) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_PREFAB_SHIPS_AVAILABLE; }
+    }
+
+    record NotifyPlayerSelectedPrefabShip(String playerNickname, PrefabShipInfo prefabShipInfo) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_PLAYER_SELECTED_PREFAB_SHIP; }
+    }
+
+    record NotifyPrefabShipSelectionResult(boolean success, String errorMessage) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_PREFAB_SHIP_SELECTION_RESULT; }
+    }
+
+    record NotifyCurrPlayerChanged(String nickname) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_CURR_PLAYER_CHANGED; }
+    }
+
+    record NotifyCurrAdventureCard(ClientCard adventureCard, boolean isFirstTime) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_CURR_ADVENTURE_CARD; }
+    }
+
+    record NotifyCurrAdventureCardUpdate(ClientCard adventureCard) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_CURR_ADVENTURE_CARD_UPDATE; }
+    }
+
+    record NotifyCardState(CardState cardState) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_CARD_STATE; }
+    }
+
+    record NotifyDangerousObjAttack(ClientDangerousObject dangerousObj) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_DANGEROUS_OBJ_ATTACK; }
+    }
+
+    record NotifyPlayerVisitedPlanet(String nickname, ClientCard adventureCard) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_PLAYER_VISITED_PLANET; }
+    }
+
+    record NotifyCoordinateOfComponentHit(String nickname, Coordinates coordinates) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_COORDINATE_OF_COMPONENT_HIT; }
+    }
+
+    record NotifyInfectedCrewMembersRemoved(Set<Coordinates> cabinCoordinatesWithNeighbors) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_INFECTED_CREW_MEMBERS_REMOVED; }
+    }
+
+    record NotifyLeastResourcedPlayer(String nicknameAndMotivations) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_LEAST_RESOURCED_PLAYER; }
+    }
+
+    record NotifyStorageError(String errorMessage) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_STORAGE_ERROR; }
+    }
+
+    record NotifyPlayerCredits(String nickname, int credits) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_PLAYER_CREDITS; }
+    }
+
+    record NotifyRankingUpdate(String nickname, int newPosition) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_RANKING_UPDATE; }
+    }
+
+    record NotifyEliminatedPlayer(String nickname) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_ELIMINATED_PLAYER; }
+    }
+
+    record NotifyPlayerEarlyLanded(String nickname) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_PLAYER_EARLY_LANDED; }
+    }
+
+    record NotifyPlayersFinalData(List<PlayerFinalData> finalRanking,
+                                  List<String> playersNicknamesWithPrettiestShip) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_PLAYERS_FINAL_DATA; }
+    }
+
+    record NotifyPlayerDisconnected(String disconnectedPlayer) implements ServerNotification {
+        public SocketOpcode opcode() { return NOTIFY_PLAYER_DISCONNECTED; }
+    }
+
+    record ForcedDisconnection(String gameId) implements ServerNotification {
+        public SocketOpcode opcode() { return FORCED_DISCONNECTION; }
+    }
+
+    /**
+     * Performs the notification on a client controller, calling the method the record stands for.
+     *
+     * @param nicknameToNotify the nickname of the notified client
+     * @param clientController the controller to notify
+     * @throws IOException if the notification fails, or if the record is a reply to a request rather than a notification
+     */
+    default void applyTo(String nicknameToNotify, CallableOnClientController clientController) throws IOException {
+        switch (this) {
+            case NotifyEvents events -> {
+                for (ServerNotification event : events.events()) {
+                    if (event == null)
+                        throw new RemoteException("Unknown notification in notifyEvents");
+                    event.applyTo(nicknameToNotify, clientController);
+                }
+            }
+            case NotifyRegistrationSuccess _, NotifyNicknameAlreadyExists _, NotifyAvailableGames _, NotifyGameCreated _,
+                 NotifyJoinGameResult _ -> throw new RemoteException("Not a notification: " + opcode().getAction());
+            case Ping _ -> clientController.pingToClientFromServer(nicknameToNotify);
+            case Pong _ -> clientController.pongToClientFromServer(nicknameToNotify);
+            case NotifyGameInfos infos -> clientController.notifyGameInfos(nicknameToNotify, infos.gameInfos());
+            case NotifyNewPlayerJoined joined ->
+                    clientController.notifyNewPlayerJoined(nicknameToNotify, joined.gameId(), joined.newPlayerNickname(), joined.color());
+            case NotifyGameStarted started -> clientController.notifyGameStarted(nicknameToNotify, started.gameInfo());
+            case NotifyGameState state -> clientController.notifyGameState(nicknameToNotify, state.gameState());
+            case NotifyHourglassRestarted restarted ->
+                    clientController.notifyHourglassRestarted(nicknameToNotify, restarted.nickname(), restarted.flipsLeft());
+            case NotifyHourglassStarted started ->
+                    clientController.notifyHourglassStarted(nicknameToNotify, started.nickname(), started.flipsLeft(), started.deadlineMillis());
+            case NotifyStopHourglass _ -> clientController.notifyStopHourglass(nicknameToNotify);
+            case NotifyFirstToEnter _ -> clientController.notifyFirstToEnter(nicknameToNotify);
+            case NotifyChooseComponent focused -> clientController.notifyFocusedComponent(nicknameToNotify, focused.nickname(), focused.component());
+            case NotifyReleaseComponent released -> clientController.notifyReleaseComponent(nicknameToNotify, released.nickname());
+            case NotifyBookedComponent booked -> clientController.notifyBookedComponent(nicknameToNotify, booked.nickname(), booked.component());
+            case NotifyErrorWhileBookingComponent error ->
+                    clientController.notifyErrorWhileBookingComponent(nicknameToNotify, error.nickname(), error.focusedComponent());
+            case NotifyAddVisibleComponents added -> clientController.notifyAddVisibleComponents(nicknameToNotify, added.index(), added.component());
+            case NotifyRemoveVisibleComponents removed -> clientController.notifyRemoveVisibleComponents(nicknameToNotify, removed.index());
+            case NotifyStolenVisibleComponent _ -> clientController.notifyStolenVisibleComponent(nicknameToNotify);
+            case NotifyNoMoreHiddenComponents _ -> clientController.notifyNoMoreHiddenComponents(nicknameToNotify);
+            case NotifyComponentPlaced placed ->
+                    clientController.notifyComponentPlaced(nicknameToNotify, placed.nickname(), placed.component(), placed.coordinates());
+            case NotifyShipBoardUpdate update -> clientController.notifyShipBoardUpdate(nicknameToNotify, update.nickname(), update.shipBoardDelta());
+            case NotifyVisibleDeck deck -> clientController.notifyVisibleDeck(nicknameToNotify, deck.littleVisibleDecks());
+            case NotifyInvalidShipBoard invalid ->
+                    clientController.notifyInvalidShipBoard(nicknameToNotify, invalid.shipOwnerNickname(), invalid.shipMatrix(),
+                            invalid.incorrectlyPositionedComponentsCoordinates(), invalid.componentsPerType(), invalid.notActiveComponentsList());
+            case NotifyValidShipBoard valid ->
+                    clientController.notifyValidShipBoard(nicknameToNotify, valid.shipOwnerNickname(), valid.shipMatrix(),
+                            valid.incorrectlyPositionedComponentsCoordinates(), valid.componentsPerType(), valid.notActiveComponentsList());
+            case NotifyShipPartsGeneratedDueToRemoval removal ->
+                    clientController.notifyShipPartsGeneratedDueToRemoval(nicknameToNotify, removal.shipOwnerNickname(), removal.shipMatrix(),
+                            removal.incorrectlyPositionedComponentsCoordinates(), removal.shipParts(), removal.componentsPerType());
+            case NotifyComponentPerType perType ->
+                    clientController.notifyComponentPerType(nicknameToNotify, perType.playerNickname(), perType.componentsPerType());
+            case NotifyNotActiveComponents notActive ->
+                    clientController.notifyNotActiveComponents(nicknameToNotify, notActive.nickname(), notActive.notActiveComponents());
+            case NotifyCrewPlacementPhase _ -> clientController.notifyCrewPlacementPhase(nicknameToNotify);
+            case NotifyCrewPlacementComplete complete ->
+                    clientController.notifyCrewPlacementComplete(nicknameToNotify, complete.playerNickname(), complete.shipMatrix(), complete.componentsPerType());
+            case NotifyPrefabShipsAvailable available -> clientController.notifyPrefabShipsAvailable(nicknameToNotify, available.prefabShips());
+            case NotifyPlayerSelectedPrefabShip selected ->
+                    clientController.notifyPlayerSelectedPrefabShip(nicknameToNotify, selected.playerNickname(), selected.prefabShipInfo());
+            case NotifyPrefabShipSelectionResult result ->
+                    clientController.notifyPrefabShipSelectionResult(nicknameToNotify, result.success(), result.errorMessage());
+            case NotifyCurrPlayerChanged changed -> clientController.notifyCurrPlayerChanged(nicknameToNotify, changed.nickname());
+            case NotifyCurrAdventureCard card -> clientController.notifyCurrAdventureCard(nicknameToNotify, card.adventureCard(), card.isFirstTime());
+            case NotifyCurrAdventureCardUpdate update -> clientController.notifyCurrAdventureCardUpdate(nicknameToNotify, update.adventureCard());
+            case NotifyCardState state -> clientController.notifyCardState(nicknameToNotify, state.cardState());
+            case NotifyDangerousObjAttack attack -> clientController.notifyDangerousObjAttack(nicknameToNotify, attack.dangerousObj());
+            case NotifyPlayerVisitedPlanet visited ->
+                    clientController.notifyPlayerVisitedPlanet(nicknameToNotify, visited.nickname(), visited.adventureCard());
+            case NotifyCoordinateOfComponentHit hit ->
+                    clientController.notifyCoordinateOfComponentHit(nicknameToNotify, hit.nickname(), hit.coordinates());
+            case NotifyInfectedCrewMembersRemoved removed ->
+                    clientController.notifyInfectedCrewMembersRemoved(nicknameToNotify, removed.cabinCoordinatesWithNeighbors());
+            case NotifyLeastResourcedPlayer leastResourced ->
+                    clientController.notifyLeastResourcedPlayer(nicknameToNotify, leastResourced.nicknameAndMotivations());
+            case NotifyStorageError error -> clientController.notifyStorageError(nicknameToNotify, error.errorMessage());
+            case NotifyPlayerCredits credits -> clientController.notifyPlayerCredits(nicknameToNotify, credits.nickname(), credits.credits());
+            case NotifyRankingUpdate ranking -> clientController.notifyRankingUpdate(nicknameToNotify, ranking.nickname(), ranking.newPosition());
+            case NotifyEliminatedPlayer eliminated -> clientController.notifyEliminatedPlayer(nicknameToNotify, eliminated.nickname());
+            case NotifyPlayerEarlyLanded landed -> clientController.notifyPlayerEarlyLanded(nicknameToNotify, landed.nickname());
+            case NotifyPlayersFinalData finalData ->
+                    clientController.notifyPlayersFinalData(nicknameToNotify, finalData.finalRanking(), finalData.playersNicknamesWithPrettiestShip());
+            case NotifyPlayerDisconnected disconnected -> clientController.notifyPlayerDisconnected(nicknameToNotify, disconnected.disconnectedPlayer());
+            case ForcedDisconnection disconnection -> clientController.forcedDisconnection(nicknameToNotify, disconnection.gameId());
+        }
+    }
+
+    /**
+     * Puts a notification in its envelope, sent by "server", with only the parameters of its action set.
+     *
+     * @param notification the notification
+     * @return the message to send
+     */
+    static SocketMessage encode(ServerNotification notification) {
+        SocketMessage message = new SocketMessage("server", notification.opcode().getAction());
+        switch (notification) {
+            case NotifyAvailableGames available -> message.setParamGameInfo(available.gameInfos());
+            case NotifyGameCreated created -> message.setParamGameInfo(List.of(created.gameInfo()));
+            case NotifyJoinGameResult result -> message.setParamBoolean(result.joined());
+            case NotifyEvents events -> {
+                List<SocketMessage> messages = new ArrayList<>(events.events().size());
+                for (ServerNotification event : events.events())
+                    messages.add(encode(event));
+                message.setParamMessages(messages);
+            }
+            case NotifyGameInfos infos -> message.setParamGameInfo(infos.gameInfos());
+            case NotifyNewPlayerJoined joined -> {
+                message.setParamGameId(joined.gameId());
+                message.setParamString(joined.newPlayerNickname());
+                message.setParamPlayerColor(joined.color());
+            }
+            case NotifyGameStarted started -> message.setParamGameInfo(List.of(started.gameInfo()));
+            case NotifyGameState state -> message.setParamGameState(state.gameState());
+            case NotifyHourglassRestarted restarted -> {
+                message.setParamString(restarted.nickname());
+                message.setParamInt(restarted.flipsLeft());
+            }
+            case NotifyHourglassStarted started -> {
+                message.setParamString(started.nickname());
+                message.setParamInt(started.flipsLeft());
+                message.setParamLong(started.deadlineMillis());
+            }
+            case NotifyChooseComponent focused -> {
+                message.setParamString(focused.nickname());
+                message.setParamComponent(focused.component());
+            }
+            case NotifyReleaseComponent released -> message.setParamString(released.nickname());
+            case NotifyBookedComponent booked -> {
+                message.setParamString(booked.nickname());
+                message.setParamComponent(booked.component());
+            }
+            case NotifyErrorWhileBookingComponent error -> {
+                message.setParamString(error.nickname());
+                message.setParamComponent(error.focusedComponent());
+            }
+            case NotifyAddVisibleComponents added -> {
+                message.setParamInt(added.index());
+                message.setParamComponent(added.component());
+            }
+            case NotifyRemoveVisibleComponents removed -> message.setParamInt(removed.index());
+            case NotifyComponentPlaced placed -> {
+                message.setParamString(placed.nickname());
+                message.setParamComponent(placed.component());
+                message.setParamCoordinates(placed.coordinates());
+            }
+            case NotifyShipBoardUpdate update -> {
+                message.setParamString(update.nickname());
+                message.setParamShipBoardDelta(update.shipBoardDelta());
+            }
+            case NotifyVisibleDeck deck -> message.setParamLittleVisibleDecks(deck.littleVisibleDecks());
+            case NotifyInvalidShipBoard invalid -> {
+                message.setParamString(invalid.shipOwnerNickname());
+                message.setParamShipBoardAsMatrix(invalid.shipMatrix());
+                message.setParamIncorrectlyPositionedCoordinates(invalid.incorrectlyPositionedComponentsCoordinates());
+                message.setParamComponentsPerType(invalid.componentsPerType());
+                message.setParamComponentList(invalid.notActiveComponentsList());
+            }
+            case NotifyValidShipBoard valid -> {
+                message.setParamString(valid.shipOwnerNickname());
+                message.setParamShipBoardAsMatrix(valid.shipMatrix());
+                message.setParamIncorrectlyPositionedCoordinates(valid.incorrectlyPositionedComponentsCoordinates());
+                message.setParamComponentsPerType(valid.componentsPerType());
+                message.setParamComponentList(valid.notActiveComponentsList());
+            }
+            case NotifyShipPartsGeneratedDueToRemoval removal -> {
+                message.setParamString(removal.shipOwnerNickname());
+                message.setParamShipBoardAsMatrix(removal.shipMatrix());
+                message.setParamIncorrectlyPositionedCoordinates(removal.incorrectlyPositionedComponentsCoordinates());
+                message.setParamShipParts(removal.shipParts());
+                message.setParamComponentsPerType(removal.componentsPerType());
+            }
+            case NotifyComponentPerType perType -> {
+                message.setParamString(perType.playerNickname());
+                message.setParamComponentsPerType(perType.componentsPerType());
+            }
+            case NotifyNotActiveComponents notActive -> {
+                message.setParamString(notActive.nickname());
+                message.setParamComponentList(notActive.notActiveComponents());
+            }
+            case NotifyCrewPlacementComplete complete -> {
+                message.setParamString(complete.playerNickname());
+                message.setParamShipMatrix(complete.shipMatrix());
+                message.setParamComponentsPerType(complete.componentsPerType());
+            }
+            case NotifyPrefabShipsAvailable available -> message.setParamPrefabShips(available.prefabShips());
+            case NotifyPlayerSelectedPrefabShip selected -> {
+                message.setParamString(selected.playerNickname());
+                message.setParamPrefabShips(List.of(selected.prefabShipInfo()));
+            }
+            case NotifyPrefabShipSelectionResult result -> {
+                message.setParamBoolean(result.success());
+                message.setParamString(result.errorMessage());
+            }
+            case NotifyCurrPlayerChanged changed -> message.setParamString(changed.nickname());
+            case NotifyCurrAdventureCard card -> {
+                message.setParamClientCard(card.adventureCard());
+                message.setParamBoolean(card.isFirstTime());
+            }
+            case NotifyCurrAdventureCardUpdate update -> message.setParamClientCard(update.adventureCard());
+            case NotifyCardState state -> message.setParamCardState(state.cardState());
+            case NotifyDangerousObjAttack attack -> message.setParamDangerousObj(attack.dangerousObj());
+            case NotifyPlayerVisitedPlanet visited -> {
+                message.setParamString(visited.nickname());
+                message.setParamClientCard(visited.adventureCard());
+            }
+            case NotifyCoordinateOfComponentHit hit -> {
+                message.setParamString(hit.nickname());
+                message.setParamCoordinates(hit.coordinates());
+            }
+            case NotifyInfectedCrewMembersRemoved removed -> message.setParamShipPart(removed.cabinCoordinatesWithNeighbors());
+            case NotifyLeastResourcedPlayer leastResourced -> message.setParamString(leastResourced.nicknameAndMotivations());
+            case NotifyStorageError error -> message.setParamString(error.errorMessage());
+            case NotifyPlayerCredits credits -> {
+                message.setParamString(credits.nickname());
+                message.setParamInt(credits.credits());
+            }
+            case NotifyRankingUpdate ranking -> {
+                message.setParamString(ranking.nickname());
+                message.setParamInt(ranking.newPosition());
+            }
+            case NotifyEliminatedPlayer eliminated -> message.setParamString(eliminated.nickname());
+            case NotifyPlayerEarlyLanded landed -> message.setParamString(landed.nickname());
+            case NotifyPlayersFinalData finalData -> {
+                message.setParamPlayerFinalDataRanking(finalData.finalRanking());
+                message.setParamStringList(finalData.playersNicknamesWithPrettiestShip());
+            }
+            case NotifyPlayerDisconnected disconnected -> message.setParamString(disconnected.disconnectedPlayer());
+            case ForcedDisconnection disconnection -> message.setParamString(disconnection.gameId());
+            case Ping _, Pong _, NotifyRegistrationSuccess _, NotifyNicknameAlreadyExists _, NotifyStopHourglass _,
+                 NotifyFirstToEnter _, NotifyStolenVisibleComponent _, NotifyNoMoreHiddenComponents _,
+                 NotifyCrewPlacementPhase _ -> {
+                // no parameters
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Takes a notification out of its envelope.
+     *
+     * @param message the received message
+     * @return the notification, or null if the action of the message is not one the server sends
+     */
+    static ServerNotification decode(SocketMessage message) {
+        SocketOpcode opcode = SocketOpcode.fromAction(message.getActions());
+        if (opcode == null)
+            return null;
+        return switch (opcode) {
+            case PING -> new Ping();
+            case PONG -> new Pong();
+            case NOTIFY_REGISTRATION_SUCCESS -> new NotifyRegistrationSuccess();
+            case NOTIFY_NICKNAME_ALREADY_EXISTS -> new NotifyNicknameAlreadyExists();
+            case NOTIFY_AVAILABLE_GAMES -> new NotifyAvailableGames(message.getParamGameInfo());
+            case NOTIFY_GAME_CREATED -> new NotifyGameCreated(message.getParamGameInfo().getFirst());
+            case NOTIFY_JOIN_GAME_RESULT -> new NotifyJoinGameResult(message.getParamBoolean());
+            case NOTIFY_EVENTS -> {
+                List<ServerNotification> events = new ArrayList<>(message.getParamMessages().size());
+                for (SocketMessage event : message.getParamMessages())
+                    events.add(decode(event));
+                yield new NotifyEvents(events);
+            }
+            case NOTIFY_GAME_INFOS -> new NotifyGameInfos(message.getParamGameInfo());
+            case NOTIFY_NEW_PLAYER_JOINED -> new NotifyNewPlayerJoined(message.getParamGameId(), message.getParamString(), message.getParamPlayerColor());
+            case NOTIFY_GAME_STARTED -> new NotifyGameStarted(message.getParamGameInfo().getFirst());
+            case NOTIFY_GAME_STATE -> new NotifyGameState(message.getParamGameState());
+            case NOTIFY_HOURGLASS_RESTARTED -> new NotifyHourglassRestarted(message.getParamString(), message.getParamInt());
+            case NOTIFY_HOURGLASS_STARTED -> new NotifyHourglassStarted(message.getParamString(), message.getParamInt(), message.getParamLong());
+            case NOTIFY_STOP_HOURGLASS -> new NotifyStopHourglass();
+            case NOTIFY_FIRST_TO_ENTER -> new NotifyFirstToEnter();
+            case NOTIFY_CHOOSE_COMPONENT -> new NotifyChooseComponent(message.getParamString(), message.getParamComponent());
+            case NOTIFY_RELEASE_COMPONENT -> new NotifyReleaseComponent(message.getParamString());
+            case NOTIFY_BOOKED_COMPONENT -> new NotifyBookedComponent(message.getParamString(), message.getParamComponent());
+            case NOTIFY_ERROR_WHILE_BOOKING_COMPONENT -> new NotifyErrorWhileBookingComponent(message.getParamString(), message.getParamComponent());
+            case NOTIFY_ADD_VISIBLE_COMPONENTS -> new NotifyAddVisibleComponents(message.getParamInt(), message.getParamComponent());
+            case NOTIFY_REMOVE_VISIBLE_COMPONENTS -> new NotifyRemoveVisibleComponents(message.getParamInt());
+            case NOTIFY_STOLEN_VISIBLE_COMPONENT -> new NotifyStolenVisibleComponent();
+            case NOTIFY_NO_MORE_HIDDEN_COMPONENTS -> new NotifyNoMoreHiddenComponents();
+            case NOTIFY_COMPONENT_PLACED -> new NotifyComponentPlaced(message.getParamString(), message.getParamComponent(), message.getParamCoordinates());
+            case NOTIFY_SHIP_BOARD_UPDATE -> new NotifyShipBoardUpdate(message.getParamString(), message.getParamShipBoardDelta());
+            case NOTIFY_VISIBLE_DECK -> new NotifyVisibleDeck(message.getParamLittleVisibleDecks());
+            case NOTIFY_INVALID_SHIP_BOARD -> new NotifyInvalidShipBoard(message.getParamString(), message.getParamShipBoardAsMatrix(),
+                    message.getParamIncorrectlyPositionedCoordinates(), message.getParamComponentsPerType(), message.getParamComponentList());
+            case NOTIFY_VALID_SHIP_BOARD -> new NotifyValidShipBoard(message.getParamString(), message.getParamShipBoardAsMatrix(),
+                    message.getParamIncorrectlyPositionedCoordinates(), message.getParamComponentsPerType(), message.getParamComponentList());
+            case NOTIFY_SHIP_PARTS_GENERATED_DUE_TO_REMOVAL -> new NotifyShipPartsGeneratedDueToRemoval(message.getParamString(),
+                    message.getParamShipBoardAsMatrix(), message.getParamIncorrectlyPositionedCoordinates(), message.getParamShipParts(),
+                    message.getParamComponentsPerType());
+            case NOTIFY_COMPONENT_PER_TYPE -> new NotifyComponentPerType(message.getParamString(), message.getParamComponentsPerType());
+            case NOTIFY_NOT_ACTIVE_COMPONENTS -> new NotifyNotActiveComponents(message.getParamString(), message.getParamComponentList());
+            case NOTIFY_CREW_PLACEMENT_PHASE -> new NotifyCrewPlacementPhase();
+            case NOTIFY_CREW_PLACEMENT_COMPLETE -> new NotifyCrewPlacementComplete(message.getParamString(), message.getParamShipMatrix(),
+                    message.getParamComponentsPerType());
+            case NOTIFY_PREFAB_SHIPS_AVAILABLE -> new NotifyPrefabShipsAvailable(message.getParamPrefabShips());
+            case NOTIFY_PLAYER_SELECTED_PREFAB_SHIP -> new NotifyPlayerSelectedPrefabShip(message.getParamString(), message.getParamPrefabShips().getFirst());
+            case NOTIFY_PREFAB_SHIP_SELECTION_RESULT -> new NotifyPrefabShipSelectionResult(message.getParamBoolean(), message.getParamString());
+            case NOTIFY_CURR_PLAYER_CHANGED -> new NotifyCurrPlayerChanged(message.getParamString());
+            case NOTIFY_CURR_ADVENTURE_CARD -> new NotifyCurrAdventureCard(message.getParamClientCard(), message.getParamBoolean());
+            case NOTIFY_CURR_ADVENTURE_CARD_UPDATE -> new NotifyCurrAdventureCardUpdate(message.getParamClientCard());
+            case NOTIFY_CARD_STATE -> new NotifyCardState(message.getParamCardState());
+            case NOTIFY_DANGEROUS_OBJ_ATTACK -> new NotifyDangerousObjAttack(message.getParamDangerousObj());
+            case NOTIFY_PLAYER_VISITED_PLANET -> new NotifyPlayerVisitedPlanet(message.getParamString(), message.getParamClientCard());
+            case NOTIFY_COORDINATE_OF_COMPONENT_HIT -> new NotifyCoordinateOfComponentHit(message.getParamString(), message.getParamCoordinates());
+            case NOTIFY_INFECTED_CREW_MEMBERS_REMOVED -> new NotifyInfectedCrewMembersRemoved(message.getParamShipPart());
+            case NOTIFY_LEAST_RESOURCED_PLAYER -> new NotifyLeastResourcedPlayer(message.getParamString());
+            case NOTIFY_STORAGE_ERROR -> new NotifyStorageError(message.getParamString());
+            case NOTIFY_PLAYER_CREDITS -> new NotifyPlayerCredits(message.getParamString(), message.getParamInt());
+            case NOTIFY_RANKING_UPDATE -> new NotifyRankingUpdate(message.getParamString(), message.getParamInt());
+            case NOTIFY_ELIMINATED_PLAYER -> new NotifyEliminatedPlayer(message.getParamString());
+            case NOTIFY_PLAYER_EARLY_LANDED -> new NotifyPlayerEarlyLanded(message.getParamString());
+            case NOTIFY_PLAYERS_FINAL_DATA -> new NotifyPlayersFinalData(message.getParamPlayerFinalDataRanking(), message.getParamStringList());
+            case NOTIFY_PLAYER_DISCONNECTED -> new NotifyPlayerDisconnected(message.getParamString());
+            case FORCED_DISCONNECTION -> new ForcedDisconnection(message.getParamString());
+            default -> null;
+        };
+    }
+
+}
@@ -0,0 +1,648 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.client.model.PrefabShipInfo;
+import it.polimi.ingsw.is25am33.client.model.card.ClientCard;
+import it.polimi.ingsw.is25am33.client.model.card.ClientDangerousObject;
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.board.ShipBoardDelta;
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.model.enumFiles.CardState;
+import it.polimi.ingsw.is25am33.model.enumFiles.GameState;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import it.polimi.ingsw.is25am33.model.game.GameInfo;
+import it.polimi.ingsw.is25am33.model.game.PlayerFinalData;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification.*;
+
+import java.io.IOException;
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link CallableOnClientController} that turns every notification into its {@link ServerNotification} record,
+ * so that a subclass only decides what to do with the record: the socket server sends it to the client,
+ * while {@link it.polimi.ingsw.is25am33.model.ClientEventBatcher} collects the records of a notification
+ * to deliver them together.
+ */
+public abstract class ServerNotificationSender implements CallableOnClientController {
+
+    /**
+     * Handles the record of a notification addressed to a client.
+     *
+     * @param nickname The nickname of the client to notify
+     * @param notification The notification
+     * @throws IOException If the notification cannot be sent
+     */
+    protected abstract void send(String nickname, ServerNotification notification) throws IOException;
+
+    /**
+     * Notifies a client about available game information.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param gameInfos The list of game information to send
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyGameInfos(String nicknameToNotify, List<GameInfo> gameInfos) throws IOException {
+        send(nicknameToNotify, new NotifyGameInfos(gameInfos));
+    }
+
+    /**
+     * Notifies a client that a new player has joined a game.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param gameId The ID of the game that was joined
+     * @param newPlayerNickname The nickname of the player who joined
+     * @param color The color chosen by the new player
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyNewPlayerJoined(String nicknameToNotify, String gameId, String newPlayerNickname, PlayerColor color) throws IOException {
+        send(nicknameToNotify, new NotifyNewPlayerJoined(gameId, newPlayerNickname, color));
+    }
+
+    /**
+     * Notifies a client that a game has started.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param gameInfo The information about the started game
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyGameStarted(String nicknameToNotify, GameInfo gameInfo) throws IOException{
+        send(nicknameToNotify, new NotifyGameStarted(gameInfo));
+    }
+
+    /**
+     * Notifies a client that the hourglass has been restarted.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who restarted the hourglass
+     * @param flipsLeft The number of flips remaining for the hourglass
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyHourglassRestarted(String nicknameToNotify, String nickname, Integer flipsLeft) throws IOException {
+        send(nicknameToNotify, new NotifyHourglassRestarted(nickname, flipsLeft));
+    }
+
+    /**
+     * Notifies a client that a turn of the hourglass started, with its deadline.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who flipped the hourglass
+     * @param flipsLeft The number of flips still available
+     * @param deadlineMillis The time at which the turn ends, in epoch milliseconds
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyHourglassStarted(String nicknameToNotify, String nickname, int flipsLeft, long deadlineMillis) throws IOException {
+        send(nicknameToNotify, new NotifyHourglassStarted(nickname, flipsLeft, deadlineMillis));
+    }
+
+    /**
+     * Notifies a client to stop the hourglass.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     */
+    @Override
+    public void notifyStopHourglass(String nicknameToNotify) throws IOException {
+        send(nicknameToNotify, new NotifyStopHourglass());
+    }
+    /**
+     * Notifies a client that they are the first to enter a phase.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     */
+    @Override
+    public void notifyFirstToEnter(String nicknameToNotify) throws IOException {
+        send(nicknameToNotify, new NotifyFirstToEnter());
+    }
+
+    /**
+     * Notifies a client that a visible component has been stolen.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     */
+    @Override
+    public void notifyStolenVisibleComponent(String nicknameToNotify) throws IOException {
+        send(nicknameToNotify, new NotifyStolenVisibleComponent());
+    }
+
+    /**
+     * Notifies a client about an update to the current adventure card.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param adventureCard The updated adventure card
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyCurrAdventureCardUpdate(String nicknameToNotify, ClientCard adventureCard) throws IOException {
+        send(nicknameToNotify, new NotifyCurrAdventureCardUpdate(adventureCard));
+    }
+
+    /**
+     * Notifies a client that a player has visited a planet.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who visited the planet
+     * @param adventureCard The adventure card associated with the planet visit
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyPlayerVisitedPlanet(String nicknameToNotify, String nickname, ClientCard adventureCard) throws IOException {
+        send(nicknameToNotify, new NotifyPlayerVisitedPlanet(nickname, adventureCard));
+    }
+
+    /**
+     * Notifies a client that the crew placement phase has begun.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyCrewPlacementPhase(String nicknameToNotify) throws IOException {
+        send(nicknameToNotify, new NotifyCrewPlacementPhase());
+    }
+
+    /**
+     * Notifies a client that crew placement has been completed for a player.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param playerNickname The nickname of the player who completed crew placement
+     * @param shipMatrix The ship matrix after crew placement
+     * @param componentsPerType Map of components organized by their type
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyCrewPlacementComplete(String nicknameToNotify, String playerNickname, Component[][] shipMatrix, Map<Class<?>, List<Component>> componentsPerType) throws IOException {
+        send(nicknameToNotify, new NotifyCrewPlacementComplete(playerNickname, shipMatrix, componentsPerType));
+    }
+
+    /**
+     * Notifies a client about available prefabricated ships.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param prefabShips List of available prefabricated ship information
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyPrefabShipsAvailable(String nicknameToNotify, List<PrefabShipInfo> prefabShips) throws IOException {
+        send(nicknameToNotify, new NotifyPrefabShipsAvailable(prefabShips));
+    }
+
+    /**
+     * Notifies a client that a player has selected a prefabricated ship.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param playerNickname The nickname of the player who selected the ship
+     * @param prefabShipInfo Information about the selected prefabricated ship
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyPlayerSelectedPrefabShip(String nicknameToNotify, String playerNickname, PrefabShipInfo prefabShipInfo) throws IOException {
+        send(nicknameToNotify, new NotifyPlayerSelectedPrefabShip(playerNickname, prefabShipInfo));
+    }
+
+    /**
+     * Notifies a client about the result of a prefabricated ship selection.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param success Whether the selection was successful
+     * @param errorMessage Error message in case of failure
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyPrefabShipSelectionResult(String nicknameToNotify, boolean success, String errorMessage) throws IOException {
+        send(nicknameToNotify, new NotifyPrefabShipSelectionResult(success, errorMessage));
+    }
+
+    /**
+     * Notifies a client that infected crew members have been removed.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param cabinCoordinatesWithNeighbors Set of coordinates of cabins with infected crew members and their neighbors
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyInfectedCrewMembersRemoved(String nicknameToNotify, Set<Coordinates> cabinCoordinatesWithNeighbors) throws IOException {
+        send(nicknameToNotify, new NotifyInfectedCrewMembersRemoved(cabinCoordinatesWithNeighbors));
+    }
+
+    /**
+     * Notifies a client about final player data and rankings.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param finalRanking List of final player data in ranking order
+     * @param playersNicknamesWithPrettiestShip List of players with the prettiest ships
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyPlayersFinalData(String nicknameToNotify, List<PlayerFinalData> finalRanking, List<String> playersNicknamesWithPrettiestShip) throws IOException {
+        send(nicknameToNotify, new NotifyPlayersFinalData(finalRanking, playersNicknamesWithPrettiestShip));
+    }
+
+    /**
+     * Notifies a client that a player has landed early.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who landed early
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyPlayerEarlyLanded(String nicknameToNotify, String nickname) throws IOException {
+        send(nicknameToNotify, new NotifyPlayerEarlyLanded(nickname));
+    }
+
+    /**
+     * Notifies a client that there are no more hidden components available.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyNoMoreHiddenComponents(String nicknameToNotify) throws IOException {
+        send(nicknameToNotify, new NotifyNoMoreHiddenComponents());
+    }
+
+    /**
+     * Notifies a client that a ship board is invalid.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param shipOwnerNickname The nickname of the ship owner
+     * @param shipMatrix The ship matrix to evaluate
+     * @param incorrectlyPositionedComponentsCoordinates Set of coordinates where components are incorrectly positioned
+     * @param componentsPerType Map of components organized by their type
+     * @param notActiveComponentsList List of components that are not active
+     * @throws RemoteException If a remote communication error occurs
+     */
+    @Override
+    public void notifyInvalidShipBoard(String nicknameToNotify, String shipOwnerNickname, Component[][] shipMatrix, Set<Coordinates> incorrectlyPositionedComponentsCoordinates, Map<Class<?>, List<Component>> componentsPerType, List<Component> notActiveComponentsList) throws RemoteException {
+        try {
+            send(nicknameToNotify, new NotifyInvalidShipBoard(shipOwnerNickname, shipMatrix, incorrectlyPositionedComponentsCoordinates, componentsPerType, notActiveComponentsList));
+        } catch (IOException e) {
+            throw new RemoteException(e.getMessage());
+        }
+    }
+
+    /**
+     * Notifies a client that a ship board is valid.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param shipOwnerNickname The nickname of the ship owner
+     * @param shipMatrix The ship matrix that was validated
+     * @param incorrectlyPositionedComponentsCoordinates Set of coordinates where components are incorrectly positioned
+     * @param componentsPerType Map of components organized by their type
+     * @param notActiveComponentsList List of components that are not active
+     * @throws RemoteException If a remote communication error occurs
+     */
+    @Override
+    public void notifyValidShipBoard(String nicknameToNotify, String shipOwnerNickname, Component[][] shipMatrix, Set<Coordinates> incorrectlyPositionedComponentsCoordinates, Map<Class<?>, List<Component>> componentsPerType, List<Component> notActiveComponentsList) throws RemoteException {
+        try {
+            send(nicknameToNotify, new NotifyValidShipBoard(shipOwnerNickname, shipMatrix, incorrectlyPositionedComponentsCoordinates, componentsPerType, notActiveComponentsList));
+        } catch (IOException e) {
+            throw new RemoteException(e.getMessage());
+        }
+    }
+
+    /**
+     * Notifies a client that ship parts have been generated due to component removal.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param shipOwnerNickname The nickname of the ship owner
+     * @param shipMatrix The updated ship matrix
+     * @param incorrectlyPositionedComponentsCoordinates Set of coordinates where components are incorrectly positioned
+     * @param shipParts Set of ship parts generated
+     * @param componentsPerType Map of components organized by their type
+     * @throws RemoteException If a remote communication error occurs
+     */
+    @Override
+    public void notifyShipPartsGeneratedDueToRemoval(String nicknameToNotify, String shipOwnerNickname, Component[][] shipMatrix, Set<Coordinates> incorrectlyPositionedComponentsCoordinates, Set<Set<Coordinates>> shipParts, Map<Class<?>, List<Component>> componentsPerType) throws RemoteException {
+        try {
+            send(nicknameToNotify, new NotifyShipPartsGeneratedDueToRemoval(shipOwnerNickname, shipMatrix, incorrectlyPositionedComponentsCoordinates, shipParts, componentsPerType));
+        } catch (IOException e) {
+            throw new RemoteException(e.getMessage());
+        }
+    }
+
+    /**
+     * Notifies a client about a change in game state.
+     *
+     * @param nickname The nickname of the client to notify
+     * @param gameState The new game state
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyGameState(String nickname, GameState gameState) throws IOException{
+        send(nickname, new NotifyGameState(gameState));
+    }
+
+    /**
+     * Notifies a client about a dangerous object attack.
+     *
+     * @param nickname The nickname of the client to notify
+     * @param dangerousObj The dangerous object that is attacking
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyDangerousObjAttack(String nickname, ClientDangerousObject dangerousObj) throws IOException{
+        send(nickname, new NotifyDangerousObjAttack(dangerousObj));
+    }
+
+    /**
+     * Notifies a client about a change in the current player.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the new current player
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyCurrPlayerChanged(String nicknameToNotify, String nickname) throws IOException{
+        send(nicknameToNotify, new NotifyCurrPlayerChanged(nickname));
+    }
+
+    /**
+     * Notifies a client about the current adventure card.
+     *
+     * @param nickname The nickname of the client to notify
+     * @param adventureCard The current adventure card
+     * @param isFirstTime Whether this is the first time the card is being shown
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyCurrAdventureCard(String nickname, ClientCard adventureCard, boolean isFirstTime) throws IOException{
+        send(nickname, new NotifyCurrAdventureCard(adventureCard, isFirstTime));
+    }
+
+    /**
+     * Notifies a client about a change in card state.
+     *
+     * @param nickname The nickname of the client to notify
+     * @param cardState The new card state
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyCardState(String nickname, CardState cardState) throws IOException{
+        send(nickname, new NotifyCardState(cardState));
+    }
+
+    /**
+     * Notifies a client that a player has focused on a component.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who focused the component
+     * @param component The component that was focused
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyFocusedComponent(String nicknameToNotify, String nickname, Component component) throws IOException{
+        send(nicknameToNotify, new NotifyChooseComponent(nickname, component));
+    }
+
+
+    /**
+     * Notifies a client that a player has released a component.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who released the component
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyReleaseComponent(String nicknameToNotify, String nickname) throws IOException{
+        send(nicknameToNotify, new NotifyReleaseComponent(nickname));
+    }
+
+    /**
+     * Notifies a client that a player has booked a component.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who booked the component
+     * @param component The component that was booked
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyBookedComponent(String nicknameToNotify, String nickname, Component component) throws IOException{
+        send(nicknameToNotify, new NotifyBookedComponent(nickname, component));
+    }
+
+    /**
+     * Notifies a client that a visible component has been added.
+     *
+     * @param nickname The nickname of the client to notify
+     * @param index The index where the component was added
+     * @param component The component that was added
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyAddVisibleComponents(String nickname, int index, Component component) throws IOException {
+        send(nickname, new NotifyAddVisibleComponents(index, component));
+    }
+
+    /**
+     * Notifies a client that a visible component has been removed.
+     *
+     * @param nickname The nickname of the client to notify
+     * @param index The index from which the component was removed
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyRemoveVisibleComponents(String nickname, int index) throws IOException{
+        send(nickname, new NotifyRemoveVisibleComponents(index));
+    }
+
+    /**
+     * Notifies a client that a component has been placed.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who placed the component
+     * @param component The component that was placed
+     * @param coordinates The coordinates where the component was placed
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyComponentPlaced(String nicknameToNotify, String nickname, Component component, Coordinates coordinates) throws IOException{
+        send(nicknameToNotify, new NotifyComponentPlaced(nickname, component, coordinates));
+    }
+
+    /**
+     * Notifies a client about the changes of a player's ship board.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the ship owner
+     * @param shipBoardDelta The changes since the last version sent to the client, or a snapshot
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyShipBoardUpdate(String nicknameToNotify, String nickname, ShipBoardDelta shipBoardDelta) throws IOException {
+        send(nicknameToNotify, new NotifyShipBoardUpdate(nickname, shipBoardDelta));
+    }
+
+    /**
+     * Notifies a client about a player's credits.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player whose credits are being reported
+     * @param credits The number of credits
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void  notifyPlayerCredits(String nicknameToNotify, String nickname, int credits) throws IOException {
+        send(nicknameToNotify, new NotifyPlayerCredits(nickname, credits));
+    }
+
+    /**
+     * Notifies a client that a player has been eliminated.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who was eliminated
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void  notifyEliminatedPlayer(String nicknameToNotify, String nickname) throws IOException {
+        send(nicknameToNotify, new NotifyEliminatedPlayer(nickname));
+    }
+
+    /**
+     * Notifies a client about an update to the player ranking.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player whose ranking changed
+     * @param newPosition The new position in the ranking
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void  notifyRankingUpdate(String nicknameToNotify, String nickname, int newPosition) throws IOException{
+        send(nicknameToNotify, new NotifyRankingUpdate(nickname, newPosition));
+    }
+
+    /**
+     * Notifies a client about the visible deck of cards.
+     *
+     * @param nickname The nickname of the client to notify
+     * @param littleVisibleDeck The visible deck information
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyVisibleDeck(String nickname, List<List<ClientCard>> littleVisibleDeck) throws IOException {
+        send(nickname, new NotifyVisibleDeck(littleVisibleDeck));
+    }
+
+    /**
+     * Notifies a client that a player has disconnected.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param disconnectedPlayer The nickname of the player who disconnected
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyPlayerDisconnected(String nicknameToNotify, String disconnectedPlayer) throws IOException{
+        send(nicknameToNotify, new NotifyPlayerDisconnected(disconnectedPlayer));
+    }
+
+    /**
+     * Forces a client to disconnect from a game.
+     *
+     * @param nicknameToNotify The nickname of the client to disconnect
+     * @param gameId The ID of the game from which to disconnect
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void forcedDisconnection(String nicknameToNotify,String gameId) throws IOException{
+        send(nicknameToNotify, new ForcedDisconnection(gameId));
+    }
+
+    /**
+     * Sends a ping message to a client.
+     *
+     * @param nickname The nickname of the client to ping
+     * @throws IOException If an I/O error occurs during notification
+     */
+    public void pingToClientFromServer(String nickname) throws IOException{
+        send(nickname, new ServerNotification.Ping());
+    }
+
+    /**
+     * Sends a pong message to a client.
+     *
+     * @param nickname The nickname of the client to send the pong to
+     * @throws IOException If an I/O error occurs during notification
+     */
+    public void pongToClientFromServer(String nickname) throws IOException{
+        send(nickname, new ServerNotification.Pong());
+    }
+
+    /**
+     * Notifies a client about the components per type for a player.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param playerNickname The nickname of the player whose components are being reported
+     * @param componentsPerType Map of components organized by their type
+     */
+    public void notifyComponentPerType(String nicknameToNotify, String playerNickname, Map<Class<?>, List<Component>> componentsPerType ) throws IOException {
+        send(nicknameToNotify, new NotifyComponentPerType(playerNickname, componentsPerType));
+    }
+
+    /**
+     * Notifies a client about the coordinates of a component that was hit.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player whose component was hit
+     * @param coordinates The coordinates of the hit component
+     * @throws IOException If an I/O error occurs during notification
+     */
+    public void notifyCoordinateOfComponentHit(String nicknameToNotify, String nickname, Coordinates coordinates) throws IOException{
+        send(nicknameToNotify, new NotifyCoordinateOfComponentHit(nickname, coordinates));
+    }
+
+    /**
+     * Notifies a client about the least resourced player.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nicknameAndMotivations The nickname of the least resourced player and the motivations
+     * @throws IOException If an I/O error occurs during notification
+     */
+    public  void notifyLeastResourcedPlayer(String nicknameToNotify, String nicknameAndMotivations) throws IOException{
+        send(nicknameToNotify, new NotifyLeastResourcedPlayer(nicknameAndMotivations));
+    }
+
+    /**
+     * Notifies a client about an error that occurred while booking a component.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who attempted to book the component
+     * @param focusedComponent The component that was being booked
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyErrorWhileBookingComponent(String nicknameToNotify, String nickname, Component focusedComponent) throws IOException {
+        send(nicknameToNotify, new NotifyErrorWhileBookingComponent(nickname, focusedComponent));
+    }
+
+    /**
+     * Notifies a client about components that are not active.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param nickname The nickname of the player who owns the components
+     * @param notActiveComponents List of components that are not active
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyNotActiveComponents(String nicknameToNotify, String nickname, List<Component> notActiveComponents) throws IOException {
+        send(nicknameToNotify, new NotifyNotActiveComponents(nickname, notActiveComponents));
+    }
+
+    /**
+     * Notifies a client about an error related to storage.
+     *
+     * @param nicknameToNotify The nickname of the client to notify
+     * @param errorMessage The error message describing the storage issue
+     * @throws IOException If an I/O error occurs during notification
+     */
+    @Override
+    public void notifyStorageError(String nicknameToNotify, String errorMessage) throws IOException {
+        send(nicknameToNotify, new NotifyStorageError(errorMessage));
+    }
+
+}
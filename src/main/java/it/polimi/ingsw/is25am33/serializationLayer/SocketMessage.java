@@ -27,6 +27,7 @@ public class SocketMessage {
 
     private String senderNickname;
     private String actions;
+    private Long correlationId;
     private String paramString;
     private String paramGameId;
     private Coordinates paramCoordinates;
@@ -35,6 +36,7 @@ public class SocketMessage {
     private List<Coordinates> paramBatteryBoxCoordinates;
     private List<GameInfo> paramGameInfo;
     private Integer paramInt;
+    private Long paramLong;
     private Boolean paramBoolean;
     private PlayerColor paramPlayerColor;
     private GameState paramGameState;
@@ -57,41 +59,38 @@ public class SocketMessage {
     private List<PlayerFinalData> paramPlayerFinalDataRanking;
     private List<String> paramStringList;
     private List<Component> paramComponentList;
-
+    private ShipBoardDelta paramShipBoardDelta;
+    private List<SocketMessage> paramMessages;
+
+    /**
+     * Creates a message with no parameters. Parameters are only set, and only sent, when the action uses them:
+     * unset parameters are null and are left out of the encoded message.
+     *
+     * @param senderNickname the nickname of the sender, or "server"
+     * @param actions the action of the message
+     */
     public SocketMessage(String senderNickname, String actions) {
         this.senderNickname = senderNickname;
         this.actions = actions;
-        this.paramString = null;
-        this.paramCoordinates = null;
-        this.paramGameInfo = null;
-        this.paramInt = 0;
-        this.paramBoolean = false;
-        this.paramPlayerColor = null;
-        this.paramShipBoardAsMatrix = null;
-        this.paramGameState = null;
-        this.paramComponent = null;
-        this.paramGameId = null;
-        this.paramDangerousObj = null;
-        this.paramActivableCoordinates = null;
-        this.paramBatteryBoxCoordinates = null;
-        this.paramCabinCoordinates = null;
-        this.paramVisibleComponents = null;
-        this.paramLittleVisibleDecks = null;
-        this.paramCardState=null;
-        this.paramComponentsPerType = null;
-        this.paramChoice = null;
-        this.paramCrewChoices = null;
-        this.paramClientCard = null;
-        this.paramShipMatrix = null;
-        this.paramPrefabShips = null;
-        this.paramDangerousObj = null;
-        this.paramPlayerFinalDataRanking = null;
-        this.paramStringList = null;
     }
 
     public SocketMessage() {
     }
 
+    /**
+     * Returns the id that pairs a request with its reply: the client sets it on a request and the server
+     * copies it into the reply. Null for notifications and for requests that have no reply.
+     *
+     * @return the correlation id, or null
+     */
+    public Long getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(Long correlationId) {
+        this.correlationId = correlationId;
+    }
+
     public List<PrefabShipInfo> getParamPrefabShips() {
         return paramPrefabShips;
     }
@@ -223,6 +222,14 @@ public class SocketMessage {
         this.paramInt = paramInt;
     }
 
+    public Long getParamLong() {
+        return paramLong;
+    }
+
+    public void setParamLong(Long paramLong) {
+        this.paramLong = paramLong;
+    }
+
     public String getSenderNickname() {
         return senderNickname;
     }
@@ -355,4 +362,95 @@ public class SocketMessage {
     public void setParamComponentList(List<Component> paramComponentList) {
         this.paramComponentList = paramComponentList;
     }
+
+    public ShipBoardDelta getParamShipBoardDelta() {
+        return paramShipBoardDelta;
+    }
+
+    public void setParamShipBoardDelta(ShipBoardDelta paramShipBoardDelta) {
+        this.paramShipBoardDelta = paramShipBoardDelta;
+    }
+
+    public List<SocketMessage> getParamMessages() {
+        return paramMessages;
+    }
+
+    public void setParamMessages(List<SocketMessage> paramMessages) {
+        this.paramMessages = paramMessages;
+    }
+
+    /**
+     * Returns whether another message would be encoded exactly like this one.
+     * Parameters are compared by reference, except for immutable values and for the elements
+     * of arrays and collections, so that a match is never a false positive even for model objects
+     * whose {@code equals} only compares part of their state.
+     *
+     * @param other the message to compare with
+     * @return true if both messages carry the same action and the same parameters
+     */
+    public boolean hasSamePayload(SocketMessage other) {
+        return sameContent(senderNickname, other.senderNickname) &&
+                sameContent(actions, other.actions) &&
+                sameContent(correlationId, other.correlationId) &&
+                sameContent(paramString, other.paramString) &&
+                sameContent(paramGameId, other.paramGameId) &&
+                sameContent(paramCoordinates, other.paramCoordinates) &&
+                sameContent(paramActivableCoordinates, other.paramActivableCoordinates) &&
+                sameContent(paramCabinCoordinates, other.paramCabinCoordinates) &&
+                sameContent(paramBatteryBoxCoordinates, other.paramBatteryBoxCoordinates) &&
+                sameContent(paramGameInfo, other.paramGameInfo) &&
+                sameContent(paramInt, other.paramInt) &&
+                sameContent(paramLong, other.paramLong) &&
+                sameContent(paramBoolean, other.paramBoolean) &&
+                sameContent(paramPlayerColor, other.paramPlayerColor) &&
+                sameContent(paramGameState, other.paramGameState) &&
+                sameContent(paramCardState, other.paramCardState) &&
+                sameContent(paramComponent, other.paramComponent) &&
+                sameContent(paramShipBoardAsMatrix, other.paramShipBoardAsMatrix) &&
+                sameContent(paramDangerousObj, other.paramDangerousObj) &&
+                sameContent(paramLittleVisibleDecks, other.paramLittleVisibleDecks) &&
+                sameContent(paramVisibleComponents, other.paramVisibleComponents) &&
+                sameContent(paramIncorrectlyPositionedCoordinates, other.paramIncorrectlyPositionedCoordinates) &&
+                sameContent(paramShipParts, other.paramShipParts) &&
+                sameContent(paramShipPart, other.paramShipPart) &&
+                sameContent(paramComponentsPerType, other.paramComponentsPerType) &&
+                sameContent(paramChoice, other.paramChoice) &&
+                sameContent(paramCrewChoices, other.paramCrewChoices) &&
+                sameContent(paramClientCard, other.paramClientCard) &&
+                sameContent(paramShipMatrix, other.paramShipMatrix) &&
+                sameContent(paramPrefabShips, other.paramPrefabShips) &&
+                sameContent(paramPlayerFinalDataRanking, other.paramPlayerFinalDataRanking) &&
+                sameContent(paramStringList, other.paramStringList) &&
+                sameContent(paramComponentList, other.paramComponentList) &&
+                sameContent(paramShipBoardDelta, other.paramShipBoardDelta) &&
+                sameContent(paramMessages, other.paramMessages);
+    }
+
+    private static boolean sameContent(Object a, Object b) {
+        if (a == b)
+            return true;
+        if (a == null || b == null)
+            return false;
+        if (a instanceof String || a instanceof Number || a instanceof Boolean || a instanceof Enum<?> || a instanceof Coordinates || a instanceof Class<?>)
+            return a.equals(b);
+        if (a instanceof SocketMessage first && b instanceof SocketMessage second)
+            return first.hasSamePayload(second);
+        if (a instanceof Object[] first && b instanceof Object[] second)
+            return first.length == second.length && sameElements(Arrays.asList(first), Arrays.asList(second));
+        if (a instanceof Collection<?> first && b instanceof Collection<?> second)
+            return first.size() == second.size() && sameElements(first, second);
+        if (a instanceof Map<?, ?> first && b instanceof Map<?, ?> second)
+            return first.size() == second.size() && sameElements(first.entrySet(), second.entrySet());
+        if (a instanceof Map.Entry<?, ?> first && b instanceof Map.Entry<?, ?> second)
+            return sameContent(first.getKey(), second.getKey()) && sameContent(first.getValue(), second.getValue());
+        return false;
+    }
+
+    private static boolean sameElements(Iterable<?> first, Iterable<?> second) {
+        Iterator<?> iterator = second.iterator();
+        for (Object element : first)
+            if (!iterator.hasNext() || !sameContent(element, iterator.next()))
+                return false;
+        return !iterator.hasNext();
+    }
 }
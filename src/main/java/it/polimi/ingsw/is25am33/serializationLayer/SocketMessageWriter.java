@@ -0,0 +1,132 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+
+/**
+ * Sends {@link SocketMessage}s over one socket connection using the {@link WireProtocol} negotiated for it.
+ * <p>
+ * Messages are encoded outside the lock, so that several threads notifying the same client only serialize
+ * the actual write. Write failures are remembered and reported by {@link #checkError()}, like {@link PrintWriter} does.
+ */
+public class SocketMessageWriter {
+
+    /**
+     * Destination of binary frames and of pre-encoded messages.
+     */
+    @FunctionalInterface
+    public interface FrameSink {
+        /**
+         * Writes a whole frame, or any other block of bytes, as it is.
+         *
+         * @param frame the bytes to write, length prefix included for frames
+         * @throws IOException if the frame cannot be written
+         */
+        void write(ByteBuffer frame) throws IOException;
+    }
+
+    private final PrintWriter textOut;
+    private final FrameSink frameOut;
+    private volatile WireProtocol protocol = WireProtocol.TEXT;
+    private volatile boolean error = false;
+
+    /**
+     * Creates a writer that starts in {@link WireProtocol#TEXT} mode.
+     *
+     * @param textOut the writer used for text lines
+     * @param frameOut the sink used for binary frames
+     */
+    public SocketMessageWriter(PrintWriter textOut, FrameSink frameOut) {
+        this.textOut = textOut;
+        this.frameOut = frameOut;
+    }
+
+    /**
+     * Returns the protocol currently used by this writer.
+     *
+     * @return the current protocol
+     */
+    public WireProtocol getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * Encodes and sends a message with the current protocol.
+     *
+     * @param message the message to send
+     */
+    public void send(SocketMessage message) {
+        try {
+            if (protocol == WireProtocol.BINARY) {
+                ByteBuffer frame = BinaryFrameCodec.encode(message);
+                synchronized (this) {
+                    frameOut.write(frame);
+                }
+            } else {
+                String line = SerializationContext.write(message);
+                synchronized (this) {
+                    textOut.println(line);
+                }
+            }
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Sends a message that may be shared with other recipients, reusing its encoding for the current protocol.
+     * The bytes go through the frame sink, which writes them unchanged whatever the protocol.
+     *
+     * @param message the pre-encoded message to send
+     */
+    public void send(EncodedMessage message) {
+        try {
+            ByteBuffer encoded = message.encode(protocol);
+            synchronized (this) {
+                textOut.flush();
+                frameOut.write(encoded);
+            }
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Sends the acknowledge line of a protocol, as text, and switches to it.
+     * Used by the server when it accepts a handshake.
+     *
+     * @param newProtocol the protocol accepted
+     */
+    public synchronized void acknowledge(WireProtocol newProtocol) {
+        textOut.println(newProtocol.acknowledgeLine());
+        protocol = newProtocol;
+    }
+
+    /**
+     * Switches to a protocol without sending anything.
+     * Used by the client once the server has acknowledged its handshake.
+     *
+     * @param newProtocol the protocol to use from now on
+     */
+    public synchronized void switchTo(WireProtocol newProtocol) {
+        protocol = newProtocol;
+    }
+
+    /**
+     * Closes the underlying text writer, and with it the connection stream.
+     */
+    public void close() {
+        textOut.close();
+    }
+
+    /**
+     * Returns whether a write has failed on this connection.
+     *
+     * @return true if the connection is in error
+     */
+    public boolean checkError() {
+        return error || textOut.checkError();
+    }
+
+}
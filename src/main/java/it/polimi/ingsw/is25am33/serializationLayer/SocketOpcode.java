@@ -0,0 +1,170 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Numeric codes of the socket actions, used by the binary wire protocol in place of the
+ * {@code actions} string of a {@link SocketMessage}.
+ * <p>
+ * Codes are part of the protocol: they must never be reused or renumbered, new actions get the next free code.
+ * Actions without a code are still sent, with code {@link #UNKNOWN_CODE} followed by the action name.
+ */
+public enum SocketOpcode {
+    PING(1, "PING"),
+    PONG(2, "PONG"),
+    CREATE_GAME(3, "createGame"),
+    DEBUG_SKIP_TO_LAST_CARD(4, "debugSkipToLastCard"),
+    EVALUATED_CREW_MEMBERS(5, "evaluatedCrewMembers"),
+    FORCED_DISCONNECTION(6, "forcedDisconnection"),
+    GET_AVAILABLE_GAMES(7, "getAvailableGames"),
+    HANDLE_CLIENT_CHOICE(8, "handleClientChoice"),
+    JOIN_GAME(9, "joinGame"),
+    LEAVE_GAME_AFTER_CREATION(10, "leaveGameAfterCreation"),
+    LEAVE_GAME_BEFORE_CREATION(11, "leaveGameBeforeCreation"),
+    NOTIFY_ADD_VISIBLE_COMPONENTS(12, "notifyAddVisibleComponents"),
+    NOTIFY_AVAILABLE_GAMES(13, "notifyAvailableGames"),
+    NOTIFY_BOOKED_COMPONENT(14, "notifyBookedComponent"),
+    NOTIFY_CARD_STATE(15, "notifyCardState"),
+    NOTIFY_CHOOSE_COMPONENT(16, "notifyChooseComponent"),
+    NOTIFY_COMPONENT_PER_TYPE(17, "notifyComponentPerType"),
+    NOTIFY_COMPONENT_PLACED(18, "notifyComponentPlaced"),
+    NOTIFY_COORDINATE_OF_COMPONENT_HIT(19, "notifyCoordinateOfComponentHit"),
+    NOTIFY_CREW_PLACEMENT_COMPLETE(20, "notifyCrewPlacementComplete"),
+    NOTIFY_CREW_PLACEMENT_PHASE(21, "notifyCrewPlacementPhase"),
+    NOTIFY_CURR_ADVENTURE_CARD(22, "notifyCurrAdventureCard"),
+    NOTIFY_CURR_ADVENTURE_CARD_UPDATE(23, "notifyCurrAdventureCardUpdate"),
+    NOTIFY_CURR_PLAYER_CHANGED(24, "notifyCurrPlayerChanged"),
+    NOTIFY_DANGEROUS_OBJ_ATTACK(25, "notifyDangerousObjAttack"),
+    NOTIFY_ELIMINATED_PLAYER(26, "notifyEliminatedPlayer"),
+    NOTIFY_ERROR_WHILE_BOOKING_COMPONENT(27, "notifyErrorWhileBookingComponent"),
+    NOTIFY_EVENTS(94, "notifyEvents"),
+    NOTIFY_FIRST_TO_ENTER(28, "notifyFirstToEnter"),
+    NOTIFY_GAME_CREATED(29, "notifyGameCreated"),
+    NOTIFY_GAME_INFOS(30, "notifyGameInfos"),
+    NOTIFY_GAME_STARTED(31, "notifyGameStarted"),
+    NOTIFY_GAME_STATE(32, "notifyGameState"),
+    NOTIFY_HOURGLASS_ENDED(33, "notifyHourglassEnded"),
+    NOTIFY_HOURGLASS_RESTARTED(34, "notifyHourglassRestarted"),
+    NOTIFY_HOURGLASS_STARTED(95, "notifyHourglassStarted"),
+    NOTIFY_INFECTED_CREW_MEMBERS_REMOVED(35, "notifyInfectedCrewMembersRemoved"),
+    NOTIFY_INVALID_SHIP_BOARD(36, "notifyInvalidShipBoard"),
+    NOTIFY_JOIN_GAME_RESULT(37, "notifyJoinGameResult"),
+    NOTIFY_LEAST_RESOURCED_PLAYER(38, "notifyLeastResourcedPlayer"),
+    NOTIFY_NEW_PLAYER_JOINED(39, "notifyNewPlayerJoined"),
+    NOTIFY_NICKNAME_ALREADY_EXISTS(40, "notifyNicknameAlreadyExists"),
+    NOTIFY_NO_MORE_HIDDEN_COMPONENTS(41, "notifyNoMoreHiddenComponents"),
+    NOTIFY_NOT_ACTIVE_COMPONENTS(42, "notifyNotActiveComponents"),
+    NOTIFY_PLAYER_CREDITS(43, "notifyPlayerCredits"),
+    NOTIFY_PLAYER_DISCONNECTED(44, "notifyPlayerDisconnected"),
+    NOTIFY_PLAYER_EARLY_LANDED(45, "notifyPlayerEarlyLanded"),
+    NOTIFY_PLAYER_SELECTED_PREFAB_SHIP(46, "notifyPlayerSelectedPrefabShip"),
+    NOTIFY_PLAYER_VISITED_PLANET(47, "notifyPlayerVisitedPlanet"),
+    NOTIFY_PLAYERS_FINAL_DATA(48, "notifyPlayersFinalData"),
+    NOTIFY_PREFAB_SHIP_SELECTION_RESULT(49, "notifyPrefabShipSelectionResult"),
+    NOTIFY_PREFAB_SHIPS_AVAILABLE(50, "notifyPrefabShipsAvailable"),
+    NOTIFY_RANKING_UPDATE(51, "notifyRankingUpdate"),
+    NOTIFY_REGISTRATION_SUCCESS(52, "notifyRegistrationSuccess"),
+    NOTIFY_RELEASE_COMPONENT(53, "notifyReleaseComponent"),
+    NOTIFY_REMOVE_VISIBLE_COMPONENTS(54, "notifyRemoveVisibleComponents"),
+    NOTIFY_SHIP_BOARD_UPDATE(55, "notifyShipBoardUpdate"),
+    NOTIFY_SHIP_PARTS_GENERATED_DUE_TO_REMOVAL(56, "notifyShipPartsGeneratedDueToRemoval"),
+    NOTIFY_STOLEN_VISIBLE_COMPONENT(57, "notifyStolenVisibleComponent"),
+    NOTIFY_STOP_HOURGLASS(58, "notifyStopHourglass"),
+    NOTIFY_STORAGE_ERROR(59, "notifyStorageError"),
+    NOTIFY_VALID_SHIP_BOARD(60, "notifyValidShipBoard"),
+    NOTIFY_VISIBLE_DECK(61, "notifyVisibleDeck"),
+    PLAYER_CHOSE_CABINS(62, "playerChoseCabins"),
+    PLAYER_CHOSE_DOUBLE_CANNONS(63, "playerChoseDoubleCannons"),
+    PLAYER_CHOSE_DOUBLE_ENGINES(64, "playerChoseDoubleEngines"),
+    PLAYER_CHOSE_SHIP_PART(65, "playerChoseShipPart"),
+    PLAYER_CHOSE_STORAGE(66, "playerChoseStorage"),
+    PLAYER_ENDS_BUILD_SHIP_BOARD_PHASE(67, "playerEndsBuildShipBoardPhase"),
+    PLAYER_HANDLE_BIG_METEORITE(68, "playerHandleBigMeteorite"),
+    PLAYER_HANDLE_BIG_SHOT(69, "playerHandleBigShot"),
+    PLAYER_HANDLE_SMALL_METEORITE(70, "playerHandleSmallMeteorite"),
+    PLAYER_PICKS_HIDDEN_COMPONENT(71, "playerPicksHiddenComponent"),
+    PLAYER_PICKS_VISIBLE_COMPONENT(72, "playerPicksVisibleComponent"),
+    PLAYER_PLACE_PLACEHOLDER(73, "playerPlacePlaceholder"),
+    PLAYER_WANTS_TO_ACCEPT_THE_REWARD(74, "playerWantsToAcceptTheReward"),
+    PLAYER_WANTS_TO_FOCUS_RESERVED_COMPONENT(75, "playerWantsToFocusReservedComponent"),
+    PLAYER_WANTS_TO_LAND(76, "playerWantsToLand"),
+    PLAYER_WANTS_TO_PLACE_FOCUSED_COMPONENT(77, "playerWantsToPlaceFocusedComponent"),
+    PLAYER_WANTS_TO_RELEASE_FOCUSED_COMPONENT(78, "playerWantsToReleaseFocusedComponent"),
+    PLAYER_WANTS_TO_REMOVE_COMPONENT(79, "playerWantsToRemoveComponent"),
+    PLAYER_WANTS_TO_RESERVE_FOCUSED_COMPONENT(80, "playerWantsToReserveFocusedComponent"),
+    PLAYER_WANTS_TO_RESTART_HOURGLASS(81, "playerWantsToRestartHourglass"),
+    PLAYER_WANTS_TO_THROW_DICES(82, "playerWantsToThrowDices"),
+    PLAYER_WANTS_TO_VISIT_LOCATION(83, "playerWantsToVisitLocation"),
+    PLAYER_WANTS_TO_VISIT_PLANET(84, "playerWantsToVisitPlanet"),
+    REGISTER_WITH_NICKNAME(85, "registerWithNickname"),
+    REQUEST_PREFAB_SHIPS(86, "requestPrefabShips"),
+    REQUEST_SELECT_PREFAB_SHIP(87, "requestSelectPrefabShip"),
+    REQUEST_SHIP_BOARD_SNAPSHOT(93, "requestShipBoardSnapshot"),
+    SHOW_MESSAGE(88, "showMessage"),
+    SPREAD_EPIDEMIC(89, "spreadEpidemic"),
+    STARDUST_EVENT(90, "stardustEvent"),
+    START_CHECK_SHIP_BOARD_AFTER_ATTACK(91, "startCheckShipBoardAfterAttack"),
+    SUBMIT_CREW_CHOICES(92, "submitCrewChoices");
+
+    /**
+     * Code used for actions that have no opcode of their own.
+     */
+    public static final short UNKNOWN_CODE = 0;
+
+    private static final Map<String, SocketOpcode> byAction = new HashMap<>();
+    private static final Map<Short, SocketOpcode> byCode = new HashMap<>();
+    static {
+        for (SocketOpcode opcode : values()) {
+            byAction.put(opcode.action, opcode);
+            byCode.put(opcode.code, opcode);
+        }
+    }
+
+    private final short code;
+    private final String action;
+
+    SocketOpcode(int code, String action) {
+        this.code = (short) code;
+        this.action = action;
+    }
+
+    /**
+     * Returns the numeric code sent on the wire.
+     *
+     * @return the opcode
+     */
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the action name carried by {@link SocketMessage#getActions()}.
+     *
+     * @return the action name
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Looks up the opcode of an action.
+     *
+     * @param action the action name
+     * @return the opcode, or null if the action has none
+     */
+    public static SocketOpcode fromAction(String action) {
+        return action == null ? null : byAction.get(action);
+    }
+
+    /**
+     * Looks up an opcode by its numeric code.
+     *
+     * @param code the code read from the wire
+     * @return the opcode, or null if the code is unknown
+     */
+    public static SocketOpcode fromCode(short code) {
+        return byCode.get(code);
+    }
+
+}
@@ -0,0 +1,98 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodings available on a socket connection.
+ * <p>
+ * Every connection starts in {@link #TEXT} mode, one JSON {@link SocketMessage} per line. A client may ask for another
+ * protocol by sending the literal line returned by {@link #handshakeLine()} as its very first message; the server
+ * answers with {@link #acknowledgeLine()}, still as text, and from then on both directions use the new protocol.
+ */
+public enum WireProtocol {
+    /**
+     * Newline-delimited JSON, readable and easy to debug.
+     */
+    TEXT,
+    /**
+     * Length-prefixed frames with a numeric opcode and a binary payload, see {@link BinaryFrameCodec}.
+     */
+    BINARY;
+
+    private static final String HANDSHAKE_PREFIX = "PROTOCOL ";
+    private static final String ACKNOWLEDGE_SUFFIX = " OK";
+
+    /**
+     * Maximum length of a text line, the same as the maximum length of a binary frame.
+     */
+    public static final int MAX_LINE_LENGTH = BinaryFrameCodec.MAX_FRAME_LENGTH;
+
+    /**
+     * Returns the line a client sends to select this protocol.
+     *
+     * @return the handshake line
+     */
+    public String handshakeLine() {
+        return HANDSHAKE_PREFIX + name();
+    }
+
+    /**
+     * Returns the line the server sends to confirm this protocol.
+     *
+     * @return the acknowledge line
+     */
+    public String acknowledgeLine() {
+        return handshakeLine() + ACKNOWLEDGE_SUFFIX;
+    }
+
+    /**
+     * Parses a handshake line.
+     *
+     * @param line a line received from a client
+     * @return the requested protocol, or null if the line is not a handshake for a known protocol
+     */
+    public static WireProtocol fromHandshake(String line) {
+        if (!line.startsWith(HANDSHAKE_PREFIX))
+            return null;
+        for (WireProtocol protocol : values())
+            if (protocol.handshakeLine().equals(line))
+                return protocol;
+        return null;
+    }
+
+    /**
+     * Parses a protocol name given on the command line, case-insensitively.
+     *
+     * @param name the protocol name, either "text" or "binary"
+     * @return the corresponding protocol
+     * @throws IllegalArgumentException if the name does not match any protocol
+     */
+    public static WireProtocol fromString(String name) {
+        return WireProtocol.valueOf(name.trim().toUpperCase());
+    }
+
+    /**
+     * Reads a UTF-8 line without consuming anything past its end, so that the same stream
+     * can be read as binary frames once the handshake is done.
+     *
+     * @param in the stream to read from, ideally buffered
+     * @return the line without its terminator, or null at end of stream
+     * @throws IOException if the stream cannot be read or the line is longer than {@link #MAX_LINE_LENGTH}
+     */
+    public static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0)
+                return line.size() == 0 ? null : line.toString(StandardCharsets.UTF_8);
+            if (line.size() >= MAX_LINE_LENGTH)
+                throw new IOException("Line longer than " + MAX_LINE_LENGTH + " bytes");
+            line.write(b);
+        }
+        String result = line.toString(StandardCharsets.UTF_8);
+        return result.endsWith("\r") ? result.substring(0, result.length() - 1) : result;
+    }
+}
@@ -2,11 +2,9 @@ package it.polimi.ingsw.is25am33.serializationLayer.client;
 
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.KeyDeserializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionType;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import it.polimi.ingsw.is25am33.model.board.Coordinates;
 import it.polimi.ingsw.is25am33.model.card.Planets;
+import it.polimi.ingsw.is25am33.serializationLayer.SerializationContext;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -17,11 +15,6 @@ import java.util.regex.Pattern;
 
 public class ClientDeserializer extends KeyDeserializer {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-    static {
-        mapper.registerModule(new Jdk8Module());
-    }
-
     @Override
     public Coordinates deserializeKey(String key, DeserializationContext ctxt) throws IOException {
         Pattern COORDINATE_PATTERN = Pattern.compile("\\{x = (-?\\d+), y = (-?\\d+)\\}");
@@ -38,7 +31,7 @@ public class ClientDeserializer extends KeyDeserializer {
         try {
             int x = Integer.parseInt(matcher.group(1));
             int y = Integer.parseInt(matcher.group(2));
-            return new Coordinates(x, y);
+            return Coordinates.of(x, y);
         } catch (NumberFormatException e) {
             throw new IOException("Error parsing integers from Coordinates key: " + key, e);
         }
@@ -46,14 +39,12 @@ public class ClientDeserializer extends KeyDeserializer {
 
     public static <T> T deserialize(String json, Class<T> type) throws IOException {
 
-        ObjectMapper mapper = new ObjectMapper();
-
         // simulate a file with two JSON lines per line
         BufferedReader reader = new BufferedReader(new StringReader(json));
 
         // 1° JSON: Coordinates
         String jsonLine = reader.readLine();
-        T result = mapper.readValue(jsonLine, type);
+        T result = SerializationContext.readerFor(type).readValue(jsonLine);
 
         reader.close();
 
@@ -61,14 +52,8 @@ public class ClientDeserializer extends KeyDeserializer {
     }
 
     public static <T> List<T> deserializeListOfObj(String json, Class<T> type) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-
-        // Create a type reference for a List of T objects
-        CollectionType listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
-
         // Deserialize the JSON array into a List<T>
-
-        return mapper.readValue(json, listType);
+        return SerializationContext.listReaderFor(type).readValue(json);
     }
 
 }
@@ -1,22 +1,14 @@
 package it.polimi.ingsw.is25am33.serializationLayer.client;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import it.polimi.ingsw.is25am33.serializationLayer.SerializationContext;
 
 
 
 public class ClientSerializer {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-    static {
-        mapper.registerModule(new Jdk8Module());
-    }
-
     public static <T> String serialize(T objToSerialize) {
         try {
-            //ObjectMapper mapper = new ObjectMapper();
-
-            return mapper.writeValueAsString(objToSerialize);
+            return SerializationContext.write(objToSerialize);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -1,14 +1,12 @@
 package it.polimi.ingsw.is25am33.serializationLayer.server;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.KeyDeserializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import it.polimi.ingsw.is25am33.model.board.Coordinates;
 import it.polimi.ingsw.is25am33.model.component.*;
 import it.polimi.ingsw.is25am33.model.game.Player;
+import it.polimi.ingsw.is25am33.serializationLayer.SerializationContext;
 
 import java.io.IOException;
 import java.util.List;
@@ -18,11 +16,6 @@ import java.util.stream.Stream;
 
 public class ServerDeserializer extends KeyDeserializer {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-    static {
-        mapper.registerModule(new Jdk8Module());
-    }
-
     @Override
     public Coordinates deserializeKey(String key, DeserializationContext ctxt) throws IOException {
         Pattern COORDINATE_PATTERN = Pattern.compile("\\{x = (-?\\d+), y = (-?\\d+)\\}");
@@ -39,7 +32,7 @@ public class ServerDeserializer extends KeyDeserializer {
         try {
             int x = Integer.parseInt(matcher.group(1));
             int y = Integer.parseInt(matcher.group(2));
-            return new Coordinates(x, y);
+            return Coordinates.of(x, y);
         } catch (NumberFormatException e) {
             throw new IOException("Error parsing integers from Coordinates key: " + key, e);
         }
@@ -48,8 +41,7 @@ public class ServerDeserializer extends KeyDeserializer {
     public static <T> T deserializeObj(String jsonStringWithData, Class<T> type) {
 
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(jsonStringWithData, type);
+            return SerializationContext.readerFor(type).readValue(jsonStringWithData);
         } catch (JsonProcessingException e) {
             System.err.println(e.getMessage());
             return null;
@@ -60,8 +52,7 @@ public class ServerDeserializer extends KeyDeserializer {
     public static Stream<Coordinates> deserializeCoordinates(String jsonStringWithCoordinates) {
 
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(jsonStringWithCoordinates, new TypeReference<List<Coordinates>>() {}).stream();
+            return SerializationContext.listReaderFor(Coordinates.class).<List<Coordinates>>readValue(jsonStringWithCoordinates).stream();
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
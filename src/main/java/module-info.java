@@ -12,6 +12,7 @@ module it.polimi.ingsw.is25am33 {
     requires net.bytebuddy;
     requires com.fasterxml.jackson.datatype.jdk8;
     requires com.fasterxml.jackson.databind;
+    requires com.fasterxml.jackson.dataformat.smile;
     requires java.logging;
     requires java.desktop;
     requires jdk.compiler;
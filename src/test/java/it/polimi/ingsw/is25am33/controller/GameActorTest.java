@@ -0,0 +1,196 @@
+package it.polimi.ingsw.is25am33.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameActorTest {
+
+    private static final int GAMES = 500;
+    private static final int CALLERS = 32;
+    private static final int ACTIONS_PER_CALLER = 2000;
+
+    /**
+     * State of a simulated game, not thread-safe on its own. An action places a component on a 12x12 board
+     * and scans the board, about the work of a ship board check.
+     */
+    private static class SimulatedGame {
+        private final GameActor actor;
+        private final Map<Integer, Integer> board = new HashMap<>();
+        private final int[] cells = new int[144];
+        private int actions = 0;
+        private long checksum = 0;
+
+        private SimulatedGame(String gameId) {
+            this.actor = new GameActor(gameId);
+        }
+
+        private void play(int move) {
+            board.merge(move % 64, move, Integer::sum);
+            cells[Math.floorMod(move, cells.length)]++;
+            for (int row = 0; row < 12; row++)
+                for (int column = 1; column < 12; column++)
+                    checksum += cells[row * 12 + column] ^ cells[row * 12 + column - 1];
+            actions++;
+        }
+    }
+
+    private static List<SimulatedGame> games() {
+        List<SimulatedGame> games = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++)
+            games.add(new SimulatedGame("game" + i));
+        return games;
+    }
+
+    @Test
+    void messagesOfAGameAreProcessedOneAtATime() throws Exception {
+        GameActor actor = new GameActor("game");
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        int[] count = new int[1];
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int caller = 0; caller < 8; caller++)
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < 500; i++)
+                    actor.ask(() -> {
+                        if (inside.incrementAndGet() > 1)
+                            overlaps.incrementAndGet();
+                        count[0]++;
+                        inside.decrementAndGet();
+                    });
+            }));
+        for (Future<?> future : futures)
+            future.get();
+        callers.shutdown();
+
+        assertEquals(4000, count[0]);
+        assertEquals(0, overlaps.get());
+        assertEquals(4000, actor.getProcessedMessages());
+    }
+
+    @Test
+    void exceptionsReachTheCaller() {
+        GameActor actor = new GameActor("game");
+
+        RemoteException remoteException = assertThrows(RemoteException.class, () -> actor.ask(() -> {
+            throw new RemoteException("No more flips available");
+        }));
+        assertEquals("No more flips available", remoteException.getMessage());
+        assertThrows(IllegalStateException.class, () -> actor.ask(() -> {
+            throw new IllegalStateException("Not the right state");
+        }));
+
+        // the actor keeps working after a failed message
+        int[] count = new int[1];
+        actor.ask(() -> count[0]++);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    void actionSentFromTheActorRunsImmediately() {
+        GameActor actor = new GameActor("game");
+        List<String> steps = new ArrayList<>();
+
+        actor.ask(() -> {
+            steps.add("outer");
+            actor.ask(() -> steps.add("inner"));
+            steps.add("after inner");
+        });
+
+        assertEquals(List.of("outer", "inner", "after inner"), steps);
+    }
+
+    @Test
+    void toldMessagesAreProcessedInOrderWithoutWaiting() throws Exception {
+        GameActor actor = new GameActor("game");
+        List<Integer> order = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            actor.tell(() -> order.add(value));
+        }
+        actor.tell(() -> {
+            throw new RemoteException("lost client");
+        });
+        actor.ask(() -> order.add(100));
+
+        assertEquals(101, order.size());
+        for (int i = 0; i <= 100; i++)
+            assertEquals(i, order.get(i));
+    }
+
+    /**
+     * Many callers play random actions on 500 games: with a lock per game taken by the calling thread, through
+     * the actors waiting for each action, and through the actors without waiting, until the last action is
+     * processed. Reports the actions per second of the three.
+     */
+    @Test
+    @Tag("benchmark")
+    void throughputAcrossManyGames() throws Exception {
+        int total = CALLERS * ACTIONS_PER_CALLER;
+
+        List<SimulatedGame> lockedGames = games();
+        double lockedRate = play(lockedGames, game -> {
+            synchronized (game) {
+                game.play(ThreadLocalRandom.current().nextInt());
+            }
+        }, () -> {});
+
+        List<SimulatedGame> askedGames = games();
+        double askedRate = play(askedGames, game -> game.actor.ask(() -> game.play(ThreadLocalRandom.current().nextInt())), () -> {});
+
+        List<SimulatedGame> toldGames = games();
+        double toldRate = play(toldGames, game -> game.actor.tell(() -> game.play(ThreadLocalRandom.current().nextInt())), () -> {
+            while (toldGames.stream().mapToLong(game -> game.actor.getProcessedMessages()).sum() < total)
+                Thread.onSpinWait();
+        });
+
+        assertEquals(total, lockedGames.stream().mapToInt(game -> game.actions).sum());
+        assertEquals(total, askedGames.stream().mapToInt(game -> game.actions).sum());
+        // the actions have run, but their writes are only published to this thread by the actors' next handoff
+        for (SimulatedGame game : toldGames)
+            game.actor.ask(() -> {});
+        assertEquals(total, toldGames.stream().mapToInt(game -> game.actions).sum());
+        System.out.printf("%d games, %d callers: locks %.0f actions/s, actors (ask) %.0f actions/s, actors (tell) %.0f actions/s%n",
+                GAMES, CALLERS, lockedRate, askedRate, toldRate);
+    }
+
+    private interface GameAction {
+        void perform(SimulatedGame game);
+    }
+
+    private static double play(List<SimulatedGame> games, GameAction action, Runnable awaitCompletion) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int caller = 0; caller < CALLERS; caller++)
+                futures.add(callers.submit(() -> {
+                    for (int i = 0; i < ACTIONS_PER_CALLER; i++)
+                        action.perform(games.get(ThreadLocalRandom.current().nextInt(games.size())));
+                }));
+            for (Future<?> future : futures)
+                future.get();
+            awaitCompletion.run();
+            long elapsed = System.nanoTime() - start;
+            return CALLERS * ACTIONS_PER_CALLER / (elapsed / 1e9);
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,212 @@
+package it.polimi.ingsw.is25am33.model;
+
+import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification.NotifyPlayerCredits;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification.NotifyStopHourglass;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientEventBatcherTest {
+
+    private static final int BUILD_ACTIONS = 300;
+
+    /**
+     * Client controller counting the calls it receives and keeping the notifications it applies.
+     */
+    private static class CountingClient {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final List<String> applied = new CopyOnWriteArrayList<>();
+        private final CallableOnClientController controller = (CallableOnClientController) Proxy.newProxyInstance(
+                CallableOnClientController.class.getClassLoader(),
+                new Class<?>[] { CallableOnClientController.class },
+                new InvocationHandler() {
+                    private int depth = 0;
+
+                    @Override
+                    public synchronized Object invoke(Object proxy, java.lang.reflect.Method method, Object[] arguments) throws Throwable {
+                        if (method.getDeclaringClass() == Object.class)
+                            return method.getName().equals("equals") ? proxy == arguments[0] :
+                                    method.getName().equals("hashCode") ? System.identityHashCode(proxy) : "CountingClient";
+                        if (depth == 0)
+                            calls.incrementAndGet();
+                        if (method.isDefault()) {
+                            depth++;
+                            try {
+                                return InvocationHandler.invokeDefault(proxy, method, arguments);
+                            } finally {
+                                depth--;
+                            }
+                        }
+                        applied.add(method.getName() + " " + arguments[arguments.length - 1]);
+                        return null;
+                    }
+                });
+    }
+
+    private static void placement(String nicknameToNotify, CallableOnClientController clientController, int action) throws IOException {
+        clientController.notifyStopHourglass(nicknameToNotify);
+        clientController.notifyPlayerCredits(nicknameToNotify, "player", action);
+    }
+
+    @Test
+    void recordsCallsInOrder() throws IOException {
+        List<ServerNotification> events = ClientEventBatcher.record("player", (nicknameToNotify, clientController) -> {
+            clientController.notifyStopHourglass(nicknameToNotify);
+            clientController.notifyPlayerCredits(nicknameToNotify, "other", 7);
+        });
+
+        assertEquals(List.of(new NotifyStopHourglass(), new NotifyPlayerCredits("other", 7)), events);
+    }
+
+    @Test
+    void severalCallsAreDeliveredInOneCall() throws IOException {
+        CountingClient client = new CountingClient();
+
+        ClientEventBatcher.deliver("player", client.controller, (nicknameToNotify, clientController) -> {
+            for (int i = 0; i < 3; i++)
+                placement(nicknameToNotify, clientController, i);
+        });
+
+        assertEquals(1, client.calls.get());
+        assertEquals(List.of("notifyStopHourglass player", "notifyPlayerCredits 0",
+                "notifyStopHourglass player", "notifyPlayerCredits 1",
+                "notifyStopHourglass player", "notifyPlayerCredits 2"), client.applied);
+    }
+
+    @Test
+    void singleCallIsDeliveredAsItself() throws IOException {
+        CountingClient client = new CountingClient();
+
+        ClientEventBatcher.deliver("player", client.controller, (nicknameToNotify, clientController) ->
+                clientController.notifyPlayerCredits(nicknameToNotify, "player", 4));
+        ClientEventBatcher.deliver("player", client.controller, (nicknameToNotify, clientController) -> {});
+
+        assertEquals(1, client.calls.get());
+        assertEquals(List.of("notifyPlayerCredits 4"), client.applied);
+    }
+
+    @Test
+    void failingEventStopsTheFollowingOnes() {
+        List<String> applied = new CopyOnWriteArrayList<>();
+        CallableOnClientController client = (CallableOnClientController) Proxy.newProxyInstance(
+                CallableOnClientController.class.getClassLoader(),
+                new Class<?>[] { CallableOnClientController.class },
+                (proxy, method, arguments) -> {
+                    if (method.isDefault())
+                        return InvocationHandler.invokeDefault(proxy, method, arguments);
+                    if (method.getName().equals("notifyStopHourglass"))
+                        throw new IOException("unreachable");
+                    applied.add(method.getName());
+                    return null;
+                });
+
+        assertThrows(IOException.class, () -> ClientEventBatcher.deliver("player", client, (nicknameToNotify, clientController) -> {
+            clientController.notifyPlayerCredits(nicknameToNotify, "player", 1);
+            clientController.notifyStopHourglass(nicknameToNotify);
+            clientController.notifyPlayerCredits(nicknameToNotify, "player", 2);
+        }));
+        assertEquals(List.of("notifyPlayerCredits"), applied);
+    }
+
+    @Test
+    void failingBatchStillDeliversItsNotifications() throws InterruptedException {
+        CountingClient client = new CountingClient();
+        GameClientNotifier notifier = new GameClientNotifier(new ConcurrentHashMap<>(Map.of("player", client.controller)));
+
+        assertThrows(IllegalStateException.class, () -> notifier.batch(() -> {
+            notifier.notifyAllClients((nicknameToNotify, clientController) -> placement(nicknameToNotify, clientController, 1));
+            throw new IllegalStateException("action failed");
+        }));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (client.applied.size() < 2 && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        assertEquals(List.of("notifyStopHourglass player", "notifyPlayerCredits 1"), client.applied);
+    }
+
+    /**
+     * Delivers the notifications of a sequence of build actions, each made of two calls.
+     *
+     * @param batched whether the calls of an action are delivered together
+     */
+    private static void simulateBuildPhase(CallableOnClientController clientController, boolean batched) throws IOException {
+        for (int action = 0; action < BUILD_ACTIONS; action++) {
+            int current = action;
+            if (batched) {
+                ClientEventBatcher.deliver("player", clientController, (nicknameToNotify, client) -> placement(nicknameToNotify, client, current));
+            } else {
+                ClientEventBatcher.deliver("player", clientController, (nicknameToNotify, client) -> client.notifyStopHourglass(nicknameToNotify));
+                ClientEventBatcher.deliver("player", clientController, (nicknameToNotify, client) -> client.notifyPlayerCredits(nicknameToNotify, "player", current));
+            }
+        }
+    }
+
+    @Test
+    void batchedBuildPhaseNeedsOneCallPerAction() throws IOException {
+        CountingClient client = new CountingClient();
+        simulateBuildPhase(client.controller, false);
+        int unbatchedCalls = client.calls.getAndSet(0);
+        List<String> unbatchedApplied = List.copyOf(client.applied);
+        client.applied.clear();
+
+        simulateBuildPhase(client.controller, true);
+
+        assertEquals(2 * BUILD_ACTIONS, unbatchedCalls);
+        assertEquals(BUILD_ACTIONS, client.calls.get());
+        assertEquals(unbatchedApplied, client.applied);
+    }
+
+    /**
+     * Delivers the notifications of a sequence of build actions to a client exported over RMI, first with a
+     * remote call per notification, then with the notifications of each action batched, and compares the
+     * number of remote calls and the elapsed time.
+     */
+    @Test
+    @Tag("benchmark")
+    void batchingReducesRemoteCalls() throws Exception {
+        CountingClient client = new CountingClient();
+        CallableOnClientController stub = (CallableOnClientController) UnicastRemoteObject.exportObject(client.controller, 0);
+        try {
+            // warm up the connection and the marshalling of both paths
+            simulateBuildPhase(stub, false);
+            simulateBuildPhase(stub, true);
+            client.calls.set(0);
+            client.applied.clear();
+
+            long start = System.nanoTime();
+            simulateBuildPhase(stub, false);
+            long unbatchedNanos = System.nanoTime() - start;
+            int unbatchedCalls = client.calls.getAndSet(0);
+            List<String> unbatchedApplied = List.copyOf(client.applied);
+            client.applied.clear();
+
+            start = System.nanoTime();
+            simulateBuildPhase(stub, true);
+            long batchedNanos = System.nanoTime() - start;
+            int batchedCalls = client.calls.get();
+
+            System.out.printf("RMI, %d build actions: %d remote calls in %.1f ms unbatched, %d remote calls in %.1f ms batched%n",
+                    BUILD_ACTIONS, unbatchedCalls, unbatchedNanos / 1e6, batchedCalls, batchedNanos / 1e6);
+
+            assertEquals(2 * BUILD_ACTIONS, unbatchedCalls);
+            assertEquals(BUILD_ACTIONS, batchedCalls);
+            assertEquals(unbatchedApplied, client.applied);
+        } finally {
+            UnicastRemoteObject.unexportObject(client.controller, true);
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+package it.polimi.ingsw.is25am33.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientMailboxTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<String> slowClients = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private ClientMailbox mailbox(String nickname, int capacity, long maxLagMillis) {
+        return new ClientMailbox(nickname, capacity, maxLagMillis, executor, slowClients::add);
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deliversInOrder() throws InterruptedException {
+        ClientMailbox mailbox = mailbox("player", 100, 10_000);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            assertTrue(mailbox.offer(null, () -> received.add(value)));
+        }
+        mailbox.offer(null, done::countDown);
+        await(done);
+
+        for (int i = 0; i < 50; i++)
+            assertEquals(i, received.get(i));
+        assertTrue(mailbox.getDeliveredCount() >= 50);
+        assertEquals(0, mailbox.getDepth());
+    }
+
+    @Test
+    void newerStateSupersedesPendingOne() throws InterruptedException {
+        ClientMailbox mailbox = mailbox("player", 100, 10_000);
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        mailbox.offer(null, () -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        await(blocked);
+
+        mailbox.offer("board", () -> received.add("board-1"));
+        mailbox.offer(null, () -> received.add("event"));
+        mailbox.offer("board", () -> received.add("board-2"));
+        mailbox.offer(null, done::countDown);
+        assertEquals(3, mailbox.getDepth());
+
+        release.countDown();
+        await(done);
+
+        assertEquals(List.of("event", "board-2"), received);
+        assertEquals(1, mailbox.getSupersededCount());
+    }
+
+    @Test
+    void overflowDropsPendingNotificationsAndReportsClient() throws InterruptedException {
+        ClientMailbox mailbox = mailbox("slow", 4, 10_000);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+
+        mailbox.offer(null, () -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        await(blocked);
+
+        boolean accepted = true;
+        int offered = 0;
+        while (accepted && offered < 10) {
+            int value = offered++;
+            accepted = mailbox.offer(null, () -> received.add(value));
+        }
+
+        assertFalse(accepted);
+        assertFalse(mailbox.isClosed());
+        assertEquals(0, mailbox.getDepth());
+        assertEquals(offered, mailbox.getDroppedCount());
+
+        // the client is sent the current state again, after the notification being delivered
+        CountDownLatch done = new CountDownLatch(1);
+        assertTrue(mailbox.offer(null, () -> received.add(-1)));
+        assertTrue(mailbox.offer(null, done::countDown));
+        release.countDown();
+        await(done);
+
+        assertEquals(List.of(-1), received);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(List.of("slow"), slowClients);
+    }
+
+    @Test
+    void failedDeliveryDoesNotStopTheMailbox() throws InterruptedException {
+        ClientMailbox mailbox = mailbox("player", 100, 10_000);
+        CountDownLatch done = new CountDownLatch(1);
+
+        mailbox.offer(null, () -> {
+            throw new IOException("unreachable");
+        });
+        mailbox.offer(null, done::countDown);
+        await(done);
+
+        assertEquals(1, mailbox.getFailedCount());
+    }
+
+    @Test
+    void slowClientDoesNotDelayOthers() throws InterruptedException {
+        ClientMailbox slow = mailbox("slow", 100, 10_000);
+        ClientMailbox fast = mailbox("fast", 100, 10_000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++) {
+            slow.offer(null, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            fast.offer(null, fastDone::countDown);
+        }
+
+        await(fastDone);
+        assertEquals(0, slow.getDeliveredCount());
+        assertTrue(slow.getDepth() >= 9);
+        release.countDown();
+    }
+
+}
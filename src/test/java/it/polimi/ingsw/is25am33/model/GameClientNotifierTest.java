@@ -0,0 +1,144 @@
+package it.polimi.ingsw.is25am33.model;
+
+import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.board.Level2ShipBoard;
+import it.polimi.ingsw.is25am33.model.board.ShipBoard;
+import it.polimi.ingsw.is25am33.model.board.ShipBoardDelta;
+import it.polimi.ingsw.is25am33.model.component.Cabin;
+import it.polimi.ingsw.is25am33.model.component.StructuralModules;
+import it.polimi.ingsw.is25am33.model.enumFiles.CrewMember;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameClientNotifierTest {
+
+    /**
+     * Client controller that blocks on its first call until released, and keeps the arguments of the calls it receives.
+     */
+    private static class BlockedClient {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<Object[]> received = new CopyOnWriteArrayList<>();
+        private final CallableOnClientController controller = (CallableOnClientController) Proxy.newProxyInstance(
+                CallableOnClientController.class.getClassLoader(),
+                new Class<?>[] { CallableOnClientController.class },
+                (proxy, method, arguments) -> {
+                    if (method.getDeclaringClass() == Object.class)
+                        return method.getName().equals("equals") ? proxy == arguments[0] :
+                                method.getName().equals("hashCode") ? System.identityHashCode(proxy) : "BlockedClient";
+                    release.await();
+                    received.add(arguments);
+                    return null;
+                });
+
+        private List<Object[]> await(int calls) throws InterruptedException {
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (received.size() < calls && System.nanoTime() < deadline)
+                Thread.sleep(5);
+            assertEquals(calls, received.size());
+            return received;
+        }
+    }
+
+    private static GameClientNotifier notifier(BlockedClient client) {
+        return new GameClientNotifier(new ConcurrentHashMap<>(Map.of("player", client.controller)));
+    }
+
+    @Test
+    void notificationsSendTheStateAsItWasWhenMade() throws InterruptedException {
+        BlockedClient client = new BlockedClient();
+        GameClientNotifier notifier = notifier(client);
+        Set<Coordinates> cabins = new HashSet<>(Set.of(Coordinates.of(6, 6)));
+
+        notifier.notifyAllClients((nicknameToNotify, clientController) -> clientController.notifyStopHourglass(nicknameToNotify));
+        notifier.notifyAllClients((nicknameToNotify, clientController) ->
+                clientController.notifyInfectedCrewMembersRemoved(nicknameToNotify, cabins));
+        // the game goes on while the client is still receiving the first notification
+        cabins.add(Coordinates.of(7, 7));
+        client.release.countDown();
+
+        assertEquals(Set.of(Coordinates.of(6, 6)), client.await(2).get(1)[1]);
+    }
+
+    @Test
+    void componentsAreSentAsTheyWereWhenNotified() throws InterruptedException {
+        BlockedClient client = new BlockedClient();
+        GameClientNotifier notifier = notifier(client);
+        Cabin cabin = new Cabin();
+
+        notifier.notifyAllClients((nicknameToNotify, clientController) -> clientController.notifyStopHourglass(nicknameToNotify));
+        notifier.notifyAllClients((nicknameToNotify, clientController) ->
+                clientController.notifyFocusedComponent(nicknameToNotify, "owner", cabin));
+        cabin.fillCabin(CrewMember.HUMAN);
+        client.release.countDown();
+
+        Cabin sent = (Cabin) client.await(2).get(1)[2];
+        assertNotSame(cabin, sent);
+        assertFalse(sent.hasInhabitants());
+        assertTrue(cabin.hasInhabitants());
+    }
+
+    @Test
+    void clientsWhoseNotificationCannotBeRecordedAreResynced() throws InterruptedException {
+        BlockedClient client = new BlockedClient();
+        GameClientNotifier notifier = notifier(client);
+        List<String> resynced = new CopyOnWriteArrayList<>();
+        notifier.setSlowClientHandler(resynced::add);
+
+        notifier.notifyAllClients((nicknameToNotify, clientController) -> {
+            throw new IOException("broken notification");
+        });
+        notifier.notifyAllClients((nicknameToNotify, clientController) -> clientController.notifyStopHourglass(nicknameToNotify));
+        client.release.countDown();
+
+        assertEquals(List.of("player"), resynced);
+        assertEquals(1, client.await(1).size());
+    }
+
+    /**
+     * An update superseded before it reaches the client must not become the base of the next one.
+     */
+    @Test
+    void shipBoardUpdatesStartFromTheVersionTheClientReceived() throws InterruptedException {
+        BlockedClient client = new BlockedClient();
+        GameClientNotifier notifier = notifier(client);
+        ShipBoard shipBoard = new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+        Map<Direction, ConnectorType> connectors = new EnumMap<>(Direction.class);
+        for (Direction direction : Direction.values())
+            connectors.put(direction, ConnectorType.UNIVERSAL);
+
+        notifier.notifyAllClients((nicknameToNotify, clientController) -> clientController.notifyStopHourglass(nicknameToNotify));
+        shipBoard.setComponentAt(6, 7, new StructuralModules(connectors));
+        notifier.notifyShipBoardUpdate("owner", shipBoard);
+        shipBoard.setComponentAt(6, 5, new StructuralModules(connectors));
+        notifier.notifyShipBoardUpdate("owner", shipBoard);
+        long notifiedVersion = shipBoard.getVersion();
+        // a change made while the update waits belongs to the next one
+        shipBoard.setComponentAt(6, 4, new StructuralModules(connectors));
+        client.release.countDown();
+
+        ShipBoardDelta snapshot = (ShipBoardDelta) client.await(2).get(1)[2];
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(notifiedVersion, snapshot.getVersion());
+        assertEquals(3, snapshot.getChanges().size());
+
+        notifier.notifyShipBoardUpdate("owner", shipBoard);
+        ShipBoardDelta delta = (ShipBoardDelta) client.await(3).get(2)[2];
+        assertEquals(notifiedVersion, delta.getBaseVersion());
+        assertEquals(1, delta.getChanges().size());
+        assertEquals(Coordinates.of(6, 4), delta.getChanges().getFirst().getCoordinates());
+    }
+
+}
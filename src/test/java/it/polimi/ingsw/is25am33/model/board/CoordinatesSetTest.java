@@ -0,0 +1,133 @@
+package it.polimi.ingsw.is25am33.model.board;
+
+import it.polimi.ingsw.is25am33.client.model.PrefabShipFactory;
+import it.polimi.ingsw.is25am33.model.GameClientNotifier;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import it.polimi.ingsw.is25am33.serializationLayer.SerializationContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoordinatesSetTest {
+
+    @Test
+    void behavesLikeAHashSet() {
+        Random random = new Random(23);
+        Set<Coordinates> expected = new HashSet<>();
+        CoordinatesSet set = new CoordinatesSet();
+
+        for (int i = 0; i < 20_000; i++) {
+            // a few coordinates fall outside the board
+            Coordinates coordinates = Coordinates.of(random.nextInt(14) - 1, random.nextInt(14) - 1);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.add(coordinates), set.add(coordinates));
+                case 1 -> assertEquals(expected.remove(coordinates), set.remove(coordinates));
+                default -> assertEquals(expected.contains(coordinates), set.contains(coordinates));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+
+        assertEquals(expected, set);
+        assertEquals(set, expected);
+        assertEquals(expected.hashCode(), set.hashCode());
+        assertEquals(expected, new HashSet<>(set));
+    }
+
+    @Test
+    void iteratesInCellOrderAndRemoves() {
+        CoordinatesSet set = new CoordinatesSet(List.of(Coordinates.of(11, 11), Coordinates.of(0, 0),
+                Coordinates.of(5, 4), Coordinates.of(5, 3), Coordinates.of(-1, -1)));
+
+        List<Coordinates> order = new ArrayList<>(set);
+        assertEquals(List.of(Coordinates.of(0, 0), Coordinates.of(5, 3), Coordinates.of(5, 4),
+                Coordinates.of(11, 11), Coordinates.of(-1, -1)), order);
+        assertSame(Coordinates.of(5, 3), order.get(1));
+
+        set.removeIf(coordinates -> coordinates.getX() == 5 || coordinates.isCoordinateInvalid());
+        assertEquals(Set.of(Coordinates.of(0, 0), Coordinates.of(11, 11)), set);
+        assertTrue(set.contains(11, 11));
+        assertFalse(set.contains(5, 3));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.iterator().hasNext());
+    }
+
+    /**
+     * Sets of ship parts are looked up in sets of sets, whatever their implementation on each side.
+     */
+    @Test
+    void shipPartsMatchTheSetsReceivedFromTheClients() {
+        CoordinatesSet part = new CoordinatesSet(List.of(Coordinates.of(6, 6), Coordinates.of(6, 7)));
+        Set<Set<Coordinates>> parts = new HashSet<>(Set.of(part));
+
+        assertTrue(parts.contains(new HashSet<>(List.of(new Coordinates(6, 7), new Coordinates(6, 6)))));
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        try {
+            return (long) Class.forName("com.sun.management.ThreadMXBean")
+                    .getMethod("getThreadAllocatedBytes", long.class)
+                    .invoke(threads, Thread.currentThread().threadId());
+        } catch (ReflectiveOperationException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Plays the coordinate-heavy part of a game on every prefab ship: the ship board check, the removal of the
+     * wrongly placed components with the recalculation of the ship parts, the lookups of the card phase and
+     * the sets sent to the clients. Reports the bytes allocated per game.
+     */
+    @Test
+    @Tag("benchmark")
+    void scriptedGameAllocations() throws Exception {
+        List<String> prefabShipIds = List.of("basic_ship", "cargo_ship", "cargo_hauler", "nave_scorretta",
+                "ship_for_meteorites", "test_many_exposed", "nave_completa", "nave_test_errori",
+                "storage_ship", "nave_smugglers", "nave_test_errore_check_shipboard");
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        int games = 50;
+        long parts = 0;
+        long allocated = 0;
+        for (int game = -10; game < games; game++) {
+            List<ShipBoard> shipBoards = new ArrayList<>();
+            for (String prefabShipId : prefabShipIds) {
+                ShipBoard shipBoard = new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+                PrefabShipFactory.applyPrefabShip(shipBoard, prefabShipId);
+                shipBoards.add(shipBoard);
+            }
+
+            long start = allocatedBytes(threads);
+            for (ShipBoard shipBoard : shipBoards) {
+                shipBoard.checkShipBoard();
+                SerializationContext.write(shipBoard.getIncorrectlyPositionedComponentsCoordinates());
+                for (Coordinates incorrect : new ArrayList<>(shipBoard.getIncorrectlyPositionedComponentsCoordinates())) {
+                    if (shipBoard.getComponentAt(incorrect) == null)
+                        continue;
+                    Set<Set<Coordinates>> shipParts = shipBoard.removeAndRecalculateShipParts(incorrect.getX(), incorrect.getY());
+                    parts += shipParts.size();
+                    SerializationContext.write(shipParts);
+                }
+
+                parts += shipBoard.getCoordinatesAndStorages().size();
+                parts += shipBoard.getCoordinatesAndCabins().size();
+                parts += shipBoard.getCabinCoordinatesWithNeighbors().size();
+                parts += shipBoard.getCoordinatesOfComponents(shipBoard.getAllEngines()).size();
+            }
+            // the first games warm up the code and are not measured, nor is the building of the ships
+            if (game >= 0)
+                allocated += allocatedBytes(threads) - start;
+        }
+
+        assertTrue(parts > 0);
+        System.out.printf("%d ships per game: %d bytes allocated per game%n", prefabShipIds.size(), allocated / games);
+    }
+
+}
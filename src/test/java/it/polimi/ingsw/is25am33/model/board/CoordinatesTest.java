@@ -0,0 +1,54 @@
+package it.polimi.ingsw.is25am33.model.board;
+
+import it.polimi.ingsw.is25am33.serializationLayer.SerializationContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoordinatesTest {
+
+    @Test
+    void cellsOfTheBoardAreShared() {
+        assertSame(Coordinates.of(3, 7), Coordinates.of(3, 7));
+        assertEquals(Coordinates.of(3, 7), new Coordinates(3, 7));
+        assertEquals(new Coordinates(3, 7).hashCode(), Coordinates.of(3, 7).hashCode());
+
+        // coordinates outside the board are still valid values
+        assertNotSame(Coordinates.of(-1, -1), Coordinates.of(-1, -1));
+        assertTrue(Coordinates.of(-1, -1).isCoordinateInvalid());
+        assertEquals(Coordinates.of(12, 0), Coordinates.of(12, 0));
+    }
+
+    @Test
+    void jsonKeepsTheListFormat() throws IOException {
+        String json = SerializationContext.write(Coordinates.of(4, 9));
+        assertEquals("{\"coordinates\":[4,9]}", json);
+
+        Coordinates read = SerializationContext.readerFor(Coordinates.class).readValue(json);
+        assertSame(Coordinates.of(4, 9), read);
+
+        List<Coordinates> list = SerializationContext.listReaderFor(Coordinates.class)
+                .readValue(SerializationContext.write(new CoordinatesSet(Set.of(Coordinates.of(1, 2), Coordinates.of(-1, -1)))));
+        assertEquals(Set.of(Coordinates.of(1, 2), Coordinates.of(-1, -1)), Set.copyOf(list));
+
+        assertTrue(SerializationContext.readerFor(Coordinates.class).<Coordinates>readValue("{}").isCoordinateInvalid());
+    }
+
+    @Test
+    void javaSerializationReturnsTheSharedCell() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(Coordinates.of(6, 6));
+            out.writeObject(new CoordinatesSet(Set.of(Coordinates.of(6, 7), Coordinates.of(20, 20))));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(Coordinates.of(6, 6), in.readObject());
+            assertEquals(Set.of(Coordinates.of(6, 7), Coordinates.of(20, 20)), in.readObject());
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+package it.polimi.ingsw.is25am33.model.board;
+
+import it.polimi.ingsw.is25am33.client.model.PrefabShipFactory;
+import it.polimi.ingsw.is25am33.model.GameClientNotifier;
+import it.polimi.ingsw.is25am33.model.component.*;
+import it.polimi.ingsw.is25am33.model.dangerousObj.BigShot;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static it.polimi.ingsw.is25am33.model.board.ShipBoard.BOARD_DIMENSION;
+import static it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType.EMPTY;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the line queries of the ship board, answered by its bitboard, against a plain scan of the ship matrix,
+ * on every prefab ship and on random ships.
+ */
+class ShipBitboardTest {
+
+    private static ShipBoard newShipBoard() {
+        return new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+    }
+
+    // every ship the factory can build, including the ones not listed to the players
+    private static final List<String> PREFAB_SHIP_IDS = List.of("basic_ship", "cargo_ship", "cargo_hauler", "nave_scorretta",
+            "basic_gui_shipboard", "ship_for_meteorites", "test_many_exposed", "test_no_exposed", "test_cargo_full",
+            "test_many_lost", "test_no_engines", "test_no_humans", "nave_completa", "nave_test_errori", "storage_ship",
+            "gui_shipboard_meteorite", "engine_batterybox_ship", "nave_smugglers", "nave_test_errore_check_shipboard");
+
+    private static List<ShipBoard> prefabShips() {
+        List<ShipBoard> ships = new ArrayList<>();
+        for (String prefabShipId : PREFAB_SHIP_IDS) {
+            ShipBoard shipBoard = newShipBoard();
+            if (PrefabShipFactory.applyPrefabShip(shipBoard, prefabShipId))
+                ships.add(shipBoard);
+        }
+        return ships;
+    }
+
+    private static Map<Direction, ConnectorType> randomConnectors(Random random) {
+        Map<Direction, ConnectorType> connectors = new EnumMap<>(Direction.class);
+        for (Direction direction : Direction.values())
+            connectors.put(direction, ConnectorType.values()[random.nextInt(ConnectorType.values().length)]);
+        return connectors;
+    }
+
+    private static ShipBoard randomShip(Random random) {
+        List<Supplier<Component>> kinds = List.of(
+                () -> new Cannon(randomConnectors(random)),
+                () -> new DoubleCannon(randomConnectors(random)),
+                () -> new Engine(randomConnectors(random)),
+                () -> new DoubleEngine(randomConnectors(random)),
+                () -> new Shield(randomConnectors(random)),
+                () -> new Cabin(randomConnectors(random)),
+                () -> new StandardStorage(randomConnectors(random), 2),
+                () -> new BatteryBox(randomConnectors(random), 3),
+                () -> new StructuralModules(randomConnectors(random)));
+
+        ShipBoard shipBoard = newShipBoard();
+        for (int x = 0; x < BOARD_DIMENSION; x++) {
+            for (int y = 0; y < BOARD_DIMENSION; y++) {
+                if (shipBoard.shipMatrix[x][y] != null || !shipBoard.isValidPosition(x, y) || random.nextInt(3) == 0)
+                    continue;
+                Component component = kinds.get(random.nextInt(kinds.size())).get();
+                for (int rotation = random.nextInt(4); rotation > 0; rotation--)
+                    component.rotate();
+                shipBoard.setComponentAt(x, y, component);
+            }
+        }
+        return shipBoard;
+    }
+
+    private static Component cellHitAt(Component[][] matrix, int pos, Direction direction, int step) {
+        int reversed = BOARD_DIMENSION - 1 - step;
+        return switch (direction) {
+            case NORTH -> matrix[step][pos];
+            case SOUTH -> matrix[reversed][pos];
+            case EAST -> matrix[pos][reversed];
+            case WEST -> matrix[pos][step];
+        };
+    }
+
+    private static int[] scanFirstHit(Component[][] matrix, int pos, Direction direction) {
+        for (int step = 0; step < BOARD_DIMENSION; step++) {
+            if (cellHitAt(matrix, pos, direction, step) == null)
+                continue;
+            int reversed = BOARD_DIMENSION - 1 - step;
+            return switch (direction) {
+                case NORTH -> new int[]{step, pos};
+                case SOUTH -> new int[]{reversed, pos};
+                case EAST -> new int[]{pos, reversed};
+                case WEST -> new int[]{pos, step};
+            };
+        }
+        return null;
+    }
+
+    private static boolean scanCannon(Component[][] matrix, int pos, Direction direction, boolean doubleCannon) {
+        for (int step = 0; step < BOARD_DIMENSION; step++) {
+            Component component = cellHitAt(matrix, pos, direction, step);
+            if (component instanceof Cannon cannon && (cannon instanceof DoubleCannon) == doubleCannon && cannon.getFireDirection() == direction)
+                return true;
+        }
+        return false;
+    }
+
+    private static void assertSameAnswers(ShipBoard shipBoard) {
+        Component[][] matrix = shipBoard.shipMatrix;
+        for (Direction direction : Direction.values()) {
+            for (int pos = 0; pos < BOARD_DIMENSION; pos++) {
+                String query = direction + " " + pos;
+                int[] firstHit = scanFirstHit(matrix, pos, direction);
+
+                assertArrayEquals(firstHit, shipBoard.findFirstComponentInDirection(pos, direction), query);
+                assertEquals(scanCannon(matrix, pos, direction, false), shipBoard.isThereACannon(pos, direction), query);
+                assertEquals(scanCannon(matrix, pos, direction, true), shipBoard.isThereADoubleCannon(pos, direction), query);
+                assertEquals(firstHit != null && matrix[firstHit[0]][firstHit[1]].getConnectors().get(direction) != EMPTY,
+                        shipBoard.isExposed(pos, direction), query);
+
+                BigShot shot = new BigShot(direction);
+                shot.setCoordinates(pos);
+                assertEquals(firstHit != null, shipBoard.isItGoingToHitTheShip(shot), query);
+
+                Component[] ordered = shipBoard.getOrderedComponentsInDirection(pos, direction);
+                for (int step = 0; step < BOARD_DIMENSION; step++)
+                    assertSame(cellHitAt(matrix, pos, direction, step), ordered[step], query);
+            }
+        }
+    }
+
+    @Test
+    void prefabShipsGiveTheSameAnswersAsAScan() {
+        List<ShipBoard> ships = prefabShips();
+        assertFalse(ships.isEmpty());
+        ships.forEach(ShipBitboardTest::assertSameAnswers);
+    }
+
+    @Test
+    void randomShipsGiveTheSameAnswersAsAScan() {
+        Random random = new Random(25);
+        for (int i = 0; i < 200; i++)
+            assertSameAnswers(randomShip(random));
+    }
+
+    /**
+     * Removing components through the board updates the bitboard in place, without rebuilding it.
+     */
+    @Test
+    void removalsKeepTheBitboardInSync() {
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            ShipBoard shipBoard = randomShip(random);
+            assertSameAnswers(shipBoard);
+            ShipBitboard bitboard = shipBoard.bitboard();
+
+            for (int removal = 0; removal < 10; removal++) {
+                int x = random.nextInt(BOARD_DIMENSION);
+                int y = random.nextInt(BOARD_DIMENSION);
+                if (shipBoard.shipMatrix[x][y] == null)
+                    continue;
+                if (random.nextBoolean())
+                    shipBoard.removeAndRecalculateShipParts(x, y);
+                else
+                    shipBoard.removeShipPart(Set.of(new Coordinates(x, y)));
+                assertSameAnswers(shipBoard);
+            }
+            assertSame(bitboard, shipBoard.bitboard());
+        }
+    }
+
+    /**
+     * Reading the matrix keeps the bitboard, and cells written through the board keep it in sync.
+     */
+    @Test
+    void readsKeepTheBitboardAndCellWritesUpdateIt() {
+        Random random = new Random(3);
+        for (int i = 0; i < 50; i++) {
+            ShipBoard shipBoard = randomShip(random);
+            ShipBitboard bitboard = shipBoard.bitboard();
+            shipBoard.getShipMatrix();
+            assertSame(bitboard, shipBoard.bitboard());
+
+            for (int write = 0; write < 10; write++) {
+                int x = random.nextInt(BOARD_DIMENSION);
+                int y = random.nextInt(BOARD_DIMENSION);
+                if (!shipBoard.isValidPosition(x, y))
+                    continue;
+                shipBoard.setComponentAt(x, y, random.nextBoolean() ? null : new Cannon(randomConnectors(random)));
+                assertSameAnswers(shipBoard);
+            }
+            assertSame(bitboard, shipBoard.bitboard());
+        }
+    }
+
+    /**
+     * Runs the line queries of a meteor swarm on every prefab ship, once with a scan of the matrix,
+     * as the ship board did, and once through the bitboard. Reports the queries per second of both.
+     */
+    @Test
+    @Tag("benchmark")
+    void lineQueriesThroughput() {
+        List<ShipBoard> ships = prefabShips();
+        int rounds = 2000;
+        long sink = 0;
+
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++)
+            for (ShipBoard shipBoard : ships)
+                for (Direction direction : Direction.values())
+                    for (int pos = 0; pos < BOARD_DIMENSION; pos++) {
+                        int[] hit = scanFirstHit(shipBoard.shipMatrix, pos, direction);
+                        if (hit != null && scanCannon(shipBoard.shipMatrix, pos, direction, false))
+                            sink++;
+                    }
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int round = 0; round < rounds; round++)
+            for (ShipBoard shipBoard : ships)
+                for (Direction direction : Direction.values())
+                    for (int pos = 0; pos < BOARD_DIMENSION; pos++) {
+                        int[] hit = shipBoard.findFirstComponentInDirection(pos, direction);
+                        if (hit != null && shipBoard.isThereACannon(pos, direction))
+                            sink--;
+                    }
+        long bitboardNanos = System.nanoTime() - start;
+
+        assertEquals(0, sink);
+        double queries = 2.0 * rounds * ships.size() * Direction.values().length * BOARD_DIMENSION;
+        System.out.printf("%d ships: scan %.0f queries/s, bitboard %.0f queries/s%n",
+                ships.size(), queries / (scanNanos / 1e9), queries / (bitboardNanos / 1e9));
+    }
+
+}
@@ -0,0 +1,234 @@
+package it.polimi.ingsw.is25am33.model.board;
+
+import it.polimi.ingsw.is25am33.client.model.PrefabShipFactory;
+import it.polimi.ingsw.is25am33.model.GameClientNotifier;
+import it.polimi.ingsw.is25am33.model.component.*;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static it.polimi.ingsw.is25am33.model.board.ShipBoard.BOARD_DIMENSION;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the placement rule violations kept up to date by the ship board against a full rescan of the ship matrix,
+ * as {@link ShipBoard#checkShipBoard()} used to do, for random sequences of placements and removals.
+ */
+class ShipBoardIncrementalCheckTest {
+
+    private static ShipBoard newShipBoard() {
+        return new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+    }
+
+    /**
+     * Validates every cell of the ship board from scratch.
+     */
+    private static Set<Coordinates> fullRescan(ShipBoard shipBoard) {
+        Component[][] matrix = shipBoard.shipMatrix;
+        Set<Coordinates> incorrect = new HashSet<>();
+        int componentsCounter = 0;
+
+        for (int i = 0; i < BOARD_DIMENSION; i++) {
+            for (int j = 0; j < BOARD_DIMENSION; j++) {
+                Component component = matrix[i][j];
+                if (component == null || !shipBoard.isValidPosition(i, j))
+                    continue;
+                componentsCounter++;
+
+                if (!(component instanceof MainCabin) && !shipBoard.isPositionConnectedToShip(component, i, j)) {
+                    incorrect.add(new Coordinates(i, j));
+                    continue;
+                }
+                if (!shipBoard.areConnectorsWellConnected(component, i, j)
+                        || !shipBoard.areEmptyConnectorsWellConnected(component, i, j)
+                        || shipBoard.isComponentInFireDirection(component, i, j)
+                        || shipBoard.isComponentInEngineDirection(component, i, j)
+                        || shipBoard.isEngineDirectionWrong(component)
+                        || shipBoard.isAimingAComponent(component, i, j))
+                    incorrect.add(new Coordinates(i, j));
+            }
+        }
+
+        if (componentsCounter <= 1)
+            incorrect.clear();
+        return incorrect;
+    }
+
+    private static void assertSameAsFullRescan(ShipBoard shipBoard, String step) {
+        shipBoard.checkShipBoard();
+        assertEquals(fullRescan(shipBoard), shipBoard.getIncorrectlyPositionedComponentsCoordinates(), step);
+        assertEquals(shipBoard.getIncorrectlyPositionedComponentsCoordinates().isEmpty(), shipBoard.isShipCorrect(), step);
+    }
+
+    private static Component randomComponent(Random random) {
+        Map<Direction, ConnectorType> connectors = new EnumMap<>(Direction.class);
+        for (Direction direction : Direction.values())
+            connectors.put(direction, ConnectorType.values()[random.nextInt(ConnectorType.values().length)]);
+
+        List<Supplier<Component>> kinds = List.of(
+                () -> new Cannon(connectors),
+                () -> new DoubleCannon(connectors),
+                () -> new Engine(connectors),
+                () -> new DoubleEngine(connectors),
+                () -> new Shield(connectors),
+                () -> new Cabin(connectors),
+                () -> new StandardStorage(connectors, 2),
+                () -> new BatteryBox(connectors, 3),
+                () -> new StructuralModules(connectors));
+        Component component = kinds.get(random.nextInt(kinds.size())).get();
+        for (int rotation = random.nextInt(4); rotation > 0; rotation--)
+            component.rotate();
+        return component;
+    }
+
+    /**
+     * Places a random component on a random free cell connected to the ship, as a player would.
+     */
+    private static void placeRandomComponent(ShipBoard shipBoard, Random random) {
+        Component component = randomComponent(random);
+        List<int[]> free = new ArrayList<>();
+        for (int x = 0; x < BOARD_DIMENSION; x++)
+            for (int y = 0; y < BOARD_DIMENSION; y++)
+                if (shipBoard.isValidPosition(x, y) && shipBoard.shipMatrix[x][y] == null
+                        && shipBoard.isPositionConnectedToShip(component, x, y))
+                    free.add(new int[]{x, y});
+        if (free.isEmpty())
+            return;
+
+        int[] cell = free.get(random.nextInt(free.size()));
+        shipBoard.setFocusedComponent(component);
+        shipBoard.placeComponentWithFocus(cell[0], cell[1]);
+    }
+
+    /**
+     * Removes a random component and, if the ship splits, keeps one of its parts, as a player would.
+     */
+    private static void removeRandomComponent(ShipBoard shipBoard, Random random) {
+        List<int[]> occupied = new ArrayList<>();
+        for (int x = 0; x < BOARD_DIMENSION; x++)
+            for (int y = 0; y < BOARD_DIMENSION; y++)
+                if (shipBoard.shipMatrix[x][y] != null)
+                    occupied.add(new int[]{x, y});
+        if (occupied.isEmpty())
+            return;
+
+        int[] cell = occupied.get(random.nextInt(occupied.size()));
+        List<Set<Coordinates>> parts = new ArrayList<>(shipBoard.removeAndRecalculateShipParts(cell[0], cell[1]));
+        if (parts.size() > 1) {
+            parts.remove(random.nextInt(parts.size()));
+            parts.forEach(shipBoard::removeShipPart);
+        }
+    }
+
+    @Test
+    void randomPlacementsAndRemovalsMatchAFullRescan() {
+        Random random = new Random(24);
+        for (int ship = 0; ship < 100; ship++) {
+            ShipBoard shipBoard = newShipBoard();
+            assertSameAsFullRescan(shipBoard, "empty ship " + ship);
+
+            for (int step = 0; step < 60; step++) {
+                if (random.nextInt(4) == 0)
+                    removeRandomComponent(shipBoard, random);
+                else
+                    placeRandomComponent(shipBoard, random);
+
+                // the rules are also checked in the middle of the building, when players do not ask for them
+                if (random.nextBoolean())
+                    assertSameAsFullRescan(shipBoard, "ship " + ship + " step " + step);
+            }
+            assertSameAsFullRescan(shipBoard, "ship " + ship);
+        }
+    }
+
+    /**
+     * The ship matrix handed out by the board can be written directly, as the prefab ships do.
+     */
+    @Test
+    void directWritesToTheMatrixAreFound() {
+        Random random = new Random(42);
+        for (int ship = 0; ship < 100; ship++) {
+            ShipBoard shipBoard = newShipBoard();
+            assertSameAsFullRescan(shipBoard, "empty ship " + ship);
+
+            Component[][] matrix = shipBoard.getShipMatrix();
+            for (int step = 0; step < 40; step++) {
+                int x = random.nextInt(BOARD_DIMENSION);
+                int y = random.nextInt(BOARD_DIMENSION);
+                if (random.nextInt(3) == 0)
+                    matrix[x][y] = null;
+                else if (shipBoard.isValidPosition(x, y))
+                    matrix[x][y] = randomComponent(random);
+
+                if (random.nextInt(4) == 0)
+                    removeRandomComponent(shipBoard, random);
+                assertSameAsFullRescan(shipBoard, "ship " + ship + " step " + step);
+            }
+        }
+    }
+
+    @Test
+    void replacedMatricesAreRevalidated() {
+        ShipBoard shipBoard = newShipBoard();
+        PrefabShipFactory.applyPrefabShip(shipBoard, "nave_test_errori");
+        assertSameAsFullRescan(shipBoard, "nave_test_errori");
+        assertFalse(shipBoard.isShipCorrect());
+
+        ShipBoard other = newShipBoard();
+        PrefabShipFactory.applyPrefabShip(other, "basic_ship");
+        shipBoard.setShipMatrix(other.getShipMatrix());
+        assertSameAsFullRescan(shipBoard, "basic_ship");
+    }
+
+    /**
+     * Removes the wrongly placed components of every prefab ship one at a time, checking the ship after each
+     * removal as the check phase does, once with a full rescan and once with the incremental check.
+     * Reports the checks per second of both.
+     */
+    @Test
+    @Tag("benchmark")
+    void checkPhaseThroughput() {
+        List<String> prefabShipIds = List.of("basic_ship", "cargo_ship", "cargo_hauler", "nave_scorretta",
+                "ship_for_meteorites", "test_many_exposed", "nave_completa", "nave_test_errori",
+                "storage_ship", "nave_smugglers", "nave_test_errore_check_shipboard");
+        int rounds = 100;
+        long[] nanos = new long[2];
+        long[] checks = new long[2];
+
+        for (int round = 0; round < rounds; round++) {
+            for (int mode = 0; mode < 2; mode++) {
+                for (String prefabShipId : prefabShipIds) {
+                    ShipBoard shipBoard = newShipBoard();
+                    PrefabShipFactory.applyPrefabShip(shipBoard, prefabShipId);
+
+                    long start = System.nanoTime();
+                    Set<Coordinates> incorrect = mode == 0 ? fullRescan(shipBoard) : check(shipBoard);
+                    checks[mode]++;
+                    while (!incorrect.isEmpty()) {
+                        Coordinates coordinates = incorrect.iterator().next();
+                        shipBoard.removeAndRecalculateShipParts(coordinates.getX(), coordinates.getY());
+                        incorrect = mode == 0 ? fullRescan(shipBoard) : check(shipBoard);
+                        checks[mode]++;
+                    }
+                    nanos[mode] += System.nanoTime() - start;
+                }
+            }
+        }
+
+        assertEquals(checks[0], checks[1]);
+        System.out.printf("%d ships: full rescan %.0f checks/s, incremental %.0f checks/s%n", prefabShipIds.size(),
+                checks[0] / (nanos[0] / 1e9), checks[1] / (nanos[1] / 1e9));
+    }
+
+    private static Set<Coordinates> check(ShipBoard shipBoard) {
+        shipBoard.checkShipBoard();
+        return shipBoard.getIncorrectlyPositionedComponentsCoordinates();
+    }
+
+}
@@ -1478,4 +1478,129 @@ public class ShipBoardTest {
         assertDoesNotThrow(() -> shipBoard.ejectAliens());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testCommitChangesCreatesVersionsOnlyForChanges() {
+        long initial = shipBoard.commitChanges();
+        assertEquals(initial, shipBoard.commitChanges());
+
+        BatteryBox batteryBox = new BatteryBox(createSimpleConnectors(), 2);
+        shipBoard.shipMatrix[cabinX][cabinY + 1] = batteryBox;
+        assertEquals(initial + 1, shipBoard.commitChanges());
+
+        batteryBox.useBattery();
+        assertEquals(initial + 2, shipBoard.commitChanges());
+
+        ShipBoardDelta delta = shipBoard.getChangesSince(initial + 1);
+        assertEquals(initial + 1, delta.getBaseVersion());
+        assertEquals(initial + 2, delta.getVersion());
+        assertEquals(1, delta.getChanges().size());
+        assertEquals(new Coordinates(cabinX, cabinY + 1), delta.getChanges().getFirst().getCoordinates());
+        assertNull(delta.getNotActiveComponents());
+    }
+
+    @Test
+    void testDeltasKeepACopyInSync() {
+        ShipBoard copy = new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+        Cabin cabin = new Cabin(createSimpleConnectors());
+        cabin.fillCabin(CrewMember.HUMAN);
+        Engine engine = new Engine(createSimpleConnectors());
+        shipBoard.shipMatrix[cabinX][cabinY + 1] = cabin;
+        shipBoard.shipMatrix[cabinX + 1][cabinY] = engine;
+
+        assertTrue(copy.applyDelta(shipBoard.getSnapshot()));
+        assertSame(cabin, copy.getShipMatrix()[cabinX][cabinY + 1]);
+        long synced = copy.getVersion();
+
+        cabin.removeMember();
+        shipBoard.removeShipPart(Set.of(new Coordinates(cabinX + 1, cabinY)));
+        engine.rotate();
+        ShipBoardDelta delta = shipBoard.getChangesSince(synced);
+
+        assertEquals(2, delta.getChanges().size());
+        assertTrue(copy.applyDelta(delta));
+        assertNull(copy.getShipMatrix()[cabinX + 1][cabinY]);
+        assertEquals(List.of(engine), copy.getNotActiveComponents());
+        assertEquals(List.of(cabin), copy.getComponentsPerType().get(Cabin.class));
+        assertNull(copy.getComponentsPerType().get(Engine.class));
+        assertEquals(shipBoard.getVersion(), copy.getVersion());
+    }
+
+    @Test
+    void testGapsAreDetected() {
+        ShipBoard copy = new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+        assertTrue(copy.applyDelta(shipBoard.getSnapshot()));
+        long synced = copy.getVersion();
+
+        shipBoard.shipMatrix[cabinX][cabinY + 1] = new Engine(createSimpleConnectors());
+        shipBoard.commitChanges();
+        shipBoard.shipMatrix[cabinX][cabinY + 2] = new Engine(createSimpleConnectors());
+        shipBoard.commitChanges();
+
+        assertFalse(copy.applyDelta(shipBoard.getChangesSince(synced + 1)));
+        assertEquals(synced, copy.getVersion());
+        assertTrue(copy.applyDelta(shipBoard.getChangesSince(synced)));
+    }
+
+    @Test
+    void testVersionsOutOfTheChangeLogGetASnapshot() {
+        long initial = shipBoard.commitChanges();
+        BatteryBox batteryBox = new BatteryBox(createSimpleConnectors(), 3);
+        shipBoard.shipMatrix[cabinX][cabinY + 1] = batteryBox;
+        for (int i = 0; i < 40; i++) {
+            batteryBox.rotate();
+            shipBoard.commitChanges();
+        }
+
+        assertTrue(shipBoard.getChangesSince(initial).isSnapshot());
+        assertFalse(shipBoard.getChangesSince(shipBoard.getVersion() - 1).isSnapshot());
+        assertTrue(shipBoard.getChangesSince(shipBoard.getVersion() + 5).isSnapshot());
+    }
+
+    /**
+     * Checks random ships, whose components have random connectors and rotations, as at the end of the
+     * building phase. Reports the ship checks per second.
+     */
+    @Test
+    @Tag("benchmark")
+    void checkShipBoardThroughput() {
+        Random random = new Random(22);
+        ConnectorType[] types = ConnectorType.values();
+        List<ShipBoard> ships = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ShipBoard ship = new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+            for (int x = 0; x < ShipBoard.BOARD_DIMENSION; x++) {
+                for (int y = 0; y < ShipBoard.BOARD_DIMENSION; y++) {
+                    if (ship.shipMatrix[x][y] != null || !ship.isValidPosition(x, y) || random.nextInt(4) == 0)
+                        continue;
+                    Map<Direction, ConnectorType> connectors = createCustomConnectors(types[random.nextInt(4)],
+                            types[random.nextInt(4)], types[random.nextInt(4)], types[random.nextInt(4)]);
+                    Component component = switch (random.nextInt(4)) {
+                        case 0 -> new Cannon(connectors);
+                        case 1 -> new Engine(connectors);
+                        case 2 -> new Cabin(connectors);
+                        default -> new StructuralModules(connectors);
+                    };
+                    for (int rotation = random.nextInt(4); rotation > 0; rotation--)
+                        component.rotate();
+                    ship.shipMatrix[x][y] = component;
+                }
+            }
+            ships.add(ship);
+        }
+
+        int rounds = 20;
+        int incorrect = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (ShipBoard ship : ships) {
+                ship.checkShipBoard();
+                incorrect += ship.getIncorrectlyPositionedComponentsCoordinates().size();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(incorrect > 0);
+        System.out.printf("%d random ships: %.0f checks/s%n", ships.size(), rounds * ships.size() / (elapsed / 1e9));
+    }
+
+}
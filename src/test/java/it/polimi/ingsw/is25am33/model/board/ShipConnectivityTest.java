@@ -0,0 +1,212 @@
+package it.polimi.ingsw.is25am33.model.board;
+
+import it.polimi.ingsw.is25am33.client.model.PrefabShipFactory;
+import it.polimi.ingsw.is25am33.model.GameClientNotifier;
+import it.polimi.ingsw.is25am33.model.component.*;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static it.polimi.ingsw.is25am33.model.board.ShipBoard.BOARD_DIMENSION;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the ship parts found by the connectivity index against a breadth-first search of the ship matrix,
+ * as {@link ShipBoard#identifyShipParts} used to do, for random sequences of hits.
+ */
+class ShipConnectivityTest {
+
+    private static ShipBoard newShipBoard() {
+        return new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+    }
+
+    /**
+     * A ship board finding its parts with a breadth-first search from the neighbours of the removed cell.
+     */
+    private static ShipBoard newSearchingShipBoard() {
+        return new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false) {
+            @Override
+            public Set<Set<Coordinates>> identifyShipParts(int x, int y) {
+                return searchShipParts(this, x, y);
+            }
+        };
+    }
+
+    private static Set<Set<Coordinates>> searchShipParts(ShipBoard shipBoard, int x, int y) {
+        boolean[][] visited = new boolean[BOARD_DIMENSION][BOARD_DIMENSION];
+        Set<Set<Coordinates>> shipParts = new HashSet<>();
+        visited[x][y] = true;
+
+        for (Direction direction : Direction.values()) {
+            int[] neighbor = shipBoard.getNeighborCoordinates(x, y, direction);
+            if (!shipBoard.isValidPosition(neighbor[0], neighbor[1]) || shipBoard.shipMatrix[neighbor[0]][neighbor[1]] == null
+                    || visited[neighbor[0]][neighbor[1]])
+                continue;
+            shipParts.add(shipBoard.bfsCollectPart(neighbor[0], neighbor[1], visited));
+        }
+        return shipParts;
+    }
+
+    /**
+     * Fills the valid positions of ship boards with the same random components.
+     *
+     * @param emptyOneIn one connector in this many is EMPTY, so the higher the fewer parts the ships are made of
+     */
+    private static void fillRandomly(Random random, int emptyOneIn, ShipBoard... shipBoards) {
+        for (int x = 0; x < BOARD_DIMENSION; x++) {
+            for (int y = 0; y < BOARD_DIMENSION; y++) {
+                if (shipBoards[0].shipMatrix[x][y] != null || !shipBoards[0].isValidPosition(x, y) || random.nextInt(5) == 0)
+                    continue;
+
+                Map<Direction, ConnectorType> connectors = new EnumMap<>(Direction.class);
+                for (Direction direction : Direction.values())
+                    connectors.put(direction, random.nextInt(emptyOneIn) == 0 ? ConnectorType.EMPTY
+                            : ConnectorType.values()[random.nextInt(ConnectorType.values().length)]);
+                int kind = random.nextInt(3);
+                for (ShipBoard shipBoard : shipBoards)
+                    shipBoard.shipMatrix[x][y] = switch (kind) {
+                        case 0 -> new Cabin(connectors);
+                        case 1 -> new BatteryBox(connectors, 2);
+                        default -> new StructuralModules(connectors);
+                    };
+            }
+        }
+    }
+
+    /**
+     * Keeps the largest of the parts left by a hit, removing the others, as a player would.
+     */
+    private static void keep(ShipBoard shipBoard, Set<Set<Coordinates>> parts) {
+        if (parts.size() > 1) {
+            Set<Coordinates> kept = parts.stream()
+                    .max(Comparator.<Set<Coordinates>>comparingInt(Set::size)
+                            .thenComparing(part -> part.stream().mapToInt(c -> c.getX() * BOARD_DIMENSION + c.getY()).min().orElse(0)))
+                    .orElseThrow();
+            parts.stream().filter(part -> part != kept).forEach(shipBoard::removeShipPart);
+        }
+    }
+
+    private static int[] randomOccupiedCell(ShipBoard shipBoard, Random random) {
+        List<int[]> occupied = new ArrayList<>();
+        for (int x = 0; x < BOARD_DIMENSION; x++)
+            for (int y = 0; y < BOARD_DIMENSION; y++)
+                if (shipBoard.shipMatrix[x][y] != null)
+                    occupied.add(new int[]{x, y});
+        return occupied.isEmpty() ? null : occupied.get(random.nextInt(occupied.size()));
+    }
+
+    @Test
+    void randomHitsFindTheSamePartsAsASearch() {
+        Random random = new Random(25);
+        for (int ship = 0; ship < 300; ship++) {
+            ShipBoard shipBoard = newShipBoard();
+            fillRandomly(random, 4, shipBoard);
+
+            for (int[] cell = randomOccupiedCell(shipBoard, random); cell != null; cell = randomOccupiedCell(shipBoard, random)) {
+                Set<Set<Coordinates>> parts = shipBoard.removeAndRecalculateShipParts(cell[0], cell[1]);
+                assertEquals(searchShipParts(shipBoard, cell[0], cell[1]), parts, "ship " + ship);
+                parts.forEach(part -> assertInstanceOf(CoordinatesSet.class, part));
+
+                // drop a random part, sometimes writing the matrix directly
+                List<Set<Coordinates>> shuffled = new ArrayList<>(parts);
+                if (shuffled.size() > 1) {
+                    Set<Coordinates> dropped = shuffled.get(random.nextInt(shuffled.size()));
+                    if (random.nextBoolean())
+                        shipBoard.removeShipPart(dropped);
+                    else
+                        dropped.forEach(c -> shipBoard.shipMatrix[c.getX()][c.getY()] = null);
+                }
+            }
+        }
+    }
+
+    @Test
+    void partsFollowPlacementsAndReplacedMatrices() {
+        ShipBoard shipBoard = newShipBoard();
+        PrefabShipFactory.applyPrefabShip(shipBoard, "nave_completa");
+        int[] cell = randomOccupiedCell(shipBoard, new Random(1));
+        Set<Set<Coordinates>> parts = shipBoard.removeAndRecalculateShipParts(cell[0], cell[1]);
+        assertEquals(searchShipParts(shipBoard, cell[0], cell[1]), parts);
+
+        // a component placed back through the board joins the parts again
+        Map<Direction, ConnectorType> connectors = new EnumMap<>(Direction.class);
+        for (Direction direction : Direction.values())
+            connectors.put(direction, ConnectorType.UNIVERSAL);
+        shipBoard.setFocusedComponent(new StructuralModules(connectors));
+        shipBoard.placeComponentWithFocus(cell[0], cell[1]);
+        Component placed = shipBoard.shipMatrix[cell[0]][cell[1]];
+        shipBoard.shipMatrix[cell[0]][cell[1]] = null;
+        assertEquals(searchShipParts(shipBoard, cell[0], cell[1]), shipBoard.identifyShipParts(cell[0], cell[1]));
+        shipBoard.shipMatrix[cell[0]][cell[1]] = placed;
+
+        ShipBoard other = newShipBoard();
+        PrefabShipFactory.applyPrefabShip(other, "nave_scorretta");
+        shipBoard.setShipMatrix(other.getShipMatrix());
+        for (int x = 0; x < BOARD_DIMENSION; x++)
+            for (int y = 0; y < BOARD_DIMENSION; y++)
+                if (shipBoard.shipMatrix[x][y] == null)
+                    assertEquals(searchShipParts(shipBoard, x, y), shipBoard.identifyShipParts(x, y));
+    }
+
+    @Test
+    void setsOfCellsMatchOtherSets() {
+        CoordinatesSet cells = CoordinatesSet.ofCells(new long[]{-1, 1L | 1L << 13, 0, 1L << (143 - 128)}, 1);
+        Set<Coordinates> expected = Set.of(Coordinates.of(0, 0), Coordinates.of(1, 1), Coordinates.of(11, 11));
+
+        assertEquals(expected, cells);
+        assertEquals(cells, expected);
+        assertEquals(expected.hashCode(), cells.hashCode());
+        assertEquals(new CoordinatesSet(expected), cells);
+        assertNotEquals(new CoordinatesSet(List.of(Coordinates.of(0, 0))), cells);
+    }
+
+    /**
+     * Plays 10,000 sequences of hits on random ships, once finding the parts with a search from the neighbours of
+     * each hit, as the ship board did, and once with the connectivity index. Reports the hits per second of both.
+     */
+    @Test
+    @Tag("benchmark")
+    void hitSequencesThroughput() {
+        Random random = new Random(10);
+        int sequences = 10_000;
+        int hitsPerSequence = 8;
+        long[] nanos = new long[2];
+        long hits = 0;
+
+        for (int sequence = 0; sequence < sequences; sequence++) {
+            ShipBoard searching = newSearchingShipBoard();
+            ShipBoard indexed = newShipBoard();
+            fillRandomly(random, 10, searching, indexed);
+            // in a game the index is built while the ship is, before the hits
+            indexed.connectivity();
+
+            for (int hit = 0; hit < hitsPerSequence; hit++) {
+                int[] cell = randomOccupiedCell(searching, random);
+                if (cell == null)
+                    break;
+
+                long start = System.nanoTime();
+                Set<Set<Coordinates>> expected = searching.removeAndRecalculateShipParts(cell[0], cell[1]);
+                nanos[0] += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                Set<Set<Coordinates>> parts = indexed.removeAndRecalculateShipParts(cell[0], cell[1]);
+                nanos[1] += System.nanoTime() - start;
+
+                assertEquals(expected, parts);
+                keep(searching, expected);
+                keep(indexed, parts);
+                hits++;
+            }
+        }
+
+        System.out.printf("%d hit sequences: search %.0f hits/s, connectivity index %.0f hits/s%n",
+                sequences, hits / (nanos[0] / 1e9), hits / (nanos[1] / 1e9));
+    }
+
+}
@@ -91,5 +91,14 @@ class CabinTest {
         assertEquals("B", cabin.getMainAttribute());
     }
 
+    @Test
+    void copyDoesNotShareInhabitants() {
+        cabin.fillCabin(CrewMember.HUMAN);
+        Cabin copy = cabin.copy();
+        cabin.removeMember();
+
+        assertEquals(List.of(CrewMember.HUMAN, CrewMember.HUMAN), copy.getInhabitants());
+        assertEquals(List.of(CrewMember.HUMAN), cabin.getInhabitants());
+    }
 
-}
\ No newline at end of file
+}
@@ -3,9 +3,14 @@ package it.polimi.ingsw.is25am33.model.component;
 import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
 import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -53,4 +58,83 @@ class ComponentTest {
         // Verifica
         assertEquals(expected, doubleCannon.toString());
     }
-}
\ No newline at end of file
+
+    /**
+     * Rotates a map of connectors as components did before packing them: the values are shifted by one
+     * along the keys of the map.
+     */
+    private static void rotateMap(Map<Direction, ConnectorType> connectors) {
+        List<Direction> keys = new ArrayList<>(connectors.keySet());
+        List<ConnectorType> values = new ArrayList<>(connectors.values());
+        Collections.rotate(values, 1);
+        for (int i = 0; i < keys.size(); i++)
+            connectors.put(keys.get(i), values.get(i));
+    }
+
+    @Test
+    void rotationMatchesTheRotationOfTheMap() {
+        ConnectorType[] types = ConnectorType.values();
+        for (int combination = 0; combination < 256; combination++) {
+            Map<Direction, ConnectorType> expected = new LinkedHashMap<>();
+            for (Direction direction : Direction.values())
+                expected.put(direction, types[(combination >> (2 * direction.ordinal())) & 3]);
+            Cabin cabin = new Cabin(new LinkedHashMap<>(expected));
+
+            for (int rotation = 1; rotation <= 4; rotation++) {
+                rotateMap(expected);
+                cabin.rotate();
+                assertEquals(expected, cabin.getConnectors());
+                for (Direction direction : Direction.values())
+                    assertEquals(expected.get(direction), cabin.getConnector(direction));
+                assertEquals(rotation % 4, cabin.getRotation());
+            }
+        }
+    }
+
+    @Test
+    void connectorsMapIsAViewOfTheComponent() {
+        Map<Direction, ConnectorType> connectors = doubleCannon.getConnectors();
+        assertEquals(List.of(Direction.NORTH, Direction.EAST, Direction.SOUTH, Direction.WEST), new ArrayList<>(connectors.keySet()));
+
+        doubleCannon.rotate();
+        assertEquals(ConnectorType.SINGLE, connectors.get(Direction.NORTH));
+
+        connectors.put(Direction.SOUTH, ConnectorType.UNIVERSAL);
+        assertEquals(ConnectorType.UNIVERSAL, doubleCannon.getConnector(Direction.SOUTH));
+
+        // the map given to the component is copied, and missing sides are empty
+        Map<Direction, ConnectorType> partial = new EnumMap<>(Direction.class);
+        partial.put(Direction.EAST, ConnectorType.DOUBLE);
+        Cabin cabin = new Cabin(partial);
+        cabin.rotate();
+        assertEquals(ConnectorType.DOUBLE, partial.get(Direction.EAST));
+        assertEquals(ConnectorType.DOUBLE, cabin.getConnector(Direction.SOUTH));
+        assertEquals(ConnectorType.EMPTY, cabin.getConnector(Direction.EAST));
+        assertEquals(4, cabin.getConnectors().size());
+    }
+
+    /**
+     * Rotates components as the placement of a component does, once with the map rotation components used
+     * and once with the packed rotation. Reports the rotations per second of both.
+     */
+    @Test
+    @Tag("benchmark")
+    void rotationThroughput() {
+        int rotations = 2_000_000;
+        Map<Direction, ConnectorType> connectors = new LinkedHashMap<>(doubleCannon.getConnectors());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rotations; i++)
+            rotateMap(connectors);
+        long mapNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < rotations; i++)
+            doubleCannon.rotate();
+        long packedNanos = System.nanoTime() - start;
+
+        assertEquals(connectors, doubleCannon.getConnectors());
+        System.out.printf("map %.0f rotations/s, packed %.0f rotations/s%n",
+                rotations / (mapNanos / 1e9), rotations / (packedNanos / 1e9));
+    }
+}
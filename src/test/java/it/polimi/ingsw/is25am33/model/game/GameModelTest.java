@@ -7,12 +7,15 @@ import it.polimi.ingsw.is25am33.model.component.*;
 import it.polimi.ingsw.is25am33.model.dangerousObj.BigShot;
 import it.polimi.ingsw.is25am33.model.dangerousObj.DangerousObj;
 import it.polimi.ingsw.is25am33.model.enumFiles.*;
+import it.polimi.ingsw.is25am33.network.common.TimerWheel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.rmi.RemoteException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -59,35 +62,49 @@ class GameModelTest{
         flipsLeftField.setAccessible(true);
         flipsLeftField.set(gameModel, 2);
 
-        Field numClientsFinishedTimerField = GameModel.class.getDeclaredField("numClientsFinishedTimer");
-        numClientsFinishedTimerField.setAccessible(true);
-        numClientsFinishedTimerField.set(gameModel, 2);
-
-        Field isRestartInProgressField = GameModel.class.getDeclaredField("isRestartInProgress");
-        isRestartInProgressField.setAccessible(true);
-        isRestartInProgressField.set(gameModel, false);
-
         gameModel.restartHourglass("luca");
 
         assertEquals(1, (Integer) flipsLeftField.get(gameModel));
-        assertEquals(0, (Integer) numClientsFinishedTimerField.get(gameModel));
-        assertFalse((Boolean)isRestartInProgressField.get(gameModel));
-
-        flipsLeftField.set(gameModel, 0);
-        isRestartInProgressField.set(gameModel, false);
+        assertTrue(gameModel.isHourglassRunning());
 
+        // the running turn must end before the hourglass is flipped again
         assertThrows(RemoteException.class, () -> {
             gameModel.restartHourglass("luca");
         });
+        assertEquals(1, (Integer) flipsLeftField.get(gameModel));
 
-        flipsLeftField.set(gameModel, 2);
-        isRestartInProgressField.set(gameModel, true);
+        gameModel.stopHourglass();
+        assertFalse(gameModel.isHourglassRunning());
+        flipsLeftField.set(gameModel, 0);
 
         assertThrows(RemoteException.class, () -> {
             gameModel.restartHourglass("luca");
         });
     }
 
+    @Test
+    void hourglassExpiresOnTheServerIgnoringEarlyClientReports() throws InterruptedException {
+        TimerWheel timerWheel = new TimerWheel(5, 64);
+        try {
+            gameModel.setHourglassTimer(timerWheel, 50);
+            gameModel.startHourglass("game");
+            assertTrue(gameModel.isHourglassRunning());
+            assertTrue(gameModel.getHourglassDeadlineMillis() > 0);
+
+            // a client whose clock runs ahead cannot end the turn
+            gameModel.hourglassEnded();
+            assertTrue(gameModel.isHourglassRunning());
+
+            long end = System.currentTimeMillis() + 2000;
+            while (gameModel.isHourglassRunning() && System.currentTimeMillis() < end)
+                Thread.sleep(5);
+            assertFalse(gameModel.isHourglassRunning());
+            assertEquals(0, gameModel.getHourglassDeadlineMillis());
+        } finally {
+            timerWheel.shutdown();
+        }
+    }
+
     @Test
      void getPlayerWithPrettiestShip() {
         Player lucaPlayer = gameModel.getPlayers().get("luca");
@@ -105,6 +122,31 @@ class GameModelTest{
 
     }
 
+    @Test
+    void queuedStateLeftBeforeItsLogicRunsIsSkipped() {
+        List<String> ran = new ArrayList<>();
+        GameModel model = new GameModel("5678", 2, false) {
+            @Override
+            public void handleCrewPlacementPhase() {
+                ran.add("PLACE_CREW");
+                setCurrGameState(GameState.CREATE_DECK);
+                setCurrGameState(GameState.SETUP);
+            }
+
+            @Override
+            public Deck getDeck() {
+                ran.add("CREATE_DECK");
+                return super.getDeck();
+            }
+        };
+        model.setGameClientNotifier(new GameClientNotifier(new ConcurrentHashMap<>()));
+
+        model.setCurrGameState(GameState.PLACE_CREW);
+
+        assertEquals(List.of("PLACE_CREW"), ran);
+        assertEquals(GameState.SETUP, model.getCurrGameState());
+    }
+
     @Test
     void removePlayer() {
         gameModel.removePlayer("luca");
@@ -228,34 +270,43 @@ class GameModelTest{
     @Test
     void testHourglassEnded() throws NoSuchFieldException, IllegalAccessException {
 
-        Field numClientsFinishedTimerField = GameModel.class.getDeclaredField("numClientsFinishedTimer");
-        Field flipsLeftField = GameModel.class.getDeclaredField("flipsLeft");
-        Field isRestartInProgressField = GameModel.class.getDeclaredField("isRestartInProgress");
-        Field maxPlayersField = GameModel.class.getDeclaredField("maxPlayers");
+        List<GameState> states = new ArrayList<>();
+        GameModel model = new GameModel("5678", 2, false) {
+            @Override
+            public void setCurrGameState(GameState state) {
+                states.add(state);
+            }
+        };
+        model.createGameClientNotifier(new ConcurrentHashMap<>());
+        model.addPlayer("luca", PlayerColor.YELLOW, null);
+        model.addPlayer("marco", PlayerColor.BLUE, null);
 
-        numClientsFinishedTimerField.setAccessible(true);
+        Field currGameStateField = GameModel.class.getDeclaredField("currGameState");
+        Field flipsLeftField = GameModel.class.getDeclaredField("flipsLeft");
+        currGameStateField.setAccessible(true);
         flipsLeftField.setAccessible(true);
-        isRestartInProgressField.setAccessible(true);
-        maxPlayersField.setAccessible(true);
-
-        flipsLeftField.set(gameModel, 1);
-        isRestartInProgressField.set(gameModel, false);
-        numClientsFinishedTimerField.set(gameModel, 0);
-        maxPlayersField.set(gameModel, 2);
-
-        gameModel.hourglassEnded();
-
-        int numClients = (int) numClientsFinishedTimerField.get(gameModel);
-        assertEquals(1, numClients);
-
-        flipsLeftField.set(gameModel, 0);
-        isRestartInProgressField.set(gameModel, false);
-        numClientsFinishedTimerField.set(gameModel, gameModel.getPlayers().size());
-        gameModel.hourglassEnded();
-
-        boolean isRestart = (boolean) isRestartInProgressField.get(gameModel);
-        assertTrue(isRestart);
-
+        currGameStateField.set(model, GameState.BUILD_SHIPBOARD);
+
+        // with flips left the building phase goes on
+        flipsLeftField.set(model, 1);
+        model.startHourglass("game");
+        model.hourglassExpired(model.getHourglassDeadlineMillis());
+        assertFalse(model.isHourglassRunning());
+        assertTrue(states.isEmpty());
+
+        // a stale expiry of a stopped turn is ignored
+        flipsLeftField.set(model, 0);
+        model.startHourglass("luca");
+        long staleDeadline = model.getHourglassDeadlineMillis();
+        model.stopHourglass();
+        model.hourglassExpired(staleDeadline);
+        assertTrue(states.isEmpty());
+
+        // the last turn ends the building phase once every player is on the flying board
+        model.getPlayers().values().forEach(player -> model.getFlyingBoard().insertPlayer(player));
+        model.startHourglass("marco");
+        model.hourglassExpired(model.getHourglassDeadlineMillis());
+        assertEquals(List.of(GameState.CHECK_SHIPBOARD), states);
     }
 
     @Test
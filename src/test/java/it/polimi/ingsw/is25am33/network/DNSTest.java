@@ -4,8 +4,10 @@ import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
 import it.polimi.ingsw.is25am33.client.model.PrefabShipInfo;
 import it.polimi.ingsw.is25am33.client.model.card.ClientCard;
 import it.polimi.ingsw.is25am33.client.model.card.ClientDangerousObject;
+import it.polimi.ingsw.is25am33.controller.CallableOnGameController;
 import it.polimi.ingsw.is25am33.controller.GameController;
 import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.board.ShipBoardDelta;
 import it.polimi.ingsw.is25am33.model.component.Component;
 import it.polimi.ingsw.is25am33.model.enumFiles.CardState;
 import it.polimi.ingsw.is25am33.model.enumFiles.GameState;
@@ -13,10 +15,12 @@ import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
 import it.polimi.ingsw.is25am33.model.game.GameInfo;
 import it.polimi.ingsw.is25am33.model.game.PlayerFinalData;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 
 import java.io.IOException;
+import java.lang.reflect.Proxy;
 import java.rmi.RemoteException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -117,7 +121,7 @@ public class DNSTest {
         }
 
         @Override
-        public void notifyShipBoardUpdate(String nicknameToNotify, String nickname, Component[][] shipMatrix, Map<Class<?>, List<Component>> componentsPerType, List<Component> notActiveComponentsList) throws IOException {
+        public void notifyShipBoardUpdate(String nicknameToNotify, String nickname, ShipBoardDelta shipBoardDelta) throws IOException {
 
         }
 
@@ -415,6 +419,26 @@ public class DNSTest {
         Thread.sleep(100);
     }
     
+    /**
+     * Test removing a game stops its hourglass, so that its timer does not outlive the game.
+     */
+    @Test
+    public void testRemoveGame_CancelsHourglass() throws RemoteException, InterruptedException {
+        dns.registerWithNickname("player1", testClientController1);
+        GameInfo gameInfo = dns.createGame(PlayerColor.RED, 2, false, "player1");
+        GameController gameController = DNS.getGameControllers().get(gameInfo.getGameId());
+        gameController.getGameModel().startHourglass("game");
+        assertTrue(gameController.getGameModel().isHourglassRunning());
+
+        dns.removeGame(gameInfo.getGameId());
+
+        long end = System.currentTimeMillis() + 2000;
+        while (gameController.getGameModel().isHourglassRunning() && System.currentTimeMillis() < end)
+            Thread.sleep(10);
+        assertFalse(gameController.getGameModel().isHourglassRunning());
+        assertFalse(DNS.getGameControllers().containsKey(gameInfo.getGameId()));
+    }
+
     /**
      * Test creating a game with test flight enabled.
      */
@@ -631,11 +655,33 @@ public class DNSTest {
         dns.registerWithNickname("player1", testClientController1);
         GameInfo gameInfo = dns.createGame(PlayerColor.RED, 2, false, "player1");
         
-        GameController controller = dns.getController(gameInfo.getGameId());
+        GameController controller = dns.getGameController(gameInfo.getGameId());
         
         assertNotNull(controller);
         assertEquals(gameInfo.getGameId(), controller.getGameInfo().getGameId());
     }
+
+    /**
+     * Test a remote caller gets the RMI stub of the controller, exported on demand, since the controller
+     * itself cannot be marshalled.
+     */
+    @Test
+    public void testGetController_ReturnsRmiStub() throws RemoteException {
+        dns.registerWithNickname("player1", testClientController1);
+        GameInfo gameInfo = dns.createGame(PlayerColor.RED, 2, false, "player1");
+        GameController controller = dns.getGameController(gameInfo.getGameId());
+        assertFalse(controller.isExportedToRmi());
+
+        try {
+            CallableOnGameController stub = dns.getController(gameInfo.getGameId());
+            assertTrue(controller.isExportedToRmi());
+            assertTrue(Proxy.isProxyClass(stub.getClass()));
+            assertSame(stub, controller.exportToRmi());
+            assertNull(dns.getController("missing"));
+        } finally {
+            controller.unexportFromRmi();
+        }
+    }
     
     /**
      * Test ping to client from server.
@@ -732,11 +778,10 @@ public class DNSTest {
         // Client is registered but not in any game
         assertFalse(dns.getClientGame().containsKey("player1"));
         
-        // Call pongToServerFromClient - the lambda should execute and return early
-        // since clientGame.get(nickname) returns null
+        // A pong only postpones the timeout of the client
         dns.pongToServerFromClient("player1");
         
-        // Client should still be registered since the lambda returns early
+        // Client should still be registered, since it has not timed out
         assertTrue(dns.getClients().containsKey("player1"));
     }
     
@@ -864,4 +909,195 @@ public class DNSTest {
         // Client is registered but not in any game
         assertDoesNotThrow(() -> dns.pongToServerFromClient("player1"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that a client leaving from the lobby, or timing out there, is unregistered and frees its nickname.
+     */
+    @Test
+    public void testHandleDisconnection_PlayerInLobby() throws RemoteException {
+        dns.registerWithNickname("player1", testClientController1);
+
+        dns.handleDisconnection("player1");
+
+        assertFalse(dns.getClients().containsKey("player1"));
+        assertTrue(dns.registerWithNickname("player1", testClientController2));
+    }
+
+    /**
+     * Creates a client that answers the pings of the server, so that it does not time out during long tests.
+     */
+    private CallableOnClientController respondingClient(String nickname) {
+        return new TestCallableOnClientController(nickname) {
+            @Override
+            public void pingToClientFromServer(String pinged) throws IOException {
+                dns.pongToServerFromClient(pinged);
+            }
+        };
+    }
+
+    /**
+     * Test a wave of disconnections: 80 clients spread over 20 games all disconnect at once.
+     * Every game must be cleaned up.
+     */
+    @Test
+    public void testConcurrentDisconnectionsAcrossGames() throws Exception {
+        disconnectionWave(20);
+    }
+
+    /**
+     * Test a wave of 500 disconnections over 125 games: the cleanup of unrelated games must not be serialized.
+     */
+    @Test
+    @Tag("benchmark")
+    public void testDisconnectionWaveIsCleanedUpQuickly() throws Exception {
+        long elapsedMillis = disconnectionWave(125);
+        System.out.println("500 disconnections across 125 games cleaned up in " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 2000, "cleanup took " + elapsedMillis + " ms");
+    }
+
+    /**
+     * Fills games of four players, disconnects all the players at once and checks that every game is cleaned up.
+     *
+     * @return the time taken by the disconnections, in milliseconds
+     */
+    private long disconnectionWave(int games) throws Exception {
+        PlayerColor[] colors = { PlayerColor.RED, PlayerColor.BLUE, PlayerColor.GREEN, PlayerColor.YELLOW };
+        List<String> nicknames = Collections.synchronizedList(new ArrayList<>());
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(64);
+
+        List<java.util.concurrent.Future<?>> setups = new ArrayList<>();
+        for (int game = 0; game < games; game++) {
+            int current = game;
+            setups.add(pool.submit(() -> {
+                String creator = "g" + current + "p0";
+                dns.registerWithNickname(creator, respondingClient(creator));
+                GameInfo gameInfo = dns.createGame(colors[0], colors.length, false, creator);
+                nicknames.add(creator);
+                for (int player = 1; player < colors.length; player++) {
+                    String nickname = "g" + current + "p" + player;
+                    dns.registerWithNickname(nickname, respondingClient(nickname));
+                    assertTrue(dns.joinGame(gameInfo.getGameId(), nickname, colors[player]));
+                    nicknames.add(nickname);
+                }
+                return null;
+            }));
+        }
+        for (java.util.concurrent.Future<?> setup : setups)
+            setup.get(30, java.util.concurrent.TimeUnit.SECONDS);
+        assertEquals(games, DNS.getGameControllers().size());
+        assertEquals(4 * games, nicknames.size());
+
+        java.util.concurrent.CountDownLatch start = new java.util.concurrent.CountDownLatch(1);
+        List<java.util.concurrent.Future<?>> cleanups = new ArrayList<>();
+        for (String nickname : nicknames)
+            cleanups.add(pool.submit(() -> {
+                start.await();
+                dns.handleDisconnection(nickname);
+                return null;
+            }));
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (java.util.concurrent.Future<?> cleanup : cleanups)
+            cleanup.get(10, java.util.concurrent.TimeUnit.SECONDS);
+        long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+        pool.shutdown();
+
+        assertTrue(DNS.getGameControllers().isEmpty());
+        assertTrue(dns.getClientGame().isEmpty());
+        assertTrue(nicknames.stream().noneMatch(dns.getClients()::containsKey));
+        assertTrue(dns.getAvailableGames().isEmpty());
+        return elapsedMillis;
+    }
+
+    /**
+     * Test that games played only by clients that are not connected through RMI never export their controller.
+     */
+    @Test
+    public void testSocketOnlyGamesAreNotExportedToRmi() throws RemoteException {
+        createSocketOnlyGames(20);
+    }
+
+    /**
+     * Measures the creation latency of 1,000 games played only by clients that are not connected through RMI.
+     */
+    @Test
+    @Tag("benchmark")
+    public void testSocketOnlyGameCreationLatency() throws RemoteException {
+        long[] nanos = createSocketOnlyGames(1000);
+        System.out.printf("1000 socket-only games: %.2f ms average creation, %.2f ms max%n", nanos[0] / 1e6 / 1000, nanos[1] / 1e6);
+    }
+
+    /**
+     * Creates games whose players are not connected through RMI and checks that none of them is exported.
+     *
+     * @return the total and the longest creation time, in nanoseconds
+     */
+    private long[] createSocketOnlyGames(int games) throws RemoteException {
+        long totalNanos = 0;
+        long maxNanos = 0;
+
+        for (int game = 0; game < games; game++) {
+            String nickname = "creator" + game;
+            dns.registerWithNickname(nickname, respondingClient(nickname));
+            long start = System.nanoTime();
+            dns.createGame(PlayerColor.RED, 2, false, nickname);
+            long elapsed = System.nanoTime() - start;
+            totalNanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+        }
+
+        long exported = DNS.getGameControllers().values().stream().filter(GameController::isExportedToRmi).count();
+
+        assertEquals(games, DNS.getGameControllers().size());
+        assertEquals(0, exported);
+        for (GameController controller : DNS.getGameControllers().values())
+            assertThrows(java.rmi.NoSuchObjectException.class, () -> java.rmi.server.RemoteObject.toStub(controller));
+        return new long[] { totalNanos, maxNanos };
+    }
+
+    /**
+     * Test that the controller is exported when an RMI client joins, is carried by the serialized game information,
+     * and is withdrawn from RMI when the game is deleted.
+     */
+    @Test
+    public void testControllerIsExportedForRmiClientsUntilTheGameEnds() throws Exception {
+        TestCallableOnClientController rmiClient = new TestCallableOnClientController("player2");
+        CallableOnClientController stub = (CallableOnClientController) java.rmi.server.UnicastRemoteObject.exportObject(rmiClient, 0);
+        try {
+            dns.registerWithNickname("player1", testClientController1);
+            dns.registerWithNickname("player2", stub);
+            GameInfo gameInfo = dns.createGame(PlayerColor.RED, 3, false, "player1");
+            GameController controller = DNS.getGameControllers().get(gameInfo.getGameId());
+            assertFalse(controller.isExportedToRmi());
+
+            java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+            try (java.io.ObjectOutputStream out = new java.io.ObjectOutputStream(bytes)) {
+                out.writeObject(dns.getGameInfo(gameInfo.getGameId()));
+            }
+            GameInfo beforeJoin;
+            try (java.io.ObjectInputStream in = new java.io.ObjectInputStream(new java.io.ByteArrayInputStream(bytes.toByteArray()))) {
+                beforeJoin = (GameInfo) in.readObject();
+            }
+            assertNull(beforeJoin.getGameController());
+
+            assertTrue(dns.joinGame(gameInfo.getGameId(), "player2", PlayerColor.BLUE));
+            assertTrue(controller.isExportedToRmi());
+
+            bytes.reset();
+            try (java.io.ObjectOutputStream out = new java.io.ObjectOutputStream(bytes)) {
+                out.writeObject(dns.getGameInfo(gameInfo.getGameId()));
+            }
+            try (java.io.ObjectInputStream in = new java.io.ObjectInputStream(new java.io.ByteArrayInputStream(bytes.toByteArray()))) {
+                GameInfo afterJoin = (GameInfo) in.readObject();
+                assertNotNull(afterJoin.getGameController());
+                assertEquals(java.rmi.server.RemoteObject.toStub(controller), afterJoin.getGameController());
+            }
+
+            dns.handleDisconnection("player1");
+            assertFalse(controller.isExportedToRmi());
+        } finally {
+            java.rmi.server.UnicastRemoteObject.unexportObject(rmiClient, true);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package it.polimi.ingsw.is25am33.network;
+
+import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.model.game.GameInfo;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LobbyBroadcasterTest {
+
+    private static final long DEBOUNCE = 50;
+
+    private final AtomicReference<List<GameInfo>> lobby = new AtomicReference<>(List.of());
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * Client keeping the lobby lists it receives, optionally waiting on a latch before returning from each call.
+     */
+    private static class LobbyClient {
+        private final List<List<GameInfo>> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final CallableOnClientController controller;
+
+        private LobbyClient(CountDownLatch release) {
+            this.release = release;
+            this.controller = (CallableOnClientController) Proxy.newProxyInstance(
+                    CallableOnClientController.class.getClassLoader(),
+                    new Class<?>[] { CallableOnClientController.class },
+                    (proxy, method, arguments) -> {
+                        if (method.getName().equals("notifyGameInfos")) {
+                            received.add(cast(arguments[1]));
+                            if (release != null)
+                                release.await();
+                        }
+                        return null;
+                    });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<GameInfo> cast(Object games) {
+            return (List<GameInfo>) games;
+        }
+    }
+
+    private static GameInfo game(String gameId) {
+        return new GameInfo(gameId, null, 4, Map.of(), false, false);
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline)
+            Thread.sleep(5);
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void subscriberReceivesTheLobbyRightAway() throws InterruptedException {
+        LobbyBroadcaster broadcaster = new LobbyBroadcaster(lobby::get, executor, DEBOUNCE);
+        lobby.set(List.of(game("open")));
+        LobbyClient client = new LobbyClient(null);
+
+        broadcaster.subscribe("client", client.controller);
+
+        waitFor(() -> client.received.size() == 1);
+        assertEquals("open", client.received.get(0).get(0).getGameId());
+        assertTrue(broadcaster.isSubscribed("client"));
+    }
+
+    @Test
+    void burstOfChangesIsSentOnce() throws InterruptedException {
+        LobbyBroadcaster broadcaster = new LobbyBroadcaster(lobby::get, executor, DEBOUNCE);
+        LobbyClient client = new LobbyClient(null);
+        broadcaster.subscribe("client", client.controller);
+        waitFor(() -> client.received.size() == 1);
+
+        for (int i = 0; i < 50; i++) {
+            lobby.set(List.of(game("game" + i)));
+            broadcaster.publish();
+        }
+
+        waitFor(() -> client.received.size() == 2);
+        Thread.sleep(3 * DEBOUNCE);
+        assertEquals(2, client.received.size());
+        assertEquals(1, broadcaster.getBroadcasts());
+        assertEquals("game49", client.received.get(1).get(0).getGameId());
+    }
+
+    @Test
+    void unsubscribedClientIsNotNotified() throws InterruptedException {
+        LobbyBroadcaster broadcaster = new LobbyBroadcaster(lobby::get, executor, DEBOUNCE);
+        LobbyClient waiting = new LobbyClient(null);
+        LobbyClient playing = new LobbyClient(null);
+        broadcaster.subscribe("waiting", waiting.controller);
+        broadcaster.subscribe("playing", playing.controller);
+        waitFor(() -> waiting.received.size() == 1 && playing.received.size() == 1);
+
+        broadcaster.unsubscribe("playing");
+        broadcaster.publish();
+
+        waitFor(() -> waiting.received.size() == 2);
+        Thread.sleep(2 * DEBOUNCE);
+        assertEquals(1, playing.received.size());
+        assertFalse(broadcaster.isSubscribed("playing"));
+    }
+
+    /**
+     * A client that does not answer must neither block the publisher nor delay the other clients,
+     * and once it answers it is only sent the newest lobby.
+     */
+    @Test
+    void slowClientDoesNotBlockPublishersNorOtherClients() throws InterruptedException {
+        LobbyBroadcaster broadcaster = new LobbyBroadcaster(lobby::get, executor, DEBOUNCE);
+        CountDownLatch release = new CountDownLatch(1);
+        LobbyClient slow = new LobbyClient(release);
+        LobbyClient fast = new LobbyClient(null);
+        broadcaster.subscribe("slow", slow.controller);
+        broadcaster.subscribe("fast", fast.controller);
+        waitFor(() -> fast.received.size() == 1);
+
+        for (int round = 0; round < 5; round++) {
+            lobby.set(List.of(game("round" + round)));
+            long start = System.nanoTime();
+            broadcaster.publish();
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(DEBOUNCE), "publish blocked");
+            int expected = round + 2;
+            waitFor(() -> fast.received.size() == expected);
+        }
+        assertEquals(1, slow.received.size());
+
+        release.countDown();
+        waitFor(() -> slow.received.size() == 2);
+        Thread.sleep(2 * DEBOUNCE);
+        assertEquals(2, slow.received.size());
+        assertEquals("round4", slow.received.get(1).get(0).getGameId());
+    }
+
+}
@@ -0,0 +1,67 @@
+package it.polimi.ingsw.is25am33.network;
+
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import it.polimi.ingsw.is25am33.model.game.GameInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LobbyIndexTest {
+
+    private static GameInfo game(String gameId, int maxPlayers, boolean started, String... players) {
+        Map<String, PlayerColor> connectedPlayers = new HashMap<>();
+        PlayerColor[] colors = PlayerColor.values();
+        for (int i = 0; i < players.length; i++)
+            connectedPlayers.put(players[i], colors[i]);
+        return new GameInfo(gameId, null, maxPlayers, connectedPlayers, started, false);
+    }
+
+    private static List<String> ids(List<GameInfo> games) {
+        return games.stream().map(GameInfo::getGameId).toList();
+    }
+
+    @Test
+    void listsOnlyJoinableGames() {
+        LobbyIndex lobby = new LobbyIndex();
+        lobby.update(game("open", 3, false, "a"));
+        lobby.update(game("full", 2, false, "b"));
+        lobby.update(game("full", 2, false, "b", "c"));
+        lobby.update(game("started", 2, true, "d"));
+
+        assertEquals(List.of("open"), ids(lobby.getOpenGames()));
+    }
+
+    @Test
+    void readsShareThePublishedSnapshot() {
+        LobbyIndex lobby = new LobbyIndex();
+        lobby.update(game("game", 3, false, "a"));
+
+        List<GameInfo> first = lobby.getOpenGames();
+        assertSame(first, lobby.getOpenGames());
+        assertThrows(UnsupportedOperationException.class, () -> first.get(0).getConnectedPlayers().put("x", PlayerColor.RED));
+
+        lobby.update(game("game", 3, false, "a", "b"));
+        assertNotSame(first, lobby.getOpenGames());
+        assertEquals(1, first.get(0).getConnectedPlayers().size());
+        assertEquals(2, lobby.getOpenGames().get(0).getConnectedPlayers().size());
+    }
+
+    @Test
+    void removedGamesLeaveTheLobby() {
+        LobbyIndex lobby = new LobbyIndex();
+        lobby.update(game("kept", 3, false, "a"));
+        lobby.update(game("deleted", 3, false, "b"));
+        List<GameInfo> before = lobby.getOpenGames();
+
+        lobby.remove("deleted");
+        lobby.remove("missing");
+
+        assertEquals(List.of("kept"), ids(lobby.getOpenGames()));
+        assertEquals(List.of("kept", "deleted"), ids(before));
+    }
+
+}
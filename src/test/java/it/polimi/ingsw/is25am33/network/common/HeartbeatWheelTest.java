@@ -0,0 +1,196 @@
+package it.polimi.ingsw.is25am33.network.common;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeartbeatWheelTest {
+
+    private static final long TICK = 100;
+    private static final long IDLE = 3000;
+    private static final long TIMEOUT = 9500;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final List<String> pings = new CopyOnWriteArrayList<>();
+    private final List<String> timeouts = new CopyOnWriteArrayList<>();
+
+    private TimerWheel timerWheel;
+
+    private HeartbeatWheel<String> wheel(int slots) {
+        timerWheel = new TimerWheel(TICK, slots, clock::get, false);
+        return new HeartbeatWheel<>(timerWheel, IDLE, TIMEOUT, Runnable::run);
+    }
+
+    private void advance(HeartbeatWheel<String> wheel, long millis) {
+        for (long elapsed = 0; elapsed < millis; elapsed += TICK) {
+            clock.addAndGet(TICK);
+            timerWheel.tick();
+        }
+    }
+
+    private void add(HeartbeatWheel<String> wheel, String key) {
+        wheel.add(key, () -> pings.add(key), () -> timeouts.add(key));
+    }
+
+    @Test
+    void activeConnectionIsNotPinged() {
+        HeartbeatWheel<String> wheel = wheel(128);
+        add(wheel, "active");
+
+        for (int second = 0; second < 30; second++) {
+            advance(wheel, 1000);
+            wheel.seen("active");
+        }
+
+        assertTrue(pings.isEmpty());
+        assertTrue(timeouts.isEmpty());
+        assertTrue(wheel.contains("active"));
+    }
+
+    @Test
+    void idleConnectionIsPingedThenTimesOut() {
+        HeartbeatWheel<String> wheel = wheel(128);
+        add(wheel, "idle");
+
+        advance(wheel, IDLE - TICK);
+        assertTrue(pings.isEmpty());
+        advance(wheel, 2 * TICK);
+        assertEquals(List.of("idle"), pings);
+
+        advance(wheel, TIMEOUT - IDLE);
+        assertEquals(List.of("idle"), timeouts);
+        assertEquals(3, pings.size());
+        assertFalse(wheel.contains("idle"));
+
+        advance(wheel, 10 * IDLE);
+        assertEquals(1, timeouts.size());
+        assertEquals(3, pings.size());
+    }
+
+    @Test
+    void answeredPingKeepsConnectionAlive() {
+        HeartbeatWheel<String> wheel = wheel(128);
+        wheel.add("client", () -> {
+            pings.add("client");
+            wheel.seen("client");
+        }, () -> timeouts.add("client"));
+
+        advance(wheel, 10 * TIMEOUT);
+
+        assertTrue(timeouts.isEmpty());
+        assertTrue(pings.size() >= 10 * TIMEOUT / IDLE - 1, pings.size() + " pings");
+    }
+
+    @Test
+    void deadlinesBeyondOneTurnWaitForMoreTurns() {
+        HeartbeatWheel<String> wheel = wheel(8);
+        add(wheel, "idle");
+
+        advance(wheel, IDLE - TICK);
+        assertTrue(pings.isEmpty());
+        advance(wheel, TIMEOUT - IDLE + 2 * TICK);
+        assertEquals(List.of("idle"), timeouts);
+    }
+
+    @Test
+    void removedConnectionIsForgotten() {
+        HeartbeatWheel<String> wheel = wheel(128);
+        add(wheel, "gone");
+        add(wheel, "replaced");
+        add(wheel, "replaced");
+
+        wheel.remove("gone");
+        advance(wheel, 2 * TIMEOUT);
+
+        assertEquals(List.of("replaced"), timeouts);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void sharesTheWheelWithOtherTimers() {
+        HeartbeatWheel<String> wheel = wheel(128);
+        List<String> fired = new CopyOnWriteArrayList<>();
+        add(wheel, "idle");
+        timerWheel.schedule(clock.get() + IDLE / 2, () -> fired.add("hourglass"));
+
+        advance(wheel, IDLE);
+
+        assertEquals(List.of("hourglass"), fired);
+        assertEquals(List.of("idle"), pings);
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread, read through the HotSpot extension of the thread bean.
+     */
+    private static long allocatedBytes(ThreadMXBean threads) {
+        try {
+            return (long) Class.forName("com.sun.management.ThreadMXBean")
+                    .getMethod("getThreadAllocatedBytes", long.class)
+                    .invoke(threads, Thread.currentThread().threadId());
+        } catch (ReflectiveOperationException e) {
+            return 0;
+        }
+    }
+
+    @Test
+    void idleClientsAreCheckedAboutOncePerIdlePeriod() {
+        int clients = 200;
+        long simulatedMillis = 30_000;
+        HeartbeatWheel<String> wheel = wheel(128);
+        for (int i = 0; i < clients; i++) {
+            String key = "client" + i;
+            wheel.add(key, () -> wheel.seen(key), () -> timeouts.add(key));
+        }
+        advance(wheel, 10 * TICK);
+
+        long checksBefore = wheel.getConnectionsChecked();
+        advance(wheel, simulatedMillis);
+        long checks = wheel.getConnectionsChecked() - checksBefore;
+
+        assertTrue(timeouts.isEmpty());
+        assertTrue(checks < 2L * clients * simulatedMillis / IDLE, checks + " checks");
+    }
+
+    /**
+     * Simulates 5,000 idle clients that answer every ping, and measures the time and memory the wheel
+     * thread spends checking them.
+     */
+    @Test
+    @Tag("benchmark")
+    void manyIdleClients() {
+        int clients = 5_000;
+        long simulatedMillis = 60_000;
+        HeartbeatWheel<String> wheel = wheel(128);
+        for (int i = 0; i < clients; i++) {
+            String key = "client" + i;
+            wheel.add(key, () -> wheel.seen(key), () -> timeouts.add(key));
+        }
+        advance(wheel, 10 * TICK);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long checksBefore = wheel.getConnectionsChecked();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long bytesBefore = allocatedBytes(threads);
+
+        advance(wheel, simulatedMillis);
+
+        long cpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+        long bytes = allocatedBytes(threads) - bytesBefore;
+        long checks = wheel.getConnectionsChecked() - checksBefore;
+        long ticks = simulatedMillis / TICK;
+        System.out.printf("%d idle clients, %d s: %d checks (%.1f per tick), %d pings, %.1f ms CPU, %d KB allocated%n",
+                clients, simulatedMillis / 1000, checks, (double) checks / ticks, wheel.getPingsSent(), cpu / 1e6, bytes / 1024);
+
+        assertTrue(timeouts.isEmpty());
+        // each client is checked about once per idle period, not on every tick
+        assertTrue(checks < 2L * clients * simulatedMillis / IDLE, checks + " checks");
+    }
+
+}
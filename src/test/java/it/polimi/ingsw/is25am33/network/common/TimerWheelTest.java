@@ -0,0 +1,113 @@
+package it.polimi.ingsw.is25am33.network.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private static final long TICK = 100;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final List<String> fired = new CopyOnWriteArrayList<>();
+
+    private TimerWheel wheel(int slots) {
+        return new TimerWheel(TICK, slots, clock::get, false);
+    }
+
+    private void advance(TimerWheel wheel, long millis) {
+        for (long elapsed = 0; elapsed < millis; elapsed += TICK) {
+            clock.addAndGet(TICK);
+            wheel.tick();
+        }
+    }
+
+    @Test
+    void timerFiresAtItsDeadline() {
+        TimerWheel wheel = wheel(64);
+        TimerWheel.Timeout timeout = wheel.schedule(clock.get() + 1000, () -> fired.add("hourglass"));
+
+        advance(wheel, 900);
+        assertTrue(fired.isEmpty());
+        assertFalse(timeout.hasFired());
+
+        advance(wheel, 200);
+        assertEquals(List.of("hourglass"), fired);
+        assertTrue(timeout.hasFired());
+
+        advance(wheel, 5000);
+        assertEquals(1, wheel.getFired());
+    }
+
+    @Test
+    void cancelledTimerDoesNotFire() {
+        TimerWheel wheel = wheel(64);
+        TimerWheel.Timeout timeout = wheel.schedule(clock.get() + 500, () -> fired.add("stopped"));
+        wheel.schedule(clock.get() + 500, () -> fired.add("running"));
+
+        advance(wheel, 200);
+        timeout.cancel();
+        advance(wheel, 500);
+
+        assertEquals(List.of("running"), fired);
+    }
+
+    /**
+     * A 60 second hourglass on a wheel much shorter than that stays in its slot for several turns.
+     */
+    @Test
+    void timerFurtherThanATurnWaitsForItsDeadline() {
+        TimerWheel wheel = wheel(16);
+        wheel.schedule(clock.get() + 60_000, () -> fired.add("hourglass"));
+
+        advance(wheel, 59_900);
+        assertTrue(fired.isEmpty());
+
+        advance(wheel, 200);
+        assertEquals(List.of("hourglass"), fired);
+    }
+
+    @Test
+    void lateTicksCatchUp() {
+        TimerWheel wheel = wheel(64);
+        wheel.schedule(clock.get() + 300, () -> fired.add("first"));
+        wheel.schedule(clock.get() + 2000, () -> fired.add("second"));
+        wheel.tick();
+
+        // the machine was busy: a single tick covers several seconds
+        clock.addAndGet(5000);
+        wheel.tick();
+
+        assertEquals(List.of("first", "second"), fired);
+    }
+
+    /**
+     * Many games running their hourglass at the same time are served by the wheel thread alone.
+     */
+    @Test
+    void manyTimersUseASingleThread() throws InterruptedException {
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        TimerWheel wheel = new TimerWheel(5, 64);
+        try {
+            AtomicLong done = new AtomicLong();
+            long deadline = wheel.now() + 100;
+            for (int game = 0; game < 2000; game++)
+                wheel.schedule(deadline + game % 50, done::incrementAndGet);
+
+            assertTrue(ManagementFactory.getThreadMXBean().getThreadCount() <= threadsBefore + 1);
+
+            long end = System.currentTimeMillis() + 5000;
+            while (done.get() < 2000 && System.currentTimeMillis() < end)
+                Thread.sleep(10);
+            assertEquals(2000, done.get());
+        } finally {
+            wheel.shutdown();
+        }
+    }
+
+}
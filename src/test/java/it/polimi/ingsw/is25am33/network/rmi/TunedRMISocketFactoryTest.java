@@ -0,0 +1,149 @@
+package it.polimi.ingsw.is25am33.network.rmi;
+
+import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.model.component.Cabin;
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.model.enumFiles.CardState;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TunedRMISocketFactoryTest {
+
+    private static final int CARD_STEPS = 200;
+
+    /**
+     * Client counting the calls and the ship components it receives.
+     */
+    private static class Client {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger components = new AtomicInteger();
+        private final CallableOnClientController controller = (CallableOnClientController) Proxy.newProxyInstance(
+                CallableOnClientController.class.getClassLoader(),
+                new Class<?>[] { CallableOnClientController.class },
+                (proxy, method, arguments) -> {
+                    if (method.getDeclaringClass() == Object.class)
+                        return method.getName().equals("equals") ? proxy == arguments[0] :
+                                method.getName().equals("hashCode") ? System.identityHashCode(proxy) : "Client";
+                    calls.incrementAndGet();
+                    if (method.getName().equals("notifyValidShipBoard"))
+                        for (Component[] row : (Component[][]) arguments[2])
+                            for (Component component : row)
+                                if (component != null)
+                                    components.incrementAndGet();
+                    return null;
+                });
+    }
+
+    private static Component[][] shipMatrix() {
+        Map<Direction, ConnectorType> connectors = new EnumMap<>(Direction.class);
+        for (Direction direction : List.of(Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST))
+            connectors.put(direction, ConnectorType.UNIVERSAL);
+        Component[][] matrix = new Component[12][12];
+        for (int row = 5; row < 10; row++)
+            for (int column = 3; column < 10; column++)
+                matrix[row][column] = new Cabin(connectors);
+        return matrix;
+    }
+
+    /**
+     * Delivers the notifications of a card phase: each step changes the card state and the current player,
+     * then sends a ship board and the updated credits and ranking.
+     */
+    private static void playCardPhase(CallableOnClientController client, Component[][] shipMatrix, int steps) throws IOException {
+        CardState[] states = CardState.values();
+        for (int step = 0; step < steps; step++) {
+            client.notifyCardState("player", states[step % states.length]);
+            client.notifyCurrPlayerChanged("player", "other");
+            client.notifyValidShipBoard("player", "other", shipMatrix, Set.of(), Map.of(), List.of());
+            client.notifyPlayerCredits("player", "other", step);
+            client.notifyRankingUpdate("player", "other", step % 4);
+        }
+    }
+
+    @Test
+    void factoriesWithTheSameOptionsAreEqual() {
+        assertEquals(new TunedRMISocketFactory(true, 1024), new TunedRMISocketFactory(true, 1024));
+        assertEquals(new TunedRMISocketFactory(true, 1024).hashCode(), new TunedRMISocketFactory(true, 1024).hashCode());
+        assertNotEquals(new TunedRMISocketFactory(true, 1024), new TunedRMISocketFactory(false, 1024));
+        assertNull(RMISockets.factoryFor(RMISocketMode.DEFAULT));
+        assertEquals(RMISocketMode.COMPRESSED, RMISocketMode.fromString(" Compressed "));
+    }
+
+    @Test
+    void serverSocketIsSizedBeforeAccepting() throws IOException {
+        TunedRMISocketFactory factory = new TunedRMISocketFactory(true, 32 * 1024);
+        try (ServerSocket serverSocket = factory.createServerSocket(0);
+             Socket client = factory.createSocket("localhost", serverSocket.getLocalPort());
+             Socket accepted = serverSocket.accept()) {
+            assertTrue(serverSocket.getReceiveBufferSize() >= 32 * 1024);
+            assertTrue(accepted.getTcpNoDelay());
+
+            client.getOutputStream().write(42);
+            client.getOutputStream().flush();
+            assertEquals(42, accepted.getInputStream().read());
+        }
+    }
+
+    @Test
+    void compressedConnectionCarriesCallsIntact() throws Exception {
+        Client client = new Client();
+        TunedRMISocketFactory factory = RMISockets.factoryFor(RMISocketMode.COMPRESSED);
+        CallableOnClientController stub = (CallableOnClientController) UnicastRemoteObject.exportObject(client.controller, 0, factory, factory);
+        try {
+            Component[][] matrix = shipMatrix();
+            playCardPhase(stub, matrix, 3);
+
+            assertEquals(15, client.calls.get());
+            assertEquals(3 * 35, client.components.get());
+        } finally {
+            UnicastRemoteObject.unexportObject(client.controller, true);
+        }
+    }
+
+    /**
+     * Plays the same scripted card phase over RMI loopback with each socket mode, and compares the average latency of a call.
+     */
+    @Test
+    @Tag("benchmark")
+    void cardPhaseLatencyPerSocketMode() throws Exception {
+        Component[][] matrix = shipMatrix();
+        StringBuilder report = new StringBuilder("RMI card phase, " + CARD_STEPS + " steps of 5 calls:");
+
+        for (RMISocketMode mode : RMISocketMode.values()) {
+            Client client = new Client();
+            TunedRMISocketFactory factory = RMISockets.factoryFor(mode);
+            CallableOnClientController stub = (CallableOnClientController) UnicastRemoteObject.exportObject(client.controller, 0, factory, factory);
+            try {
+                playCardPhase(stub, matrix, CARD_STEPS / 2);
+                client.calls.set(0);
+
+                long start = System.nanoTime();
+                playCardPhase(stub, matrix, CARD_STEPS);
+                long elapsed = System.nanoTime() - start;
+
+                assertEquals(5 * CARD_STEPS, client.calls.get());
+                report.append(String.format(" %s %.1f us/call,", mode, elapsed / 1e3 / client.calls.get()));
+            } finally {
+                UnicastRemoteObject.unexportObject(client.controller, true);
+            }
+        }
+
+        System.out.println(report.substring(0, report.length() - 1));
+    }
+
+}
@@ -0,0 +1,488 @@
+package it.polimi.ingsw.is25am33.network.socket;
+
+import it.polimi.ingsw.is25am33.client.controller.CallableOnClientController;
+import it.polimi.ingsw.is25am33.client.controller.SocketClientManager;
+import it.polimi.ingsw.is25am33.model.GameClientNotifier;
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.component.Cannon;
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import it.polimi.ingsw.is25am33.model.enumFiles.GameState;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import it.polimi.ingsw.is25am33.model.game.GameInfo;
+import it.polimi.ingsw.is25am33.network.DNS;
+import it.polimi.ingsw.is25am33.network.common.ServerThreads;
+import it.polimi.ingsw.is25am33.serializationLayer.BinaryFrameCodec;
+import it.polimi.ingsw.is25am33.serializationLayer.EncodedMessageCache;
+import it.polimi.ingsw.is25am33.serializationLayer.SerializationContext;
+import it.polimi.ingsw.is25am33.serializationLayer.SocketMessage;
+import it.polimi.ingsw.is25am33.serializationLayer.SocketMessageWriter;
+import it.polimi.ingsw.is25am33.serializationLayer.WireProtocol;
+import it.polimi.ingsw.is25am33.serializationLayer.server.ServerDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the selector-based socket server: idle connections must not
+ * prevent active clients from registering, creating and joining games.
+ * The load test with thousands of connections is tagged as a benchmark.
+ */
+public class SocketServerManagerTest {
+
+    private static final int IDLE_CONNECTIONS = 50;
+    private static final int GAMES = 5;
+    private static final int LOAD_IDLE_CONNECTIONS = 2000;
+    private static final int LOAD_GAMES = 200;
+    private static final int PARALLEL_SETUPS = 16;
+    private static final int BUILD_ACTIONS = 50;
+
+    private SocketServerManager server;
+    private final List<Socket> idleSockets = new ArrayList<>();
+    private final List<TestSocketClient> clients = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Minimal socket client that answers pings and keeps every other message it receives,
+     * unwrapping the events of a {@code notifyEvents} message.
+     */
+    private static class TestSocketClient {
+        private final String nickname;
+        private final Socket socket;
+        private final SocketMessageWriter out;
+        private final BlockingQueue<SocketMessage> received = new LinkedBlockingQueue<>();
+        private final List<SocketMessage> skipped = new ArrayList<>();
+        private final AtomicInteger frames = new AtomicInteger();
+        private final Thread reader;
+
+        TestSocketClient(String nickname, int port, WireProtocol protocol) throws IOException {
+            this.nickname = nickname;
+            this.socket = new Socket("localhost", port);
+            OutputStream rawOut = new BufferedOutputStream(socket.getOutputStream());
+            PrintWriter textOut = new PrintWriter(new OutputStreamWriter(rawOut, StandardCharsets.UTF_8), true);
+            this.out = new SocketMessageWriter(textOut, frame -> {
+                rawOut.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+                rawOut.flush();
+            });
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            if (protocol != WireProtocol.TEXT) {
+                textOut.println(protocol.handshakeLine());
+                assertEquals(protocol.acknowledgeLine(), WireProtocol.readLine(in));
+                out.switchTo(protocol);
+            }
+
+            reader = new Thread(() -> {
+                try {
+                    while (true) {
+                        SocketMessage message;
+                        if (protocol == WireProtocol.BINARY) {
+                            message = BinaryFrameCodec.read(in);
+                        } else {
+                            String line = WireProtocol.readLine(in);
+                            if (line == null)
+                                return;
+                            message = ServerDeserializer.deserializeObj(line, SocketMessage.class);
+                        }
+                        if (message == null)
+                            continue;
+                        if ("PING".equals(message.getActions())) {
+                            send(new SocketMessage(nickname, "PONG"));
+                            continue;
+                        }
+                        frames.incrementAndGet();
+                        if ("notifyEvents".equals(message.getActions()))
+                            received.addAll(message.getParamMessages());
+                        else
+                            received.add(message);
+                    }
+                } catch (IOException ignored) {
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        void send(SocketMessage message) {
+            out.send(message);
+        }
+
+        SocketMessage await(String action) throws InterruptedException {
+            for (SocketMessage message : skipped)
+                if (action.equals(message.getActions()))
+                    return message;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (true) {
+                SocketMessage message = received.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                assertNotNull(message, nickname + " did not receive " + action);
+                if (action.equals(message.getActions()))
+                    return message;
+                skipped.add(message);
+            }
+        }
+
+        /**
+         * Forgets every message received so far.
+         *
+         * @param action the action whose messages are counted
+         * @return the number of forgotten messages with the given action
+         */
+        int drain(String action) {
+            received.drainTo(skipped);
+            int count = (int) skipped.stream().filter(message -> action.equals(message.getActions())).count();
+            skipped.clear();
+            return count;
+        }
+
+        void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private void startServer(ServerThreads.Mode mode) throws Exception {
+        ServerThreads.setMode(mode);
+        server = new SocketServerManager(new DNS(), 0);
+        Thread serverThread = new Thread(server);
+        serverThread.setDaemon(true);
+        serverThread.start();
+        server.awaitReady();
+        assertTrue(server.getLocalPort() > 0);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (TestSocketClient client : clients)
+            client.close();
+        for (Socket socket : idleSockets)
+            socket.close();
+        if (server != null)
+            server.shutdown();
+        ServerThreads.setMode(ServerThreads.Mode.PLATFORM);
+        DNS.getGameControllers().clear();
+    }
+
+    @Test
+    void testIdleConnectionsDoNotStarveActiveGames() throws Exception {
+        startServer(ServerThreads.Mode.PLATFORM);
+        runLoad(IDLE_CONNECTIONS, GAMES, WireProtocol.TEXT);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testThousandsOfIdleConnectionsDoNotStarveActiveGames() throws Exception {
+        startServer(ServerThreads.Mode.PLATFORM);
+        runLoad(LOAD_IDLE_CONNECTIONS, LOAD_GAMES, WireProtocol.TEXT);
+    }
+
+    @Test
+    void testVirtualThreadSessions() throws Exception {
+        startServer(ServerThreads.Mode.VIRTUAL);
+        runLoad(IDLE_CONNECTIONS, GAMES, WireProtocol.TEXT);
+    }
+
+    @Test
+    void testBinaryProtocol() throws Exception {
+        startServer(ServerThreads.Mode.PLATFORM);
+        runLoad(0, GAMES, WireProtocol.BINARY);
+    }
+
+    @Test
+    void testBinaryProtocolOnVirtualThreadSessions() throws Exception {
+        startServer(ServerThreads.Mode.VIRTUAL);
+        runLoad(0, GAMES, WireProtocol.BINARY);
+    }
+
+    @Test
+    void testDeliverySharesMessagesAcrossProtocols() throws Exception {
+        startServer(ServerThreads.Mode.PLATFORM);
+        int port = server.getLocalPort();
+
+        List<String> nicknames = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TestSocketClient client = new TestSocketClient("player" + i, port, i % 2 == 0 ? WireProtocol.TEXT : WireProtocol.BINARY);
+            clients.add(client);
+            client.send(new SocketMessage(client.nickname, "registerWithNickname"));
+            client.await("notifyRegistrationSuccess");
+            nicknames.add(client.nickname);
+        }
+
+        EncodedMessageCache cache = new EncodedMessageCache();
+        for (String nickname : nicknames)
+            server.deliver(nickname, (nicknameToNotify, clientController) -> {
+                clientController.notifyGameState(nicknameToNotify, GameState.BUILD_SHIPBOARD);
+                clientController.notifyNewPlayerJoined(nicknameToNotify, "game", "joined-" + nicknameToNotify, PlayerColor.YELLOW);
+            }, cache);
+
+        for (TestSocketClient client : clients) {
+            assertEquals(GameState.BUILD_SHIPBOARD, client.await("notifyGameState").getParamGameState());
+            SocketMessage joined = client.await("notifyNewPlayerJoined");
+            assertEquals("joined-" + client.nickname, joined.getParamString());
+            assertEquals(PlayerColor.YELLOW, joined.getParamPlayerColor());
+        }
+    }
+
+    @Test
+    void testRepliesCarryTheCorrelationIdOfTheirRequest() throws Exception {
+        startServer(ServerThreads.Mode.PLATFORM);
+        TestSocketClient client = new TestSocketClient("pipelined", server.getLocalPort(), WireProtocol.BINARY);
+        clients.add(client);
+
+        SocketMessage register = new SocketMessage(client.nickname, "registerWithNickname");
+        register.setCorrelationId(7L);
+        SocketMessage create = new SocketMessage(client.nickname, "createGame");
+        create.setCorrelationId(8L);
+        create.setParamPlayerColor(PlayerColor.RED);
+        create.setParamInt(2);
+        create.setParamBoolean(false);
+        SocketMessage list = new SocketMessage(client.nickname, "getAvailableGames");
+        list.setCorrelationId(9L);
+        // sent back to back, without waiting for the replies
+        client.send(register);
+        client.send(create);
+        client.send(list);
+
+        assertEquals(7L, client.await("notifyRegistrationSuccess").getCorrelationId());
+        assertEquals(8L, client.await("notifyGameCreated").getCorrelationId());
+        assertEquals(9L, client.await("notifyAvailableGames").getCorrelationId());
+    }
+
+    /**
+     * Reads text lines until a message with the given action, failing on a protocol acknowledgement.
+     */
+    private static SocketMessage awaitTextMessage(DataInputStream in, String action) throws IOException {
+        while (true) {
+            String line = WireProtocol.readLine(in);
+            assertNotNull(line, "connection closed before " + action);
+            assertNotEquals(WireProtocol.BINARY.acknowledgeLine(), line);
+            SocketMessage message = ServerDeserializer.deserializeObj(line, SocketMessage.class);
+            if (action.equals(message.getActions()))
+                return message;
+        }
+    }
+
+    @Test
+    void testHandshakeIsOnlyAcceptedAsTheFirstLine() throws Exception {
+        for (ServerThreads.Mode mode : ServerThreads.Mode.values()) {
+            startServer(mode);
+            try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+                socket.setSoTimeout(10_000);
+                PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                String nickname = "late-" + mode;
+
+                out.println(SerializationContext.write(new SocketMessage(nickname, "registerWithNickname")));
+                awaitTextMessage(in, "notifyRegistrationSuccess");
+
+                // a handshake in the middle of the stream is not a protocol switch
+                out.println(WireProtocol.BINARY.handshakeLine());
+                out.println(SerializationContext.write(new SocketMessage(nickname, "getAvailableGames")));
+                awaitTextMessage(in, "notifyAvailableGames");
+            } finally {
+                server.shutdown();
+                server = null;
+            }
+        }
+    }
+
+    @Test
+    void testOverlongLineClosesTheConnection() throws Exception {
+        for (ServerThreads.Mode mode : ServerThreads.Mode.values()) {
+            startServer(mode);
+            try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+                socket.setSoTimeout(10_000);
+                byte[] chunk = new byte[64 * 1024];
+                Arrays.fill(chunk, (byte) 'a');
+                try {
+                    OutputStream out = socket.getOutputStream();
+                    for (long sent = 0; sent <= WireProtocol.MAX_LINE_LENGTH; sent += chunk.length)
+                        out.write(chunk);
+                    out.flush();
+                } catch (IOException e) {
+                    // the server may close the connection while the line is still being sent
+                }
+                try {
+                    assertEquals(-1, socket.getInputStream().read());
+                } catch (SocketException e) {
+                    // a reset also means the connection was closed
+                }
+            } finally {
+                server.shutdown();
+                server = null;
+            }
+        }
+    }
+
+    @Test
+    void testClientManagerMatchesRepliesById() throws Exception {
+        startServer(ServerThreads.Mode.PLATFORM);
+        SocketClientManager client = new SocketClientManager(null);
+        AtomicInteger received = new AtomicInteger();
+        client.setActivityListener(received::incrementAndGet);
+        client.connect("localhost", server.getLocalPort(), WireProtocol.BINARY);
+
+        assertTrue(client.registerWithNickname("host", null));
+        GameInfo gameInfo = client.createGame(PlayerColor.BLUE, 2, true, "host");
+        assertEquals(2, gameInfo.getMaxPlayers());
+        assertFalse(client.registerWithNickname("host", null));
+        // every reply counts as a sign of life of the server, not only pongs
+        assertTrue(received.get() >= 3);
+    }
+
+    @Test
+    void testBuildPhaseActionsAreBatched() throws Exception {
+        startServer(ServerThreads.Mode.PLATFORM);
+        int port = server.getLocalPort();
+
+        ConcurrentHashMap<String, CallableOnClientController> clientControllers = new ConcurrentHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            TestSocketClient client = new TestSocketClient("builder" + i, port, i % 2 == 0 ? WireProtocol.TEXT : WireProtocol.BINARY);
+            clients.add(client);
+            client.send(new SocketMessage(client.nickname, "registerWithNickname"));
+            client.await("notifyRegistrationSuccess");
+            clientControllers.put(client.nickname, server);
+        }
+        GameClientNotifier notifier = new GameClientNotifier(clientControllers);
+
+        int unbatchedFrames = simulateBuildPhase(notifier, false);
+        int batchedFrames = simulateBuildPhase(notifier, true);
+
+        // one message per placement once batched, up to three otherwise (state events may coalesce in the mailboxes)
+        assertEquals(BUILD_ACTIONS * clients.size() * clients.size(), batchedFrames);
+        assertTrue(unbatchedFrames > batchedFrames);
+    }
+
+    /**
+     * Simulates four players placing components at the same time: every placement notifies the placed component,
+     * the components per type and the not active components of the player to every client.
+     *
+     * @return the number of messages received by all the clients
+     */
+    private int simulateBuildPhase(GameClientNotifier notifier, boolean batched) throws Exception {
+        for (TestSocketClient client : clients)
+            client.frames.set(0);
+
+        ExecutorService players = Executors.newFixedThreadPool(clients.size());
+        List<Future<?>> results = new ArrayList<>();
+        for (TestSocketClient player : clients) {
+            results.add(players.submit(() -> {
+                for (int action = 0; action < BUILD_ACTIONS; action++) {
+                    Runnable placement = placement(notifier, player.nickname, action);
+                    if (batched)
+                        notifier.batch(placement);
+                    else
+                        placement.run();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results)
+            result.get(60, TimeUnit.SECONDS);
+        players.shutdown();
+
+        // mailboxes and sockets keep the order, so once the marker arrives every placement has been received
+        notifier.notifyAllClients((nicknameToNotify, clientController) -> clientController.notifyStopHourglass(nicknameToNotify));
+        for (TestSocketClient client : clients) {
+            client.await("notifyStopHourglass");
+            assertEquals(BUILD_ACTIONS * clients.size(), client.drain("notifyComponentPlaced"));
+        }
+
+        int frames = 0;
+        for (TestSocketClient client : clients)
+            frames += client.frames.get() - 1;
+        return frames;
+    }
+
+    private static Runnable placement(GameClientNotifier notifier, String nickname, int action) {
+        Map<Direction, ConnectorType> connectors = new EnumMap<>(Direction.class);
+        for (Direction direction : Direction.values())
+            connectors.put(direction, ConnectorType.UNIVERSAL);
+        Component component = new Cannon(connectors);
+        component.setImageName("cannon" + action + ".jpg");
+        Map<Class<?>, List<Component>> componentsPerType = Map.of(Cannon.class, List.of(component));
+
+        return () -> {
+            notifier.notifyAllClients((nicknameToNotify, clientController) ->
+                    clientController.notifyComponentPlaced(nicknameToNotify, nickname, component, new Coordinates(6, 6 + action % 3)));
+            notifier.notifyAllClients("componentsPerType:" + nickname, (nicknameToNotify, clientController) ->
+                    clientController.notifyComponentPerType(nicknameToNotify, nickname, componentsPerType));
+            notifier.notifyAllClients("notActiveComponents:" + nickname, (nicknameToNotify, clientController) ->
+                    clientController.notifyNotActiveComponents(nicknameToNotify, nickname, List.of()));
+        };
+    }
+
+    private void runLoad(int idleConnections, int games, WireProtocol protocol) throws Exception {
+        int port = server.getLocalPort();
+
+        for (int i = 0; i < idleConnections; i++)
+            idleSockets.add(new Socket("localhost", port));
+
+        ExecutorService setups = Executors.newFixedThreadPool(PARALLEL_SETUPS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            final int game = i;
+            results.add(setups.submit(() -> {
+                playGame(game, port, protocol);
+                return null;
+            }));
+        }
+        for (Future<?> result : results)
+            result.get(60, TimeUnit.SECONDS);
+        setups.shutdown();
+
+        assertEquals(2 * games, clients.size());
+        for (TestSocketClient client : clients)
+            assertNotNull(client.await("notifyGameStarted").getParamGameInfo());
+    }
+
+    private void playGame(int game, int port, WireProtocol protocol) throws Exception {
+        TestSocketClient host = new TestSocketClient("host" + game, port, protocol);
+        clients.add(host);
+        host.send(new SocketMessage(host.nickname, "registerWithNickname"));
+        host.await("notifyRegistrationSuccess");
+
+        SocketMessage create = new SocketMessage(host.nickname, "createGame");
+        create.setParamInt(2);
+        create.setParamBoolean(true);
+        create.setParamPlayerColor(PlayerColor.RED);
+        host.send(create);
+        String gameId = host.await("notifyGameCreated").getParamGameInfo().getFirst().getGameId();
+
+        TestSocketClient guest = new TestSocketClient("guest" + game, port, protocol);
+        clients.add(guest);
+        guest.send(new SocketMessage(guest.nickname, "registerWithNickname"));
+        guest.await("notifyRegistrationSuccess");
+
+        SocketMessage join = new SocketMessage(guest.nickname, "joinGame");
+        join.setParamGameId(gameId);
+        join.setParamPlayerColor(PlayerColor.BLUE);
+        guest.send(join);
+        assertTrue(guest.await("notifyJoinGameResult").getParamBoolean());
+    }
+
+}
@@ -0,0 +1,130 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.component.BatteryBox;
+import it.polimi.ingsw.is25am33.model.component.Cannon;
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFrameCodecTest {
+
+    private static Map<Direction, ConnectorType> connectors() {
+        Map<Direction, ConnectorType> connectors = new LinkedHashMap<>();
+        connectors.put(Direction.NORTH, ConnectorType.UNIVERSAL);
+        connectors.put(Direction.EAST, ConnectorType.DOUBLE);
+        connectors.put(Direction.SOUTH, ConnectorType.EMPTY);
+        connectors.put(Direction.WEST, ConnectorType.SINGLE);
+        return connectors;
+    }
+
+    private static SocketMessage decodeFrame(ByteBuffer frame) throws IOException {
+        int length = frame.getInt();
+        assertEquals(frame.remaining(), length);
+        return BinaryFrameCodec.decode(frame.slice());
+    }
+
+    @Test
+    void knownActionTravelsAsOpcode() throws IOException {
+        SocketMessage message = new SocketMessage("player", "joinGame");
+        message.setParamGameId("abcd1234");
+        message.setParamPlayerColor(PlayerColor.GREEN);
+
+        ByteBuffer frame = BinaryFrameCodec.encode(message);
+
+        assertEquals(SocketOpcode.JOIN_GAME.getCode(), frame.getShort(BinaryFrameCodec.LENGTH_FIELD_SIZE));
+        assertFalse(new String(frame.array(), StandardCharsets.ISO_8859_1).contains("joinGame"));
+
+        SocketMessage decoded = decodeFrame(frame);
+        assertEquals("joinGame", decoded.getActions());
+        assertEquals("player", decoded.getSenderNickname());
+        assertEquals("abcd1234", decoded.getParamGameId());
+        assertEquals(PlayerColor.GREEN, decoded.getParamPlayerColor());
+    }
+
+    @Test
+    void unknownActionIsKept() throws IOException {
+        SocketMessage message = new SocketMessage("player", "someFutureAction");
+        message.setParamInt(42);
+
+        SocketMessage decoded = decodeFrame(BinaryFrameCodec.encode(message));
+
+        assertEquals("someFutureAction", decoded.getActions());
+        assertEquals(42, decoded.getParamInt());
+    }
+
+    @Test
+    void polymorphicPayloadRoundTrips() throws IOException {
+        SocketMessage message = new SocketMessage("server", "notifyShipBoardUpdate");
+        Component[][] matrix = new Component[3][3];
+        matrix[0][1] = new Cannon(connectors());
+        matrix[2][2] = new BatteryBox(connectors(), 2);
+        message.setParamShipBoardAsMatrix(matrix);
+        message.setParamActivableCoordinates(List.of(new Coordinates(0, 1), new Coordinates(2, 2)));
+
+        SocketMessage decoded = decodeFrame(BinaryFrameCodec.encode(message));
+
+        assertInstanceOf(Cannon.class, decoded.getParamShipBoardAsMatrix()[0][1]);
+        assertInstanceOf(BatteryBox.class, decoded.getParamShipBoardAsMatrix()[2][2]);
+        assertEquals(List.of(new Coordinates(0, 1), new Coordinates(2, 2)), decoded.getParamActivableCoordinates());
+    }
+
+    @Test
+    void framesAreReadBackToBackFromStream() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int i = 0; i < 3; i++) {
+            SocketMessage message = new SocketMessage("server", "notifyPlayerCredits");
+            message.setParamInt(i);
+            ByteBuffer frame = BinaryFrameCodec.encode(message);
+            stream.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(stream.toByteArray()));
+        for (int i = 0; i < 3; i++)
+            assertEquals(i, BinaryFrameCodec.read(in).getParamInt());
+    }
+
+    @Test
+    void binaryFrameIsSmallerThanJsonLine() throws IOException {
+        SocketMessage message = new SocketMessage("server", "notifyShipBoardUpdate");
+        Component[][] matrix = new Component[5][7];
+        for (int i = 0; i < 5; i++)
+            for (int j = 0; j < 7; j++)
+                matrix[i][j] = (i + j) % 2 == 0 ? new Cannon(connectors()) : new BatteryBox(connectors(), 3);
+        message.setParamShipBoardAsMatrix(matrix);
+
+        int binary = BinaryFrameCodec.encode(message).remaining();
+        int text = SerializationContext.write(message).getBytes(StandardCharsets.UTF_8).length + 1;
+
+        assertTrue(binary < text, "binary " + binary + " bytes, text " + text + " bytes");
+    }
+
+    @Test
+    void oversizedFrameIsRejected() {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(ByteBuffer.allocate(4).putInt(Integer.MAX_VALUE).array()));
+
+        assertThrows(IOException.class, () -> BinaryFrameCodec.read(in));
+    }
+
+    @Test
+    void handshakeLinesAreRecognised() {
+        assertEquals(WireProtocol.BINARY, WireProtocol.fromHandshake(WireProtocol.BINARY.handshakeLine()));
+        assertNull(WireProtocol.fromHandshake("{\"actions\":\"joinGame\"}"));
+        assertNull(WireProtocol.fromHandshake("PROTOCOL UNKNOWN"));
+    }
+
+}
@@ -0,0 +1,80 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.enumFiles.CrewMember;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import it.polimi.ingsw.is25am33.serializationLayer.ClientRequest.*;
+import it.polimi.ingsw.is25am33.serializationLayer.server.ServerDeserializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRequestTest {
+
+    /**
+     * One request of every kind, with its parameters set.
+     */
+    private static List<ClientRequest> samples() {
+        Coordinates cabin = Coordinates.of(6, 7);
+        List<Coordinates> batteryBoxes = List.of(Coordinates.of(7, 7), Coordinates.of(7, 8));
+        return List.of(
+                new Ping(), new Pong(), new RegisterWithNickname(), new GetAvailableGames(),
+                new CreateGame(PlayerColor.BLUE, 3, true), new JoinGame("abcd1234", PlayerColor.GREEN),
+                new LeaveGameAfterCreation(), new LeaveGameBeforeCreation(), new ShowMessage("hello"),
+                new PlayerPicksHiddenComponent(), new PlayerPicksVisibleComponent(4),
+                new PlayerWantsToFocusReservedComponent(1), new PlayerWantsToPlaceFocusedComponent(cabin, 90),
+                new PlayerWantsToReserveFocusedComponent(), new PlayerWantsToReleaseFocusedComponent(),
+                new PlayerWantsToRestartHourglass(), new NotifyHourglassEnded(), new PlayerWantsToRemoveComponent(cabin),
+                new PlayerChoseShipPart(Set.of(cabin, Coordinates.of(6, 8))), new PlayerEndsBuildShipBoardPhase(),
+                new PlayerPlacePlaceholder(), new SubmitCrewChoices(Map.of(cabin, CrewMember.values()[0])),
+                new RequestPrefabShips(), new RequestSelectPrefabShip("nave_completa"), new RequestShipBoardSnapshot("bob"),
+                new HandleClientChoice(null), new PlayerWantsToVisitLocation(true), new PlayerWantsToThrowDices(),
+                new PlayerWantsToVisitPlanet(2), new PlayerWantsToAcceptTheReward(false),
+                new PlayerChoseDoubleEngines(List.of(cabin), batteryBoxes), new PlayerChoseDoubleCannons(List.of(cabin), batteryBoxes),
+                new PlayerChoseCabins(List.of(cabin)), new PlayerChoseStorage(batteryBoxes),
+                new PlayerHandleSmallMeteorite(List.of(cabin), batteryBoxes), new PlayerHandleBigMeteorite(List.of(cabin), batteryBoxes),
+                new PlayerHandleBigShot(), new SpreadEpidemic(), new StardustEvent(), new EvaluatedCrewMembers(),
+                new StartCheckShipBoardAfterAttack(), new PlayerWantsToLand(), new DebugSkipToLastCard());
+    }
+
+    @Test
+    void samplesCoverEveryRequest() {
+        Set<Class<?>> sampled = samples().stream().map(Object::getClass).collect(Collectors.toSet());
+
+        assertEquals(Set.of(ClientRequest.class.getPermittedSubclasses()), sampled);
+    }
+
+    @Test
+    void requestsSurviveTheJsonEnvelope() throws IOException {
+        for (ClientRequest request : samples()) {
+            String json = SerializationContext.write(ClientRequest.encode("alice", request));
+            SocketMessage message = ServerDeserializer.deserializeObj(json, SocketMessage.class);
+
+            assertEquals("alice", message.getSenderNickname());
+            assertEquals(request, ClientRequest.decode(message));
+        }
+    }
+
+    @Test
+    void requestsSurviveTheBinaryEnvelope() throws IOException {
+        for (ClientRequest request : samples()) {
+            ByteBuffer frame = BinaryFrameCodec.encode(ClientRequest.encode("alice", request));
+            frame.getInt();
+
+            assertEquals(request, ClientRequest.decode(BinaryFrameCodec.decode(frame.slice())));
+        }
+    }
+
+    @Test
+    void actionsAClientCannotSendAreNotDecoded() {
+        assertNull(ClientRequest.decode(new SocketMessage("alice", "notAnAction")));
+        assertNull(ClientRequest.decode(new SocketMessage("alice", "notifyGameStarted")));
+        assertNull(ClientRequest.decode(new SocketMessage("alice", null)));
+    }
+
+}
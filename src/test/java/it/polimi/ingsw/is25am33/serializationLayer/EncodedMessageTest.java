@@ -0,0 +1,106 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.component.Cannon;
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import it.polimi.ingsw.is25am33.model.enumFiles.GameState;
+import it.polimi.ingsw.is25am33.serializationLayer.server.ServerDeserializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedMessageTest {
+
+    private static Map<Direction, ConnectorType> connectors() {
+        Map<Direction, ConnectorType> connectors = new EnumMap<>(Direction.class);
+        for (Direction direction : Direction.values())
+            connectors.put(direction, ConnectorType.SINGLE);
+        return connectors;
+    }
+
+    private static SocketMessage gameState(GameState state) {
+        SocketMessage message = new SocketMessage("server", "notifyGameState");
+        message.setParamGameState(state);
+        return message;
+    }
+
+    @Test
+    void encodingsAreSharedAndIndependent() throws IOException {
+        EncodedMessage encoded = new EncodedMessage(gameState(GameState.CHECK_SHIPBOARD));
+
+        ByteBuffer first = encoded.encode(WireProtocol.BINARY);
+        ByteBuffer second = encoded.encode(WireProtocol.BINARY);
+        assertSame(first.array(), second.array());
+
+        first.position(first.limit());
+        assertEquals(0, second.position());
+        assertEquals(GameState.CHECK_SHIPBOARD, BinaryFrameCodec.decode(second.position(BinaryFrameCodec.LENGTH_FIELD_SIZE).slice()).getParamGameState());
+
+        ByteBuffer text = encoded.encode(WireProtocol.TEXT);
+        String line = StandardCharsets.UTF_8.decode(text).toString();
+        assertTrue(line.endsWith(System.lineSeparator()));
+        assertEquals(GameState.CHECK_SHIPBOARD, ServerDeserializer.deserializeObj(line.strip(), SocketMessage.class).getParamGameState());
+    }
+
+    @Test
+    void samePayloadComparesValues() {
+        SocketMessage first = gameState(GameState.CHECK_SHIPBOARD);
+        SocketMessage second = gameState(GameState.CHECK_SHIPBOARD);
+        assertTrue(first.hasSamePayload(second));
+        assertFalse(first.hasSamePayload(gameState(GameState.BUILD_SHIPBOARD)));
+
+        first.setParamCoordinates(new Coordinates(3, 4));
+        second.setParamCoordinates(new Coordinates(3, 4));
+        first.setParamStringList(new ArrayList<>(List.of("a", "b")));
+        second.setParamStringList(List.of("a", "b"));
+        assertTrue(first.hasSamePayload(second));
+
+        second.setParamStringList(List.of("a", "c"));
+        assertFalse(first.hasSamePayload(second));
+    }
+
+    @Test
+    void samePayloadDoesNotTrustModelEquals() {
+        Component left = new Cannon(connectors());
+        Component right = new Cannon(connectors());
+        left.setImageName("cannon.jpg");
+        right.setImageName("cannon.jpg");
+        right.rotate();
+        assertEquals(left, right);
+
+        SocketMessage first = new SocketMessage("server", "notifyComponentPlaced");
+        SocketMessage second = new SocketMessage("server", "notifyComponentPlaced");
+        first.setParamComponent(left);
+        second.setParamComponent(right);
+        assertFalse(first.hasSamePayload(second));
+
+        second.setParamComponent(left);
+        assertTrue(first.hasSamePayload(second));
+    }
+
+    @Test
+    void nestedEventsKeepTheirActionInBinaryFrames() throws IOException {
+        SocketMessage events = new SocketMessage("server", "notifyEvents");
+        events.setParamMessages(List.of(gameState(GameState.CHECK_SHIPBOARD), new SocketMessage("server", "notifyStopHourglass")));
+
+        ByteBuffer frame = new EncodedMessage(events).encode(WireProtocol.BINARY);
+        SocketMessage decoded = BinaryFrameCodec.decode(frame.position(BinaryFrameCodec.LENGTH_FIELD_SIZE).slice());
+
+        assertEquals("notifyEvents", decoded.getActions());
+        assertEquals(2, decoded.getParamMessages().size());
+        assertEquals("notifyGameState", decoded.getParamMessages().get(0).getActions());
+        assertEquals(GameState.CHECK_SHIPBOARD, decoded.getParamMessages().get(0).getParamGameState());
+        assertEquals("notifyStopHourglass", decoded.getParamMessages().get(1).getActions());
+    }
+
+}
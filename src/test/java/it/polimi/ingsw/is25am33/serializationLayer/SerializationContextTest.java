@@ -0,0 +1,143 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import it.polimi.ingsw.is25am33.model.GameClientNotifier;
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.board.Level2ShipBoard;
+import it.polimi.ingsw.is25am33.model.board.ShipBoard;
+import it.polimi.ingsw.is25am33.model.component.BatteryBox;
+import it.polimi.ingsw.is25am33.model.component.Cannon;
+import it.polimi.ingsw.is25am33.model.component.Component;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import it.polimi.ingsw.is25am33.serializationLayer.client.ClientDeserializer;
+import it.polimi.ingsw.is25am33.serializationLayer.client.ClientSerializer;
+import it.polimi.ingsw.is25am33.serializationLayer.server.ServerDeserializer;
+import it.polimi.ingsw.is25am33.serializationLayer.server.ServerSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializationContextTest {
+
+    private static Map<Direction, ConnectorType> connectors() {
+        Map<Direction, ConnectorType> connectors = new LinkedHashMap<>();
+        connectors.put(Direction.NORTH, ConnectorType.UNIVERSAL);
+        connectors.put(Direction.EAST, ConnectorType.DOUBLE);
+        connectors.put(Direction.SOUTH, ConnectorType.EMPTY);
+        connectors.put(Direction.WEST, ConnectorType.SINGLE);
+        return connectors;
+    }
+
+    @Test
+    void readersAndWritersAreCached() {
+        assertSame(SerializationContext.readerFor(SocketMessage.class), SerializationContext.readerFor(SocketMessage.class));
+        assertSame(SerializationContext.writerFor(SocketMessage.class), SerializationContext.writerFor(SocketMessage.class));
+        assertSame(SerializationContext.listReaderFor(Coordinates.class), SerializationContext.listReaderFor(Coordinates.class));
+    }
+
+    @Test
+    void shipBoardDeltaIsMuchSmallerThanFullUpdate() throws Exception {
+        ShipBoard shipBoard = new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+        ShipBoard copy = new Level2ShipBoard(PlayerColor.RED, new GameClientNotifier(new ConcurrentHashMap<>()), false);
+        BatteryBox usedBatteryBox = null;
+        for (int x = 4; x <= 8; x++) {
+            for (int y = 4; y <= 9; y++) {
+                if (shipBoard.getShipMatrix()[x][y] != null)
+                    continue;
+                BatteryBox batteryBox = new BatteryBox(connectors(), 3);
+                shipBoard.getShipMatrix()[x][y] = batteryBox;
+                batteryBox.insertInComponentsMap(shipBoard.getComponentsPerType());
+                usedBatteryBox = batteryBox;
+            }
+        }
+        SocketMessage snapshot = new SocketMessage("server", "notifyShipBoardUpdate");
+        snapshot.setParamShipBoardDelta(shipBoard.getSnapshot());
+        assertTrue(copy.applyDelta(ServerDeserializer.deserializeObj(ServerSerializer.serialize(snapshot), SocketMessage.class).getParamShipBoardDelta()));
+
+        usedBatteryBox.useBattery();
+
+        SocketMessage fullUpdate = new SocketMessage("server", "notifyShipBoardUpdate");
+        fullUpdate.setParamShipBoardAsMatrix(shipBoard.getShipMatrix());
+        fullUpdate.setParamComponentsPerType(shipBoard.getComponentsPerType());
+        fullUpdate.setParamComponentList(shipBoard.getNotActiveComponents());
+        SocketMessage deltaUpdate = new SocketMessage("server", "notifyShipBoardUpdate");
+        deltaUpdate.setParamShipBoardDelta(shipBoard.getChangesSince(copy.getVersion()));
+
+        String fullJson = ServerSerializer.serialize(fullUpdate);
+        String deltaJson = ServerSerializer.serialize(deltaUpdate);
+        assertTrue(deltaJson.length() * 10 <= fullJson.length(), deltaJson.length() + " vs " + fullJson.length());
+
+        assertTrue(copy.applyDelta(ServerDeserializer.deserializeObj(deltaJson, SocketMessage.class).getParamShipBoardDelta()));
+        int totalBatteries = copy.getBatteryBoxes().stream().mapToInt(BatteryBox::getRemainingBatteries).sum();
+        assertEquals(3 * copy.getBatteryBoxes().size() - 1, totalBatteries);
+        assertEquals(shipBoard.getVersion(), copy.getVersion());
+    }
+
+    @Test
+    void socketMessageWithPolymorphicComponentsRoundTrips() throws Exception {
+        SocketMessage message = new SocketMessage("server", "notifyShipBoardUpdate");
+        Component[][] matrix = new Component[2][2];
+        matrix[0][0] = new Cannon(connectors());
+        matrix[1][1] = new BatteryBox(connectors(), 3);
+        message.setParamShipBoardAsMatrix(matrix);
+        message.setParamCoordinates(new Coordinates(4, 7));
+
+        String json = ServerSerializer.serialize(message);
+        SocketMessage decoded = ClientDeserializer.deserialize(json, SocketMessage.class);
+
+        assertEquals("notifyShipBoardUpdate", decoded.getActions());
+        assertEquals(new Coordinates(4, 7), decoded.getParamCoordinates());
+        assertInstanceOf(Cannon.class, decoded.getParamShipBoardAsMatrix()[0][0]);
+        assertInstanceOf(BatteryBox.class, decoded.getParamShipBoardAsMatrix()[1][1]);
+        assertEquals(3, ((BatteryBox) decoded.getParamShipBoardAsMatrix()[1][1]).getMaxBatteryCapacity());
+        assertNull(decoded.getParamShipBoardAsMatrix()[0][1]);
+    }
+
+    @Test
+    void clientMessagesAreReadByServer() {
+        SocketMessage message = new SocketMessage("player", "joinGame");
+        message.setParamGameId("abcd1234");
+
+        SocketMessage decoded = ServerDeserializer.deserializeObj(ClientSerializer.serialize(message), SocketMessage.class);
+
+        assertNotNull(decoded);
+        assertEquals("player", decoded.getSenderNickname());
+        assertEquals("abcd1234", decoded.getParamGameId());
+    }
+
+    @Test
+    void coordinatesListIsDeserialized() {
+        String json = ClientSerializer.serialize(List.of(new Coordinates(1, 2), new Coordinates(3, 4)));
+
+        assertEquals(List.of(new Coordinates(1, 2), new Coordinates(3, 4)), ServerDeserializer.deserializeCoordinates(json).toList());
+    }
+
+    @Test
+    void sharedContextIsThreadSafe() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final int x = i;
+            results.add(executor.submit(() -> {
+                SocketMessage message = new SocketMessage("player" + x, "action");
+                message.setParamCoordinates(new Coordinates(x, x + 1));
+                SocketMessage decoded = ServerDeserializer.deserializeObj(ClientSerializer.serialize(message), SocketMessage.class);
+                return decoded != null && decoded.getParamCoordinates().equals(new Coordinates(x, x + 1));
+            }));
+        }
+        for (Future<Boolean> result : results)
+            assertTrue(result.get());
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,91 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.enumFiles.CardState;
+import it.polimi.ingsw.is25am33.model.enumFiles.GameState;
+import it.polimi.ingsw.is25am33.model.enumFiles.PlayerColor;
+import it.polimi.ingsw.is25am33.serializationLayer.ServerNotification.*;
+import it.polimi.ingsw.is25am33.serializationLayer.client.ClientDeserializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerNotificationTest {
+
+    /**
+     * Notifications whose parameters can be compared once decoded, which leaves out components and the game
+     * and prefab ship infos.
+     */
+    private static List<ServerNotification> samples() {
+        return List.of(
+                new Ping(), new Pong(), new NotifyRegistrationSuccess(), new NotifyNicknameAlreadyExists(),
+                new NotifyJoinGameResult(true), new NotifyNewPlayerJoined("abcd1234", "bob", PlayerColor.RED),
+                new NotifyGameState(GameState.values()[0]), new NotifyHourglassRestarted("alice", 2),
+                new NotifyHourglassStarted("alice", 1, 1_700_000_000_000L), new NotifyStopHourglass(),
+                new NotifyFirstToEnter(), new NotifyReleaseComponent("alice"), new NotifyRemoveVisibleComponents(3),
+                new NotifyStolenVisibleComponent(), new NotifyNoMoreHiddenComponents(), new NotifyCrewPlacementPhase(),
+                new NotifyPrefabShipSelectionResult(false, "already taken"), new NotifyCurrPlayerChanged("bob"),
+                new NotifyCardState(CardState.values()[0]), new NotifyCoordinateOfComponentHit("bob", Coordinates.of(6, 7)),
+                new NotifyInfectedCrewMembersRemoved(Set.of(Coordinates.of(6, 7), Coordinates.of(7, 7))),
+                new NotifyLeastResourcedPlayer("bob has the fewest crew members"), new NotifyStorageError("storage full"),
+                new NotifyPlayerCredits("alice", 12), new NotifyRankingUpdate("alice", 1), new NotifyEliminatedPlayer("bob"),
+                new NotifyPlayerEarlyLanded("bob"), new NotifyPlayersFinalData(List.of(), List.of("alice")),
+                new NotifyPlayerDisconnected("bob"), new ForcedDisconnection("abcd1234"));
+    }
+
+    private static ServerNotification throughJson(ServerNotification notification) throws IOException {
+        String json = SerializationContext.write(ServerNotification.encode(notification));
+        return ServerNotification.decode(ClientDeserializer.deserialize(json, SocketMessage.class));
+    }
+
+    @Test
+    void notificationsSurviveTheJsonEnvelope() throws IOException {
+        for (ServerNotification notification : samples())
+            assertEquals(notification, throughJson(notification));
+    }
+
+    @Test
+    void notificationsSurviveTheBinaryEnvelope() throws IOException {
+        for (ServerNotification notification : samples()) {
+            ByteBuffer frame = BinaryFrameCodec.encode(ServerNotification.encode(notification));
+            frame.getInt();
+
+            assertEquals(notification, ServerNotification.decode(BinaryFrameCodec.decode(frame.slice())));
+        }
+    }
+
+    @Test
+    void eventsAreDecodedOneByOne() throws IOException {
+        NotifyEvents events = new NotifyEvents(List.of(new NotifyCurrPlayerChanged("bob"),
+                new NotifyEvents(List.of(new NotifyStopHourglass())), new NotifyPlayerCredits("bob", 3)));
+
+        assertEquals(events, throughJson(events));
+    }
+
+    @Test
+    void unknownEventsDecodeToNull() throws IOException {
+        SocketMessage message = ServerNotification.encode(new NotifyEvents(List.of(new NotifyStopHourglass())));
+        List<SocketMessage> messages = new ArrayList<>(message.getParamMessages());
+        messages.add(new SocketMessage("server", "notAnAction"));
+        message.setParamMessages(messages);
+
+        NotifyEvents decoded = (NotifyEvents) ServerNotification.decode(message);
+
+        assertEquals(Arrays.asList(new NotifyStopHourglass(), null), decoded.events());
+    }
+
+    @Test
+    void actionsTheServerDoesNotSendAreNotDecoded() {
+        assertNull(ServerNotification.decode(new SocketMessage("server", "notAnAction")));
+        assertNull(ServerNotification.decode(new SocketMessage("server", "createGame")));
+        assertNull(ServerNotification.decode(new SocketMessage("server", null)));
+    }
+
+}
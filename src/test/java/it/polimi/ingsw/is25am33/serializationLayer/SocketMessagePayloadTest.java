@@ -0,0 +1,155 @@
+package it.polimi.ingsw.is25am33.serializationLayer;
+
+import it.polimi.ingsw.is25am33.model.board.Coordinates;
+import it.polimi.ingsw.is25am33.model.component.BatteryBox;
+import it.polimi.ingsw.is25am33.model.component.Cannon;
+import it.polimi.ingsw.is25am33.model.enumFiles.ConnectorType;
+import it.polimi.ingsw.is25am33.model.enumFiles.Direction;
+import it.polimi.ingsw.is25am33.model.enumFiles.GameState;
+import it.polimi.ingsw.is25am33.serializationLayer.server.ServerDeserializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocketMessagePayloadTest {
+
+    private static final int DECODE_ROUNDS = 2_000;
+
+    private static Map<Direction, ConnectorType> connectors() {
+        Map<Direction, ConnectorType> connectors = new LinkedHashMap<>();
+        connectors.put(Direction.NORTH, ConnectorType.UNIVERSAL);
+        connectors.put(Direction.EAST, ConnectorType.DOUBLE);
+        connectors.put(Direction.SOUTH, ConnectorType.EMPTY);
+        connectors.put(Direction.WEST, ConnectorType.SINGLE);
+        return connectors;
+    }
+
+    /**
+     * Messages of the most frequent actions, built as their senders build them.
+     */
+    private static List<SocketMessage> sampleMessages() {
+        SocketMessage ping = new SocketMessage("player", "PING");
+
+        SocketMessage pickHidden = new SocketMessage("player", "playerPicksHiddenComponent");
+
+        SocketMessage stopHourglass = new SocketMessage("server", "notifyStopHourglass");
+        stopHourglass.setParamString("player");
+
+        SocketMessage gameState = new SocketMessage("server", "notifyGameState");
+        gameState.setParamGameState(GameState.BUILD_SHIPBOARD);
+
+        SocketMessage chooseComponent = new SocketMessage("server", "notifyChooseComponent");
+        chooseComponent.setParamString("player");
+        chooseComponent.setParamComponent(new Cannon(connectors()));
+
+        SocketMessage componentPlaced = new SocketMessage("server", "notifyComponentPlaced");
+        componentPlaced.setParamString("player");
+        componentPlaced.setParamComponent(new BatteryBox(connectors(), 2));
+        componentPlaced.setParamCoordinates(new Coordinates(6, 7));
+
+        SocketMessage pickVisible = new SocketMessage("player", "playerPicksVisibleComponent");
+        pickVisible.setParamInt(3);
+
+        return List.of(ping, pickHidden, stopHourglass, gameState, chooseComponent, componentPlaced, pickVisible);
+    }
+
+    /**
+     * Returns the message as the former constructor produced it, with the integer and boolean parameters
+     * always set to their defaults.
+     */
+    private static SocketMessage withLegacyDefaults(SocketMessage message) {
+        SocketMessage legacy = new SocketMessage(message.getSenderNickname(), message.getActions());
+        legacy.setParamString(message.getParamString());
+        legacy.setParamGameState(message.getParamGameState());
+        legacy.setParamComponent(message.getParamComponent());
+        legacy.setParamCoordinates(message.getParamCoordinates());
+        legacy.setParamInt(message.getParamInt() == null ? 0 : message.getParamInt());
+        legacy.setParamBoolean(message.getParamBoolean() == null ? false : message.getParamBoolean());
+        return legacy;
+    }
+
+    private static long decodeNanos(String json) {
+        long start = System.nanoTime();
+        for (int i = 0; i < DECODE_ROUNDS; i++)
+            ServerDeserializer.deserializeObj(json, SocketMessage.class);
+        return (System.nanoTime() - start) / DECODE_ROUNDS;
+    }
+
+    @Test
+    void unsetParametersAreNotSent() throws IOException {
+        SocketMessage message = new SocketMessage("server", "notifyStopHourglass");
+        message.setParamString("player");
+
+        String json = SerializationContext.write(message);
+        SocketMessage decoded = ServerDeserializer.deserializeObj(json, SocketMessage.class);
+
+        assertFalse(json.contains("paramInt"), json);
+        assertFalse(json.contains("paramBoolean"), json);
+        assertNull(decoded.getParamInt());
+        assertNull(decoded.getParamBoolean());
+        assertEquals("player", decoded.getParamString());
+    }
+
+    @Test
+    void setDefaultValuesAreStillSent() throws IOException {
+        SocketMessage message = new SocketMessage("player", "playerWantsToAcceptTheReward");
+        message.setParamBoolean(false);
+        message.setParamInt(0);
+
+        SocketMessage decoded = BinaryFrameCodec.decode(BinaryFrameCodec.encode(message).position(BinaryFrameCodec.LENGTH_FIELD_SIZE).slice());
+
+        assertEquals(false, decoded.getParamBoolean());
+        assertEquals(0, decoded.getParamInt());
+    }
+
+    @Test
+    void payloadsAreSmallerWithoutTheDefaultValues() throws IOException {
+        for (SocketMessage message : sampleMessages()) {
+            SocketMessage legacy = withLegacyDefaults(message);
+            int text = SerializationContext.write(message).getBytes(StandardCharsets.UTF_8).length;
+            int legacyText = SerializationContext.write(legacy).getBytes(StandardCharsets.UTF_8).length;
+            int binary = BinaryFrameCodec.encode(message).remaining();
+            int legacyBinary = BinaryFrameCodec.encode(legacy).remaining();
+
+            boolean usesDefaults = message.getParamInt() != null || message.getParamBoolean() != null;
+            if (usesDefaults) {
+                assertTrue(text <= legacyText, message.getActions());
+                assertTrue(binary <= legacyBinary, message.getActions());
+            } else {
+                assertTrue(text < legacyText, message.getActions());
+                assertTrue(binary < legacyBinary, message.getActions());
+            }
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void payloadSizeAndDecodeTimePerAction() throws IOException {
+        // warm up the readers and writers of both shapes before timing them
+        for (SocketMessage message : sampleMessages()) {
+            decodeNanos(SerializationContext.write(message));
+            decodeNanos(SerializationContext.write(withLegacyDefaults(message)));
+        }
+
+        System.out.printf("%-28s %10s %10s %10s %10s %12s %12s%n",
+                "action", "text", "legacy", "binary", "legacy", "decode ns", "legacy ns");
+        for (SocketMessage message : sampleMessages()) {
+            SocketMessage legacy = withLegacyDefaults(message);
+            String json = SerializationContext.write(message);
+            String legacyJson = SerializationContext.write(legacy);
+
+            System.out.printf("%-28s %10d %10d %10d %10d %12d %12d%n", message.getActions(),
+                    json.getBytes(StandardCharsets.UTF_8).length, legacyJson.getBytes(StandardCharsets.UTF_8).length,
+                    BinaryFrameCodec.encode(message).remaining(), BinaryFrameCodec.encode(legacy).remaining(),
+                    decodeNanos(json), decodeNanos(legacyJson));
+        }
+    }
+
+}